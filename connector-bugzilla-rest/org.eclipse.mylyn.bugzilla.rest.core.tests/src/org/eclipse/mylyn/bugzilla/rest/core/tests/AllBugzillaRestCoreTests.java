@@ -25,7 +25,8 @@ import org.junit.runners.Suite;
 
 @RunWith(ManagedSuite.class)
 @Suite.SuiteClasses({ RepositoryKeyTest.class, BugzillaRestFlagMapperTest.class,
-		BugzillaRestConnectorNoFixtureTest.class })
+		BugzillaRestConnectorNoFixtureTest.class, BugzillaRestBatchRequestTest.class,
+		BugzillaRestConditionalGetRequestTest.class })
 @TestConfigurationProperty()
 public class AllBugzillaRestCoreTests {
 	static {
@@ -0,0 +1,292 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.bugzilla.rest.core.tests;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.mylyn.commons.repositories.core.RepositoryLocation;
+import org.eclipse.mylyn.commons.repositories.http.core.CommonHttpClient;
+import org.eclipse.mylyn.commons.sdk.util.CommonTestUtil;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.BugzillaRestAttachmentMapper;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.BugzillaRestConfiguration;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.BugzillaRestConnector;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.BugzillaRestGetTaskAttachments;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.BugzillaRestGetTaskComments;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.BugzillaRestGetTaskData;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.BugzillaRestTaskAttributeMapper;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.BugzillaRestTaskSchema;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.IBugzillaRestConstants;
+import org.eclipse.mylyn.internal.commons.core.operations.NullOperationMonitor;
+import org.eclipse.mylyn.internal.commons.repositories.core.InMemoryCredentialsStore;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
+import org.eclipse.mylyn.tasks.core.data.TaskCommentMapper;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.eclipse.mylyn.tasks.core.data.TaskDataCollector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Runs the requests for bugs, comments and attachments against a local stand-in for a Bugzilla server that replays recorded
+ * responses.
+ */
+public class BugzillaRestBatchRequestTest {
+
+	private class StandInServer implements Runnable {
+
+		private final ServerSocket serverSocket;
+
+		private final List<String> requests = Collections.synchronizedList(Lists.<String> newArrayList());
+
+		private final String commentsResponse;
+
+		private final String attachmentsResponse;
+
+		private final String bugsResponse;
+
+		public StandInServer() throws IOException {
+			serverSocket = new ServerSocket(0);
+			commentsResponse = IOUtils.toString(CommonTestUtil.getResource(this, "testdata/comments-batch.json"));
+			attachmentsResponse = IOUtils.toString(CommonTestUtil.getResource(this, "testdata/attachments-batch.json"));
+			bugsResponse = IOUtils.toString(CommonTestUtil.getResource(this, "testdata/bugs-batch.json"));
+		}
+
+		public String getUrl() {
+			return "http://localhost:" + serverSocket.getLocalPort();
+		}
+
+		@Override
+		public void run() {
+			while (!serverSocket.isClosed()) {
+				try (Socket socket = serverSocket.accept()) {
+					BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), "UTF-8"));
+					String path = in.readLine().split(" ")[1];
+					for (String line = in.readLine(); line != null && line.length() > 0; line = in.readLine()) {
+						// skip headers
+					}
+					requests.add(path);
+
+					String body;
+					String status;
+					if (path.contains("/comment")) {
+						body = commentsResponse;
+						status = "200 OK";
+					} else if (path.contains("/attachment")) {
+						body = attachmentsResponse;
+						status = "200 OK";
+					} else if (path.contains("/bug?")) {
+						body = bugsResponse;
+						status = "200 OK";
+					} else {
+						body = "{}";
+						status = "404 Not Found";
+					}
+					byte[] content = body.getBytes("UTF-8");
+					OutputStream out = socket.getOutputStream();
+					out.write(("HTTP/1.1 " + status + "\r\nContent-Type: application/json; charset=UTF-8\r\n"
+							+ "Content-Length: " + content.length + "\r\nConnection: close\r\n\r\n").getBytes("UTF-8"));
+					out.write(content);
+					out.flush();
+				} catch (IOException e) {
+					// closed
+				}
+			}
+		}
+
+		public void stop() throws IOException {
+			serverSocket.close();
+		}
+
+	}
+
+	private StandInServer server;
+
+	private CommonHttpClient client;
+
+	private TaskRepository repository;
+
+	@Before
+	public void setUp() throws Exception {
+		server = new StandInServer();
+		Thread thread = new Thread(server, "Bugzilla REST Stand-In Server");
+		thread.setDaemon(true);
+		thread.start();
+
+		RepositoryLocation location = new RepositoryLocation();
+		location.setUrl(server.getUrl());
+		location.setProxy(null);
+		location.setCredentialsStore(new InMemoryCredentialsStore());
+		location.setProperty(IBugzillaRestConstants.REPOSITORY_USE_API_KEY, Boolean.toString(true));
+		location.setProperty(IBugzillaRestConstants.REPOSITORY_API_KEY, "key");
+		client = new CommonHttpClient(location);
+
+		repository = new TaskRepository(new BugzillaRestConnector().getConnectorKind(), server.getUrl());
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		server.stop();
+	}
+
+	@Test
+	public void testGetCommentsOfMultipleTasks() throws Exception {
+		TaskData taskData1 = createTaskData("1");
+		TaskData taskData2 = createTaskData("2");
+
+		new BugzillaRestGetTaskComments(client, Arrays.asList(taskData1, taskData2)).run(new NullOperationMonitor());
+
+		assertThat(server.requests.size(), is(1));
+		assertThat(server.requests.get(0), startsWith("/rest.cgi/bug/1/comment?ids=2&"));
+		BugzillaRestTaskSchema taskSchema = BugzillaRestTaskSchema.getDefault();
+		assertThat(taskData1.getRoot().getAttribute(taskSchema.DESCRIPTION.getKey()).getValue(),
+				is("Description of bug 1"));
+		assertNull(taskData1.getRoot().getAttribute(TaskAttribute.PREFIX_COMMENT + "1"));
+		assertThat(taskData2.getRoot().getAttribute(taskSchema.DESCRIPTION.getKey()).getValue(),
+				is("Description of bug 2"));
+		TaskAttribute comment = taskData2.getRoot().getAttribute(TaskAttribute.PREFIX_COMMENT + "1");
+		assertNotNull(comment);
+		TaskCommentMapper commentMapper = TaskCommentMapper.createFrom(comment);
+		assertThat(commentMapper.getText(), is("Comment 1 of bug 2"));
+		assertThat(commentMapper.getAuthor().getPersonId(), is("admin@mylyn.eclipse.org"));
+	}
+
+	@Test
+	public void testGetCommentsOfSingleTask() throws Exception {
+		TaskData taskData1 = createTaskData("1");
+
+		new BugzillaRestGetTaskComments(client, taskData1).run(new NullOperationMonitor());
+
+		assertThat(server.requests.size(), is(1));
+		assertThat(server.requests.get(0), startsWith("/rest.cgi/bug/1/comment?Bugzilla_api_key="));
+		assertThat(taskData1.getRoot()
+				.getAttribute(BugzillaRestTaskSchema.getDefault().DESCRIPTION.getKey())
+				.getValue(), is("Description of bug 1"));
+	}
+
+	@Test
+	public void testGetAttachmentsOfMultipleTasks() throws Exception {
+		TaskData taskData1 = createTaskData("1");
+		TaskData taskData2 = createTaskData("2");
+
+		new BugzillaRestGetTaskAttachments(client, Arrays.asList(taskData1, taskData2))
+				.run(new NullOperationMonitor());
+
+		assertThat(server.requests.size(), is(1));
+		assertThat(server.requests.get(0), startsWith("/rest.cgi/bug/1/attachment?exclude_fields=data&ids=2&"));
+		TaskAttribute attachment1 = taskData1.getRoot().getAttribute(TaskAttribute.PREFIX_ATTACHMENT + "1");
+		assertNotNull(attachment1);
+		assertNull(taskData1.getRoot().getAttribute(TaskAttribute.PREFIX_ATTACHMENT + "2"));
+		assertThat(BugzillaRestAttachmentMapper.createFrom(attachment1).getFileName(), is("bug1.txt"));
+		TaskAttribute attachment2 = taskData2.getRoot().getAttribute(TaskAttribute.PREFIX_ATTACHMENT + "2");
+		assertNotNull(attachment2);
+		BugzillaRestAttachmentMapper attachmentMapper = BugzillaRestAttachmentMapper.createFrom(attachment2);
+		assertThat(attachmentMapper.getFileName(), is("bug2.patch"));
+		assertTrue(attachmentMapper.isPatch());
+	}
+
+	@Test
+	public void testGetTaskData() throws Exception {
+		List<TaskData> taskData = new BugzillaRestGetTaskData(client, createConnector(), "id=1,id=2", repository)
+				.run(new NullOperationMonitor());
+
+		assertThat(server.requests.size(), is(1));
+		assertThat(server.requests.get(0), startsWith("/rest.cgi/bug?id=1,id=2&"));
+		assertThat(taskData.size(), is(2));
+		BugzillaRestTaskSchema taskSchema = BugzillaRestTaskSchema.getDefault();
+		TaskAttribute root1 = taskData.get(0).getRoot();
+		assertThat(taskData.get(0).getTaskId(), is("1"));
+		assertThat(root1.getAttribute(taskSchema.SUMMARY.getKey()).getValue(), is("Summary of bug 1"));
+		assertThat(root1.getAttribute(taskSchema.ASSIGNED_TO.getKey()).getValue(), is("admin@mylyn.eclipse.org"));
+		assertThat(root1.getAttribute(taskSchema.DATE_MODIFICATION.getKey()).getValue(),
+				is(Long.toString(getTime(2016, 10, 22, 14, 19, 13))));
+	}
+
+	@Test
+	public void testGetTaskDataPassedToCollector() throws Exception {
+		final List<TaskData> collectedTaskData = Lists.newArrayList();
+		TaskDataCollector collector = new TaskDataCollector() {
+			@Override
+			public void accept(TaskData taskData) {
+				collectedTaskData.add(taskData);
+			}
+		};
+
+		List<TaskData> taskData = new BugzillaRestGetTaskData(client, createConnector(), "id=1,id=2", repository,
+				collector).run(new NullOperationMonitor());
+
+		assertThat(taskData.isEmpty(), is(true));
+		assertThat(collectedTaskData.size(), is(2));
+		BugzillaRestTaskSchema taskSchema = BugzillaRestTaskSchema.getDefault();
+		TaskAttribute root2 = collectedTaskData.get(1).getRoot();
+		assertThat(collectedTaskData.get(1).getTaskId(), is("2"));
+		assertThat(root2.getAttribute(taskSchema.BUG_ID.getKey()).getValue(), is("2"));
+		assertThat(root2.getAttribute(taskSchema.RESOLUTION.getKey()).getValue(), is("FIXED"));
+		assertThat(root2.getAttribute(taskSchema.CC.getKey()).getValues(),
+				is(Arrays.asList("admin@mylyn.eclipse.org", "tests@mylyn.eclipse.org")));
+		assertThat(root2.getAttribute(taskSchema.DATE_MODIFICATION.getKey()).getValue(),
+				is(Long.toString(getTime(2016, 10, 22, 14, 20, 5))));
+		assertNotNull(root2.getAttribute(IBugzillaRestConstants.KIND_FLAG + "11"));
+	}
+
+	private BugzillaRestConnector createConnector() {
+		return new BugzillaRestConnector() {
+			@Override
+			public BugzillaRestConfiguration getRepositoryConfiguration(TaskRepository repository) {
+				return null;
+			}
+		};
+	}
+
+	private long getTime(int year, int month, int day, int hour, int minute, int second) {
+		Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+		calendar.clear();
+		calendar.set(year, month - 1, day, hour, minute, second);
+		return calendar.getTimeInMillis();
+	}
+
+	private TaskData createTaskData(String taskId) {
+		BugzillaRestTaskAttributeMapper mapper = new BugzillaRestTaskAttributeMapper(repository, null) {
+			@Override
+			public void updateNewAttachmentAttribute(TaskAttribute attachmentAttribute) {
+				// flags require the repository configuration
+			}
+		};
+		TaskData taskData = new TaskData(mapper, repository.getConnectorKind(), repository.getRepositoryUrl(),
+				taskId);
+		BugzillaRestTaskSchema.getDefault().initialize(taskData);
+		return taskData;
+	}
+
+}
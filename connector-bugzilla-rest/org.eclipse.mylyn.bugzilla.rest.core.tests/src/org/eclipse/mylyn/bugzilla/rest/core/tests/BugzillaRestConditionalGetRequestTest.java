@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.bugzilla.rest.core.tests;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.mylyn.commons.repositories.core.RepositoryLocation;
+import org.eclipse.mylyn.commons.repositories.http.core.CommonHttpClient;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.BugzillaRestConditionalGetRequest;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.IBugzillaRestConstants;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.ParameterResponse;
+import org.eclipse.mylyn.internal.commons.core.operations.NullOperationMonitor;
+import org.eclipse.mylyn.internal.commons.repositories.core.InMemoryCredentialsStore;
+import org.eclipse.mylyn.internal.tasks.core.ConditionalRequestCache;
+import org.eclipse.mylyn.internal.tasks.core.ConditionalRequestCache.CachedResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.Lists;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Runs conditional requests against a local stand-in for a Bugzilla server that responds with
+ * <code>304 Not Modified</code> if the request carries the current entity tag.
+ */
+public class BugzillaRestConditionalGetRequestTest {
+
+	private static final String ETAG = "\"1\"";
+
+	private static final String PARAMETERS_RESPONSE = "{\"parameters\":{\"maintainer\":\"admin@mylyn.eclipse.org\"}}";
+
+	private class StandInServer implements Runnable {
+
+		private final ServerSocket serverSocket;
+
+		/**
+		 * the value of the If-None-Match header of each request, or null
+		 */
+		private final List<String> validators = Collections.synchronizedList(Lists.<String> newArrayList());
+
+		public StandInServer() throws IOException {
+			serverSocket = new ServerSocket(0);
+		}
+
+		public String getUrl() {
+			return "http://localhost:" + serverSocket.getLocalPort();
+		}
+
+		@Override
+		public void run() {
+			while (!serverSocket.isClosed()) {
+				try (Socket socket = serverSocket.accept()) {
+					BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), "UTF-8"));
+					in.readLine();
+					String validator = null;
+					for (String line = in.readLine(); line != null && line.length() > 0; line = in.readLine()) {
+						if (line.toLowerCase().startsWith("if-none-match:")) {
+							validator = line.substring("if-none-match:".length()).trim();
+						}
+					}
+					validators.add(validator);
+
+					OutputStream out = socket.getOutputStream();
+					if (ETAG.equals(validator)) {
+						out.write(("HTTP/1.1 304 Not Modified\r\nETag: " + ETAG + "\r\nConnection: close\r\n\r\n")
+								.getBytes("UTF-8"));
+					} else {
+						byte[] content = PARAMETERS_RESPONSE.getBytes("UTF-8");
+						out.write(("HTTP/1.1 200 OK\r\nContent-Type: application/json; charset=UTF-8\r\nETag: " + ETAG
+								+ "\r\nContent-Length: " + content.length + "\r\nConnection: close\r\n\r\n")
+										.getBytes("UTF-8"));
+						out.write(content);
+					}
+					out.flush();
+				} catch (IOException e) {
+					// closed
+				}
+			}
+		}
+
+		public void stop() throws IOException {
+			serverSocket.close();
+		}
+
+	}
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private StandInServer server;
+
+	private CommonHttpClient client;
+
+	private ConditionalRequestCache cache;
+
+	private String key;
+
+	@Before
+	public void setUp() throws Exception {
+		server = new StandInServer();
+		Thread thread = new Thread(server, "Bugzilla REST Stand-In Server");
+		thread.setDaemon(true);
+		thread.start();
+
+		RepositoryLocation location = new RepositoryLocation();
+		location.setUrl(server.getUrl());
+		location.setProxy(null);
+		location.setCredentialsStore(new InMemoryCredentialsStore());
+		location.setProperty(IBugzillaRestConstants.REPOSITORY_USE_API_KEY, Boolean.toString(true));
+		location.setProperty(IBugzillaRestConstants.REPOSITORY_API_KEY, "key");
+		client = new CommonHttpClient(location);
+
+		cache = new ConditionalRequestCache(new File(folder.getRoot(), "cache"));
+		key = server.getUrl() + "/rest.cgi/parameters?Bugzilla_api_key=key";
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		server.stop();
+	}
+
+	@Test
+	public void testResponseIsCached() throws Exception {
+		ParameterResponse response = getParameters();
+
+		assertThat(response.getParameters().getMaintainer(), is("admin@mylyn.eclipse.org"));
+		assertThat(server.validators, is(Arrays.asList((String) null)));
+		CachedResponse cachedResponse = cache.get(key);
+		assertNotNull(cachedResponse);
+		assertThat(cachedResponse.getETag(), is(ETAG));
+		assertThat(new String(cachedResponse.getContent(), "UTF-8"), is(PARAMETERS_RESPONSE));
+	}
+
+	@Test
+	public void testNotModifiedResponseIsReadFromCache() throws Exception {
+		getParameters();
+		ParameterResponse response = getParameters();
+
+		assertThat(response.getParameters().getMaintainer(), is("admin@mylyn.eclipse.org"));
+		assertThat(server.validators, is(Arrays.asList(null, ETAG)));
+	}
+
+	@Test
+	public void testUnusableCachedResponseIsRefetched() throws Exception {
+		cache.put(key, ETAG, null, null, "{\"parameters\":".getBytes("UTF-8"));
+
+		ParameterResponse response = getParameters();
+
+		assertThat(response.getParameters().getMaintainer(), is("admin@mylyn.eclipse.org"));
+		assertThat(server.validators, is(Arrays.asList(ETAG, null)));
+		assertThat(new String(cache.get(key).getContent(), "UTF-8"), is(PARAMETERS_RESPONSE));
+	}
+
+	private ParameterResponse getParameters() throws Exception {
+		return new BugzillaRestConditionalGetRequest<ParameterResponse>(client, "/parameters?",
+				new TypeToken<ParameterResponse>() {
+				}, cache).run(new NullOperationMonitor());
+	}
+
+}
@@ -18,6 +18,11 @@ import java.text.MessageFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.ISafeRunnable;
@@ -44,6 +49,8 @@ import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.ProductRespon
 import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.PutUpdateResult;
 import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.RestResponse;
 import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.VersionResponse;
+import org.eclipse.mylyn.internal.commons.core.operations.NullOperationMonitor;
+import org.eclipse.mylyn.internal.tasks.core.ConditionalRequestCache;
 import org.eclipse.mylyn.tasks.core.IRepositoryQuery;
 import org.eclipse.mylyn.tasks.core.RepositoryResponse;
 import org.eclipse.mylyn.tasks.core.RepositoryResponse.ResponseKind;
@@ -58,9 +65,11 @@ import com.google.common.base.Function;
 import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.reflect.TypeToken;
 
 public class BugzillaRestClient {
@@ -71,15 +80,34 @@ public class BugzillaRestClient {
 
 	public static final int MAX_RETRIEVED_PER_QUERY = 50;
 
+	/**
+	 * the maximum number of partitions of task data that are retrieved concurrently
+	 */
+	private static final int MAX_CONCURRENT_REQUESTS = 4;
+
+	/**
+	 * the cache for the responses that make up the repository configuration, or null
+	 */
+	private ConditionalRequestCache conditionalRequestCache;
+
 	public BugzillaRestClient(RepositoryLocation location, BugzillaRestConnector connector) {
 		client = new CommonHttpClient(location);
 		this.connector = connector;
+		this.conditionalRequestCache = ConditionalRequestCache.getDefault();
 	}
 
 	public CommonHttpClient getClient() {
 		return client;
 	}
 
+	public ConditionalRequestCache getConditionalRequestCache() {
+		return conditionalRequestCache;
+	}
+
+	public void setConditionalRequestCache(ConditionalRequestCache conditionalRequestCache) {
+		this.conditionalRequestCache = conditionalRequestCache;
+	}
+
 	public BugzillaRestVersion getVersion(IOperationMonitor monitor) throws BugzillaRestException {
 
 		VersionResponse versionResponse = new BugzillaRestUnauthenticatedGetRequest<VersionResponse>(client, "/version", //$NON-NLS-1$
@@ -131,7 +159,8 @@ public class BugzillaRestClient {
 
 	public <R extends RestResponse<E>, E extends Named> Map<String, E> retrieveItems(IOperationMonitor monitor,
 			String path, TypeToken<?> typeToken) throws BugzillaRestException {
-		R response = new BugzillaRestGetRequest<R>(client, path, typeToken).run(monitor);
+		R response = new BugzillaRestConditionalGetRequest<R>(client, path, typeToken, conditionalRequestCache)
+				.run(monitor);
 		E[] members = response.getArray();
 		return Maps.uniqueIndex(Lists.newArrayList(members), new Function<E, String>() {
 			public String apply(E input) {
@@ -151,9 +180,9 @@ public class BugzillaRestClient {
 	}
 
 	public ParameterResponse getParameters(IOperationMonitor monitor) throws BugzillaRestException {
-		return new BugzillaRestGetRequest<ParameterResponse>(client, "/parameters?", //$NON-NLS-1$
+		return new BugzillaRestConditionalGetRequest<ParameterResponse>(client, "/parameters?", //$NON-NLS-1$
 				new TypeToken<ParameterResponse>() {
-				}).run(monitor);
+				}, conditionalRequestCache).run(monitor);
 	}
 
 	public RepositoryResponse postTaskData(TaskData taskData, Set<TaskAttribute> oldAttributes,
@@ -178,9 +207,9 @@ public class BugzillaRestClient {
 		}
 	};
 
-	public void getTaskData(Set<String> taskIds, TaskRepository taskRepository, TaskDataCollector collector,
-			IOperationMonitor monitor) throws BugzillaRestException {
-		BugzillaRestConfiguration config;
+	public void getTaskData(Set<String> taskIds, final TaskRepository taskRepository,
+			final TaskDataCollector collector, final IOperationMonitor monitor) throws BugzillaRestException {
+		final BugzillaRestConfiguration config;
 		try {
 			config = connector.getRepositoryConfiguration(taskRepository);
 		} catch (CoreException e1) {
@@ -188,61 +217,128 @@ public class BugzillaRestClient {
 		}
 
 		Iterable<String> taskIdsTemp = Iterables.transform(taskIds, removeLeadingZero);
-		Iterable<List<String>> partitions = Iterables.partition(taskIdsTemp, MAX_RETRIEVED_PER_QUERY);
-		for (List<String> list : partitions) {
-			Joiner joiner = Joiner.on(",id=").skipNulls(); //$NON-NLS-1$
-			String urlIDList = "id=" + joiner.join(list); //$NON-NLS-1$
-			try {
-
-				List<TaskData> taskDataArray = new BugzillaRestGetTaskData(client, connector, urlIDList, taskRepository)
-						.run(monitor);
-				for (TaskData taskData : taskDataArray) {
-					new BugzillaRestGetTaskComments(getClient(), taskData).run(monitor);
-					new BugzillaRestGetTaskAttachments(getClient(), taskData).run(monitor);
-					config.updateProductOptions(taskData);
-					config.addValidOperations(taskData);
-					config.updateFlags(taskData);
-					config.updateKeyword(taskData);
-					collector.accept(taskData);
-				}
-			} catch (RuntimeException e) {
-				// if the Throwable was warped in a RuntimeException in
-				// BugzillaRestGetTaskData.JSonTaskDataDeserializer.deserialize()
-				// we now remove the warper and throw a  BugzillaRestException
-				Throwable cause = e.getCause();
-				if (cause instanceof CoreException) {
-					throw new BugzillaRestException(cause);
-				}
-				throw e;
+		List<List<String>> partitions = Lists.newArrayList(Iterables.partition(taskIdsTemp, MAX_RETRIEVED_PER_QUERY));
+		if (partitions.size() <= 1) {
+			for (List<String> list : partitions) {
+				getTaskData(list, taskRepository, config, collector, monitor);
+			}
+			return;
+		}
+
+		// progress monitors are not thread-safe, partitions only poll the monitor of the caller for cancellation
+		final IOperationMonitor partitionMonitor = new NullOperationMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return super.isCanceled() || (monitor != null && monitor.isCanceled());
+			}
+		};
+		final TaskDataCollector synchronizedCollector = new TaskDataCollector() {
+			@Override
+			public synchronized void accept(TaskData taskData) {
+				collector.accept(taskData);
+			}
+
+			@Override
+			public synchronized void failed(String taskId, IStatus status) {
+				collector.failed(taskId, status);
+			}
+		};
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(partitions.size(), MAX_CONCURRENT_REQUESTS),
+				new ThreadFactoryBuilder().setNameFormat("Bugzilla REST Task Data Retrieval-%d") //$NON-NLS-1$
+						.setDaemon(true)
+						.build());
+		try {
+			List<Future<?>> futures = Lists.newArrayListWithCapacity(partitions.size());
+			for (final List<String> list : partitions) {
+				futures.add(executor.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws Exception {
+						getTaskData(list, taskRepository, config, synchronizedCollector, partitionMonitor);
+						return null;
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
 			}
+		} catch (InterruptedException e) {
+			throw new BugzillaRestException(e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof BugzillaRestException) {
+				throw (BugzillaRestException) cause;
+			}
+			Throwables.propagateIfPossible(cause);
+			throw new BugzillaRestException(cause);
+		} finally {
+			// aborts partitions that are still running in case of an error
+			partitionMonitor.setCanceled(true);
+			executor.shutdownNow();
 		}
+	}
 
+	/**
+	 * Retrieves the tasks in <code>taskIds</code> with one request for the bugs, one request for the comments and one
+	 * request for the attachments of all tasks.
+	 */
+	private void getTaskData(List<String> taskIds, TaskRepository taskRepository, BugzillaRestConfiguration config,
+			TaskDataCollector collector, IOperationMonitor monitor) throws BugzillaRestException {
+		Joiner joiner = Joiner.on(",id=").skipNulls(); //$NON-NLS-1$
+		String urlIDList = "id=" + joiner.join(taskIds); //$NON-NLS-1$
+		try {
+			List<TaskData> taskDataArray = new BugzillaRestGetTaskData(client, connector, urlIDList, taskRepository)
+					.run(monitor);
+			if (taskDataArray.isEmpty()) {
+				return;
+			}
+			new BugzillaRestGetTaskComments(getClient(), taskDataArray).run(monitor);
+			new BugzillaRestGetTaskAttachments(getClient(), taskDataArray).run(monitor);
+			for (TaskData taskData : taskDataArray) {
+				config.updateProductOptions(taskData);
+				config.addValidOperations(taskData);
+				config.updateFlags(taskData);
+				config.updateKeyword(taskData);
+				collector.accept(taskData);
+			}
+		} catch (RuntimeException e) {
+			// if the Throwable was warped in a RuntimeException in the deserializers
+			// of BugzillaRestGetTaskComments or BugzillaRestGetTaskAttachments
+			// we now remove the warper and throw a  BugzillaRestException
+			Throwable cause = e.getCause();
+			if (cause instanceof CoreException) {
+				throw new BugzillaRestException(cause);
+			}
+			throw e;
+		}
 	}
 
 	public IStatus performQuery(TaskRepository taskRepository, final IRepositoryQuery query,
 			final TaskDataCollector resultCollector, IOperationMonitor monitor) throws BugzillaRestException {
 		String urlIDList = query.getUrl();
 		urlIDList = urlIDList.substring(urlIDList.indexOf("?") + 1); //$NON-NLS-1$
-		List<TaskData> taskDataArray = new BugzillaRestGetTaskData(client, connector, urlIDList, taskRepository)
-				.run(monitor);
-		for (final TaskData taskData : taskDataArray) {
-			taskData.setPartial(true);
-			SafeRunner.run(new ISafeRunnable() {
-
-				@Override
-				public void run() throws Exception {
-					resultCollector.accept(taskData);
-				}
-
-				@Override
-				public void handleException(Throwable exception) {
-					StatusHandler.log(new Status(IStatus.ERROR, BugzillaRestCore.ID_PLUGIN,
-							NLS.bind("Unexpected error during result collection. TaskID {0} in repository {1}", //$NON-NLS-1$
-									taskData.getTaskId(), taskData.getRepositoryUrl()),
-							exception));
-				}
-			});
-		}
+		// results are passed to the collector while the response is read
+		TaskDataCollector partialCollector = new TaskDataCollector() {
+			@Override
+			public void accept(final TaskData taskData) {
+				taskData.setPartial(true);
+				SafeRunner.run(new ISafeRunnable() {
+
+					@Override
+					public void run() throws Exception {
+						resultCollector.accept(taskData);
+					}
+
+					@Override
+					public void handleException(Throwable exception) {
+						StatusHandler.log(new Status(IStatus.ERROR, BugzillaRestCore.ID_PLUGIN,
+								NLS.bind("Unexpected error during result collection. TaskID {0} in repository {1}", //$NON-NLS-1$
+										taskData.getTaskId(), taskData.getRepositoryUrl()),
+								exception));
+					}
+				});
+			}
+		};
+		new BugzillaRestGetTaskData(client, connector, urlIDList, taskRepository, partialCollector).run(monitor);
 		return Status.OK_STATUS;
 	}
 
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.bugzilla.rest.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import org.apache.http.Header;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.eclipse.mylyn.commons.core.operations.IOperationMonitor;
+import org.eclipse.mylyn.commons.repositories.http.core.CommonHttpClient;
+import org.eclipse.mylyn.commons.repositories.http.core.CommonHttpResponse;
+import org.eclipse.mylyn.internal.tasks.core.ConditionalRequestCache;
+import org.eclipse.mylyn.internal.tasks.core.ConditionalRequestCache.CachedResponse;
+
+import com.google.common.io.ByteStreams;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * A GET request for rarely changing resources. The response is stored in a {@link ConditionalRequestCache} and
+ * revalidated with the server on subsequent requests. If the server responds with <code>304 Not Modified</code> the
+ * cached response is parsed instead, or the full response is retrieved if the cached response can not be parsed.
+ */
+public class BugzillaRestConditionalGetRequest<T> extends BugzillaRestGetRequest<T> {
+
+	private final ConditionalRequestCache cache;
+
+	/**
+	 * @param cache
+	 *            the cache for responses, or <code>null</code> to always retrieve the full response
+	 */
+	public BugzillaRestConditionalGetRequest(CommonHttpClient client, String urlSuffix, TypeToken<?> responseType,
+			ConditionalRequestCache cache) {
+		super(client, urlSuffix, responseType);
+		this.cache = cache;
+	}
+
+	@Override
+	protected T execute(IOperationMonitor monitor) throws IOException, BugzillaRestException {
+		if (cache == null) {
+			return super.execute(monitor);
+		}
+
+		HttpRequestBase request = createHttpRequestBase();
+		addHttpRequestEntities(request);
+		// the URL contains the credentials which are hashed by the cache
+		String key = request.getURI().toString();
+		CachedResponse cachedResponse = cache.get(key);
+		if (cachedResponse != null) {
+			if (cachedResponse.getETag() != null) {
+				request.setHeader(ConditionalRequestCache.HEADER_IF_NONE_MATCH, cachedResponse.getETag());
+			}
+			if (cachedResponse.getLastModified() != null) {
+				request.setHeader(ConditionalRequestCache.HEADER_IF_MODIFIED_SINCE, cachedResponse.getLastModified());
+			}
+		}
+
+		CommonHttpResponse response = execute(request, monitor);
+		try {
+			if (cachedResponse != null && response.getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
+				T result = parseCachedResponse(cachedResponse);
+				if (result != null) {
+					return result;
+				}
+			} else {
+				doValidate(response, monitor);
+				byte[] content = ByteStreams.toByteArray(response.getResponseEntityAsStream());
+				T result = parse(new ByteArrayInputStream(content));
+				if (response.getStatusCode() == HttpStatus.SC_OK) {
+					cache.put(key, getHeader(response, ConditionalRequestCache.HEADER_ETAG),
+							getHeader(response, ConditionalRequestCache.HEADER_LAST_MODIFIED), null, content);
+				}
+				return result;
+			}
+		} finally {
+			response.release();
+		}
+
+		// the cached response is not usable, retrieve the full response
+		cache.remove(key);
+		return execute(monitor);
+	}
+
+	/**
+	 * Returns the parsed cached response or <code>null</code> if it can not be parsed.
+	 */
+	private T parseCachedResponse(CachedResponse cachedResponse) throws IOException, BugzillaRestException {
+		try {
+			return parse(cachedResponse.getContentAsStream());
+		} catch (JsonParseException e) {
+			return null;
+		}
+	}
+
+	private String getHeader(CommonHttpResponse response, String name) {
+		Header header = response.getResponse().getFirstHeader(name);
+		return (header != null) ? header.getValue() : null;
+	}
+
+}
@@ -14,11 +14,17 @@
 package org.eclipse.mylyn.internal.bugzilla.rest.core;
 
 import java.io.InputStreamReader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.eclipse.mylyn.commons.repositories.http.core.CommonHttpClient;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
 
+import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 
@@ -48,4 +54,27 @@ public class BugzillaRestGetRequest<T> extends BugzillaRestRequest<T> {
 	protected T parseFromJson(InputStreamReader in) throws BugzillaRestException {
 		return new Gson().fromJson(in, responseType.getType());
 	}
+
+	/**
+	 * Returns the query parameters that request all but the first task of <code>taskData</code> in addition to the
+	 * bug in the path of a request, or an empty string if <code>taskData</code> has a single element.
+	 */
+	protected static String getAdditionalIds(List<TaskData> taskData) {
+		if (taskData.size() <= 1) {
+			return ""; //$NON-NLS-1$
+		}
+		List<String> ids = Lists.newArrayListWithCapacity(taskData.size() - 1);
+		for (TaskData data : taskData.subList(1, taskData.size())) {
+			ids.add(data.getTaskId());
+		}
+		return "ids=" + Joiner.on("&ids=").join(ids); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	protected static Map<String, TaskData> getTaskDataById(List<TaskData> taskData) {
+		Map<String, TaskData> taskDataById = new HashMap<String, TaskData>();
+		for (TaskData data : taskData) {
+			taskDataById.put(data.getTaskId(), data);
+		}
+		return taskDataById;
+	}
 }
@@ -16,12 +16,12 @@ package org.eclipse.mylyn.internal.bugzilla.rest.core;
 import java.io.InputStreamReader;
 import java.lang.reflect.Type;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
-import java.util.Locale;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
-import java.util.TimeZone;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
@@ -31,7 +31,6 @@ import org.eclipse.mylyn.tasks.core.IRepositoryPerson;
 import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
 import org.eclipse.mylyn.tasks.core.data.TaskData;
 
-import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonDeserializationContext;
@@ -42,11 +41,24 @@ import com.google.gson.JsonParseException;
 import com.google.gson.reflect.TypeToken;
 
 public class BugzillaRestGetTaskAttachments extends BugzillaRestGetRequest<ArrayList<TaskAttribute>> {
-	private final TaskData taskData;
+	private final Map<String, TaskData> taskDataById;
 
 	public BugzillaRestGetTaskAttachments(CommonHttpClient client, TaskData taskData) {
-		super(client, "/bug/" + taskData.getTaskId() + "/attachment?exclude_fields=data", null); //$NON-NLS-1$ //$NON-NLS-2$
-		this.taskData = taskData;
+		this(client, Collections.singletonList(taskData));
+	}
+
+	/**
+	 * Retrieves the attachments of all tasks in <code>taskData</code> with a single request.
+	 */
+	public BugzillaRestGetTaskAttachments(CommonHttpClient client, List<TaskData> taskData) {
+		super(client, createUrlSuffix(taskData), null);
+		this.taskDataById = getTaskDataById(taskData);
+	}
+
+	private static String createUrlSuffix(List<TaskData> taskData) {
+		String urlSuffix = "/bug/" + taskData.get(0).getTaskId() + "/attachment?exclude_fields=data"; //$NON-NLS-1$ //$NON-NLS-2$
+		String additionalIds = getAdditionalIds(taskData);
+		return (additionalIds.length() > 0) ? urlSuffix + "&" + additionalIds : urlSuffix; //$NON-NLS-1$
 	}
 
 	@Override
@@ -67,6 +79,10 @@ public class BugzillaRestGetTaskAttachments extends BugzillaRestGetRequest<Array
 			ArrayList<TaskAttribute> response = new ArrayList<TaskAttribute>();
 
 			for (Entry<String, JsonElement> bugEntry : ((JsonObject) json.getAsJsonObject().get("bugs")).entrySet()) { //$NON-NLS-1$
+				TaskData taskData = taskDataById.get(bugEntry.getKey());
+				if (taskData == null) {
+					continue;
+				}
 				for (JsonElement jsonElement : bugEntry.getValue().getAsJsonArray()) {
 					JsonObject attachmentObject = (JsonObject) jsonElement;
 					String id = attachmentObject.get("id").getAsString(); //$NON-NLS-1$
@@ -83,11 +99,10 @@ public class BugzillaRestGetTaskAttachments extends BugzillaRestGetRequest<Array
 					attachmentMapper.setAuthor(author);
 					attachmentMapper.setLength(size != null ? size : -1L);
 					try {
-						SimpleDateFormat iso8601Format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.US); //$NON-NLS-1$
-						iso8601Format.setTimeZone(TimeZone.getTimeZone("UTC")); //$NON-NLS-1$
-						Date tempDate = iso8601Format.parse(attachmentObject.get("creation_time").getAsString()); //$NON-NLS-1$
+						Date tempDate = BugzillaRestGsonUtil
+								.parseDate(attachmentObject.get("creation_time").getAsString()); //$NON-NLS-1$
 						attachmentMapper.setCreationDate(tempDate);
-						tempDate = iso8601Format.parse(attachmentObject.get("last_change_time").getAsString()); //$NON-NLS-1$
+						tempDate = BugzillaRestGsonUtil.parseDate(attachmentObject.get("last_change_time").getAsString()); //$NON-NLS-1$
 						attachmentMapper.setDeltaDate(tempDate);
 					} catch (ParseException e) {
 						com.google.common.base.Throwables.propagate(new CoreException(new Status(IStatus.ERROR,
@@ -105,8 +120,8 @@ public class BugzillaRestGetTaskAttachments extends BugzillaRestGetRequest<Array
 					JsonArray flags = attachmentObject.get("flags").getAsJsonArray(); //$NON-NLS-1$
 					if (flags.size() > 0) {
 						for (JsonElement flagTmp : flags) {
-							BugzillaRestFlagMapper flagMapper = new Gson().fromJson(flagTmp,
-									BugzillaRestFlagMapper.class);
+							BugzillaRestFlagMapper flagMapper = BugzillaRestGsonUtil.getGson()
+									.fromJson(flagTmp, BugzillaRestFlagMapper.class);
 							TaskAttribute attribute = attachmentAttribute
 									.createAttribute(IBugzillaRestConstants.KIND_FLAG + flagMapper.getNumber());
 							flagMapper.applyTo(attribute);
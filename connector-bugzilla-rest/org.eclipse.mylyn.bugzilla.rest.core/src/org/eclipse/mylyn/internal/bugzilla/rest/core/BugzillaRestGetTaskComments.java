@@ -16,12 +16,12 @@ package org.eclipse.mylyn.internal.bugzilla.rest.core;
 import java.io.InputStreamReader;
 import java.lang.reflect.Type;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
-import java.util.Locale;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
-import java.util.TimeZone;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
@@ -41,11 +41,19 @@ import com.google.gson.JsonParseException;
 import com.google.gson.reflect.TypeToken;
 
 public class BugzillaRestGetTaskComments extends BugzillaRestGetRequest<ArrayList<TaskAttribute>> {
-	private final TaskData taskData;
+	private final Map<String, TaskData> taskDataById;
 
 	public BugzillaRestGetTaskComments(CommonHttpClient client, TaskData taskData) {
-		super(client, "/bug/" + taskData.getTaskId() + "/comment?", null); //$NON-NLS-1$ //$NON-NLS-2$
-		this.taskData = taskData;
+		this(client, Collections.singletonList(taskData));
+	}
+
+	/**
+	 * Retrieves the comments of all tasks in <code>taskData</code> with a single request.
+	 */
+	public BugzillaRestGetTaskComments(CommonHttpClient client, List<TaskData> taskData) {
+		super(client, "/bug/" + taskData.get(0).getTaskId() + "/comment?" + getAdditionalIds(taskData), //$NON-NLS-1$ //$NON-NLS-2$
+				null);
+		this.taskDataById = getTaskDataById(taskData);
 	}
 
 	@Override
@@ -67,6 +75,10 @@ public class BugzillaRestGetTaskComments extends BugzillaRestGetRequest<ArrayLis
 			ArrayList<TaskAttribute> response = new ArrayList<TaskAttribute>();
 			for (Entry<String, JsonElement> commentEntry : ((JsonObject) json.getAsJsonObject().get("bugs")) //$NON-NLS-1$
 					.entrySet()) {
+				TaskData taskData = taskDataById.get(commentEntry.getKey());
+				if (taskData == null) {
+					continue;
+				}
 				for (JsonElement jsonElement : ((JsonObject) commentEntry.getValue()).get("comments") //$NON-NLS-1$
 						.getAsJsonArray()) {
 					JsonObject comment = (JsonObject) jsonElement;
@@ -99,10 +111,8 @@ public class BugzillaRestGetTaskComments extends BugzillaRestGetRequest<ArrayLis
 							taskComment.setIsPrivate(null);
 						}
 						try {
-							SimpleDateFormat iso8601Format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", //$NON-NLS-1$
-									Locale.US);
-							iso8601Format.setTimeZone(TimeZone.getTimeZone("UTC")); //$NON-NLS-1$
-							Date tempDate = iso8601Format.parse(comment.get("creation_time").getAsString()); //$NON-NLS-1$
+							Date tempDate = BugzillaRestGsonUtil
+									.parseDate(comment.get("creation_time").getAsString()); //$NON-NLS-1$
 							taskComment.setCreationDate(tempDate);
 						} catch (ParseException e) {
 							com.google.common.base.Throwables.propagate(new CoreException(new Status(IStatus.ERROR,
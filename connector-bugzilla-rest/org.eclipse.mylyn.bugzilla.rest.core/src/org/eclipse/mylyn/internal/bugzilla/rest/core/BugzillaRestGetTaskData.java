@@ -16,15 +16,11 @@ package org.eclipse.mylyn.internal.bugzilla.rest.core;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.lang.reflect.Type;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map.Entry;
-import java.util.TimeZone;
 
 import org.apache.http.HttpStatus;
 import org.eclipse.core.runtime.CoreException;
@@ -38,38 +34,99 @@ import org.eclipse.mylyn.tasks.core.TaskRepository;
 import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
 import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
 import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.eclipse.mylyn.tasks.core.data.TaskDataCollector;
 import org.eclipse.osgi.util.NLS;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
-import com.google.gson.reflect.TypeToken;
-
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Reads the bugs of a response with a {@link JsonReader}. Only the bug that is currently read is held in memory as a
+ * JSON tree. If a collector is passed to the constructor each {@link TaskData} is passed to the collector as soon as
+ * it is complete and {@link #run(IOperationMonitor)} returns an empty list, otherwise all task data is returned.
+ */
 public class BugzillaRestGetTaskData extends BugzillaRestGetRequest<List<TaskData>> {
 
+	private static final TypeAdapter<JsonObject> BUG_ADAPTER = BugzillaRestGsonUtil.getGson()
+			.getAdapter(JsonObject.class);
+
 	private final TaskRepository taskRepository;
 
 	private final BugzillaRestConnector connector;
 
+	private final TaskDataCollector collector;
+
 	public BugzillaRestGetTaskData(CommonHttpClient client, BugzillaRestConnector connector, String urlSuffix,
 			TaskRepository taskRepository) {
+		this(client, connector, urlSuffix, taskRepository, null);
+	}
+
+	public BugzillaRestGetTaskData(CommonHttpClient client, BugzillaRestConnector connector, String urlSuffix,
+			TaskRepository taskRepository, TaskDataCollector collector) {
 		super(client, "/bug?" + urlSuffix, null); //$NON-NLS-1$
 		this.taskRepository = taskRepository;
 		this.connector = connector;
+		this.collector = collector;
 	}
 
 	@Override
 	protected List<TaskData> parseFromJson(InputStreamReader in) throws BugzillaRestException {
-		TypeToken<List<TaskData>> type = new TypeToken<List<TaskData>>() {
-		};
-		return new GsonBuilder().registerTypeAdapter(type.getType(), new JSonTaskDataDeserializer())
-				.create()
-				.fromJson(in, type.getType());
+		try {
+			JsonReader reader = new JsonReader(in);
+			List<TaskData> response = new ArrayList<TaskData>();
+			reader.beginObject();
+			while (reader.hasNext()) {
+				if ("bugs".equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) { //$NON-NLS-1$
+					readBugs(reader, response);
+				} else {
+					reader.skipValue();
+				}
+			}
+			reader.endObject();
+			return response;
+		} catch (IOException e) {
+			throw new BugzillaRestException(e);
+		} catch (IllegalStateException e) {
+			throw new BugzillaRestException(e);
+		} catch (JsonParseException e) {
+			throw new BugzillaRestException(e);
+		}
+	}
+
+	private void readBugs(JsonReader reader, List<TaskData> response) throws IOException, BugzillaRestException {
+		BugzillaRestTaskDataHandler dataHandler = (BugzillaRestTaskDataHandler) connector.getTaskDataHandler();
+		TaskAttributeMapper mapper = dataHandler.getAttributeMapper(taskRepository);
+		BugzillaRestConfiguration config = null;
+		reader.beginArray();
+		while (reader.hasNext()) {
+			JsonObject bugdata = BUG_ADAPTER.read(reader);
+			if (config == null) {
+				config = getRepositoryConfiguration();
+			}
+			TaskData taskData = createTaskData(bugdata, dataHandler, mapper);
+			if (config != null) {
+				config.addValidOperations(taskData);
+			}
+			if (collector != null) {
+				collector.accept(taskData);
+			} else {
+				response.add(taskData);
+			}
+		}
+		reader.endArray();
+	}
+
+	private BugzillaRestConfiguration getRepositoryConfiguration() throws BugzillaRestException {
+		try {
+			return connector.getRepositoryConfiguration(taskRepository);
+		} catch (CoreException e) {
+			throw new BugzillaRestException(e);
+		}
 	}
 
 	@Override
@@ -97,104 +154,77 @@ public class BugzillaRestGetTaskData extends BugzillaRestGetRequest<List<TaskDat
 
 	BugzillaRestTaskSchema taskSchema = BugzillaRestTaskSchema.getDefault();
 
-	private class JSonTaskDataDeserializer implements JsonDeserializer<ArrayList<TaskData>> {
-
-		@Override
-		public ArrayList<TaskData> deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
-				throws JsonParseException {
-			ArrayList<TaskData> response = new ArrayList<TaskData>();
-			BugzillaRestTaskDataHandler dataHandler = (BugzillaRestTaskDataHandler) connector.getTaskDataHandler();
-			TaskAttributeMapper mapper = dataHandler.getAttributeMapper(taskRepository);
-			for (JsonElement bug : json.getAsJsonObject().get("bugs").getAsJsonArray()) { //$NON-NLS-1$
-				JsonObject bugdata = bug.getAsJsonObject();
-				TaskData taskData = null;
-				Integer taskId = bugdata.get("id").getAsInt(); //$NON-NLS-1$
-				taskData = new TaskData(mapper, connector.getConnectorKind(), taskRepository.getRepositoryUrl(),
-						taskId.toString());
-				try {
-					dataHandler.initializeTaskData(taskRepository, taskData, null, null);
-				} catch (CoreException e) {
-					com.google.common.base.Throwables.propagate(e);
-				}
-				TaskAttribute idAttribute = taskData.getRoot().getAttribute(taskSchema.BUG_ID.getKey());
-				idAttribute.setValue(taskId.toString());
-				response.add(taskData);
-				for (Entry<String, JsonElement> entry : bugdata.entrySet()) {
-					String attributeId = BugzillaRestTaskSchema.getAttributeNameFromFieldName(entry.getKey());
-					if (entry.getKey().equals("assigned_to_detail")) { //$NON-NLS-1$
-						TaskAttribute attribute = taskData.getRoot().getAttribute(taskSchema.ASSIGNED_TO.getKey());
-						if (attribute != null) {
-							JsonElement value = entry.getValue().getAsJsonObject().get("email"); //$NON-NLS-1$
-							if (value != null) {
-								attribute.setValue(value.getAsString());
-							} else {
-								value = entry.getValue().getAsJsonObject().get("name"); //$NON-NLS-1$
-								if (value != null) {
-									attribute.setValue(value.getAsString());
-								}
-							}
+	private TaskData createTaskData(JsonObject bugdata, BugzillaRestTaskDataHandler dataHandler,
+			TaskAttributeMapper mapper) throws BugzillaRestException {
+		Integer taskId = bugdata.get("id").getAsInt(); //$NON-NLS-1$
+		TaskData taskData = new TaskData(mapper, connector.getConnectorKind(), taskRepository.getRepositoryUrl(),
+				taskId.toString());
+		try {
+			dataHandler.initializeTaskData(taskRepository, taskData, null, null);
+		} catch (CoreException e) {
+			throw new BugzillaRestException(e);
+		}
+		TaskAttribute idAttribute = taskData.getRoot().getAttribute(taskSchema.BUG_ID.getKey());
+		idAttribute.setValue(taskId.toString());
+		for (Entry<String, JsonElement> entry : bugdata.entrySet()) {
+			String attributeId = BugzillaRestTaskSchema.getAttributeNameFromFieldName(entry.getKey());
+			if (entry.getKey().equals("assigned_to_detail")) { //$NON-NLS-1$
+				TaskAttribute attribute = taskData.getRoot().getAttribute(taskSchema.ASSIGNED_TO.getKey());
+				if (attribute != null) {
+					JsonElement value = entry.getValue().getAsJsonObject().get("email"); //$NON-NLS-1$
+					if (value != null) {
+						attribute.setValue(value.getAsString());
+					} else {
+						value = entry.getValue().getAsJsonObject().get("name"); //$NON-NLS-1$
+						if (value != null) {
+							attribute.setValue(value.getAsString());
 						}
+					}
+				}
+				continue;
+			} else if (entry.getKey().equals("last_change_time")) { //$NON-NLS-1$
+				TaskAttribute attribute = taskData.getRoot().getAttribute(taskSchema.DATE_MODIFICATION.getKey());
+				JsonElement value = entry.getValue(); //.get("real_name");
+				if (attribute != null) {
+					try {
+						Date tempDate = BugzillaRestGsonUtil.parseDate(value.getAsString());
+						attribute.setValue(Long.toString(tempDate.getTime()));
 						continue;
-					} else if (entry.getKey().equals("last_change_time")) { //$NON-NLS-1$
+					} catch (ParseException e) {
+						throw new BugzillaRestException(new CoreException(new Status(IStatus.ERROR,
+								BugzillaRestCore.ID_PLUGIN, "Can not parse Date (" + value.getAsString() + ")"))); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+				}
+			} else if (entry.getKey().equals("flags")) { //$NON-NLS-1$
+				JsonArray array = entry.getValue().getAsJsonArray();
+				if (!array.isJsonNull()) {
+					for (JsonElement jsonElement : array) {
+						BugzillaRestFlagMapper flagMapper = BugzillaRestGsonUtil.getGson()
+								.fromJson(jsonElement, BugzillaRestFlagMapper.class);
 						TaskAttribute attribute = taskData.getRoot()
-								.getAttribute(taskSchema.DATE_MODIFICATION.getKey());
-						JsonElement value = entry.getValue(); //.get("real_name");
-						if (attribute != null) {
-							try {
-								SimpleDateFormat iso8601Format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", //$NON-NLS-1$
-										Locale.US);
-								iso8601Format.setTimeZone(TimeZone.getTimeZone("UTC")); //$NON-NLS-1$
-								Date tempDate = iso8601Format.parse(value.getAsString());
-								attribute.setValue(Long.toString(tempDate.getTime()));
-								continue;
-							} catch (ParseException e) {
-								com.google.common.base.Throwables.propagate(
-										new CoreException(new Status(IStatus.ERROR, BugzillaRestCore.ID_PLUGIN,
-												"Can not parse Date (" + value.getAsString() + ")"))); //$NON-NLS-1$ //$NON-NLS-2$
-							}
-						}
-					} else if (entry.getKey().equals("flags")) { //$NON-NLS-1$
-						JsonArray array = entry.getValue().getAsJsonArray();
-						if (!array.isJsonNull()) {
-							for (JsonElement jsonElement : array) {
-								BugzillaRestFlagMapper flagMapper = new Gson().fromJson(jsonElement,
-										BugzillaRestFlagMapper.class);
-								TaskAttribute attribute = taskData.getRoot()
-										.createAttribute(IBugzillaRestConstants.KIND_FLAG + flagMapper.getNumber());
-								flagMapper.applyTo(attribute);
-							}
-						}
+								.createAttribute(IBugzillaRestConstants.KIND_FLAG + flagMapper.getNumber());
+						flagMapper.applyTo(attribute);
 					}
+				}
+			}
 
-					TaskAttribute attribute = taskData.getRoot().getAttribute(attributeId);
-					if (attribute != null) {
-						JsonElement value = entry.getValue();
-						if (!value.isJsonNull()) {
-							if (value.isJsonArray()) {
-								JsonArray valueArray = value.getAsJsonArray();
-								attribute.clearValues();
-								for (JsonElement jsonElement : valueArray) {
-									attribute.addValue(jsonElement.getAsString());
-								}
-							} else {
-								attribute.setValue(entry.getValue().getAsString());
-							}
+			TaskAttribute attribute = taskData.getRoot().getAttribute(attributeId);
+			if (attribute != null) {
+				JsonElement value = entry.getValue();
+				if (!value.isJsonNull()) {
+					if (value.isJsonArray()) {
+						JsonArray valueArray = value.getAsJsonArray();
+						attribute.clearValues();
+						for (JsonElement jsonElement : valueArray) {
+							attribute.addValue(jsonElement.getAsString());
 						}
+					} else {
+						attribute.setValue(entry.getValue().getAsString());
 					}
 				}
-				BugzillaRestConfiguration config;
-				try {
-					config = connector.getRepositoryConfiguration(taskRepository);
-					if (config != null) {
-						config.addValidOperations(taskData);
-					}
-				} catch (CoreException e) {
-					com.google.common.base.Throwables.propagate(e);
-				}
 			}
-			return response;
 		}
-
+		return taskData;
 	}
 
 }
\ No newline at end of file
@@ -16,7 +16,14 @@ package org.eclipse.mylyn.internal.bugzilla.rest.core;
 import static com.google.common.collect.Sets.newHashSet;
 
 import java.io.IOException;
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 
 import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
@@ -81,7 +88,32 @@ public class BugzillaRestGsonUtil {
 		}
 	}
 
-	private static Gson gson = new Gson();
+	private static final Gson gson = new Gson();
+
+	private static final DateTimeFormatter ISO8601_FORMAT = DateTimeFormatter
+			.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.US) //$NON-NLS-1$
+			.withZone(ZoneOffset.UTC);
+
+	/**
+	 * Returns a shared {@link Gson} instance with the default configuration. The instance is thread-safe.
+	 */
+	public static Gson getGson() {
+		return gson;
+	}
+
+	/**
+	 * Parses a date in the UTC format used by the Bugzilla REST API, e.g. <code>2015-03-12T21:14:41Z</code>. Safe for
+	 * concurrent use.
+	 */
+	public static Date parseDate(String value) throws ParseException {
+		try {
+			return Date.from(Instant.from(ISO8601_FORMAT.parse(value)));
+		} catch (DateTimeParseException e) {
+			ParseException exception = new ParseException(e.getMessage(), e.getErrorIndex());
+			exception.initCause(e);
+			throw exception;
+		}
+	}
 
 	public static String convertString2GSonString(String str) {
 		str = str.replace("\"", "\\\"").replace("\n", "\\\n"); //$NON-NLS-1$//$NON-NLS-2$ //$NON-NLS-3$//$NON-NLS-4$
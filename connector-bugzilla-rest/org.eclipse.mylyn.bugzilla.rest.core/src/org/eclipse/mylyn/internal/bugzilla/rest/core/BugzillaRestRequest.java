@@ -121,7 +121,11 @@ public abstract class BugzillaRestRequest<T> extends CommonHttpOperation<T> {
 
 	protected T doProcess(CommonHttpResponse response, IOperationMonitor monitor)
 			throws IOException, BugzillaRestException {
-		try (BufferedInputStream is = new BufferedInputStream(response.getResponseEntityAsStream())) {
+		return parse(response.getResponseEntityAsStream());
+	}
+
+	protected T parse(InputStream stream) throws IOException, BugzillaRestException {
+		try (BufferedInputStream is = new BufferedInputStream(stream)) {
 			InputStreamReader in = new InputStreamReader(is);
 			throwExeptionIfRestError(is, in);
 			return parseFromJson(in);
@@ -13,8 +13,7 @@
 
 package org.eclipse.mylyn.internal.bugzilla.core;
 
-import java.io.BufferedInputStream;
-import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -53,28 +52,11 @@ public class AbstractReportFactory {
 	 * @throws GeneralSecurityException
 	 */
 	protected void collectResults(DefaultHandler contentHandler, boolean clean) throws IOException {
-		File tempFile = null;
-
 		if (inStream == null) {
 			return;
 		}
 
-		final BufferedInputStream is = new BufferedInputStream(inStream, 1024);
-
-		InputStream iis = new InputStream() {
-			@SuppressWarnings({ "restriction" })
-			@Override
-			public int read() throws IOException {
-				int c;
-				while ((c = is.read()) != -1) {
-					if (org.eclipse.mylyn.internal.commons.core.XmlStringConverter.isValid((char) c)) {
-						return c;
-					}
-				}
-				return -1;
-			}
-		};
-
+		InputStream iis = new XmlSanitizingInputStream(inStream);
 		Reader in;
 		if (characterEncoding != null) {
 			in = new InputStreamReader(iis, characterEncoding);
@@ -83,9 +65,7 @@ public class AbstractReportFactory {
 		}
 
 		if (clean) {
-			tempFile = File.createTempFile("XmlCleaner-", "tmp"); //$NON-NLS-1$//$NON-NLS-2$
-			tempFile.deleteOnExit();
-			in = XmlCleaner.clean(in, tempFile);
+			in = XmlCleaner.clean(in);
 		}
 
 		try {
@@ -126,11 +106,53 @@ public class AbstractReportFactory {
 		} catch (SAXException e) {
 			throw new IOException(e.getMessage());
 		}
+	}
+
+	/**
+	 * Drops bytes that are not valid XML characters. Bulk reads filter each block in place which avoids a call through
+	 * the stream for every byte of the response.
+	 */
+	private static class XmlSanitizingInputStream extends FilterInputStream {
+
+		public XmlSanitizingInputStream(InputStream in) {
+			super(in);
+		}
 
-		finally {
-			if (tempFile != null) {
-				tempFile.delete();
+		@Override
+		public int read() throws IOException {
+			int c;
+			while ((c = in.read()) != -1) {
+				if (isValid(c)) {
+					return c;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			while (true) {
+				int n = in.read(b, off, len);
+				if (n <= 0) {
+					return n;
+				}
+				int count = 0;
+				for (int i = off; i < off + n; i++) {
+					if (isValid(b[i] & 0xFF)) {
+						b[off + count++] = b[i];
+					}
+				}
+				if (count > 0) {
+					return count;
+				}
 			}
 		}
+
+		@SuppressWarnings("restriction")
+		private static boolean isValid(int c) {
+			return org.eclipse.mylyn.internal.commons.core.XmlStringConverter.isValid((char) c);
+		}
+
 	}
+
 }
@@ -17,12 +17,14 @@ package org.eclipse.mylyn.internal.bugzilla.core;
 
 import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
@@ -40,10 +42,21 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.swing.text.html.HTML.Tag;
 
@@ -71,6 +84,7 @@ import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubProgressMonitor;
 import org.eclipse.mylyn.commons.core.HtmlStreamTokenizer;
@@ -85,6 +99,8 @@ import org.eclipse.mylyn.commons.net.WebLocation;
 import org.eclipse.mylyn.commons.net.WebUtil;
 import org.eclipse.mylyn.internal.bugzilla.core.IBugzillaConstants.BUGZILLA_REPORT_STATUS_4_0;
 import org.eclipse.mylyn.internal.bugzilla.core.service.BugzillaXmlRpcClient;
+import org.eclipse.mylyn.internal.tasks.core.ConditionalRequestCache;
+import org.eclipse.mylyn.internal.tasks.core.ConditionalRequestCache.CachedResponse;
 import org.eclipse.mylyn.internal.tasks.core.TaskRepositoryLocation;
 import org.eclipse.mylyn.tasks.core.IRepositoryQuery;
 import org.eclipse.mylyn.tasks.core.RepositoryResponse;
@@ -116,6 +132,27 @@ public class BugzillaClient {
 
 	public static final int MAX_RETRIEVED_PER_QUERY = 50;
 
+	private static final int MIN_RETRIEVED_PER_QUERY = 10;
+
+	private static final int MAX_RETRIEVED_PER_PIPELINED_QUERY = 200;
+
+	private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 1;
+
+	/**
+	 * the time in nanoseconds that a pipelined request for task data should take
+	 */
+	private static final long TARGET_REQUEST_TIME = TimeUnit.SECONDS.toNanos(5);
+
+	private static final ThreadFactory TASK_DATA_THREAD_FACTORY = new ThreadFactory() {
+		private final AtomicInteger threadNumber = new AtomicInteger();
+
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, "Bugzilla Task Data Retrieval-" + threadNumber.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		}
+	};
+
 	private static final String QUERY_DELIMITER = "?"; //$NON-NLS-1$
 
 	private static final String KEY_ID = "id"; //$NON-NLS-1$
@@ -172,13 +209,26 @@ public class BugzillaClient {
 
 	private static final String ATTR_CHARSET = "charset"; //$NON-NLS-1$
 
+	/**
+	 * The message of the status that is thrown if a conditional request reports that a resource was not modified.
+	 */
+	public static final String MESSAGE_NOT_CHANGED = "Not changed"; //$NON-NLS-1$
+
 	protected Proxy proxy = Proxy.NO_PROXY;
 
 	protected URL repositoryUrl;
 
 	protected String characterEncoding;
 
-	private boolean loggedIn;
+	/**
+	 * true, if the session is authenticated, may be reset by any thread that sends a request
+	 */
+	private volatile boolean loggedIn;
+
+	/**
+	 * serializes logins so that requests that are sent concurrently do not log in at the same time
+	 */
+	private final Object authenticationLock = new Object();
 
 	private final Map<String, String> configParameters;
 
@@ -190,14 +240,17 @@ public class BugzillaClient {
 
 	private RepositoryConfiguration repositoryConfiguration;
 
-	private HostConfiguration hostConfiguration;
-
 	private final AbstractWebLocation location;
 
 	private final BugzillaRepositoryConnector connector;
 
 	private BugzillaXmlRpcClient xmlRpcClient = null;
 
+	/**
+	 * the cache for the repository configuration, or null
+	 */
+	private ConditionalRequestCache conditionalRequestCache = ConditionalRequestCache.getDefault();
+
 	public BugzillaClient(AbstractWebLocation location, String characterEncoding, Map<String, String> configParameters,
 			BugzillaLanguageSettings languageSettings, BugzillaRepositoryConnector connector)
 			throws MalformedURLException {
@@ -276,7 +329,7 @@ public class BugzillaClient {
 
 	private GzipGetMethod getConnect(String serverURL, IProgressMonitor monitor) throws IOException, CoreException {
 
-		return connectInternal(serverURL, false, monitor, null);
+		return connectInternal(serverURL, false, monitor, null, null);
 
 	}
 
@@ -300,14 +353,23 @@ public class BugzillaClient {
 	protected GzipGetMethod getConnectGzip(String serverURL, IProgressMonitor monitor, String eTagValue)
 			throws IOException, CoreException {
 
-		return connectInternal(serverURL, true, monitor, eTagValue);
+		return connectInternal(serverURL, true, monitor, eTagValue, null);
 
 	}
 
-	private GzipGetMethod connectInternal(String requestURL, boolean gzip, IProgressMonitor monitor, String eTagValue)
-			throws IOException, CoreException {
+	/**
+	 * Sends a conditional request. If the resource was not modified a {@link CoreException} with the message
+	 * {@link #MESSAGE_NOT_CHANGED} is thrown.
+	 */
+	protected GzipGetMethod getConnectGzip(String serverURL, IProgressMonitor monitor, String eTagValue,
+			String lastModifiedValue) throws IOException, CoreException {
+		return connectInternal(serverURL, true, monitor, eTagValue, lastModifiedValue);
+	}
+
+	private GzipGetMethod connectInternal(String requestURL, boolean gzip, IProgressMonitor monitor, String eTagValue,
+			String lastModifiedValue) throws IOException, CoreException {
 		monitor = Policy.monitorFor(monitor);
-		hostConfiguration = WebUtil.createHostConfiguration(httpClient, location, monitor);
+		HostConfiguration hostConfiguration = WebUtil.createHostConfiguration(httpClient, location, monitor);
 
 		for (int attempt = 0; attempt < 2; attempt++) {
 			// force authentication
@@ -322,7 +384,10 @@ public class BugzillaClient {
 					+ getCharacterEncoding());
 
 			if (eTagValue != null && eTagValue.compareTo("") != 0) { //$NON-NLS-1$
-				getMethod.setRequestHeader("If-None-Match", eTagValue); //$NON-NLS-1$
+				getMethod.setRequestHeader(ConditionalRequestCache.HEADER_IF_NONE_MATCH, eTagValue);
+			}
+			if (lastModifiedValue != null && lastModifiedValue.length() > 0) {
+				getMethod.setRequestHeader(ConditionalRequestCache.HEADER_IF_MODIFIED_SINCE, lastModifiedValue);
 			}
 			// Resolves bug#195113
 			httpClient.getParams().setParameter("http.protocol.single-cookie-header", true); //$NON-NLS-1$
@@ -347,7 +412,7 @@ public class BugzillaClient {
 				return getMethod;
 			case HttpURLConnection.HTTP_NOT_MODIFIED:
 				WebUtil.releaseConnection(getMethod, monitor);
-				throw new CoreException(new Status(IStatus.WARNING, BugzillaCorePlugin.ID_PLUGIN, "Not changed")); //$NON-NLS-1$
+				throw new CoreException(new Status(IStatus.WARNING, BugzillaCorePlugin.ID_PLUGIN, MESSAGE_NOT_CHANGED));
 			case HttpURLConnection.HTTP_UNAUTHORIZED:
 			case HttpURLConnection.HTTP_FORBIDDEN:
 				// login or reauthenticate due to an expired session
@@ -443,7 +508,8 @@ public class BugzillaClient {
 
 	}
 
-	private String getBugzillaLoginTokenIfExists(IProgressMonitor monitor) throws CoreException {
+	private String getBugzillaLoginTokenIfExists(HostConfiguration hostConfiguration, IProgressMonitor monitor)
+			throws CoreException {
 		String loginToken = null;
 		GzipPostMethod getMethod = new GzipPostMethod(WebUtil.getRequestPath(repositoryUrl.toString()) + "/index.cgi", //$NON-NLS-1$
 				true);
@@ -495,16 +561,25 @@ public class BugzillaClient {
 			return;
 		}
 
+		synchronized (authenticationLock) {
+			// another request may have logged in while waiting for the lock
+			if (!loggedIn) {
+				login(monitor);
+			}
+		}
+	}
+
+	private void login(IProgressMonitor monitor) throws CoreException {
 		monitor = Policy.monitorFor(monitor);
 
 		GzipPostMethod postMethod = null;
 
 		try {
-			hostConfiguration = WebUtil.createHostConfiguration(httpClient, location, monitor);
+			HostConfiguration hostConfiguration = WebUtil.createHostConfiguration(httpClient, location, monitor);
 
 			NameValuePair[] formData;
 
-			String loginToken = getBugzillaLoginTokenIfExists(monitor);
+			String loginToken = getBugzillaLoginTokenIfExists(hostConfiguration, monitor);
 			if (loginToken != null) {
 				formData = new NameValuePair[3];
 				formData[2] = new NameValuePair("Bugzilla_login_token", loginToken); //$NON-NLS-1$
@@ -835,11 +910,43 @@ public class BugzillaClient {
 
 	public RepositoryConfiguration getRepositoryConfiguration(IProgressMonitor monitor, String eTagValue)
 			throws IOException, CoreException {
+		String configUrl = repositoryUrl + IBugzillaConstants.URL_GET_CONFIG_RDF;
 		GzipGetMethod method = null;
 		int attempt = 0;
 		while (attempt < 2) {
+			// revalidate the cached configuration unless the caller sends its own validator
+			String cacheKey = ConditionalRequestCache.createKey(configUrl, getUserName());
+			CachedResponse cachedResponse = null;
+			if (conditionalRequestCache != null && eTagValue == null) {
+				cachedResponse = conditionalRequestCache.get(cacheKey);
+			}
 			try {
-				method = getConnectGzip(repositoryUrl + IBugzillaConstants.URL_GET_CONFIG_RDF, monitor, eTagValue);
+				if (cachedResponse != null) {
+					try {
+						method = getConnectGzip(configUrl, monitor, cachedResponse.getETag(),
+								cachedResponse.getLastModified());
+					} catch (CoreException e) {
+						if (!MESSAGE_NOT_CHANGED.equals(e.getStatus().getMessage())) {
+							throw e;
+						}
+						RepositoryConfiguration configuration = null;
+						try {
+							configuration = parseRepositoryConfiguration(cachedResponse.getContentAsStream(),
+									cachedResponse.getETag(), cachedResponse.getLastModified(), monitor);
+						} catch (IOException e) {
+							// the cached configuration is malformed
+						}
+						if (configuration != null
+								&& !configuration.getOptionValues(BugzillaAttribute.PRODUCT).isEmpty()) {
+							return configuration;
+						}
+						// the cached configuration is not usable, retrieve the full configuration
+						conditionalRequestCache.remove(cacheKey);
+						continue;
+					}
+				} else {
+					method = getConnectGzip(configUrl, monitor, eTagValue);
+				}
 				// provide a solution for bug 196056 by allowing a (cached)
 				// gzipped configuration to be sent
 				// modified to also accept "application/x-gzip" as results from
@@ -850,64 +957,36 @@ public class BugzillaClient {
 
 				InputStream stream = getResponseStream(method, monitor);
 				try {
-					if (method.getResponseHeader("Content-Type") != null) { //$NON-NLS-1$
-						Header responseTypeHeader = method.getResponseHeader("Content-Type"); //$NON-NLS-1$
-						for (String type : VALID_CONFIG_CONTENT_TYPES) {
-							if (responseTypeHeader.getValue().toLowerCase(Locale.ENGLISH).contains(type)) {
-								RepositoryConfigurationFactory configFactory = new RepositoryConfigurationFactory(
-										stream, getCharacterEncoding());
-
-								repositoryConfiguration = configFactory.getConfiguration();
-								Header eTag = method.getResponseHeader("ETag"); //$NON-NLS-1$
-								if (eTag != null) {
-									repositoryConfiguration.setETagValue(eTag.getValue());
-								} else {
-									repositoryConfiguration.setETagValue(null);
-								}
-								Header lastModifiedHeader = method.getResponseHeader("Last-Modified"); //$NON-NLS-1$
-								if (lastModifiedHeader != null) {
-									try {
-										repositoryConfiguration.setLastModifiedHeader(
-												DateUtil.parseDate(lastModifiedHeader.getValue()));
-									} catch (DateParseException e) {
-										repositoryConfiguration.setLastModifiedHeader((Date) null);
-									}
-								} else {
-									repositoryConfiguration.setLastModifiedHeader((Date) null);
-								}
-
-								if (repositoryConfiguration != null) {
-									getXmlRpcClient();
-									if (xmlRpcClient != null) {
-										xmlRpcClient.updateConfiguration(monitor, repositoryConfiguration,
-												configParameters.get(IBugzillaConstants.BUGZILLA_DESCRIPTOR_FILE));
-									} else {
-										repositoryConfiguration.setValidTransitions(monitor,
-												configParameters.get(IBugzillaConstants.BUGZILLA_DESCRIPTOR_FILE),
-												null);
-									}
-									if (!repositoryConfiguration.getOptionValues(BugzillaAttribute.PRODUCT).isEmpty()) {
-										repositoryConfiguration.setRepositoryUrl(repositoryUrl.toString());
-									}
-
-									if (!repositoryConfiguration.getOptionValues(BugzillaAttribute.PRODUCT).isEmpty()) {
-										return repositoryConfiguration;
-									} else {
-										if (attempt == 0) {
-											// empty configuration, retry
-											// authenticate
-											loggedIn = false;
-											break;
-										} else {
-											throw new CoreException(new Status(IStatus.WARNING,
-													BugzillaCorePlugin.ID_PLUGIN,
-													"No products found in repository configuration. Ensure credentials are valid.")); //$NON-NLS-1$
-										}
-									}
+					if (isValidConfigContentType(method.getResponseHeader("Content-Type"))) { //$NON-NLS-1$
+						byte[] content = null;
+						if (conditionalRequestCache != null) {
+							ByteArrayOutputStream out = new ByteArrayOutputStream();
+							transferData(stream, out);
+							content = out.toByteArray();
+						}
+						String eTag = getResponseHeaderValue(method, ConditionalRequestCache.HEADER_ETAG);
+						String lastModified = getResponseHeaderValue(method,
+								ConditionalRequestCache.HEADER_LAST_MODIFIED);
+						RepositoryConfiguration configuration = parseRepositoryConfiguration(
+								(content != null) ? new ByteArrayInputStream(content) : stream, eTag, lastModified,
+								monitor);
+						if (configuration != null) {
+							if (!configuration.getOptionValues(BugzillaAttribute.PRODUCT).isEmpty()) {
+								if (content != null) {
+									conditionalRequestCache.put(cacheKey, eTag, lastModified, getCharacterEncoding(),
+											content);
 								}
+								return configuration;
+							} else if (attempt == 0) {
+								// empty configuration, retry
+								// authenticate
+								loggedIn = false;
+								continue;
+							} else {
+								throw new CoreException(new Status(IStatus.WARNING, BugzillaCorePlugin.ID_PLUGIN,
+										"No products found in repository configuration. Ensure credentials are valid.")); //$NON-NLS-1$
 							}
 						}
-
 					}
 					if (loggedIn) {
 						throw new CoreException(parseHtmlError(stream));
@@ -919,12 +998,79 @@ public class BugzillaClient {
 				attempt++;
 				if (method != null) {
 					WebUtil.releaseConnection(method, monitor);
+					method = null;
 				}
 			}
 		}
 		return null;
 	}
 
+	private boolean isValidConfigContentType(Header responseTypeHeader) {
+		if (responseTypeHeader != null) {
+			for (String type : VALID_CONFIG_CONTENT_TYPES) {
+				if (responseTypeHeader.getValue().toLowerCase(Locale.ENGLISH).contains(type)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private String getResponseHeaderValue(HttpMethodBase method, String name) {
+		Header header = method.getResponseHeader(name);
+		return (header != null) ? header.getValue() : null;
+	}
+
+	/**
+	 * Parses the configuration from <code>stream</code> and completes it with the valid transitions. Sets
+	 * {@link #repositoryConfiguration}.
+	 */
+	private RepositoryConfiguration parseRepositoryConfiguration(InputStream stream, String eTag, String lastModified,
+			IProgressMonitor monitor) throws IOException, CoreException {
+		RepositoryConfigurationFactory configFactory = new RepositoryConfigurationFactory(stream,
+				getCharacterEncoding());
+		repositoryConfiguration = configFactory.getConfiguration();
+		if (repositoryConfiguration == null) {
+			return null;
+		}
+		repositoryConfiguration.setETagValue(eTag);
+		if (lastModified != null) {
+			try {
+				repositoryConfiguration.setLastModifiedHeader(DateUtil.parseDate(lastModified));
+			} catch (DateParseException e) {
+				repositoryConfiguration.setLastModifiedHeader((Date) null);
+			}
+		} else {
+			repositoryConfiguration.setLastModifiedHeader((Date) null);
+		}
+
+		getXmlRpcClient();
+		if (xmlRpcClient != null) {
+			xmlRpcClient.updateConfiguration(monitor, repositoryConfiguration,
+					configParameters.get(IBugzillaConstants.BUGZILLA_DESCRIPTOR_FILE));
+		} else {
+			repositoryConfiguration.setValidTransitions(monitor,
+					configParameters.get(IBugzillaConstants.BUGZILLA_DESCRIPTOR_FILE), null);
+		}
+		if (!repositoryConfiguration.getOptionValues(BugzillaAttribute.PRODUCT).isEmpty()) {
+			repositoryConfiguration.setRepositoryUrl(repositoryUrl.toString());
+		}
+		return repositoryConfiguration;
+	}
+
+	private String getUserName() {
+		AuthenticationCredentials credentials = location.getCredentials(AuthenticationType.REPOSITORY);
+		return (credentials != null) ? credentials.getUserName() : null;
+	}
+
+	public ConditionalRequestCache getConditionalRequestCache() {
+		return conditionalRequestCache;
+	}
+
+	public void setConditionalRequestCache(ConditionalRequestCache conditionalRequestCache) {
+		this.conditionalRequestCache = conditionalRequestCache;
+	}
+
 	public InputStream getAttachmentData(String attachmentId, IProgressMonitor monitor)
 			throws IOException, CoreException {
 		String url = repositoryUrl + IBugzillaConstants.URL_GET_ATTACHMENT_DOWNLOAD + attachmentId;
@@ -999,7 +1145,7 @@ public class BugzillaClient {
 					Messages.BugzillaClient_description_required_when_submitting_attachments));
 		}
 
-		hostConfiguration = WebUtil.createHostConfiguration(httpClient, location, monitor);
+		HostConfiguration hostConfiguration = WebUtil.createHostConfiguration(httpClient, location, monitor);
 		authenticate(monitor);
 		GzipPostMethod postMethod = null;
 
@@ -1131,7 +1277,7 @@ public class BugzillaClient {
 
 		GzipPostMethod postMethod = null;
 		monitor = Policy.monitorFor(monitor);
-		hostConfiguration = WebUtil.createHostConfiguration(httpClient, location, monitor);
+		HostConfiguration hostConfiguration = WebUtil.createHostConfiguration(httpClient, location, monitor);
 		authenticate(monitor);
 
 		postMethod = new GzipPostMethod(WebUtil.getRequestPath(repositoryUrl.toString() + formUrl), true);
@@ -1142,6 +1288,7 @@ public class BugzillaClient {
 
 		postMethod.setRequestBody(formData);
 		postMethod.setDoAuthentication(true);
+		// task data may be posted concurrently, use the host configuration created for this request
 		int status = WebUtil.execute(httpClient, hostConfiguration, postMethod, monitor);
 		if (status == HttpStatus.SC_OK) {
 			return postMethod;
@@ -1358,7 +1505,7 @@ public class BugzillaClient {
 		if (!loggedIn) {
 			authenticate(new SubProgressMonitor(monitor, 1));
 		}
-		hostConfiguration = WebUtil.createHostConfiguration(httpClient, location, monitor);
+		HostConfiguration hostConfiguration = WebUtil.createHostConfiguration(httpClient, location, monitor);
 
 		GzipGetMethod getMethod = new GzipGetMethod(WebUtil.getRequestPath(bugUrl), false);
 		getMethod.setRequestHeader("Content-Type", "text/xml; charset=" + getCharacterEncoding()); //$NON-NLS-1$ //$NON-NLS-2$
@@ -1917,7 +2064,7 @@ public class BugzillaClient {
 	private HtmlInformation getHtmlOnlyInformation(TaskData taskData, IProgressMonitor monitor) throws CoreException {
 		HtmlInformation htmlInfo = new HtmlInformation();
 		authenticate(new SubProgressMonitor(monitor, 1));
-		hostConfiguration = WebUtil.createHostConfiguration(httpClient, location, monitor);
+		HostConfiguration hostConfiguration = WebUtil.createHostConfiguration(httpClient, location, monitor);
 
 		String bugUrl = taskData.getRepositoryUrl() + IBugzillaConstants.URL_GET_SHOW_BUG + taskData.getTaskId();
 		GzipGetMethod getMethod = new GzipGetMethod(WebUtil.getRequestPath(bugUrl), false);
@@ -2273,40 +2420,133 @@ public class BugzillaClient {
 			connector.addRepositoryConfiguration(repositoryConfiguration);
 		}
 
-		GzipPostMethod method = null;
-		HashMap<String, TaskData> taskDataMap = new HashMap<String, TaskData>();
-		// make a copy to modify set
-		taskIds = new HashSet<String>(taskIds);
-		int authenticationAttempt = 0;
-		while (taskIds.size() > 0) {
+		Set<String> idsToRetrieve = new LinkedHashSet<String>();
+		for (String taskId : taskIds) {
+			// remove leading zeros
+			while (taskId.startsWith("0")) { //$NON-NLS-1$
+				taskId = taskId.substring(1);
+			}
+			idsToRetrieve.add(taskId);
+		}
 
-			try {
+		// the first request is sent on the calling thread to make sure that the client is authenticated before
+		// requests are sent concurrently
+		Iterator<String> itr = idsToRetrieve.iterator();
+		if (!itr.hasNext()) {
+			return;
+		}
+		getTaskDataChunk(nextChunk(itr, MAX_RETRIEVED_PER_QUERY), collector, mapper, monitor);
 
-				Set<String> idsToRetrieve = new HashSet<String>();
-				Iterator<String> itr = taskIds.iterator();
-				for (int x = 0; itr.hasNext() && x < MAX_RETRIEVED_PER_QUERY; x++) {
-					String taskId = itr.next();
-					String taskIdOrg = taskId;
-					// remove leading zeros
-					boolean changed = false;
-					while (taskId.startsWith("0")) { //$NON-NLS-1$
-						taskId = taskId.substring(1);
-						changed = true;
-					}
-					idsToRetrieve.add(taskId);
-					if (changed) {
-						taskIds.remove(taskIdOrg);
-						taskIds.add(taskId);
-					}
+		int maxConcurrentRequests = getMaxConcurrentRequests();
+		if (maxConcurrentRequests > 1 && itr.hasNext()) {
+			getTaskDataPipelined(itr, collector, mapper, monitor, maxConcurrentRequests);
+		} else {
+			while (itr.hasNext()) {
+				getTaskDataChunk(nextChunk(itr, MAX_RETRIEVED_PER_QUERY), collector, mapper, monitor);
+			}
+		}
+	}
+
+	/**
+	 * Keeps up to <code>maxConcurrentRequests</code> requests for task data in flight. Responses are parsed on the
+	 * thread that sent the request and the number of tasks per request is adapted to the measured response times.
+	 */
+	private void getTaskDataPipelined(Iterator<String> itr, TaskDataCollector collector,
+			final TaskAttributeMapper mapper, final IProgressMonitor monitor, int maxConcurrentRequests)
+			throws IOException, CoreException {
+		final TaskDataCollector synchronizedCollector = new SynchronizedTaskDataCollector(collector);
+		// progress monitors are not thread-safe, requests only poll the monitor of the caller for cancellation
+		final IProgressMonitor requestMonitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return super.isCanceled() || (monitor != null && monitor.isCanceled());
+			}
+		};
+		ExecutorService executor = Executors.newFixedThreadPool(maxConcurrentRequests, TASK_DATA_THREAD_FACTORY);
+		CompletionService<Long> completionService = new ExecutorCompletionService<Long>(executor);
+		try {
+			int chunkSize = MAX_RETRIEVED_PER_QUERY;
+			int pendingRequests = 0;
+			while (pendingRequests > 0 || itr.hasNext()) {
+				while (pendingRequests < maxConcurrentRequests && itr.hasNext()) {
+					final Set<String> idsToRetrieve = nextChunk(itr, chunkSize);
+					completionService.submit(new Callable<Long>() {
+						public Long call() throws Exception {
+							long startTime = System.nanoTime();
+							getTaskDataChunk(idsToRetrieve, synchronizedCollector, mapper, requestMonitor);
+							return (System.nanoTime() - startTime) / idsToRetrieve.size();
+						}
+					});
+					pendingRequests++;
 				}
 
-				NameValuePair[] formData = new NameValuePair[idsToRetrieve.size() + 2];
+				Future<Long> future = completionService.take();
+				pendingRequests--;
+				chunkSize = getAdaptedChunkSize(chunkSize, future.get());
+			}
+		} catch (InterruptedException e) {
+			throw new InterruptedIOException();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof CoreException) {
+				throw (CoreException) cause;
+			} else if (cause instanceof IOException) {
+				throw (IOException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IOException(cause);
+		} finally {
+			// aborts requests that are still in flight in case of an error
+			requestMonitor.setCanceled(true);
+			executor.shutdownNow();
+		}
+	}
 
-				if (idsToRetrieve.size() == 0) {
-					return;
-				}
+	/**
+	 * Returns the number of tasks to request at once so that a request takes about {@link #TARGET_REQUEST_TIME}. The
+	 * size grows by at most a factor of two at a time.
+	 * 
+	 * @param timePerTask
+	 *            the time in nanoseconds it took to retrieve a single task with the previous request
+	 */
+	static int getAdaptedChunkSize(int chunkSize, long timePerTask) {
+		long size = (timePerTask > 0) ? TARGET_REQUEST_TIME / timePerTask : Integer.MAX_VALUE;
+		size = Math.min(size, chunkSize * 2L);
+		return (int) Math.max(MIN_RETRIEVED_PER_QUERY, Math.min(MAX_RETRIEVED_PER_PIPELINED_QUERY, size));
+	}
 
-				itr = idsToRetrieve.iterator();
+	private static Set<String> nextChunk(Iterator<String> itr, int chunkSize) {
+		Set<String> idsToRetrieve = new HashSet<String>();
+		for (int x = 0; itr.hasNext() && x < chunkSize; x++) {
+			idsToRetrieve.add(itr.next());
+		}
+		return idsToRetrieve;
+	}
+
+	private int getMaxConcurrentRequests() {
+		String value = configParameters.get(IBugzillaConstants.BUGZILLA_MAX_CONCURRENT_REQUESTS);
+		if (value != null) {
+			try {
+				return Integer.parseInt(value);
+			} catch (NumberFormatException e) {
+				// use default
+			}
+		}
+		return DEFAULT_MAX_CONCURRENT_REQUESTS;
+	}
+
+	private void getTaskDataChunk(Set<String> idsToRetrieve, TaskDataCollector collector, TaskAttributeMapper mapper,
+			IProgressMonitor monitor) throws IOException, CoreException {
+		int authenticationAttempt = 0;
+		while (true) {
+			GzipPostMethod method = null;
+			try {
+				HashMap<String, TaskData> taskDataMap = new HashMap<String, TaskData>();
+				NameValuePair[] formData = new NameValuePair[idsToRetrieve.size() + 2];
+				Iterator<String> itr = idsToRetrieve.iterator();
 				int x = 0;
 				for (; itr.hasNext(); x++) {
 					String taskId = itr.next();
@@ -2322,7 +2562,6 @@ public class BugzillaClient {
 					throw new IOException("Could not post form, client returned null method."); //$NON-NLS-1$
 				}
 
-				boolean parseable = false;
 				if (method.getResponseHeader("Content-Type") != null) { //$NON-NLS-1$
 					Header responseTypeHeader = method.getResponseHeader("Content-Type"); //$NON-NLS-1$
 					for (String type : VALID_CONFIG_CONTENT_TYPES) {
@@ -2336,10 +2575,7 @@ public class BugzillaClient {
 									customFields = repositoryConfiguration.getCustomFields();
 								}
 								factory.populateReport(taskDataMap, collector, mapper, customFields);
-								taskIds.removeAll(idsToRetrieve);
-								taskDataMap.clear();
-								parseable = true;
-								break;
+								return;
 							} finally {
 								input.close();
 							}
@@ -2347,11 +2583,9 @@ public class BugzillaClient {
 					}
 				}
 
-				if (!parseable) {
-					// because html is not a valid config content type it is
-					// save to get the response here
-					throw new CoreException(parseHtmlError(getResponseStream(method, monitor)));
-				}
+				// because html is not a valid config content type it is
+				// save to get the response here
+				throw new CoreException(parseHtmlError(getResponseStream(method, monitor)));
 			} catch (CoreException c) {
 				if (c.getStatus().getCode() == RepositoryStatus.ERROR_REPOSITORY_LOGIN && authenticationAttempt < 1) {
 					loggedIn = false;
@@ -2404,7 +2638,7 @@ public class BugzillaClient {
 	}
 
 	private HeadMethod connectHead(String requestURL, IProgressMonitor monitor) throws IOException, CoreException {
-		hostConfiguration = WebUtil.createHostConfiguration(httpClient, location, monitor);
+		HostConfiguration hostConfiguration = WebUtil.createHostConfiguration(httpClient, location, monitor);
 		for (int attempt = 0; attempt < 2; attempt++) {
 			// force authentication
 			authenticate(monitor);
@@ -2715,4 +2949,27 @@ public class BugzillaClient {
 		return null;
 	}
 
+	/**
+	 * Serializes calls to a collector that is passed task data from concurrent requests.
+	 */
+	private static class SynchronizedTaskDataCollector extends TaskDataCollector {
+
+		private final TaskDataCollector collector;
+
+		public SynchronizedTaskDataCollector(TaskDataCollector collector) {
+			this.collector = collector;
+		}
+
+		@Override
+		public synchronized void accept(TaskData taskData) {
+			collector.accept(taskData);
+		}
+
+		@Override
+		public synchronized void failed(String taskId, IStatus status) {
+			collector.failed(taskId, status);
+		}
+
+	}
+
 }
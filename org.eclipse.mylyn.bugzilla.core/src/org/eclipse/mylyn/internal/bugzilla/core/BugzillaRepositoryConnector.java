@@ -101,7 +101,7 @@ public class BugzillaRepositoryConnector extends AbstractRepositoryConnector {
 
 	private static final String ERROR_INCOMPATIBLE_CONFIGURATION = "Reset Bugzilla repository configuration cache due to format change"; //$NON-NLS-1$
 
-	private boolean cacheFileRead;
+	private volatile boolean cacheFileRead;
 
 	private File repositoryConfigurationFile;
 
@@ -684,8 +684,21 @@ public class BugzillaRepositoryConnector extends AbstractRepositoryConnector {
 	}
 
 	/** public for testing */
-	public synchronized void readRepositoryConfigurationFile() {
-		if (cacheFileRead || repositoryConfigurationFile == null || !repositoryConfigurationFile.exists()) {
+	public void readRepositoryConfigurationFile() {
+		// invoked for each lookup of a configuration, avoid locking once the file has been read
+		if (cacheFileRead) {
+			return;
+		}
+		internalReadRepositoryConfigurationFile();
+	}
+
+	private synchronized void internalReadRepositoryConfigurationFile() {
+		if (cacheFileRead) {
+			return;
+		}
+		if (repositoryConfigurationFile == null || !repositoryConfigurationFile.exists()) {
+			// the file is only written when the connector is stopped
+			cacheFileRead = true;
 			return;
 		}
 
@@ -781,7 +794,7 @@ public class BugzillaRepositoryConnector extends AbstractRepositoryConnector {
 			throw new CoreException(new Status(IStatus.ERROR, BugzillaCorePlugin.ID_PLUGIN, 1,
 					"Error retrieving task attributes from repository.\n\n" + e.getMessage(), e)); //$NON-NLS-1$
 		} catch (CoreException e) {
-			if (e.getMessage().equals("Not changed")) { //$NON-NLS-1$
+			if (BugzillaClient.MESSAGE_NOT_CHANGED.equals(e.getMessage())) {
 				RepositoryConfiguration configuration = repositoryConfigurations.get(repository.getRepositoryUrl());
 				if (configuration == null) {
 					throw new CoreException(new BugzillaStatus(IStatus.ERROR, BugzillaCorePlugin.ID_PLUGIN,
@@ -256,6 +256,11 @@ public interface IBugzillaConstants {
 
 	public static final String BUGZILLA_USE_XMLRPC = "bugzilla.xmlrpc.status.transition"; //$NON-NLS-1$
 
+	/**
+	 * the maximum number of requests for task data that are sent concurrently, defaults to 1 which disables pipelining
+	 */
+	public static final String BUGZILLA_MAX_CONCURRENT_REQUESTS = "bugzilla.maxConcurrentRequests"; //$NON-NLS-1$
+
 	public static final String DEFAULT_LANG = "en (default)"; //$NON-NLS-1$
 
 	public static final String BUGZILLA_PARAM_USECLASSIFICATION = "bugzilla.param.use.classification"; //$NON-NLS-1$
@@ -35,28 +35,38 @@ import org.eclipse.mylyn.commons.core.HtmlTag;
  */
 public class XmlCleaner {
 
+	/**
+	 * the number of characters that are buffered before the cleaned content is handed to the reader
+	 */
+	private static final int BUFFER_SIZE = 8192;
+
+	private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"; //$NON-NLS-1$
+
+	/**
+	 * Returns a reader that cleans the content of <code>in</code> while it is read. Tokens are only buffered until the
+	 * reader consumes them, so the content is never held in memory or written to disk as a whole. Parse errors are
+	 * reported as {@link IOException} by the returned reader.
+	 */
+	public static Reader clean(Reader in) {
+		return new CleaningReader(in);
+	}
+
+	/**
+	 * Writes the cleaned content of <code>in</code> to <code>tempFile</code> and returns a reader for the file.
+	 * 
+	 * @see #clean(Reader)
+	 */
 	public static BufferedReader clean(Reader in, File tempFile) {
 
 		HtmlStreamTokenizer tokenizer = new HtmlStreamTokenizer(in, null);
 		try {
 			BufferedWriter content = new BufferedWriter(new FileWriter(tempFile));
 			// Hack since HtmlStreamTokenizer not familiar with xml tag.
-			content.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"); //$NON-NLS-1$
+			content.append(XML_DECLARATION);
 			for (Token token = tokenizer.nextToken(); token.getType() != Token.EOF; token = tokenizer.nextToken()) {
-
-				if (token.getType() == Token.TAG) {
-					HtmlTag tag = (HtmlTag) token.getValue();
-					if (tag.getAttribute("resource") != null) { //$NON-NLS-1$
-						String resourceID = tag.getAttribute("resource"); //$NON-NLS-1$
-						tag.setAttribute("resource", resourceID.replace("&", "&amp;")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-					}
-					if (tag.getAttribute("rdf:about") != null) { //$NON-NLS-1$
-						String resourceID = tag.getAttribute("rdf:about"); //$NON-NLS-1$
-						tag.setAttribute("rdf:about", resourceID.replace("&", "&amp;")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-					}
-				}
-				if (!token.toString().startsWith("<?xml")) { //$NON-NLS-1$
-					content.append(token.toString());
+				String text = cleanToken(token);
+				if (text != null) {
+					content.append(text);
 				}
 			}
 			content.flush();
@@ -70,4 +80,87 @@ public class XmlCleaner {
 		return null;
 	}
 
+	/**
+	 * Returns the text of <code>token</code> with ampersands escaped in resource attributes, or null if the token is
+	 * an xml declaration.
+	 */
+	private static String cleanToken(Token token) {
+		if (token.getType() == Token.TAG) {
+			HtmlTag tag = (HtmlTag) token.getValue();
+			if (tag.getAttribute("resource") != null) { //$NON-NLS-1$
+				String resourceID = tag.getAttribute("resource"); //$NON-NLS-1$
+				tag.setAttribute("resource", resourceID.replace("&", "&amp;")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+			if (tag.getAttribute("rdf:about") != null) { //$NON-NLS-1$
+				String resourceID = tag.getAttribute("rdf:about"); //$NON-NLS-1$
+				tag.setAttribute("rdf:about", resourceID.replace("&", "&amp;")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+		}
+		String text = token.toString();
+		return (text.startsWith("<?xml")) ? null : text; //$NON-NLS-1$
+	}
+
+	private static class CleaningReader extends Reader {
+
+		private final Reader in;
+
+		private final HtmlStreamTokenizer tokenizer;
+
+		private final StringBuilder buffer = new StringBuilder(BUFFER_SIZE);
+
+		private int position;
+
+		private boolean eof;
+
+		public CleaningReader(Reader in) {
+			this.in = in;
+			this.tokenizer = new HtmlStreamTokenizer(in, null);
+			// Hack since HtmlStreamTokenizer not familiar with xml tag.
+			buffer.append(XML_DECLARATION);
+		}
+
+		@Override
+		public int read(char[] cbuf, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (position == buffer.length()) {
+				fill();
+				if (position == buffer.length()) {
+					return -1;
+				}
+			}
+			int count = Math.min(len, buffer.length() - position);
+			buffer.getChars(position, position + count, cbuf, off);
+			position += count;
+			return count;
+		}
+
+		private void fill() throws IOException {
+			buffer.setLength(0);
+			position = 0;
+			try {
+				while (!eof && buffer.length() < BUFFER_SIZE) {
+					Token token = tokenizer.nextToken();
+					if (token.getType() == Token.EOF) {
+						eof = true;
+					} else {
+						String text = cleanToken(token);
+						if (text != null) {
+							buffer.append(text);
+						}
+					}
+				}
+			} catch (ParseException e) {
+				throw new IOException(e.getMessage(), e);
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			in.close();
+		}
+
+	}
+
 }
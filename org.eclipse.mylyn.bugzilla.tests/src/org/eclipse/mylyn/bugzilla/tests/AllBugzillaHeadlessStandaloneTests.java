@@ -16,8 +16,10 @@ package org.eclipse.mylyn.bugzilla.tests;
 
 import java.util.List;
 
+import org.eclipse.mylyn.bugzilla.tests.core.AbstractReportFactoryTest;
 import org.eclipse.mylyn.bugzilla.tests.core.BugzillaAttributeMapperTest;
 import org.eclipse.mylyn.bugzilla.tests.core.BugzillaAttributeTest;
+import org.eclipse.mylyn.bugzilla.tests.core.BugzillaClientConditionalRequestTest;
 import org.eclipse.mylyn.bugzilla.tests.core.BugzillaClientTest;
 import org.eclipse.mylyn.bugzilla.tests.core.BugzillaConfigurationTest;
 import org.eclipse.mylyn.bugzilla.tests.core.BugzillaCustomFieldsTest;
@@ -54,6 +56,8 @@ public class AllBugzillaHeadlessStandaloneTests {
 		suite.addTestSuite(BugzillaAttributeMapperTest.class);
 		suite.addTestSuite(BugzillaAttributeTest.class);
 		suite.addTestSuite(RepositoryConfigurationTest.class);
+		suite.addTestSuite(AbstractReportFactoryTest.class);
+		suite.addTestSuite(BugzillaClientConditionalRequestTest.class);
 		if (!configuration.isLocalOnly()) {
 			// network tests
 			suite.addTestSuite(BugzillaTaskCompletionTest.class);
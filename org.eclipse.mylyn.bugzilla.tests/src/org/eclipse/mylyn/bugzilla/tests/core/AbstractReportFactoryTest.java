@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.bugzilla.tests.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.bugzilla.tests.support.BugzillaFixture;
+import org.eclipse.mylyn.internal.bugzilla.core.AbstractReportFactory;
+import org.eclipse.mylyn.internal.bugzilla.core.BugzillaAttribute;
+import org.eclipse.mylyn.internal.bugzilla.core.RepositoryConfiguration;
+import org.eclipse.mylyn.internal.bugzilla.core.SaxConfigurationContentHandler;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+public class AbstractReportFactoryTest extends TestCase {
+
+	private static class TestReportFactory extends AbstractReportFactory {
+
+		public TestReportFactory(InputStream inStream) {
+			super(inStream, "UTF-8");
+		}
+
+		public void parse(DefaultHandler contentHandler, boolean clean) throws IOException {
+			collectResults(contentHandler, clean);
+		}
+
+	}
+
+	private static class RecordingHandler extends DefaultHandler {
+
+		private final StringBuilder text = new StringBuilder();
+
+		private final List<String> attributeValues = new ArrayList<String>();
+
+		private int elementCount;
+
+		@Override
+		public void startElement(String uri, String localName, String qName, Attributes attributes) {
+			elementCount++;
+			for (int i = 0; i < attributes.getLength(); i++) {
+				attributeValues.add(attributes.getValue(i));
+			}
+		}
+
+		@Override
+		public void characters(char[] ch, int start, int length) {
+			text.append(ch, start, length);
+		}
+
+	}
+
+	public void testInvalidCharactersRemoved() throws Exception {
+		RecordingHandler handler = parse("<bugzilla><bug>a\u0001b\u0008c\tdä</bug></bugzilla>", false);
+		assertEquals(2, handler.elementCount);
+		assertEquals("abc\tdä", handler.text.toString());
+	}
+
+	public void testInvalidCharactersRemovedLargeResponse() throws Exception {
+		byte[] response = createMultiBugResponse(50, 20);
+		RecordingHandler handler = new RecordingHandler();
+		new TestReportFactory(new ByteArrayInputStream(response)).parse(handler, false);
+		assertEquals(1 + 50 * (2 + 20 * 2), handler.elementCount);
+		assertEquals(-1, handler.text.indexOf("\u0001"));
+		assertTrue(handler.text.indexOf("comment 19 of bug 49 äöü") != -1);
+	}
+
+	public void testCleanEscapesResourceAttributes() throws Exception {
+		RecordingHandler handler = parse("<RDF xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\">"
+				+ "<li rdf:about=\"http://bugs/show_bug.cgi?id=1&ctype=xml\">text\u0002</li></RDF>", true);
+		assertEquals(2, handler.elementCount);
+		assertTrue(handler.attributeValues.toString(),
+				handler.attributeValues.contains("http://bugs/show_bug.cgi?id=1&ctype=xml"));
+		assertEquals("text", handler.text.toString());
+	}
+
+	public void testCleanConfiguration() throws Exception {
+		InputStream stream = BugzillaFixture.getResource("testdata/configuration/rdfconfig218.txt");
+		try {
+			SaxConfigurationContentHandler contentHandler = new SaxConfigurationContentHandler();
+			new TestReportFactory(stream).parse(contentHandler, true);
+			RepositoryConfiguration config = contentHandler.getConfiguration();
+			assertNotNull(config);
+			assertTrue(config.getOptionValues(BugzillaAttribute.PRODUCT)
+					.contains("Test-Long-Named-Product-AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA"));
+		} finally {
+			stream.close();
+		}
+	}
+
+	public void testCleanLargeResponse() throws Exception {
+		byte[] response = createMultiBugResponse(50, 20);
+		RecordingHandler handler = new RecordingHandler();
+		new TestReportFactory(new ByteArrayInputStream(response)).parse(handler, true);
+		assertEquals(1 + 50 * (2 + 20 * 2), handler.elementCount);
+		assertEquals(-1, handler.text.indexOf("\u0001"));
+		assertTrue(handler.text.indexOf("comment 19 of bug 49 äöü") != -1);
+	}
+
+	private RecordingHandler parse(String content, boolean clean) throws IOException {
+		RecordingHandler handler = new RecordingHandler();
+		byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + content).getBytes("UTF-8");
+		new TestReportFactory(new ByteArrayInputStream(bytes)).parse(handler, clean);
+		return handler;
+	}
+
+	/**
+	 * Creates a response in the format of show_bug.cgi?ctype=xml with control characters in comments.
+	 */
+	private byte[] createMultiBugResponse(int bugs, int commentsPerBug) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		sb.append("<bugzilla version=\"4.4\" urlbase=\"http://bugs/\" maintainer=\"admin@bugs\">\n");
+		for (int bug = 0; bug < bugs; bug++) {
+			sb.append("<bug>\n<bug_id>").append(bug).append("</bug_id>\n");
+			for (int comment = 0; comment < commentsPerBug; comment++) {
+				sb.append("<long_desc isprivate=\"0\">\n<thetext>comment ").append(comment).append(" of bug ").append(bug);
+				sb.append(" äöü\u0001 Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do ");
+				sb.append("eiusmod tempor incididunt ut labore et dolore magna aliqua.\u000b\n");
+				sb.append("at org.eclipse.mylyn.Example.method(Example.java:").append(comment).append(")");
+				sb.append("</thetext>\n</long_desc>\n");
+			}
+			sb.append("</bug>\n");
+		}
+		sb.append("</bugzilla>\n");
+		return sb.toString().getBytes("UTF-8");
+	}
+
+}
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.bugzilla.tests.core;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.bugzilla.tests.support.BugzillaFixture;
+import org.eclipse.mylyn.commons.net.WebLocation;
+import org.eclipse.mylyn.internal.bugzilla.core.BugzillaAttribute;
+import org.eclipse.mylyn.internal.bugzilla.core.BugzillaClient;
+import org.eclipse.mylyn.internal.bugzilla.core.BugzillaCorePlugin;
+import org.eclipse.mylyn.internal.bugzilla.core.BugzillaRepositoryConnector;
+import org.eclipse.mylyn.internal.bugzilla.core.IBugzillaConstants;
+import org.eclipse.mylyn.internal.bugzilla.core.RepositoryConfiguration;
+import org.eclipse.mylyn.internal.tasks.core.ConditionalRequestCache;
+import org.eclipse.mylyn.internal.tasks.core.ConditionalRequestCache.CachedResponse;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+
+/**
+ * Retrieves the repository configuration from a local stand-in for a Bugzilla server that responds with
+ * <code>304 Not Modified</code> if the request carries the current entity tag.
+ */
+public class BugzillaClientConditionalRequestTest extends TestCase {
+
+	private static final String ETAG = "\"1\"";
+
+	private class StandInServer implements Runnable {
+
+		private final ServerSocket serverSocket;
+
+		/**
+		 * the value of the If-None-Match header of each request, or null
+		 */
+		private final List<String> validators = Collections.synchronizedList(new ArrayList<String>());
+
+		public StandInServer() throws IOException {
+			serverSocket = new ServerSocket(0);
+		}
+
+		public String getUrl() {
+			return "http://localhost:" + serverSocket.getLocalPort();
+		}
+
+		public void run() {
+			while (!serverSocket.isClosed()) {
+				try (Socket socket = serverSocket.accept()) {
+					BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), "UTF-8"));
+					in.readLine();
+					String validator = null;
+					for (String line = in.readLine(); line != null && line.length() > 0; line = in.readLine()) {
+						if (line.toLowerCase().startsWith("if-none-match:")) {
+							validator = line.substring("if-none-match:".length()).trim();
+						}
+					}
+					validators.add(validator);
+
+					OutputStream out = socket.getOutputStream();
+					if (ETAG.equals(validator)) {
+						out.write(("HTTP/1.1 304 Not Modified\r\nETag: " + ETAG + "\r\nConnection: close\r\n\r\n")
+								.getBytes("UTF-8"));
+					} else {
+						out.write(("HTTP/1.1 200 OK\r\nContent-Type: text/xml; charset=UTF-8\r\nETag: " + ETAG
+								+ "\r\nContent-Length: " + configuration.length + "\r\nConnection: close\r\n\r\n")
+										.getBytes("UTF-8"));
+						out.write(configuration);
+					}
+					out.flush();
+				} catch (IOException e) {
+					// closed
+				}
+			}
+		}
+
+		public void stop() throws IOException {
+			serverSocket.close();
+		}
+
+	}
+
+	private byte[] configuration;
+
+	private StandInServer server;
+
+	private File cacheDirectory;
+
+	private ConditionalRequestCache cache;
+
+	private BugzillaClient client;
+
+	private String key;
+
+	@Override
+	protected void setUp() throws Exception {
+		InputStream in = BugzillaFixture.getResource("testdata/configuration/rdfconfig218.txt");
+		try {
+			configuration = IOUtils.toByteArray(in);
+		} finally {
+			in.close();
+		}
+
+		server = new StandInServer();
+		Thread thread = new Thread(server, "Bugzilla Stand-In Server");
+		thread.setDaemon(true);
+		thread.start();
+
+		cacheDirectory = File.createTempFile("mylyn", null);
+		cacheDirectory.delete();
+		cache = new ConditionalRequestCache(cacheDirectory);
+
+		client = new BugzillaClient(new WebLocation(server.getUrl()),
+				new TaskRepository(BugzillaCorePlugin.CONNECTOR_KIND, server.getUrl()),
+				new BugzillaRepositoryConnector());
+		client.setConditionalRequestCache(cache);
+		key = ConditionalRequestCache.createKey(server.getUrl() + IBugzillaConstants.URL_GET_CONFIG_RDF, null);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		server.stop();
+		FileUtils.deleteDirectory(cacheDirectory);
+	}
+
+	public void testConfigurationIsCached() throws Exception {
+		RepositoryConfiguration repositoryConfiguration = client.getRepositoryConfiguration(new NullProgressMonitor());
+
+		assertFalse(repositoryConfiguration.getOptionValues(BugzillaAttribute.PRODUCT).isEmpty());
+		assertEquals(Arrays.asList((String) null), server.validators);
+		CachedResponse cachedResponse = cache.get(key);
+		assertNotNull(cachedResponse);
+		assertEquals(ETAG, cachedResponse.getETag());
+		assertTrue(Arrays.equals(configuration, cachedResponse.getContent()));
+	}
+
+	public void testNotModifiedConfigurationIsReadFromCache() throws Exception {
+		client.getRepositoryConfiguration(new NullProgressMonitor());
+		RepositoryConfiguration repositoryConfiguration = client.getRepositoryConfiguration(new NullProgressMonitor());
+
+		assertFalse(repositoryConfiguration.getOptionValues(BugzillaAttribute.PRODUCT).isEmpty());
+		assertEquals(ETAG, repositoryConfiguration.getETagValue());
+		assertEquals(Arrays.asList(null, ETAG), server.validators);
+	}
+
+	public void testUnusableCachedConfigurationIsRefetched() throws Exception {
+		cache.put(key, ETAG, null, "UTF-8", Arrays.copyOf(configuration, 300));
+
+		RepositoryConfiguration repositoryConfiguration = client.getRepositoryConfiguration(new NullProgressMonitor());
+
+		assertFalse(repositoryConfiguration.getOptionValues(BugzillaAttribute.PRODUCT).isEmpty());
+		assertEquals(Arrays.asList(ETAG, null), server.validators);
+		assertTrue(Arrays.equals(configuration, cache.get(key).getContent()));
+	}
+
+}
@@ -17,8 +17,10 @@ import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.mylyn.bugzilla.tests.AbstractBugzillaTest;
 import org.eclipse.mylyn.bugzilla.tests.support.BugzillaFixture;
@@ -31,6 +33,7 @@ import org.eclipse.mylyn.internal.bugzilla.core.BugzillaAttributeMapper;
 import org.eclipse.mylyn.internal.bugzilla.core.BugzillaClient;
 import org.eclipse.mylyn.internal.bugzilla.core.BugzillaRepositoryConnector;
 import org.eclipse.mylyn.internal.bugzilla.core.BugzillaVersion;
+import org.eclipse.mylyn.internal.bugzilla.core.IBugzillaConstants;
 import org.eclipse.mylyn.internal.bugzilla.core.RepositoryConfiguration;
 import org.eclipse.mylyn.internal.tasks.core.RepositoryQuery;
 import org.eclipse.mylyn.internal.tasks.core.TaskRepositoryLocation;
@@ -282,4 +285,43 @@ public class BugzillaClientTest extends AbstractBugzillaTest {
 		assertEquals("2", idAttribute.getValue());
 	}
 
+	public void testGetTaskDataPipelined() throws Exception {
+		Set<String> taskIds = new HashSet<String>();
+		for (int i = 1; i <= BugzillaClient.MAX_RETRIEVED_PER_QUERY * 3; i++) {
+			taskIds.add(Integer.toString(i));
+		}
+		final Set<String> collectedIds = new HashSet<String>();
+		final AtomicInteger duplicates = new AtomicInteger();
+		TaskDataCollector collector = new TaskDataCollector() {
+
+			@Override
+			public void accept(TaskData taskData) {
+				collect(taskData.getTaskId());
+			}
+
+			@Override
+			public void failed(String taskId, IStatus status) {
+				collect(taskId);
+			}
+
+			private void collect(String taskId) {
+				// collectors are not expected to be thread-safe
+				if (!collectedIds.add(taskId)) {
+					duplicates.incrementAndGet();
+				}
+			}
+		};
+		TaskAttributeMapper mapper = BugzillaFixture.current()
+				.connector()
+				.getTaskDataHandler()
+				.getAttributeMapper(repository);
+		// requests are only sent concurrently if enabled for the repository
+		repository.setProperty(IBugzillaConstants.BUGZILLA_MAX_CONCURRENT_REQUESTS, "4");
+		client = new BugzillaClient(new TaskRepositoryLocation(repository), repository,
+				BugzillaFixture.current().connector());
+		client.getTaskData(taskIds, collector, mapper, new NullProgressMonitor());
+		assertEquals(taskIds, collectedIds);
+		assertEquals(0, duplicates.get());
+	}
+
 }
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class AttributeMapTest {
+
+	@Test
+	public void setAndGet() {
+		AttributeMap map = new AttributeMap();
+		assertNull(map.getAttribute("key"));
+		assertTrue(map.getAttributes().isEmpty());
+
+		map.setAttribute("key", "value");
+		map.setAttribute("other", "otherValue");
+		assertEquals("value", map.getAttribute(new String("key")));
+		assertEquals("otherValue", map.getAttribute("other"));
+
+		map.setAttribute("key", "changed");
+		assertEquals("changed", map.getAttribute("key"));
+		assertEquals(2, map.getAttributes().size());
+	}
+
+	@Test
+	public void remove() {
+		AttributeMap map = new AttributeMap();
+		map.setAttribute("a", "1");
+		map.setAttribute("b", "2");
+		map.setAttribute("c", "3");
+
+		map.setAttribute("b", null);
+		assertNull(map.getAttribute("b"));
+		assertEquals("1", map.getAttribute("a"));
+		assertEquals("3", map.getAttribute("c"));
+
+		map.setAttribute("a", null);
+		map.setAttribute("c", null);
+		map.setAttribute("missing", null);
+		assertTrue(map.getAttributes().isEmpty());
+	}
+
+	@Test
+	public void manyAttributes() {
+		AttributeMap map = new AttributeMap();
+		Map<String, String> expected = new HashMap<String, String>();
+		for (int i = 0; i < AttributeMap.MAX_ARRAY_ATTRIBUTES * 2; i++) {
+			map.setAttribute("key" + i, "value" + i);
+			expected.put("key" + i, "value" + i);
+			assertEquals(expected, map.getAttributes());
+		}
+		for (int i = 0; i < AttributeMap.MAX_ARRAY_ATTRIBUTES * 2; i++) {
+			assertEquals("value" + i, map.getAttribute("key" + i));
+		}
+
+		map.setAttribute("key0", null);
+		expected.remove("key0");
+		assertEquals(expected, map.getAttributes());
+	}
+
+	@Test
+	public void getAttributesReturnsCopy() {
+		AttributeMap map = new AttributeMap();
+		map.setAttribute("key", "value");
+		map.getAttributes().put("key", "changed");
+		assertEquals("value", map.getAttribute("key"));
+	}
+
+}
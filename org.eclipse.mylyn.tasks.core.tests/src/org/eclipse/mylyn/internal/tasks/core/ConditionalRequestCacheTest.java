@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.eclipse.mylyn.internal.tasks.core.ConditionalRequestCache.CachedResponse;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ConditionalRequestCacheTest {
+
+	private static final String KEY = ConditionalRequestCache.createKey("http://mylyn.org/config.cgi", "user");
+
+	private static final byte[] CONTENT = "<configuration/>".getBytes(StandardCharsets.UTF_8);
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private ConditionalRequestCache cache;
+
+	@Before
+	public void setUp() throws Exception {
+		cache = new ConditionalRequestCache(new File(folder.getRoot(), "cache"));
+	}
+
+	@Test
+	public void putAndGet() throws Exception {
+		cache.put(KEY, "\"etag\"", "Sat, 17 Oct 2026 10:00:00 GMT", "UTF-8", CONTENT);
+
+		CachedResponse response = new ConditionalRequestCache(cache.getDirectory()).get(KEY);
+		assertNotNull(response);
+		assertEquals("\"etag\"", response.getETag());
+		assertEquals("Sat, 17 Oct 2026 10:00:00 GMT", response.getLastModified());
+		assertEquals("UTF-8", response.getCharset());
+		assertArrayEquals(CONTENT, response.getContent());
+	}
+
+	@Test
+	public void putWithoutLastModified() throws Exception {
+		cache.put(KEY, "\"etag\"", null, null, CONTENT);
+
+		CachedResponse response = cache.get(KEY);
+		assertNotNull(response);
+		assertEquals("\"etag\"", response.getETag());
+		assertNull(response.getLastModified());
+		assertNull(response.getCharset());
+	}
+
+	@Test
+	public void putWithoutValidatorsRemovesEntry() throws Exception {
+		cache.put(KEY, "\"etag\"", null, null, CONTENT);
+		cache.put(KEY, null, null, null, CONTENT);
+		assertNull(cache.get(KEY));
+	}
+
+	@Test
+	public void keysIncludeUser() throws Exception {
+		String otherKey = ConditionalRequestCache.createKey("http://mylyn.org/config.cgi", "other");
+		assertNotEquals(KEY, otherKey);
+
+		cache.put(KEY, "\"etag\"", null, null, CONTENT);
+		assertNull(cache.get(otherKey));
+	}
+
+	@Test
+	public void corruptEntryIsRemoved() throws Exception {
+		cache.put(KEY, "\"etag\"", null, null, CONTENT);
+		File[] files = cache.getDirectory().listFiles();
+		assertEquals(1, files.length);
+		Files.write(files[0].toPath(), new byte[] { 0, 0, 0, 1, 1 });
+
+		assertNull(cache.get(KEY));
+		assertEquals(0, cache.getDirectory().listFiles().length);
+	}
+
+	@Test
+	public void invalidContentLengthIsRemoved() throws Exception {
+		assertInvalidContentLengthIsRemoved(Integer.MAX_VALUE);
+		assertInvalidContentLengthIsRemoved(-1);
+	}
+
+	private void assertInvalidContentLengthIsRemoved(int length) throws Exception {
+		cache.put(KEY, "\"etag\"", null, null, CONTENT);
+		File file = cache.getDirectory().listFiles()[0];
+		byte[] data = Files.readAllBytes(file.toPath());
+		// the content length precedes the content at the end of the file
+		ByteBuffer.wrap(data).putInt(data.length - CONTENT.length - 4, length);
+		Files.write(file.toPath(), data);
+
+		assertNull(cache.get(KEY));
+		assertEquals(0, cache.getDirectory().listFiles().length);
+	}
+
+	@Test
+	public void clear() throws Exception {
+		cache.put(KEY, "\"etag\"", null, null, CONTENT);
+		cache.put("key", "\"etag\"", null, null, CONTENT);
+		cache.clear();
+		assertNull(cache.get(KEY));
+		assertNull(cache.get("key"));
+	}
+
+}
@@ -0,0 +1,300 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.mylyn.internal.tasks.core.TaskContainerDelta.Kind;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TaskListChangeDispatcherTest {
+
+	private class RecordingListener implements ITaskListChangeListener {
+
+		final List<Set<TaskContainerDelta>> batches = Collections.synchronizedList(new ArrayList<Set<TaskContainerDelta>>());
+
+		final List<Thread> threads = Collections.synchronizedList(new ArrayList<Thread>());
+
+		private final AtomicBoolean inside = new AtomicBoolean();
+
+		volatile boolean concurrentDelivery;
+
+		public void containersChanged(Set<TaskContainerDelta> containers) {
+			if (!inside.compareAndSet(false, true)) {
+				concurrentDelivery = true;
+			}
+			threads.add(Thread.currentThread());
+			batches.add(new HashSet<TaskContainerDelta>(containers));
+			inside.set(false);
+		}
+
+		List<TaskContainerDelta> getDeltas() {
+			List<TaskContainerDelta> deltas = new ArrayList<TaskContainerDelta>();
+			synchronized (batches) {
+				for (Set<TaskContainerDelta> batch : batches) {
+					deltas.addAll(batch);
+				}
+			}
+			return deltas;
+		}
+
+	}
+
+	private TaskListChangeDispatcher dispatcher;
+
+	private TaskList taskList;
+
+	@Before
+	public void setUp() throws Exception {
+		dispatcher = new TaskListChangeDispatcher();
+		taskList = new TaskList();
+		taskList.addUnmatchedContainer(new UnmatchedTaskContainer("kind", "repoUrl"));
+		taskList.setChangeDispatcher(dispatcher);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		dispatcher.dispose();
+	}
+
+	@Test
+	public void deliverOnBackgroundThread() throws Exception {
+		RecordingListener listener = new RecordingListener();
+		taskList.addChangeListener(listener);
+		TaskTask task = new TaskTask("kind", "repoUrl", "1");
+		taskList.addTask(task);
+
+		assertTrue(dispatcher.flush(10, TimeUnit.SECONDS));
+		assertFalse(listener.batches.isEmpty());
+		assertNotSame(Thread.currentThread(), listener.threads.get(0));
+		assertEquals(Kind.ADDED, listener.getDeltas().get(0).getKind());
+		assertEquals(task, listener.getDeltas().get(0).getElement());
+	}
+
+	@Test
+	public void mergeContentDeltas() throws Exception {
+		final CountDownLatch blocked = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		RecordingListener listener = new RecordingListener() {
+			@Override
+			public void containersChanged(Set<TaskContainerDelta> containers) {
+				super.containersChanged(containers);
+				if (batches.size() == 1) {
+					blocked.countDown();
+					await(release);
+				}
+			}
+		};
+		TaskTask task1 = new TaskTask("kind", "repoUrl", "1");
+		TaskTask task2 = new TaskTask("kind", "repoUrl", "2");
+		taskList.addTask(task1);
+		taskList.addTask(task2);
+		taskList.addChangeListener(listener);
+		taskList.addCategory(new TaskCategory("category"));
+		assertTrue(blocked.await(10, TimeUnit.SECONDS));
+
+		// queued while the first batch is delivered
+		taskList.notifySynchronizationStateChanged(task1);
+		for (int i = 0; i < 10; i++) {
+			taskList.notifyElementChanged(task1);
+			taskList.notifyElementChanged(task2);
+		}
+		release.countDown();
+		assertTrue(dispatcher.flush(10, TimeUnit.SECONDS));
+
+		assertEquals(2, listener.batches.size());
+		Set<TaskContainerDelta> merged = listener.batches.get(1);
+		assertEquals(2, merged.size());
+		for (TaskContainerDelta delta : merged) {
+			assertEquals(Kind.CONTENT, delta.getKind());
+			assertFalse(delta.isTransient());
+		}
+		assertEquals(19, dispatcher.getMergedDeltaCount());
+		assertEquals(2, dispatcher.getBatchCount());
+		assertEquals(2, dispatcher.getMaximumBatchSize());
+	}
+
+	@Test
+	public void deliverInOrderWithoutConcurrency() throws Exception {
+		RecordingListener listener1 = new RecordingListener();
+		RecordingListener listener2 = new RecordingListener();
+		taskList.addChangeListener(listener1);
+		taskList.addChangeListener(listener2);
+		List<TaskTask> tasks = new ArrayList<TaskTask>();
+		for (int i = 0; i < 500; i++) {
+			TaskTask task = new TaskTask("kind", "repoUrl", Integer.toString(i));
+			tasks.add(task);
+			taskList.addTask(task);
+		}
+		assertTrue(dispatcher.flush(10, TimeUnit.SECONDS));
+
+		for (RecordingListener listener : new RecordingListener[] { listener1, listener2 }) {
+			assertFalse(listener.concurrentDelivery);
+			List<Object> added = new ArrayList<Object>();
+			synchronized (listener.batches) {
+				for (Set<TaskContainerDelta> batch : listener.batches) {
+					// tasks of a batch are unordered but batches are delivered in order
+					List<Object> batchTasks = new ArrayList<Object>();
+					for (TaskContainerDelta delta : batch) {
+						if (delta.getKind() == Kind.ADDED) {
+							batchTasks.add(delta.getElement());
+						}
+					}
+					Collections.sort(batchTasks, new Comparator<Object>() {
+						public int compare(Object o1, Object o2) {
+							return Integer.parseInt(((TaskTask) o1).getTaskId())
+									- Integer.parseInt(((TaskTask) o2).getTaskId());
+						}
+					});
+					added.addAll(batchTasks);
+				}
+			}
+			assertEquals(tasks, added);
+		}
+	}
+
+	@Test
+	public void removeListenerDiscardsPending() throws Exception {
+		final CountDownLatch blocked = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		RecordingListener listener = new RecordingListener() {
+			@Override
+			public void containersChanged(Set<TaskContainerDelta> containers) {
+				super.containersChanged(containers);
+				blocked.countDown();
+				await(release);
+			}
+		};
+		taskList.addChangeListener(listener);
+		TaskTask task = new TaskTask("kind", "repoUrl", "1");
+		taskList.addTask(task);
+		assertTrue(blocked.await(10, TimeUnit.SECONDS));
+
+		taskList.notifyElementChanged(task);
+		taskList.removeChangeListener(listener);
+		release.countDown();
+		assertTrue(dispatcher.flush(10, TimeUnit.SECONDS));
+		assertEquals(1, listener.batches.size());
+	}
+
+	@Test
+	public void failingListener() throws Exception {
+		RecordingListener listener = new RecordingListener();
+		taskList.addChangeListener(new ITaskListChangeListener() {
+			public void containersChanged(Set<TaskContainerDelta> containers) {
+				throw new RuntimeException();
+			}
+		});
+		taskList.addChangeListener(listener);
+		taskList.addTask(new TaskTask("kind", "repoUrl", "1"));
+		taskList.addTask(new TaskTask("kind", "repoUrl", "2"));
+
+		assertTrue(dispatcher.flush(10, TimeUnit.SECONDS));
+		assertEquals(2, listener.getDeltas().size());
+	}
+
+	@Test
+	public void deliverOnCallingThreadAfterDispose() throws Exception {
+		RecordingListener listener = new RecordingListener();
+		taskList.addChangeListener(listener);
+		dispatcher.dispose();
+		taskList.addTask(new TaskTask("kind", "repoUrl", "1"));
+
+		assertEquals(1, listener.batches.size());
+		assertEquals(Thread.currentThread(), listener.threads.get(0));
+	}
+
+	@Test
+	public void flushTimesOut() throws Exception {
+		final CountDownLatch release = new CountDownLatch(1);
+		taskList.addChangeListener(new ITaskListChangeListener() {
+			public void containersChanged(Set<TaskContainerDelta> containers) {
+				await(release);
+			}
+		});
+		taskList.addTask(new TaskTask("kind", "repoUrl", "1"));
+		try {
+			assertFalse(dispatcher.flush(50, TimeUnit.MILLISECONDS));
+		} finally {
+			release.countDown();
+		}
+		assertTrue(dispatcher.flush(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void deliverManyChangesToManyListeners() throws Exception {
+		List<RecordingListener> listeners = new ArrayList<RecordingListener>();
+		for (int i = 0; i < 5; i++) {
+			RecordingListener listener = new RecordingListener();
+			listeners.add(listener);
+			taskList.addChangeListener(listener);
+		}
+		List<TaskTask> tasks = new ArrayList<TaskTask>();
+		for (int i = 0; i < 100; i++) {
+			TaskTask task = new TaskTask("kind", "repoUrl", Integer.toString(i));
+			tasks.add(task);
+			taskList.addTask(task);
+		}
+		assertTrue(dispatcher.flush(10, TimeUnit.SECONDS));
+		for (RecordingListener listener : listeners) {
+			listener.batches.clear();
+		}
+		long delivered = dispatcher.getDeliveredDeltaCount();
+		long merged = dispatcher.getMergedDeltaCount();
+
+		for (int round = 0; round < 10; round++) {
+			for (TaskTask task : tasks) {
+				taskList.notifyElementChanged(task);
+			}
+		}
+		assertTrue(dispatcher.flush(10, TimeUnit.SECONDS));
+
+		// every change is either delivered or merged with a pending change of the same task
+		assertEquals(5 * 10 * tasks.size(), dispatcher.getDeliveredDeltaCount() - delivered
+				+ dispatcher.getMergedDeltaCount() - merged);
+		for (RecordingListener listener : listeners) {
+			assertFalse(listener.concurrentDelivery);
+			Set<Object> changed = new HashSet<Object>();
+			for (TaskContainerDelta delta : listener.getDeltas()) {
+				assertEquals(Kind.CONTENT, delta.getKind());
+				changed.add(delta.getElement());
+			}
+			assertEquals(new HashSet<Object>(tasks), changed);
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -13,10 +13,16 @@
 
 package org.eclipse.mylyn.internal.tasks.core;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.util.Collections;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -49,4 +55,169 @@ public class TaskListTest {
 		verify(unmatched, times(1)).internalRemoveChild(task);
 	}
 
+	@Test
+	public void getTasksByRepository() {
+		taskList.addUnmatchedContainer(new UnmatchedTaskContainer("kind", "repoUrl"));
+		taskList.addUnmatchedContainer(new UnmatchedTaskContainer("kind", "otherUrl"));
+		TaskTask task1 = new TaskTask("kind", "repoUrl", "1");
+		TaskTask task2 = new TaskTask("kind", "repoUrl", "2");
+		TaskTask task3 = new TaskTask("kind", "otherUrl", "1");
+		taskList.addTask(task1);
+		taskList.addTask(task2);
+		taskList.addTask(task3);
+		assertEquals(2, taskList.getTasks("repoUrl").size());
+		assertEquals(Collections.singleton(task3), taskList.getTasks("otherUrl"));
+		assertTrue(taskList.getTasks("unknownUrl").isEmpty());
+
+		taskList.deleteTask(task1);
+		assertEquals(Collections.singleton(task2), taskList.getTasks("repoUrl"));
+	}
+
+	@Test
+	public void getTaskByKey() {
+		taskList.addUnmatchedContainer(new UnmatchedTaskContainer("kind", "repoUrl"));
+		taskList.addUnmatchedContainer(new UnmatchedTaskContainer("kind", "otherUrl"));
+		TaskTask task1 = new TaskTask("kind", "repoUrl", "1");
+		task1.setTaskKey("KEY-1");
+		TaskTask task2 = new TaskTask("kind", "otherUrl", "1");
+		task2.setTaskKey("KEY-1");
+		taskList.addTask(task1);
+		taskList.addTask(task2);
+		assertSame(task1, taskList.getTaskByKey("repoUrl", "KEY-1"));
+		assertSame(task2, taskList.getTaskByKey("otherUrl", "KEY-1"));
+		assertNull(taskList.getTaskByKey("repoUrl", "KEY-2"));
+		assertNull(taskList.getTaskByKey("unknownUrl", "KEY-1"));
+		assertNull(taskList.getTaskByKey("repoUrl", null));
+
+		taskList.deleteTask(task1);
+		assertNull(taskList.getTaskByKey("repoUrl", "KEY-1"));
+	}
+
+	@Test
+	public void getTaskByKeyAfterKeyChanged() {
+		taskList.addUnmatchedContainer(new UnmatchedTaskContainer("kind", "repoUrl"));
+		TaskTask task = new TaskTask("kind", "repoUrl", "1");
+		taskList.addTask(task);
+		assertNull(taskList.getTaskByKey("repoUrl", "KEY-1"));
+
+		task.setTaskKey("KEY-1");
+		taskList.notifyElementChanged(task);
+		assertSame(task, taskList.getTaskByKey("repoUrl", "KEY-1"));
+
+		task.setTaskKey("KEY-2");
+		assertNull(taskList.getTaskByKey("repoUrl", "KEY-1"));
+		taskList.notifyElementChanged(task);
+		assertNull(taskList.getTaskByKey("repoUrl", "KEY-1"));
+		assertSame(task, taskList.getTaskByKey("repoUrl", "KEY-2"));
+
+		taskList.deleteTask(task);
+		assertNull(taskList.getTaskByKey("repoUrl", "KEY-2"));
+	}
+
+	@Test
+	public void getTaskByKeyIgnoresOtherTaskLists() {
+		taskList.addUnmatchedContainer(new UnmatchedTaskContainer("kind", "repoUrl"));
+		TaskTask task = new TaskTask("kind", "repoUrl", "1");
+		task.setTaskKey("KEY-1");
+		taskList.addTask(task);
+		TaskList otherTaskList = new TaskList();
+		otherTaskList.addUnmatchedContainer(new UnmatchedTaskContainer("kind", "repoUrl"));
+		TaskTask otherTask = new TaskTask("kind", "repoUrl", "1");
+		otherTaskList.addTask(otherTask);
+
+		otherTask.setTaskKey("KEY-2");
+		otherTaskList.notifyElementChanged(otherTask);
+		taskList.notifyElementChanged(otherTask);
+		assertSame(task, taskList.getTaskByKey("repoUrl", "KEY-1"));
+		assertNull(taskList.getTaskByKey("repoUrl", "KEY-2"));
+		assertSame(otherTask, otherTaskList.getTaskByKey("repoUrl", "KEY-2"));
+	}
+
+	@Test
+	public void getTaskByKeyDuplicateKey() {
+		taskList.addUnmatchedContainer(new UnmatchedTaskContainer("kind", "repoUrl"));
+		TaskTask task1 = new TaskTask("kind", "repoUrl", "1");
+		task1.setTaskKey("KEY");
+		TaskTask task2 = new TaskTask("kind", "repoUrl", "2");
+		task2.setTaskKey("KEY");
+		taskList.addTask(task1);
+		taskList.addTask(task2);
+		AbstractTask task = taskList.getTaskByKey("repoUrl", "KEY");
+		assertTrue(task == task1 || task == task2);
+
+		taskList.deleteTask(task);
+		assertSame((task == task1) ? task2 : task1, taskList.getTaskByKey("repoUrl", "KEY"));
+	}
+
+	@Test
+	public void refactorTaskIdUpdatesKeyIndex() {
+		taskList.addUnmatchedContainer(new UnmatchedTaskContainer("kind", "repoUrl"));
+		TaskTask task = new TaskTask("kind", "repoUrl", "1");
+		task.setTaskKey("KEY-1");
+		taskList.addTask(task);
+
+		AbstractTask newTask = taskList.refactorTaskId(task, "2");
+		assertSame(newTask, taskList.getTaskByKey("repoUrl", "KEY-1"));
+		assertEquals(Collections.singleton(newTask), taskList.getTasks("repoUrl"));
+	}
+
+	@Test
+	public void refactorRepositoryUrlUpdatesIndexes() {
+		taskList.addUnmatchedContainer(new UnmatchedTaskContainer("kind", "oldUrl"));
+		TaskTask task = new TaskTask("kind", "oldUrl", "1");
+		task.setTaskKey("KEY-1");
+		taskList.addTask(task);
+		RepositoryQuery query = new RepositoryQuery("kind", "query");
+		query.setRepositoryUrl("oldUrl");
+		taskList.addQuery(query);
+
+		taskList.refactorRepositoryUrl("oldUrl", "newUrl");
+		assertTrue(taskList.getTasks("oldUrl").isEmpty());
+		assertEquals(Collections.singleton(task), taskList.getTasks("newUrl"));
+		assertSame(task, taskList.getTask("newUrl", "1"));
+		assertNull(taskList.getTaskByKey("oldUrl", "KEY-1"));
+		assertSame(task, taskList.getTaskByKey("newUrl", "KEY-1"));
+		assertTrue(taskList.getRepositoryQueries("oldUrl").isEmpty());
+		assertEquals(Collections.singleton(query), taskList.getRepositoryQueries("newUrl"));
+	}
+
+	@Test
+	public void getRepositoryQueries() {
+		RepositoryQuery query1 = new RepositoryQuery("kind", "query1");
+		query1.setRepositoryUrl("repoUrl");
+		RepositoryQuery query2 = new RepositoryQuery("kind", "query2");
+		query2.setRepositoryUrl("otherUrl");
+		taskList.addQuery(query1);
+		taskList.addQuery(query2);
+		assertEquals(Collections.singleton(query1), taskList.getRepositoryQueries("repoUrl"));
+
+		taskList.deleteQuery(query1);
+		assertTrue(taskList.getRepositoryQueries("repoUrl").isEmpty());
+		assertEquals(Collections.singleton(query2), taskList.getRepositoryQueries("otherUrl"));
+	}
+
+	@Test
+	public void getTaskByKeyManyTasks() {
+		for (int repository = 0; repository < 10; repository++) {
+			String repositoryUrl = "http://mylyn.org/repository" + repository;
+			taskList.addUnmatchedContainer(new UnmatchedTaskContainer("kind", repositoryUrl));
+			for (int i = 0; i < 100; i++) {
+				TaskTask task = new TaskTask("kind", repositoryUrl, Integer.toString(i));
+				task.setTaskKey("KEY-" + i);
+				taskList.addTask(task);
+			}
+		}
+
+		for (int repository = 0; repository < 10; repository++) {
+			String repositoryUrl = "http://mylyn.org/repository" + repository;
+			for (int i = 0; i < 100; i++) {
+				AbstractTask task = taskList.getTaskByKey(repositoryUrl, "KEY-" + i);
+				assertEquals(repositoryUrl, task.getRepositoryUrl());
+				assertEquals(Integer.toString(i), task.getTaskId());
+			}
+			assertNull(taskList.getTaskByKey(repositoryUrl, "MISSING-" + repository));
+			assertEquals(100, taskList.getTasks(repositoryUrl).size());
+		}
+	}
+
 }
@@ -0,0 +1,248 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.zip.ZipInputStream;
+
+import org.eclipse.mylyn.internal.tasks.core.RepositoryModel;
+import org.eclipse.mylyn.internal.tasks.core.TaskList;
+import org.eclipse.mylyn.internal.tasks.core.TaskRepositoryManager;
+import org.eclipse.mylyn.internal.tasks.core.TaskTask;
+import org.eclipse.mylyn.tasks.core.AbstractRepositoryConnector;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.AbstractTaskDataHandler;
+import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
+import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.io.ByteStreams;
+
+public class TaskDataDeltaTest {
+
+	private static final String CONNECTOR_KIND = "connectorKind";
+
+	private static final String REPOSITORY_URL = "http://localhost/repository";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private TaskRepositoryManager repositoryManager;
+
+	private TaskRepository repository;
+
+	private AbstractRepositoryConnector connector;
+
+	@Before
+	public void setUp() {
+		repositoryManager = new TaskRepositoryManager();
+		connector = mock(AbstractRepositoryConnector.class);
+		when(connector.getConnectorKind()).thenReturn(CONNECTOR_KIND);
+		repositoryManager.addRepositoryConnector(connector);
+		repository = new TaskRepository(CONNECTOR_KIND, REPOSITORY_URL);
+		repositoryManager.addRepository(repository);
+	}
+
+	@Test
+	public void createIdentical() {
+		TaskData delta = TaskDataDelta.create(newTaskData(3), newTaskData(3));
+		assertTrue(delta.getRoot().getAttributes().isEmpty());
+	}
+
+	@Test
+	public void createAndApply() {
+		TaskData base = newTaskData(3);
+		base.getRoot().createAttribute("added").setValue("new");
+		TaskData target = newTaskData(2);
+		target.getRoot().getAttribute(TaskAttribute.SUMMARY).setValue("old summary");
+		target.getRoot().createAttribute("removed").setValue("old");
+
+		TaskData delta = TaskDataDelta.create(base, target);
+		assertEquals("old summary", delta.getRoot().getAttribute(TaskAttribute.SUMMARY).getValue());
+		assertEquals("old", delta.getRoot().getAttribute("removed").getValue());
+		assertTrue(TaskDataDelta.isRemoved(delta.getRoot().getAttribute("added")));
+		assertTrue(TaskDataDelta.isRemoved(delta.getRoot().getAttribute(TaskAttribute.PREFIX_COMMENT + 2)));
+		assertNull(delta.getRoot().getAttribute(TaskAttribute.PREFIX_COMMENT + 1));
+
+		TaskData result = TaskDataDelta.apply(base, delta);
+		assertTrue(TaskDataDelta.deepEquals(target.getRoot(), result.getRoot()));
+	}
+
+	@Test
+	public void stateReconstructsLastReadLazily() {
+		TaskDataState state = new TaskDataState(CONNECTOR_KIND, REPOSITORY_URL, "1");
+		state.setRepositoryData(newTaskData(3));
+		TaskData lastRead = newTaskData(2);
+		state.setLastReadDelta(TaskDataDelta.create(state.getRepositoryData(), lastRead));
+		assertTrue(state.isLastReadDeltaOnly());
+
+		assertTrue(TaskDataDelta.deepEquals(lastRead.getRoot(), state.getLastReadData().getRoot()));
+		assertFalse(state.isLastReadDeltaOnly());
+	}
+
+	@Test
+	public void stateKeepsLastReadWhenRepositoryDataChanges() {
+		TaskDataState state = new TaskDataState(CONNECTOR_KIND, REPOSITORY_URL, "1");
+		state.setRepositoryData(newTaskData(2));
+		state.setLastReadDelta(TaskDataDelta.create(state.getRepositoryData(), newTaskData(1)));
+
+		state.setRepositoryData(newTaskData(5));
+		assertTrue(TaskDataDelta.deepEquals(newTaskData(1).getRoot(), state.getLastReadData().getRoot()));
+	}
+
+	@Test
+	public void storeWritesDelta() throws Exception {
+		TaskDataExternalizer externalizer = new TaskDataExternalizer(repositoryManager);
+		TaskDataState state = new TaskDataState(CONNECTOR_KIND, REPOSITORY_URL, "1");
+		state.setRepositoryData(newTaskData(20));
+		state.setLastReadData(newTaskData(19));
+
+		ByteArrayOutputStream delta = new ByteArrayOutputStream();
+		externalizer.writeState(delta, state);
+		ByteArrayOutputStream full = new ByteArrayOutputStream();
+		externalizer.writeState(full, state, false);
+		assertTrue(delta.size() < full.size() * 2 / 3);
+		// releases that do not support deltas must not read the document as version 2.0
+		assertTrue(delta.toString("UTF-8").contains(" version=\"2.1\""));
+		assertTrue(full.toString("UTF-8").contains(" version=\"2.0\""));
+
+		TaskDataState read = externalizer.readState(new ByteArrayInputStream(delta.toByteArray()));
+		assertTrue(read.isLastReadDeltaOnly());
+		assertTrue(TaskDataDelta.deepEquals(newTaskData(19).getRoot(), read.getLastReadData().getRoot()));
+
+		ByteArrayOutputStream binary = new ByteArrayOutputStream();
+		externalizer.writeBinaryState(binary, state);
+		read = externalizer.readBinaryState(new ByteArrayInputStream(binary.toByteArray()));
+		assertTrue(read.isLastReadDeltaOnly());
+		assertTrue(TaskDataDelta.deepEquals(newTaskData(19).getRoot(), read.getLastReadData().getRoot()));
+	}
+
+	@Test
+	public void exportWritesFullLastReadData() throws Exception {
+		File file = new File(folder.getRoot(), "task.zip");
+		TaskDataStore store = new TaskDataStore(repositoryManager);
+		TaskDataState state = new TaskDataState(CONNECTOR_KIND, REPOSITORY_URL, "1");
+		state.setRepositoryData(newTaskData(2));
+		state.setLastReadData(newTaskData(1));
+		store.putTaskData(file, state);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		store.exportTaskData(file, out);
+		try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+			in.getNextEntry();
+			String xml = new String(ByteStreams.toByteArray(in), "UTF-8");
+			assertTrue(xml.contains("<" + ITaskDataConstants.ELEMENT_OLD_DATA + " "));
+			assertFalse(xml.contains(ITaskDataConstants.ELEMENT_OLD_DATA_DELTA));
+			assertTrue(xml.contains(" version=\"2.0\""));
+		}
+	}
+
+	@Test
+	public void migrateReconstructsLastReadData() throws Exception {
+		AbstractTaskDataHandler taskDataHandler = mock(AbstractTaskDataHandler.class);
+		when(taskDataHandler.getAttributeMapper(repository)).thenReturn(new TaskAttributeMapper(repository));
+		doAnswer(invocation -> {
+			// derives a value from the complete task data similar to connectors that add attributes on migration
+			TaskAttribute root = ((TaskData) invocation.getArgument(1)).getRoot();
+			if (root.getAttribute("migrated") == null) {
+				int comments = 0;
+				for (String id : root.getAttributes().keySet()) {
+					if (id.startsWith(TaskAttribute.PREFIX_COMMENT)) {
+						comments++;
+					}
+				}
+				root.createAttribute("migrated").setValue(String.valueOf(comments));
+			}
+			return null;
+		}).when(taskDataHandler).migrateTaskData(any(TaskRepository.class), any(TaskData.class));
+		when(connector.getTaskDataHandler()).thenReturn(taskDataHandler);
+
+		TaskDataExternalizer externalizer = new TaskDataExternalizer(repositoryManager);
+		TaskDataState state = new TaskDataState(CONNECTOR_KIND, REPOSITORY_URL, "1");
+		state.setRepositoryData(newTaskData(3));
+		state.setLastReadData(newTaskData(2));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		externalizer.writeState(out, state);
+
+		TaskDataState read = externalizer.readState(new ByteArrayInputStream(out.toByteArray()));
+		assertFalse(read.isLastReadDeltaOnly());
+		assertEquals("3", read.getRepositoryData().getRoot().getAttribute("migrated").getValue());
+		assertEquals("2", read.getLastReadData().getRoot().getAttribute("migrated").getValue());
+
+		out = new ByteArrayOutputStream();
+		externalizer.writeState(out, read);
+		read = externalizer.readState(new ByteArrayInputStream(out.toByteArray()));
+		assertEquals("2", read.getLastReadData().getRoot().getAttribute("migrated").getValue());
+	}
+
+	@Test
+	public void diffFromDeltaMatchesFullDiff() throws Exception {
+		TaskList taskList = new TaskList();
+		taskList.addTask(new TaskTask(CONNECTOR_KIND, REPOSITORY_URL, "1"));
+		RepositoryModel model = new RepositoryModel(taskList, repositoryManager);
+
+		TaskData repositoryData = newTaskData(4);
+		repositoryData.getRoot().getAttribute(TaskAttribute.SUMMARY).setValue("new summary");
+		repositoryData.getRoot().getAttribute(TaskAttribute.STATUS).setValue("RESOLVED");
+		TaskData lastRead = newTaskData(2);
+		lastRead.getRoot().createMappedAttribute(TaskAttribute.PRIORITY).setValue("P1");
+
+		TaskDataDiff fullDiff = new TaskDataDiff(model, repositoryData, lastRead);
+
+		TaskDataState state = new TaskDataState(CONNECTOR_KIND, REPOSITORY_URL, "1");
+		state.setRepositoryData(repositoryData);
+		state.setLastReadDelta(TaskDataDelta.create(repositoryData, lastRead));
+		TaskDataDiff deltaDiff = new TaskDataDiff(model, state);
+		assertTrue(state.isLastReadDeltaOnly());
+
+		assertTrue(deltaDiff.hasChanged());
+		assertEquals(2, deltaDiff.getNewComments().size());
+		assertEquals(fullDiff.getNewComments().size(), deltaDiff.getNewComments().size());
+		assertEquals(fullDiff.getChangedAttributes().size(), deltaDiff.getChangedAttributes().size());
+		assertEquals(fullDiff.getNewAttachments().size(), deltaDiff.getNewAttachments().size());
+
+		assertTrue(TaskDataDelta.deepEquals(lastRead.getRoot(), deltaDiff.getOldTaskData().getRoot()));
+	}
+
+	private TaskData newTaskData(int comments) {
+		TaskData data = new TaskData(new TaskAttributeMapper(repository), CONNECTOR_KIND, REPOSITORY_URL, "1");
+		TaskAttribute root = data.getRoot();
+		root.createMappedAttribute(TaskAttribute.SUMMARY).setValue("summary");
+		root.createMappedAttribute(TaskAttribute.STATUS).setValue("NEW");
+		TaskAttribute attachment = root.createAttribute(TaskAttribute.PREFIX_ATTACHMENT + 1);
+		attachment.getMetaData().setType(TaskAttribute.TYPE_ATTACHMENT);
+		for (int i = 0; i < comments; i++) {
+			TaskAttribute comment = root.createAttribute(TaskAttribute.PREFIX_COMMENT + i);
+			comment.getMetaData().setType(TaskAttribute.TYPE_COMMENT);
+			comment.createAttribute(TaskAttribute.COMMENT_TEXT).setValue("comment " + i);
+		}
+		return data;
+	}
+
+}
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.mylyn.internal.tasks.core.TaskRepositoryManager;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.ITaskDataWorkingCopy;
+import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.xml.sax.SAXException;
+
+import com.google.common.io.ByteStreams;
+
+public class TaskDataStateCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final AtomicInteger reads = new AtomicInteger();
+
+	@Test
+	public void getReturnsCopy() throws Exception {
+		TaskDataStateCache cache = new TaskDataStateCache(TaskDataStateCache.DEFAULT_MAXIMUM_WEIGHT);
+		File file = folder.newFile();
+		TaskDataState state = newState("1");
+		cache.put(file, state);
+
+		TaskDataState cached = cache.get(file);
+		assertNotNull(cached);
+		assertNotSame(state, cached);
+		assertNotSame(state.getRepositoryData(), cached.getRepositoryData());
+		assertEquals("value", cached.getRepositoryData().getRoot().getAttribute("attribute").getValue());
+
+		cached.getRepositoryData().getRoot().getAttribute("attribute").setValue("changed");
+		assertEquals("value", cache.get(file).getRepositoryData().getRoot().getAttribute("attribute").getValue());
+	}
+
+	@Test
+	public void hitAndMissCounts() throws Exception {
+		TaskDataStateCache cache = new TaskDataStateCache(TaskDataStateCache.DEFAULT_MAXIMUM_WEIGHT);
+		File file = folder.newFile();
+		assertNull(cache.get(file));
+		cache.put(file, newState("1"));
+		cache.get(file);
+		cache.get(file);
+
+		assertEquals(2, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	public void evictsWhenBudgetExceeded() throws Exception {
+		TaskDataState state = newState("1");
+		TaskDataStateCache cache = new TaskDataStateCache(TaskDataStateCache.weightOf(state) * 2);
+		for (int i = 0; i < 10; i++) {
+			cache.put(folder.newFile(), newState(String.valueOf(i)));
+		}
+		assertTrue(cache.size() <= 2);
+		assertTrue(cache.getEvictionCount() >= 8);
+	}
+
+	@Test
+	public void disabled() throws Exception {
+		TaskDataStateCache cache = new TaskDataStateCache(0);
+		File file = folder.newFile();
+		cache.put(file, newState("1"));
+		assertNull(cache.get(file));
+	}
+
+	@Test
+	public void storeReadsFileOnce() throws Exception {
+		File file = new File(folder.getRoot(), "task.zip");
+		TaskDataStore store = newTaskDataStore();
+		store.putTaskData(file, newState("1"));
+
+		store.getTaskDataState(file);
+		store.getTaskDataState(file);
+		store.getTaskDataState(file);
+
+		assertEquals(1, reads.get());
+		assertEquals(2, store.getCache().getHitCount());
+	}
+
+	@Test
+	public void storeInvalidatesOnWrite() throws Exception {
+		File file = new File(folder.getRoot(), "task.zip");
+		TaskDataStore store = newTaskDataStore();
+		store.putTaskData(file, newState("1"));
+		store.getTaskDataState(file);
+
+		store.putEdits(file, newTaskData("1"));
+		store.getTaskDataState(file);
+		assertEquals(2, reads.get());
+
+		store.discardEdits(file);
+		store.getTaskDataState(file);
+		assertEquals(3, reads.get());
+
+		store.deleteTaskData(file);
+		assertNull(store.getTaskDataState(file));
+		assertEquals(3, reads.get());
+	}
+
+	private TaskDataStore newTaskDataStore() {
+		TaskDataExternalizer externalizer = new TaskDataExternalizer(new TaskRepositoryManager()) {
+			@Override
+			public TaskDataState readState(InputStream in) throws IOException, SAXException {
+				reads.incrementAndGet();
+				return newState(new String(ByteStreams.toByteArray(in), "UTF-8"));
+			}
+
+			@Override
+			public void writeState(OutputStream out, ITaskDataWorkingCopy state) throws IOException {
+				out.write(state.getTaskId().getBytes("UTF-8"));
+			}
+		};
+		return new TaskDataStore(externalizer, new TaskDataStateCache(TaskDataStateCache.DEFAULT_MAXIMUM_WEIGHT));
+	}
+
+	private static TaskDataState newState(String taskId) {
+		TaskDataState state = new TaskDataState("connectorKind", "repositoryUrl", taskId);
+		state.setRepositoryData(newTaskData(taskId));
+		return state;
+	}
+
+	private static TaskData newTaskData(String taskId) {
+		TaskRepository repository = new TaskRepository("connectorKind", "repositoryUrl");
+		TaskData data = new TaskData(new TaskAttributeMapper(repository), "connectorKind", "repositoryUrl", taskId);
+		data.getRoot().createAttribute("attribute").setValue("value");
+		return data;
+	}
+
+}
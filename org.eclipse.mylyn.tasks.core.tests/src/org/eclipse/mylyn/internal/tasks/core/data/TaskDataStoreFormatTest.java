@@ -0,0 +1,247 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core.data;
+
+import static java.lang.String.format;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.eclipse.mylyn.internal.tasks.core.TaskRepositoryManager;
+import org.eclipse.mylyn.tasks.core.AbstractRepositoryConnector;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
+import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the binary task data encoding and its interchangeability with the XML encoding.
+ */
+public class TaskDataStoreFormatTest {
+
+	private static final String CONNECTOR_KIND = "connectorKind";
+
+	private static final String REPOSITORY_URL = "http://localhost/repository";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private TaskRepositoryManager repositoryManager;
+
+	private TaskRepository repository;
+
+	@Before
+	public void setUp() {
+		repositoryManager = new TaskRepositoryManager();
+		AbstractRepositoryConnector connector = mock(AbstractRepositoryConnector.class);
+		when(connector.getConnectorKind()).thenReturn(CONNECTOR_KIND);
+		repositoryManager.addRepositoryConnector(connector);
+		repository = new TaskRepository(CONNECTOR_KIND, REPOSITORY_URL);
+		repositoryManager.addRepository(repository);
+	}
+
+	@Test
+	public void binaryRoundTrip() throws Exception {
+		TaskDataExternalizer externalizer = new TaskDataExternalizer(repositoryManager);
+		TaskDataState state = newState("1");
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		externalizer.writeBinaryState(out, state);
+		TaskDataState read = externalizer.readBinaryState(new ByteArrayInputStream(out.toByteArray()));
+
+		assertEquals(toXml(externalizer, state), toXml(externalizer, read));
+	}
+
+	@Test(expected = IOException.class)
+	public void readTruncatedBinary() throws Exception {
+		TaskDataExternalizer externalizer = new TaskDataExternalizer(repositoryManager);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		externalizer.writeBinaryState(out, newState("1"));
+		byte[] truncated = Arrays.copyOf(out.toByteArray(), out.size() / 2);
+
+		externalizer.readBinaryState(new ByteArrayInputStream(truncated));
+	}
+
+	@Test(expected = IOException.class)
+	public void readBinaryWithInvalidStringLength() throws Exception {
+		readBinaryWithStringLength(new byte[] { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07 });
+	}
+
+	@Test(expected = IOException.class)
+	public void readBinaryWithNegativeStringLength() throws Exception {
+		readBinaryWithStringLength(new byte[] { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F });
+	}
+
+	@Test
+	public void binaryIsSmallerThanXml() throws Exception {
+		TaskDataExternalizer externalizer = new TaskDataExternalizer(repositoryManager);
+		TaskDataState state = newState("1");
+
+		ByteArrayOutputStream binary = new ByteArrayOutputStream();
+		externalizer.writeBinaryState(binary, state);
+		int xmlSize = toXml(externalizer, state).length();
+
+		assertTrue(format("expected binary size %d to be less than XML size %d", binary.size(), xmlSize),
+				binary.size() < xmlSize);
+	}
+
+	@Test
+	public void upgradeXmlOnRead() throws Exception {
+		File file = new File(folder.getRoot(), "task.zip");
+		TaskDataStore store = new TaskDataStore(repositoryManager);
+		store.putTaskData(file, newState("1"));
+		assertEquals("data.xml", getEntryName(file));
+
+		store.setBinaryFormat(true);
+		store.getCache().invalidateAll();
+		TaskDataState state = store.getTaskDataState(file);
+		assertEquals("data.bin", getEntryName(file));
+
+		store.getCache().invalidateAll();
+		TaskDataExternalizer externalizer = new TaskDataExternalizer(repositoryManager);
+		assertEquals(toXml(externalizer, state), toXml(externalizer, store.getTaskDataState(file)));
+	}
+
+	@Test
+	public void upgradeXmlOnCacheMiss() throws Exception {
+		File file = new File(folder.getRoot(), "task.zip");
+		TaskDataStore store = new TaskDataStore(repositoryManager);
+		store.putTaskData(file, newState("1"));
+		store.getTaskDataState(file);
+
+		store.setBinaryFormat(true);
+		long hitCount = store.getCache().getHitCount();
+		assertEquals("1", store.getTaskDataState(file).getTaskId());
+		assertEquals(hitCount + 1, store.getCache().getHitCount());
+		assertEquals("data.xml", getEntryName(file));
+
+		store.getCache().invalidateAll();
+		assertEquals("1", store.getTaskDataState(file).getTaskId());
+		assertEquals("data.bin", getEntryName(file));
+	}
+
+	@Test
+	public void readXmlAndBinaryInterchangeably() throws Exception {
+		File xmlFile = new File(folder.getRoot(), "xml.zip");
+		File binaryFile = new File(folder.getRoot(), "binary.zip");
+		TaskDataStore store = new TaskDataStore(repositoryManager);
+		store.putTaskData(xmlFile, newState("1"));
+		store.setBinaryFormat(true);
+		store.putTaskData(binaryFile, newState("2"));
+		store.setBinaryFormat(false);
+		store.getCache().invalidateAll();
+
+		assertEquals("data.xml", getEntryName(xmlFile));
+		assertEquals("data.bin", getEntryName(binaryFile));
+		assertEquals("1", store.getTaskDataState(xmlFile).getTaskId());
+		assertEquals("2", store.getTaskDataState(binaryFile).getTaskId());
+		assertEquals("data.bin", getEntryName(binaryFile));
+	}
+
+	@Test
+	public void exportWritesXml() throws Exception {
+		File file = new File(folder.getRoot(), "task.zip");
+		TaskDataStore store = new TaskDataStore(repositoryManager);
+		store.setBinaryFormat(true);
+		store.putTaskData(file, newState("1"));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertTrue(store.exportTaskData(file, out));
+
+		try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+			assertEquals("data.xml", in.getNextEntry().getName());
+			TaskDataState state = new TaskDataExternalizer(repositoryManager).readState(in);
+			assertNotNull(state.getRepositoryData());
+			assertEquals("1", state.getTaskId());
+		}
+	}
+
+	private void readBinaryWithStringLength(byte[] length) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(TaskDataStateBinaryWriter.MAGIC);
+		out.writeByte(TaskDataStateBinaryWriter.VERSION);
+		// reference to a new symbol for the connector kind
+		out.writeByte(0);
+		out.write(length);
+		out.write(new byte[16]);
+
+		new TaskDataExternalizer(repositoryManager).readBinaryState(new ByteArrayInputStream(bytes.toByteArray()));
+	}
+
+	private String toXml(TaskDataExternalizer externalizer, TaskDataState state) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		externalizer.writeState(out, state);
+		return out.toString("UTF-8");
+	}
+
+	private String getEntryName(File file) throws Exception {
+		try (ZipInputStream in = new ZipInputStream(new FileInputStream(file))) {
+			ZipEntry entry = in.getNextEntry();
+			return entry.getName();
+		}
+	}
+
+	private TaskDataState newState(String taskId) {
+		TaskDataState state = new TaskDataState(CONNECTOR_KIND, REPOSITORY_URL, taskId);
+		state.setRepositoryData(newTaskData(taskId, 50));
+		state.setLastReadData(newTaskData(taskId, 49));
+		TaskData edits = new TaskData(new TaskAttributeMapper(repository), CONNECTOR_KIND, REPOSITORY_URL, taskId);
+		edits.getRoot().createAttribute(TaskAttribute.SUMMARY).setValue("edited summary é中");
+		state.setEditsData(edits);
+		return state;
+	}
+
+	private TaskData newTaskData(String taskId, int comments) {
+		TaskData data = new TaskData(new TaskAttributeMapper(repository), CONNECTOR_KIND, REPOSITORY_URL, taskId);
+		data.setVersion("1");
+		TaskAttribute root = data.getRoot();
+		root.createMappedAttribute(TaskAttribute.SUMMARY).setValue("Summary of task " + taskId);
+		TaskAttribute status = root.createMappedAttribute(TaskAttribute.STATUS);
+		status.setValue("NEW");
+		status.getMetaData().setType(TaskAttribute.TYPE_SINGLE_SELECT).setLabel("Status:");
+		status.putOption("NEW", "New");
+		status.putOption("ASSIGNED", "Assigned");
+		status.putOption("RESOLVED", "Resolved");
+		TaskAttribute cc = root.createMappedAttribute(TaskAttribute.USER_CC);
+		cc.addValue("one@example.com");
+		cc.addValue("two@example.com");
+		for (int i = 0; i < comments; i++) {
+			TaskAttribute comment = root.createAttribute(TaskAttribute.PREFIX_COMMENT + i);
+			comment.getMetaData().setType(TaskAttribute.TYPE_COMMENT);
+			comment.createAttribute(TaskAttribute.COMMENT_TEXT)
+					.setValue("Comment " + i + " with some text that is long enough to be realistic.");
+			comment.createAttribute(TaskAttribute.COMMENT_AUTHOR).setValue("author" + (i % 5) + "@example.com");
+			comment.createAttribute(TaskAttribute.COMMENT_DATE).setValue(String.valueOf(1000000000000L + i));
+		}
+		return data;
+	}
+
+}
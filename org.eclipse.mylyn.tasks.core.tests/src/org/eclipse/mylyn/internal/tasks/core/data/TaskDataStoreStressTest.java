@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.mylyn.internal.tasks.core.TaskRepositoryManager;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.ITaskDataWorkingCopy;
+import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.xml.sax.SAXException;
+
+import com.google.common.io.ByteStreams;
+
+/**
+ * Exercises {@link TaskDataStore} with concurrent writers that each update their own task and with concurrent
+ * read-modify-write operations on the same task.
+ */
+public class TaskDataStoreStressTest {
+
+	private static final int WRITERS = 16;
+
+	private static final int WRITES_PER_WRITER = 20;
+
+	private static final long DELAY = 5;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void concurrentWritersOnDifferentFiles() throws Exception {
+		CountingExternalizer externalizer = new CountingExternalizer();
+		TaskDataStore store = new TaskDataStore(externalizer);
+		List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+		for (int i = 0; i < WRITERS; i++) {
+			File file = new File(folder.getRoot(), i + ".zip");
+			TaskData data = newTaskData(String.valueOf(i));
+			executor.submit(() -> {
+				try {
+					start.await();
+					for (int j = 0; j < WRITES_PER_WRITER; j++) {
+						store.putTaskData(file, data, true, true);
+					}
+				} catch (Throwable e) {
+					failures.add(e);
+				}
+			});
+		}
+		start.countDown();
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+		assertTrue(failures.toString(), failures.isEmpty());
+		for (int i = 0; i < WRITERS; i++) {
+			String taskId = String.valueOf(i);
+			assertEquals(WRITES_PER_WRITER, externalizer.getWriteCount(taskId));
+			assertEquals(1, externalizer.getMaxConcurrentAccess(taskId));
+			TaskDataState state = store.getTaskDataState(new File(folder.getRoot(), i + ".zip"));
+			assertEquals(taskId, state.getTaskId());
+		}
+	}
+
+	@Test
+	public void readModifyWriteOnSameFileIsAtomic() throws Exception {
+		File file = new File(folder.getRoot(), "task.zip");
+		CountingExternalizer externalizer = new CountingExternalizer();
+		TaskDataStore store = new TaskDataStore(externalizer);
+		store.putTaskData(file, newTaskData("1"), false, true);
+
+		List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		for (int i = 0; i < 16 * WRITES_PER_WRITER; i++) {
+			executor.submit(() -> {
+				try {
+					store.putEdits(file, newTaskData("1"));
+				} catch (Throwable e) {
+					failures.add(e);
+				}
+			});
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+		assertTrue(failures.toString(), failures.isEmpty());
+		assertEquals(1, externalizer.getMaxConcurrentAccess("1"));
+	}
+
+	private static TaskData newTaskData(String taskId) {
+		TaskRepository repository = new TaskRepository("connectorKind", "repositoryUrl");
+		return new TaskData(new TaskAttributeMapper(repository), "connectorKind", "repositoryUrl", taskId);
+	}
+
+	/**
+	 * Simulates slow serialization and records the maximum number of threads that accessed the same file at once.
+	 */
+	private static class CountingExternalizer extends TaskDataExternalizer {
+
+		private final Map<String, AtomicInteger> active = Collections.synchronizedMap(new LinkedHashMap<>());
+
+		private final Map<String, Integer> maxActive = Collections.synchronizedMap(new LinkedHashMap<>());
+
+		private final Map<String, Integer> writes = Collections.synchronizedMap(new LinkedHashMap<>());
+
+		public CountingExternalizer() {
+			super(new TaskRepositoryManager());
+		}
+
+		@Override
+		public TaskDataState readState(InputStream in) throws IOException, SAXException {
+			String taskId = new String(ByteStreams.toByteArray(in), "UTF-8");
+			enter(taskId);
+			try {
+				sleep();
+				return new TaskDataState("connectorKind", "repositoryUrl", taskId);
+			} finally {
+				leave(taskId);
+			}
+		}
+
+		@Override
+		public void writeState(OutputStream out, ITaskDataWorkingCopy state) throws IOException {
+			String taskId = state.getTaskId();
+			enter(taskId);
+			try {
+				out.write(taskId.getBytes("UTF-8"));
+				writes.merge(taskId, 1, Integer::sum);
+				sleep();
+			} finally {
+				leave(taskId);
+			}
+		}
+
+		private void enter(String taskId) {
+			int count = active.computeIfAbsent(taskId, id -> new AtomicInteger()).incrementAndGet();
+			maxActive.merge(taskId, count, Math::max);
+		}
+
+		private void leave(String taskId) {
+			active.get(taskId).decrementAndGet();
+		}
+
+		int getWriteCount(String taskId) {
+			return writes.getOrDefault(taskId, 0);
+		}
+
+		int getMaxConcurrentAccess(String taskId) {
+			return maxActive.getOrDefault(taskId, 0);
+		}
+
+		private void sleep() {
+			try {
+				Thread.sleep(DELAY);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			}
+		}
+
+	}
+
+}
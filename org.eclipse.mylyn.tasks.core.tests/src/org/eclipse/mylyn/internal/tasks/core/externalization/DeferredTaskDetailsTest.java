@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core.externalization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.mylyn.internal.tasks.core.AbstractTask;
+import org.eclipse.mylyn.internal.tasks.core.ITaskListChangeListener;
+import org.eclipse.mylyn.internal.tasks.core.RepositoryModel;
+import org.eclipse.mylyn.internal.tasks.core.TaskActivityManager;
+import org.eclipse.mylyn.internal.tasks.core.TaskCategory;
+import org.eclipse.mylyn.internal.tasks.core.TaskContainerDelta;
+import org.eclipse.mylyn.internal.tasks.core.TaskList;
+import org.eclipse.mylyn.internal.tasks.core.TaskRepositoryManager;
+import org.eclipse.mylyn.internal.tasks.core.TaskTask;
+import org.eclipse.mylyn.internal.tasks.core.UnmatchedTaskContainer;
+import org.eclipse.mylyn.internal.tasks.core.data.ITaskDataManagerListener;
+import org.eclipse.mylyn.internal.tasks.core.data.SynchronizationManger;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataManager;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataManagerEvent;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataStore;
+import org.eclipse.mylyn.tasks.core.AbstractRepositoryConnector;
+import org.eclipse.mylyn.tasks.core.ITask;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DeferredTaskDetailsTest {
+
+	private static final String CONNECTOR_KIND = "connectorKind";
+
+	private static final String REPOSITORY_URL = "http://localhost/repository";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private TaskRepositoryManager repositoryManager;
+
+	private AbstractRepositoryConnector connector;
+
+	private File file;
+
+	@Before
+	public void setUp() throws Exception {
+		repositoryManager = new TaskRepositoryManager();
+		connector = mock(AbstractRepositoryConnector.class);
+		when(connector.getConnectorKind()).thenReturn(CONNECTOR_KIND);
+		repositoryManager.addRepositoryConnector(connector);
+		repositoryManager.addRepository(new TaskRepository(CONNECTOR_KIND, REPOSITORY_URL));
+		file = new File(folder.getRoot(), "tasks.xml.zip");
+	}
+
+	@Test
+	public void loadDetailsOnAccess() throws Exception {
+		writeTaskList(10);
+		TaskList taskList = readTaskList(true);
+
+		AbstractTask task = (AbstractTask) taskList.getTask(REPOSITORY_URL, "1");
+		assertEquals("summary1", task.getSummary());
+		assertTrue(task.isCompleted());
+		assertTrue(task.hasPendingDetails());
+
+		assertEquals("notes1", task.getNotes());
+		assertFalse(task.hasPendingDetails());
+		assertEquals(1, task.getEstimatedTimeHours());
+		assertNotNull(task.getCreationDate());
+		assertEquals("value1", task.getAttribute("key"));
+		assertEquals(2, task.getAttributes().size());
+	}
+
+	@Test
+	public void modifyPendingTask() throws Exception {
+		writeTaskList(10);
+		TaskList taskList = readTaskList(true);
+
+		AbstractTask task = (AbstractTask) taskList.getTask(REPOSITORY_URL, "2");
+		task.setAttribute("key", "changed");
+		task.setNotes("changed notes");
+		assertEquals("changed", task.getAttribute("key"));
+		assertEquals("value2", task.getAttribute("other"));
+		assertEquals("changed notes", task.getNotes());
+	}
+
+	@Test
+	public void writeDeferredTaskList() throws Exception {
+		writeTaskList(10);
+		TaskList taskList = readTaskList(true);
+		TaskListExternalizer externalizer = new TaskListExternalizer(new RepositoryModel(taskList, repositoryManager),
+				repositoryManager);
+		externalizer.writeTaskList(taskList, file);
+
+		TaskList reloaded = readTaskList(false);
+		AbstractTask task = (AbstractTask) reloaded.getTask(REPOSITORY_URL, "3");
+		assertFalse(task.hasPendingDetails());
+		assertEquals("notes3", task.getNotes());
+		assertEquals("value3", task.getAttribute("key"));
+	}
+
+	@Test
+	public void loadTaskDetailsJob() throws Exception {
+		writeTaskList(1200);
+		TaskList taskList = readTaskList(true);
+		final Set<String> loaded = Collections.synchronizedSet(new HashSet<String>());
+		taskList.addChangeListener(new ITaskListChangeListener() {
+			public void containersChanged(Set<TaskContainerDelta> containers) {
+				for (TaskContainerDelta delta : containers) {
+					assertTrue(delta.isTransient());
+					assertEquals(TaskContainerDelta.Kind.CONTENT, delta.getKind());
+					loaded.add(delta.getElement().getHandleIdentifier());
+				}
+			}
+		});
+
+		LoadTaskDetailsJob job = new LoadTaskDetailsJob(taskList);
+		job.schedule();
+		job.join();
+
+		assertEquals(1200, loaded.size());
+		for (AbstractTask task : taskList.getAllTasks()) {
+			assertFalse(task.hasPendingDetails());
+		}
+	}
+
+	@Test
+	public void deferDetailsOfAllTasks() throws Exception {
+		writeTaskList(100);
+
+		for (AbstractTask task : readTaskList(true).getAllTasks()) {
+			assertTrue(task.hasPendingDetails());
+		}
+		for (AbstractTask task : readTaskList(false).getAllTasks()) {
+			assertFalse(task.hasPendingDetails());
+			assertNotNull(task.getNotes());
+		}
+	}
+
+	@Test
+	public void updateTaskWithUnchangedTaskData() throws Exception {
+		writeTaskList(10);
+		final AbstractTask stored = (AbstractTask) readTaskList(false).getTask(REPOSITORY_URL, "4");
+		TaskList taskList = readTaskList(true);
+		AbstractTask task = (AbstractTask) taskList.getTask(REPOSITORY_URL, "4");
+		assertTrue(task.hasPendingDetails());
+		doAnswer(invocation -> {
+			ITask updated = invocation.getArgument(1);
+			updated.setModificationDate(stored.getModificationDate());
+			updated.setAttribute("key", stored.getAttribute("key"));
+			return null;
+		}).when(connector).updateTaskFromTaskData(any(TaskRepository.class), any(ITask.class), any(TaskData.class));
+
+		TaskDataManager dataManager = new TaskDataManager(new TaskDataStore(repositoryManager), repositoryManager,
+				taskList, new TaskActivityManager(repositoryManager, taskList),
+				new SynchronizationManger(new RepositoryModel(taskList, repositoryManager)));
+		dataManager.setDataPath(folder.newFolder("data").getAbsolutePath());
+		final TaskDataManagerEvent[] events = new TaskDataManagerEvent[1];
+		dataManager.addListener(new ITaskDataManagerListener() {
+			public void taskDataUpdated(TaskDataManagerEvent event) {
+				events[0] = event;
+			}
+
+			public void editsDiscarded(TaskDataManagerEvent event) {
+			}
+		});
+		TaskRepository repository = repositoryManager.getRepository(CONNECTOR_KIND, REPOSITORY_URL);
+		TaskData taskData = new TaskData(new TaskAttributeMapper(repository), CONNECTOR_KIND, REPOSITORY_URL, "4");
+		dataManager.putUpdatedTaskData(task, taskData, true, null, null);
+
+		assertFalse(task.hasPendingDetails());
+		assertNotNull(events[0]);
+		assertFalse(events[0].getTaskChanged());
+		assertFalse(task.isChanged());
+	}
+
+	private void writeTaskList(int count) throws Exception {
+		TaskList taskList = new TaskList();
+		taskList.addUnmatchedContainer(new UnmatchedTaskContainer(CONNECTOR_KIND, REPOSITORY_URL));
+		TaskCategory category = new TaskCategory("category");
+		taskList.addCategory(category);
+		for (int i = 0; i < count; i++) {
+			TaskTask task = new TaskTask(CONNECTOR_KIND, REPOSITORY_URL, Integer.toString(i));
+			task.setSummary("summary" + i);
+			task.setNotes("notes" + i);
+			task.setEstimatedTimeHours(i);
+			task.setCreationDate(new Date());
+			task.setModificationDate(new Date());
+			if (i % 2 == 1) {
+				task.setCompletionDate(new Date());
+			}
+			task.setAttribute("key", "value" + i);
+			task.setAttribute("other", "value" + i);
+			taskList.addTask(task, category);
+		}
+		TaskListExternalizer externalizer = new TaskListExternalizer(new RepositoryModel(taskList, repositoryManager),
+				repositoryManager);
+		externalizer.writeTaskList(taskList, file);
+	}
+
+	private TaskList readTaskList(boolean deferTaskDetails) throws Exception {
+		TaskList taskList = new TaskList();
+		taskList.addUnmatchedContainer(new UnmatchedTaskContainer(CONNECTOR_KIND, REPOSITORY_URL));
+		TaskListExternalizer externalizer = new TaskListExternalizer(new RepositoryModel(taskList, repositoryManager),
+				repositoryManager);
+		externalizer.readTaskList(taskList, file, null, deferTaskDetails);
+		return taskList;
+	}
+
+}
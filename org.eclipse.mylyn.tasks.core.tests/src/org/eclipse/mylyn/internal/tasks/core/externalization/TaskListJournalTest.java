@@ -0,0 +1,271 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core.externalization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.internal.tasks.core.AbstractTask;
+import org.eclipse.mylyn.internal.tasks.core.ITasksCoreConstants;
+import org.eclipse.mylyn.internal.tasks.core.RepositoryModel;
+import org.eclipse.mylyn.internal.tasks.core.TaskCategory;
+import org.eclipse.mylyn.internal.tasks.core.TaskList;
+import org.eclipse.mylyn.internal.tasks.core.TaskRepositoryManager;
+import org.eclipse.mylyn.internal.tasks.core.TaskTask;
+import org.eclipse.mylyn.tasks.core.AbstractRepositoryConnector;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TaskListJournalTest {
+
+	private static final String CONNECTOR_KIND = "connectorKind";
+
+	private static final String REPOSITORY_URL = "http://localhost/repository";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private TaskRepositoryManager repositoryManager;
+
+	private TaskList taskList;
+
+	private TaskListExternalizationParticipant participant;
+
+	private TaskCategory category;
+
+	private File taskListFile;
+
+	private File journalFile;
+
+	@Before
+	public void setUp() throws Exception {
+		repositoryManager = new TaskRepositoryManager();
+		AbstractRepositoryConnector connector = mock(AbstractRepositoryConnector.class);
+		when(connector.getConnectorKind()).thenReturn(CONNECTOR_KIND);
+		repositoryManager.addRepositoryConnector(connector);
+		repositoryManager.addRepository(new TaskRepository(CONNECTOR_KIND, REPOSITORY_URL));
+
+		taskList = new TaskList();
+		participant = createParticipant(taskList);
+		participant.resetTaskList();
+
+		category = new TaskCategory("category");
+		taskList.addCategory(category);
+		for (int i = 1; i <= 3; i++) {
+			taskList.addTask(createTask(i), category);
+		}
+
+		taskListFile = new File(folder.getRoot(), ITasksCoreConstants.DEFAULT_TASK_LIST_FILE);
+		journalFile = new File(folder.getRoot(), ITasksCoreConstants.DEFAULT_TASK_LIST_JOURNAL_FILE);
+	}
+
+	@Test
+	public void appendJournalAfterSnapshot() throws Exception {
+		save(participant);
+		assertTrue(taskListFile.exists());
+		assertFalse(journalFile.exists());
+		byte[] snapshot = Files.readAllBytes(taskListFile.toPath());
+
+		AbstractTask task1 = (AbstractTask) taskList.getTask(REPOSITORY_URL, "1");
+		task1.setSummary("changed");
+		taskList.notifyElementChanged(task1);
+		taskList.addTask(createTask(4), category);
+		taskList.deleteTask(taskList.getTask(REPOSITORY_URL, "2"));
+		save(participant);
+
+		assertTrue(journalFile.exists());
+		assertTrue(Arrays.equals(snapshot, Files.readAllBytes(taskListFile.toPath())));
+
+		TaskList loaded = load();
+		assertEquals("changed", loaded.getTask(REPOSITORY_URL, "1").getSummary());
+		assertNull(loaded.getTask(REPOSITORY_URL, "2"));
+		assertNotNull(loaded.getTask(REPOSITORY_URL, "3"));
+		assertNotNull(loaded.getTask(REPOSITORY_URL, "4"));
+		TaskCategory loadedCategory = (TaskCategory) loaded.getContainerForHandle(category.getHandleIdentifier());
+		assertEquals(3, loadedCategory.getChildren().size());
+		assertTrue(loadedCategory.getChildren().contains(loaded.getTask(REPOSITORY_URL, "4")));
+	}
+
+	@Test
+	public void replayLatestTransaction() throws Exception {
+		save(participant);
+		AbstractTask task1 = (AbstractTask) taskList.getTask(REPOSITORY_URL, "1");
+		for (String summary : new String[] { "first", "second", "third" }) {
+			task1.setSummary(summary);
+			taskList.notifyElementChanged(task1);
+			save(participant);
+		}
+		assertEquals("third", load().getTask(REPOSITORY_URL, "1").getSummary());
+	}
+
+	@Test
+	public void ignoreTransactionsOfOtherSnapshot() throws Exception {
+		save(participant);
+		AbstractTask task1 = (AbstractTask) taskList.getTask(REPOSITORY_URL, "1");
+		task1.setSummary("journal");
+		taskList.notifyElementChanged(task1);
+		save(participant);
+		byte[] journal = Files.readAllBytes(journalFile.toPath());
+
+		task1.setSummary("snapshot");
+		taskList.notifyElementChanged(task1);
+		assertTrue(participant.saveSnapshot(folder.getRoot().getAbsolutePath(), new NullProgressMonitor()));
+		assertFalse(journalFile.exists());
+
+		Files.write(journalFile.toPath(), journal);
+		assertEquals("snapshot", load().getTask(REPOSITORY_URL, "1").getSummary());
+	}
+
+	@Test
+	public void ignoreIncompleteTransaction() throws Exception {
+		save(participant);
+		AbstractTask task1 = (AbstractTask) taskList.getTask(REPOSITORY_URL, "1");
+		task1.setSummary("complete");
+		taskList.notifyElementChanged(task1);
+		save(participant);
+		task1.setSummary("incomplete");
+		taskList.notifyElementChanged(task1);
+		save(participant);
+
+		try (RandomAccessFile file = new RandomAccessFile(journalFile, "rw")) {
+			file.setLength(file.length() - 10);
+		}
+
+		TaskList loaded = new TaskList();
+		TaskListExternalizationParticipant loadedParticipant = createParticipant(loaded);
+		loadedParticipant.execute(createContext(IExternalizationContext.Kind.LOAD), new NullProgressMonitor());
+		assertEquals("complete", loaded.getTask(REPOSITORY_URL, "1").getSummary());
+
+		// the journal can not be extended after an incomplete transaction
+		AbstractTask loadedTask = (AbstractTask) loaded.getTask(REPOSITORY_URL, "1");
+		loadedTask.setSummary("after");
+		loaded.notifyElementChanged(loadedTask);
+		save(loadedParticipant);
+		assertFalse(journalFile.exists());
+		assertEquals("after", load().getTask(REPOSITORY_URL, "1").getSummary());
+	}
+
+	@Test
+	public void refactorRepositoryUrlSavesSnapshot() throws Exception {
+		save(participant);
+		AbstractTask task1 = (AbstractTask) taskList.getTask(REPOSITORY_URL, "1");
+		task1.setSummary("changed");
+		taskList.notifyElementChanged(task1);
+		save(participant);
+		assertTrue(journalFile.exists());
+
+		String newUrl = REPOSITORY_URL + "/new";
+		repositoryManager.addRepository(new TaskRepository(CONNECTOR_KIND, newUrl));
+		taskList.refactorRepositoryUrl(REPOSITORY_URL, newUrl);
+		save(participant);
+		assertFalse(journalFile.exists());
+
+		TaskList loaded = load();
+		assertEquals("changed", loaded.getTask(newUrl, "1").getSummary());
+		assertNull(loaded.getTask(REPOSITORY_URL, "1"));
+	}
+
+	@Test
+	public void readSnapshotWithoutJournal() throws Exception {
+		save(participant);
+		AbstractTask task1 = (AbstractTask) taskList.getTask(REPOSITORY_URL, "1");
+		task1.setSummary("changed");
+		taskList.notifyElementChanged(task1);
+		save(participant);
+
+		// readers that are not aware of the journal see the last snapshot
+		TaskList loaded = new TaskList();
+		TaskListExternalizer externalizer = new TaskListExternalizer(new RepositoryModel(loaded, repositoryManager),
+				repositoryManager);
+		externalizer.readTaskList(loaded, taskListFile);
+		assertEquals("summary1", loaded.getTask(REPOSITORY_URL, "1").getSummary());
+		assertNotNull(externalizer.getSnapshotId());
+	}
+
+	@Test
+	public void journalChangesOfLargeTaskList() throws Exception {
+		int taskCount = 2000;
+		for (int i = 10; i < taskCount; i++) {
+			taskList.addTask(createTask(i), category);
+		}
+		save(participant);
+		byte[] snapshot = Files.readAllBytes(taskListFile.toPath());
+
+		AbstractTask task = (AbstractTask) taskList.getTask(REPOSITORY_URL, "100");
+		int iterations = 10;
+		for (int i = 0; i < iterations; i++) {
+			task.setSummary("changed " + i);
+			taskList.notifyElementChanged(task);
+			save(participant);
+		}
+
+		// changes of a single task are journaled instead of rewriting the snapshot
+		assertTrue(Arrays.equals(snapshot, Files.readAllBytes(taskListFile.toPath())));
+		assertTrue(journalFile.length() < snapshot.length / 4);
+		assertEquals("changed " + (iterations - 1), load().getTask(REPOSITORY_URL, "100").getSummary());
+	}
+
+	private TaskList load() throws Exception {
+		TaskList loaded = new TaskList();
+		createParticipant(loaded).execute(createContext(IExternalizationContext.Kind.LOAD), new NullProgressMonitor());
+		return loaded;
+	}
+
+	private void save(TaskListExternalizationParticipant participant) throws Exception {
+		participant.execute(createContext(IExternalizationContext.Kind.SAVE), new NullProgressMonitor());
+	}
+
+	private TaskListExternalizationParticipant createParticipant(TaskList taskList) {
+		RepositoryModel repositoryModel = new RepositoryModel(taskList, repositoryManager);
+		TaskListExternalizationParticipant participant = new TaskListExternalizationParticipant(repositoryModel,
+				taskList, new TaskListExternalizer(repositoryModel, repositoryManager),
+				mock(ExternalizationManager.class), repositoryManager);
+		taskList.addChangeListener(participant);
+		return participant;
+	}
+
+	private IExternalizationContext createContext(final IExternalizationContext.Kind kind) {
+		final String rootPath = folder.getRoot().getAbsolutePath();
+		return new IExternalizationContext() {
+			public Kind getKind() {
+				return kind;
+			}
+
+			public String getRootPath() {
+				return rootPath;
+			}
+		};
+	}
+
+	private TaskTask createTask(int id) {
+		TaskTask task = new TaskTask(CONNECTOR_KIND, REPOSITORY_URL, Integer.toString(id));
+		task.setSummary("summary" + id);
+		return task;
+	}
+
+}
@@ -0,0 +1,281 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core.sync;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.mylyn.internal.tasks.core.ITasksCoreConstants;
+import org.eclipse.mylyn.internal.tasks.core.RepositoryModel;
+import org.eclipse.mylyn.internal.tasks.core.RepositoryQuery;
+import org.eclipse.mylyn.internal.tasks.core.TaskList;
+import org.eclipse.mylyn.internal.tasks.core.TaskRepositoryManager;
+import org.eclipse.mylyn.internal.tasks.core.TaskTask;
+import org.eclipse.mylyn.internal.tasks.core.UnmatchedTaskContainer;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataManager;
+import org.eclipse.mylyn.tasks.core.AbstractRepositoryConnector;
+import org.eclipse.mylyn.tasks.core.IRepositoryQuery;
+import org.eclipse.mylyn.tasks.core.ITask;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.eclipse.mylyn.tasks.core.data.TaskDataCollector;
+import org.eclipse.mylyn.tasks.core.sync.ISynchronizationSession;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class SynchronizeQueriesJobTest {
+
+	private static final String CONNECTOR_KIND = "connectorKind";
+
+	private static final String REPOSITORY_URL = "http://localhost/repository";
+
+	private TaskList taskList;
+
+	private TaskRepository repository;
+
+	private RepositoryModel repositoryModel;
+
+	private AbstractRepositoryConnector connector;
+
+	private TaskDataManager taskDataManager;
+
+	private final AtomicInteger activeQueries = new AtomicInteger();
+
+	private final AtomicInteger maxActiveQueries = new AtomicInteger();
+
+	private final Set<String> putThreads = Collections.synchronizedSet(new HashSet<String>());
+
+	private final Set<String> queryThreads = Collections.synchronizedSet(new HashSet<String>());
+
+	@Before
+	public void setUp() throws Exception {
+		taskList = new TaskList();
+		taskList.addUnmatchedContainer(new UnmatchedTaskContainer(CONNECTOR_KIND, REPOSITORY_URL));
+		TaskRepositoryManager repositoryManager = new TaskRepositoryManager();
+		connector = mock(AbstractRepositoryConnector.class);
+		when(connector.getConnectorKind()).thenReturn(CONNECTOR_KIND);
+		repositoryManager.addRepositoryConnector(connector);
+		repository = new TaskRepository(CONNECTOR_KIND, REPOSITORY_URL);
+		repositoryManager.addRepository(repository);
+		repositoryModel = new RepositoryModel(taskList, repositoryManager);
+
+		when(connector.performQuery(any(TaskRepository.class), any(IRepositoryQuery.class),
+				any(TaskDataCollector.class), any(ISynchronizationSession.class), any(IProgressMonitor.class)))
+						.thenAnswer(new Answer<IStatus>() {
+							public IStatus answer(InvocationOnMock invocation) throws Throwable {
+								return performQuery((IRepositoryQuery) invocation.getArguments()[1],
+										(TaskDataCollector) invocation.getArguments()[2]);
+							}
+						});
+
+		taskDataManager = mock(TaskDataManager.class);
+		doAnswer(new Answer<Void>() {
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				putThreads.add(Thread.currentThread().getName());
+				return null;
+			}
+		}).when(taskDataManager).putUpdatedTaskData(any(ITask.class), any(TaskData.class), anyBoolean(), any(),
+				any(IProgressMonitor.class));
+	}
+
+	@Test
+	public void synchronizeQueriesConcurrently() throws Exception {
+		repository.setProperty(ITasksCoreConstants.PROPERTY_SYNCHRONIZATION_MAX_CONCURRENT_QUERIES, "3");
+		Set<RepositoryQuery> queries = createQueries(6);
+
+		SynchronizeQueriesJob job = createJob(queries);
+		assertEquals(Status.OK_STATUS, job.run(new NullProgressMonitor()));
+
+		assertTrue("expected concurrent queries, got " + maxActiveQueries.get(), maxActiveQueries.get() > 1);
+		assertTrue("expected at most 3 concurrent queries, got " + maxActiveQueries.get(),
+				maxActiveQueries.get() <= 3);
+		assertEquals(Collections.singleton(Thread.currentThread().getName()), putThreads);
+		assertFalse(queryThreads.contains(Thread.currentThread().getName()));
+		assertResults(queries);
+		assertTrue(job.getStatuses().isEmpty());
+	}
+
+	@Test
+	public void synchronizeQueriesSerially() throws Exception {
+		repository.setProperty(ITasksCoreConstants.PROPERTY_SYNCHRONIZATION_MAX_CONCURRENT_QUERIES, "1");
+		Set<RepositoryQuery> queries = createQueries(3);
+
+		SynchronizeQueriesJob job = createJob(queries);
+		assertEquals(Status.OK_STATUS, job.run(new NullProgressMonitor()));
+
+		assertEquals(1, maxActiveQueries.get());
+		assertEquals(Collections.singleton(Thread.currentThread().getName()), queryThreads);
+		assertResults(queries);
+	}
+
+	@Test
+	public void synchronizeQueriesSeriallyByDefault() throws Exception {
+		Set<RepositoryQuery> queries = createQueries(3);
+
+		SynchronizeQueriesJob job = createJob(queries);
+		assertEquals(Status.OK_STATUS, job.run(new NullProgressMonitor()));
+
+		assertEquals(1, maxActiveQueries.get());
+		assertResults(queries);
+	}
+
+	@Test
+	public void processResultsWhileQueriesAreRunning() throws Exception {
+		repository.setProperty(ITasksCoreConstants.PROPERTY_SYNCHRONIZATION_MAX_CONCURRENT_QUERIES, "2");
+		final CountDownLatch processed = new CountDownLatch(2);
+		doAnswer(new Answer<Void>() {
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				processed.countDown();
+				return null;
+			}
+		}).when(taskDataManager).putUpdatedTaskData(any(ITask.class), any(TaskData.class), anyBoolean(), any(),
+				any(IProgressMonitor.class));
+		when(connector.performQuery(any(TaskRepository.class), any(IRepositoryQuery.class),
+				any(TaskDataCollector.class), any(ISynchronizationSession.class), any(IProgressMonitor.class)))
+						.thenAnswer(new Answer<IStatus>() {
+							public IStatus answer(InvocationOnMock invocation) throws Throwable {
+								IRepositoryQuery query = (IRepositoryQuery) invocation.getArguments()[1];
+								TaskDataCollector collector = (TaskDataCollector) invocation.getArguments()[2];
+								collector.accept(createTaskData(query.getSummary() + "_1"));
+								// results are merged before the queries complete
+								if (!processed.await(5, TimeUnit.SECONDS)) {
+									return new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN, "not processed");
+								}
+								return Status.OK_STATUS;
+							}
+						});
+		Set<RepositoryQuery> queries = createQueries(2);
+
+		SynchronizeQueriesJob job = createJob(queries);
+		assertEquals(Status.OK_STATUS, job.run(new NullProgressMonitor()));
+
+		assertTrue(job.getStatuses().isEmpty());
+		for (RepositoryQuery query : queries) {
+			assertEquals(1, query.getChildren().size());
+		}
+	}
+
+	@Test
+	public void failedQueryKeepsResults() throws Exception {
+		Set<RepositoryQuery> queries = createQueries(4);
+		RepositoryQuery failingQuery = queries.iterator().next();
+		failingQuery.setUrl("fail");
+		TaskTask oldTask = new TaskTask(CONNECTOR_KIND, REPOSITORY_URL, "old");
+		for (RepositoryQuery query : queries) {
+			taskList.addTask(oldTask, query);
+		}
+
+		SynchronizeQueriesJob job = createJob(queries);
+		assertEquals(Status.OK_STATUS, job.run(new NullProgressMonitor()));
+
+		assertEquals(1, job.getStatuses().size());
+		assertNotNull(failingQuery.getStatus());
+		assertTrue(failingQuery.getChildren().contains(oldTask));
+		for (RepositoryQuery query : queries) {
+			if (query != failingQuery) {
+				assertFalse(query.getChildren().contains(oldTask));
+				assertNotNull(query.getLastSynchronizedTimeStamp());
+			}
+		}
+	}
+
+	@Test
+	public void maxConcurrentQueries() {
+		assertEquals(ITasksCoreConstants.DEFAULT_SYNCHRONIZATION_MAX_CONCURRENT_QUERIES,
+				SynchronizeQueriesJob.getMaxConcurrentQueries(repository));
+		repository.setProperty(ITasksCoreConstants.PROPERTY_SYNCHRONIZATION_MAX_CONCURRENT_QUERIES, "invalid");
+		assertEquals(ITasksCoreConstants.DEFAULT_SYNCHRONIZATION_MAX_CONCURRENT_QUERIES,
+				SynchronizeQueriesJob.getMaxConcurrentQueries(repository));
+		repository.setProperty(ITasksCoreConstants.PROPERTY_SYNCHRONIZATION_MAX_CONCURRENT_QUERIES, "0");
+		assertEquals(1, SynchronizeQueriesJob.getMaxConcurrentQueries(repository));
+	}
+
+	private IStatus performQuery(IRepositoryQuery query, TaskDataCollector collector) throws Exception {
+		int count = activeQueries.incrementAndGet();
+		synchronized (maxActiveQueries) {
+			maxActiveQueries.set(Math.max(maxActiveQueries.get(), count));
+		}
+		queryThreads.add(Thread.currentThread().getName());
+		try {
+			Thread.sleep(50);
+			collector.accept(createTaskData("shared"));
+			if ("fail".equals(query.getUrl())) {
+				return new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN, "query failed");
+			}
+			collector.accept(createTaskData(query.getSummary() + "_1"));
+			collector.accept(createTaskData(query.getSummary() + "_2"));
+			return Status.OK_STATUS;
+		} finally {
+			activeQueries.decrementAndGet();
+		}
+	}
+
+	private void assertResults(Set<RepositoryQuery> queries) {
+		ITask shared = taskList.getTask(REPOSITORY_URL, "shared");
+		assertNotNull(shared);
+		for (RepositoryQuery query : queries) {
+			assertEquals(3, query.getChildren().size());
+			assertTrue(query.getChildren().contains(shared));
+			assertNotNull(taskList.getTask(REPOSITORY_URL, query.getSummary() + "_1"));
+			assertNotNull(query.getLastSynchronizedTimeStamp());
+		}
+		assertEquals(queries.size() * 2 + 1, taskList.getAllTasks().size());
+	}
+
+	private SynchronizeQueriesJob createJob(Set<RepositoryQuery> queries) {
+		SynchronizeQueriesJob job = new SynchronizeQueriesJob(taskList, taskDataManager, repositoryModel, connector,
+				repository, queries);
+		job.setUser(true);
+		return job;
+	}
+
+	private Set<RepositoryQuery> createQueries(int count) {
+		Set<RepositoryQuery> queries = new LinkedHashSet<RepositoryQuery>();
+		for (int i = 0; i < count; i++) {
+			RepositoryQuery query = new RepositoryQuery(CONNECTOR_KIND, "query" + i);
+			query.setRepositoryUrl(REPOSITORY_URL);
+			query.setSummary("query" + i);
+			taskList.addQuery(query);
+			queries.add(query);
+		}
+		return queries;
+	}
+
+	private TaskData createTaskData(String taskId) {
+		return new TaskData(new TaskAttributeMapper(repository), CONNECTOR_KIND, REPOSITORY_URL, taskId);
+	}
+
+}
@@ -97,9 +97,17 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 
 	private String ownerId;
 
+	private volatile Runnable pendingDetails;
+
+	/**
+	 * the thread that runs the pending loader, values set by the loader do not mark the task as changed
+	 */
+	private Thread pendingDetailsLoader;
+
 	public AbstractTask(String repositoryUrl, String taskId, String summary) {
 		super(RepositoryTaskHandleUtil.getHandle(repositoryUrl, taskId));
-		this.repositoryUrl = repositoryUrl;
+		// shared by all tasks of a repository
+		this.repositoryUrl = (repositoryUrl != null) ? repositoryUrl.intern() : null;
 		this.taskId = taskId;
 		this.summary = summary;
 	}
@@ -297,6 +305,7 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 	}
 
 	public String getNotes() {
+		loadPendingDetails();
 		// TODO: removed check for null once xml updated.
 		if (notes == null) {
 			notes = ""; //$NON-NLS-1$
@@ -305,6 +314,7 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 	}
 
 	public void setNotes(String notes) {
+		loadPendingDetails();
 		this.notes = notes;
 	}
 
@@ -317,10 +327,12 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 	}
 
 	public int getEstimatedTimeHours() {
+		loadPendingDetails();
 		return estimatedTimeHours;
 	}
 
 	public void setEstimatedTimeHours(int estimated) {
+		loadPendingDetails();
 		this.estimatedTimeHours = estimated;
 	}
 
@@ -363,10 +375,12 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 	}
 
 	public Date getCreationDate() {
+		loadPendingDetails();
 		return creationDate;
 	}
 
 	public void setCreationDate(Date creationDate) {
+		loadPendingDetails();
 		if (!areEqual(this.creationDate, creationDate)) {
 			Date oldValue = this.creationDate;
 			this.creationDate = creationDate;
@@ -400,7 +414,9 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 //			for (PropertyChangeListener listener : propertyChangeListeners) {
 //				listener.propertyChange(event);
 //			}
-		changed = true;
+		if (pendingDetailsLoader != Thread.currentThread()) {
+			changed = true;
+		}
 	}
 
 	public boolean isChanged() {
@@ -468,10 +484,12 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 	}
 
 	public Date getModificationDate() {
+		loadPendingDetails();
 		return modificationDate;
 	}
 
 	public void setModificationDate(Date modificationDate) {
+		loadPendingDetails();
 		if (!areEqual(this.modificationDate, modificationDate)) {
 			Date oldValue = this.modificationDate;
 			this.modificationDate = modificationDate;
@@ -496,10 +514,12 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 	}
 
 	public synchronized String getAttribute(String key) {
+		loadPendingDetails();
 		return (attributeMap != null) ? attributeMap.getAttribute(key) : null;
 	}
 
 	public synchronized Map<String, String> getAttributes() {
+		loadPendingDetails();
 		if (attributeMap != null) {
 			return attributeMap.getAttributes();
 		} else {
@@ -510,6 +530,7 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 	public void setAttribute(String key, String value) {
 		String oldValue;
 		synchronized (this) {
+			loadPendingDetails();
 			if (attributeMap == null) {
 				attributeMap = new AttributeMap();
 			}
@@ -523,6 +544,41 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 		firePropertyChange(key, oldValue, value);
 	}
 
+	/**
+	 * Sets a loader for details of this task that have not been read yet, e.g. while the task list is loaded. The
+	 * loader is run once before the notes, the estimate, the creation or modification date or the attributes of this
+	 * task are accessed.
+	 */
+	public void setPendingDetails(Runnable loader) {
+		this.pendingDetails = loader;
+	}
+
+	public boolean hasPendingDetails() {
+		return pendingDetails != null;
+	}
+
+	/**
+	 * Runs the pending loader, if any. Loading details does not mark this task as changed.
+	 *
+	 * @see #setPendingDetails(Runnable)
+	 */
+	public void loadPendingDetails() {
+		if (pendingDetails != null) {
+			synchronized (this) {
+				Runnable loader = pendingDetails;
+				if (loader != null) {
+					pendingDetails = null;
+					pendingDetailsLoader = Thread.currentThread();
+					try {
+						loader.run();
+					} finally {
+						pendingDetailsLoader = null;
+					}
+				}
+			}
+		}
+	}
+
 	@Override
 	public void setUrl(String url) {
 		String oldValue = getUrl();
@@ -18,6 +18,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.PlatformObject;
@@ -33,9 +34,18 @@ import org.eclipse.mylyn.tasks.core.ITaskContainer;
  */
 public abstract class AbstractTaskContainer extends PlatformObject implements IRepositoryElement, ITaskContainer {
 
+	private static final Collection<ITask> NO_CHILDREN = Collections.emptyList();
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<AbstractTaskContainer, Collection> CHILDREN_UPDATER = AtomicReferenceFieldUpdater
+			.newUpdater(AbstractTaskContainer.class, Collection.class, "children"); //$NON-NLS-1$
+
 	private String handleIdentifier = ""; //$NON-NLS-1$
 
-	private final Collection<ITask> children = new CopyOnWriteArrayList<ITask>();
+	/**
+	 * most tasks have no children, the list is created when the first child is added
+	 */
+	private volatile Collection<ITask> children = NO_CHILDREN;
 
 	/**
 	 * Optional URL corresponding to the web resource associated with this container.
@@ -52,6 +62,9 @@ public abstract class AbstractTaskContainer extends PlatformObject implements IR
 	 */
 	public void internalAddChild(AbstractTask task) {
 		Assert.isNotNull(task);
+		if (children == NO_CHILDREN) {
+			CHILDREN_UPDATER.compareAndSet(this, NO_CHILDREN, new CopyOnWriteArrayList<ITask>());
+		}
 		children.add(task);
 	}
 
@@ -72,7 +85,8 @@ public abstract class AbstractTaskContainer extends PlatformObject implements IR
 	 * @since 3.0
 	 */
 	public Collection<ITask> getChildren() {
-		return Collections.unmodifiableCollection(children);
+		Collection<ITask> children = this.children;
+		return (children == NO_CHILDREN) ? NO_CHILDREN : Collections.unmodifiableCollection(children);
 	}
 
 	/**
@@ -19,31 +19,98 @@ import java.util.Map;
 import org.eclipse.core.runtime.Assert;
 
 /**
+ * Stores attributes of task list elements. Most elements have few attributes which are kept in an array of alternating
+ * keys and values to reduce the footprint of large task lists. A hash map is used when the number of attributes
+ * exceeds {@link #MAX_ARRAY_ATTRIBUTES}.
+ *
  * @author Steffen Pingel
  */
 public class AttributeMap {
 
-	private final Map<String, String> attributes;
+	static final int MAX_ARRAY_ATTRIBUTES = 8;
+
+	private static final String[] NO_ENTRIES = new String[0];
+
+	/**
+	 * alternating keys and values, sized to the number of attributes
+	 */
+	private String[] entries = NO_ENTRIES;
+
+	/**
+	 * used instead of entries for large maps
+	 */
+	private Map<String, String> attributes;
 
 	public AttributeMap() {
-		attributes = new HashMap<String, String>(4);
 	}
 
 	public String getAttribute(String key) {
-		return attributes.get(key);
+		if (attributes != null) {
+			return attributes.get(key);
+		}
+		int index = indexOf(key);
+		return (index != -1) ? entries[index + 1] : null;
 	}
 
 	public Map<String, String> getAttributes() {
-		return new HashMap<String, String>(attributes);
+		if (attributes != null) {
+			return new HashMap<String, String>(attributes);
+		}
+		Map<String, String> result = new HashMap<String, String>(Math.max(4, entries.length));
+		for (int i = 0; i < entries.length; i += 2) {
+			result.put(entries[i], entries[i + 1]);
+		}
+		return result;
 	}
 
 	public void setAttribute(String key, String value) {
 		Assert.isNotNull(key);
+		if (attributes != null) {
+			if (value == null) {
+				attributes.remove(key);
+			} else {
+				attributes.put(key.intern(), value.intern());
+			}
+			return;
+		}
+
+		int index = indexOf(key);
 		if (value == null) {
-			attributes.remove(key);
+			if (index != -1) {
+				String[] newEntries = (entries.length == 2) ? NO_ENTRIES : new String[entries.length - 2];
+				System.arraycopy(entries, 0, newEntries, 0, index);
+				System.arraycopy(entries, index + 2, newEntries, index, entries.length - index - 2);
+				entries = newEntries;
+			}
+		} else if (index != -1) {
+			entries[index + 1] = value.intern();
+		} else if (entries.length / 2 < MAX_ARRAY_ATTRIBUTES) {
+			String[] newEntries = new String[entries.length + 2];
+			System.arraycopy(entries, 0, newEntries, 0, entries.length);
+			newEntries[entries.length] = key.intern();
+			newEntries[entries.length + 1] = value.intern();
+			entries = newEntries;
 		} else {
+			attributes = getAttributes();
 			attributes.put(key.intern(), value.intern());
+			entries = NO_ENTRIES;
+		}
+	}
+
+	private int indexOf(String key) {
+		String[] entries = this.entries;
+		// keys are interned, try an identity match first
+		for (int i = 0; i < entries.length; i += 2) {
+			if (entries[i] == key) {
+				return i;
+			}
+		}
+		for (int i = 0; i < entries.length; i += 2) {
+			if (entries[i].equals(key)) {
+				return i;
+			}
 		}
+		return -1;
 	}
 
 }
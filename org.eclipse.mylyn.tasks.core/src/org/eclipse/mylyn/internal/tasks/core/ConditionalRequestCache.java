@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.mylyn.commons.core.StatusHandler;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * Persists responses for rarely changing resources such as repository configurations together with their
+ * <code>ETag</code> and <code>Last-Modified</code> validators. Connectors send the validators of a cached response in
+ * <code>If-None-Match</code> and <code>If-Modified-Since</code> headers and read the cached content when the server
+ * responds with <code>304 Not Modified</code>.
+ * <p>
+ * The cache is independent of the HTTP library. Each response is stored in a file named after a hash of its key, keys
+ * may therefore contain credentials. Keys should include the user name if the content depends on the user.
+ */
+public class ConditionalRequestCache {
+
+	public static final String HEADER_ETAG = "ETag"; //$NON-NLS-1$
+
+	public static final String HEADER_LAST_MODIFIED = "Last-Modified"; //$NON-NLS-1$
+
+	public static final String HEADER_IF_NONE_MATCH = "If-None-Match"; //$NON-NLS-1$
+
+	public static final String HEADER_IF_MODIFIED_SINCE = "If-Modified-Since"; //$NON-NLS-1$
+
+	public static class CachedResponse {
+
+		private final String eTag;
+
+		private final String lastModified;
+
+		private final String charset;
+
+		private final byte[] content;
+
+		public CachedResponse(String eTag, String lastModified, String charset, byte[] content) {
+			this.eTag = eTag;
+			this.lastModified = lastModified;
+			this.charset = charset;
+			this.content = content;
+		}
+
+		/**
+		 * Returns the value of the <code>ETag</code> header of the cached response or <code>null</code>.
+		 */
+		public String getETag() {
+			return eTag;
+		}
+
+		/**
+		 * Returns the value of the <code>Last-Modified</code> header of the cached response or <code>null</code>.
+		 */
+		public String getLastModified() {
+			return lastModified;
+		}
+
+		/**
+		 * Returns the character set of the content or <code>null</code> if not known.
+		 */
+		public String getCharset() {
+			return charset;
+		}
+
+		public byte[] getContent() {
+			return content;
+		}
+
+		public InputStream getContentAsStream() {
+			return new ByteArrayInputStream(content);
+		}
+
+	}
+
+	private static final int FORMAT_VERSION = 1;
+
+	private static final String FILE_EXTENSION = ".response"; //$NON-NLS-1$
+
+	private static final String DIRECTORY_NAME = "conditionalRequests"; //$NON-NLS-1$
+
+	private static ConditionalRequestCache defaultCache;
+
+	private final File directory;
+
+	public ConditionalRequestCache(File directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Returns the cache that is shared by all connectors. The cache is stored in the state location of the tasks core
+	 * plug-in. Returns <code>null</code> if the platform is not running.
+	 */
+	public static synchronized ConditionalRequestCache getDefault() {
+		if (defaultCache == null) {
+			if (!Platform.isRunning() || Platform.getBundle(ITasksCoreConstants.ID_PLUGIN) == null) {
+				return null;
+			}
+			File stateLocation = Platform.getStateLocation(Platform.getBundle(ITasksCoreConstants.ID_PLUGIN))
+					.toFile();
+			defaultCache = new ConditionalRequestCache(new File(stateLocation, DIRECTORY_NAME));
+		}
+		return defaultCache;
+	}
+
+	/**
+	 * Returns a key for the response of <code>url</code> as seen by <code>userName</code>.
+	 */
+	public static String createKey(String url, String userName) {
+		return (userName != null && userName.length() > 0) ? userName + "@" + url : url; //$NON-NLS-1$
+	}
+
+	public File getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Returns the cached response for <code>key</code> or <code>null</code> if no response is cached. Unreadable
+	 * entries are removed.
+	 */
+	public synchronized CachedResponse get(String key) {
+		File file = getFile(key);
+		if (!file.exists()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != FORMAT_VERSION) {
+				delete(file);
+				return null;
+			}
+			String eTag = readString(in);
+			String lastModified = readString(in);
+			String charset = readString(in);
+			int length = in.readInt();
+			if (length < 0 || length > file.length()) {
+				// the entry is corrupt, the content can not be longer than the file
+				throw new IOException("Invalid content length: " + length); //$NON-NLS-1$
+			}
+			byte[] content = new byte[length];
+			in.readFully(content);
+			return new CachedResponse(eTag, lastModified, charset, content);
+		} catch (IOException e) {
+			delete(file);
+			return null;
+		}
+	}
+
+	/**
+	 * Caches <code>content</code> for <code>key</code>. Responses without validators can not be revalidated and remove
+	 * the cached entry instead.
+	 */
+	public synchronized void put(String key, String eTag, String lastModified, String charset, byte[] content) {
+		File file = getFile(key);
+		if (eTag == null && lastModified == null) {
+			delete(file);
+			return;
+		}
+		if (!directory.exists() && !directory.mkdirs()) {
+			return;
+		}
+		File tempFile = new File(directory, file.getName() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+				out.writeInt(FORMAT_VERSION);
+				writeString(out, eTag);
+				writeString(out, lastModified);
+				writeString(out, charset);
+				out.writeInt(content.length);
+				out.write(content);
+			}
+			try {
+				Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			delete(tempFile);
+			StatusHandler.log(new Status(IStatus.WARNING, ITasksCoreConstants.ID_PLUGIN,
+					"Failed to cache response in \"" + file + "\"", e)); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	public synchronized void remove(String key) {
+		delete(getFile(key));
+	}
+
+	public synchronized void clear() {
+		File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				if (file.getName().endsWith(FILE_EXTENSION)) {
+					delete(file);
+				}
+			}
+		}
+	}
+
+	private File getFile(String key) {
+		return new File(directory, Hashing.sha256().hashString(key, StandardCharsets.UTF_8) + FILE_EXTENSION);
+	}
+
+	private void delete(File file) {
+		if (file.exists() && !file.delete()) {
+			file.deleteOnExit();
+		}
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+}
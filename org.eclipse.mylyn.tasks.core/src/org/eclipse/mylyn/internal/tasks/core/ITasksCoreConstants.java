@@ -48,6 +48,8 @@ public interface ITasksCoreConstants {
 
 	public static final String DEFAULT_TASK_LIST_FILE = PREFIX_TASKS + FILE_EXTENSION;
 
+	public static final String DEFAULT_TASK_LIST_JOURNAL_FILE = PREFIX_TASKS + ".journal"; //$NON-NLS-1$
+
 	public static final String CONTEXTS_DIRECTORY = "contexts"; //$NON-NLS-1$
 
 	public static final ISchedulingRule ACTIVITY_SCHEDULING_RULE = new MutexSchedulingRule();
@@ -169,4 +171,47 @@ public interface ITasksCoreConstants {
 	 */
 	public static final String PROPERTY_NEW_UNSAVED_TASK = "org.eclipse.mylyn.tasks.ui.new.unsaved.task"; //$NON-NLS-1$
 
+	/**
+	 * System property that specifies the approximate number of bytes used for caching parsed task data in memory. A
+	 * value of 0 disables the cache.
+	 */
+	public static final String PROPERTY_TASK_DATA_CACHE_SIZE = "org.eclipse.mylyn.tasks.core.taskDataCacheSize"; //$NON-NLS-1$
+
+	/**
+	 * Task repository property that specifies the maximum number of tasks that are retrieved concurrently from the
+	 * repository when tasks are synchronized individually. The limit applies to all synchronization jobs for the
+	 * repository. Tasks are retrieved one at a time unless the property is set for the repository, connectors that
+	 * support concurrent requests opt in by setting it.
+	 */
+	public static final String PROPERTY_SYNCHRONIZATION_MAX_CONCURRENT_REQUESTS = "org.eclipse.mylyn.tasklist.repositories.synchronization.maxConcurrentRequests"; //$NON-NLS-1$
+
+	public static final int DEFAULT_SYNCHRONIZATION_MAX_CONCURRENT_REQUESTS = 1;
+
+	/**
+	 * Task repository property that specifies the maximum number of queries that are performed concurrently when
+	 * queries are synchronized. Queries are performed one at a time unless the property is set for the repository,
+	 * connectors that support concurrent requests opt in by setting it.
+	 */
+	public static final String PROPERTY_SYNCHRONIZATION_MAX_CONCURRENT_QUERIES = "org.eclipse.mylyn.tasklist.repositories.synchronization.maxConcurrentQueries"; //$NON-NLS-1$
+
+	public static final int DEFAULT_SYNCHRONIZATION_MAX_CONCURRENT_QUERIES = 1;
+
+	/**
+	 * System property that controls whether changes to the task list are appended to a journal between full saves.
+	 * Set to <code>false</code> to write the complete task list on every save.
+	 */
+	public static final String PROPERTY_TASK_LIST_JOURNAL = "org.eclipse.mylyn.tasks.core.taskListJournal"; //$NON-NLS-1$
+
+	/**
+	 * System property that controls whether details of tasks such as notes and attributes are loaded in the background
+	 * after the task list has been read. Set to <code>false</code> to load all details at startup.
+	 */
+	public static final String PROPERTY_TASK_LIST_DEFER_DETAILS = "org.eclipse.mylyn.tasks.core.taskListDeferDetails"; //$NON-NLS-1$
+
+	/**
+	 * System property that controls whether task list change listeners are notified on background threads. Set to
+	 * <code>true</code> to deliver changes through a {@link TaskListChangeDispatcher}.
+	 */
+	public static final String PROPERTY_TASK_LIST_ASYNC_CHANGE_EVENTS = "org.eclipse.mylyn.tasks.core.taskListAsyncChangeEvents"; //$NON-NLS-1$
+
 }
@@ -66,10 +66,28 @@ public class TaskList implements ITaskList, ITransferList {
 
 	private Map<String, AbstractTask> tasks;
 
+	private Map<String, Set<AbstractTask>> tasksByRepository;
+
+	private Map<String, Set<RepositoryQuery>> queriesByRepository;
+
+	/**
+	 * tasks by repository URL and task key, modified while holding the task list lock
+	 */
+	private Map<String, Map<String, AbstractTask>> tasksByKey;
+
+	/**
+	 * the keys that tasks are indexed by in {@link #tasksByKey} by handle identifier
+	 */
+	private Map<String, String> indexedTaskKeys;
+
+	private boolean duplicateTaskKeys;
+
 	private Set<TaskContainerDelta> delta;
 
 	private int nextHandle = 1;
 
+	private volatile TaskListChangeDispatcher changeDispatcher;
+
 	public TaskList() {
 		reset();
 	}
@@ -119,6 +137,7 @@ public class TaskList implements ITaskList, ITransferList {
 						+ " already exists in task list"); //$NON-NLS-1$
 			}
 			queries.put(query.getHandleIdentifier(), query);
+			addToIndex(queriesByRepository, query.getRepositoryUrl(), query);
 			delta.add(new TaskContainerDelta(query, TaskContainerDelta.Kind.ADDED));
 		} finally {
 			unlock();
@@ -228,7 +247,9 @@ public class TaskList implements ITaskList, ITransferList {
 	public void deleteQuery(RepositoryQuery query) {
 		try {
 			lock();
-			queries.remove(query.getHandleIdentifier());
+			if (queries.remove(query.getHandleIdentifier()) != null) {
+				removeFromIndex(queriesByRepository, query.getRepositoryUrl(), query);
+			}
 			for (ITask task : query.getChildren()) {
 				((AbstractTask) task).removeParentContainer(query);
 				addToUnmatched((AbstractTask) task, delta);
@@ -261,7 +282,10 @@ public class TaskList implements ITaskList, ITransferList {
 				addToUnmatched((AbstractTask) child, delta);
 			}
 
-			tasks.remove(task.getHandleIdentifier());
+			if (tasks.remove(task.getHandleIdentifier()) != null) {
+				removeFromIndex(tasksByRepository, task.getRepositoryUrl(), task);
+				removeFromTaskKeyIndex(task);
+			}
 			delta.add(new TaskContainerDelta(task, TaskContainerDelta.Kind.REMOVED));
 			delta.add(new TaskContainerDelta(task, TaskContainerDelta.Kind.DELETED));
 		} finally {
@@ -270,6 +294,12 @@ public class TaskList implements ITaskList, ITransferList {
 	}
 
 	private void fireDelta(HashSet<TaskContainerDelta> deltasToFire) {
+		TaskListChangeDispatcher dispatcher = changeDispatcher;
+		if (dispatcher != null) {
+			dispatcher.dispatch(changeListeners, deltasToFire);
+			return;
+		}
+
 		for (ITaskListChangeListener listener : changeListeners) {
 			try {
 				listener.containersChanged(Collections.unmodifiableSet(deltasToFire));
@@ -329,6 +359,8 @@ public class TaskList implements ITaskList, ITransferList {
 		if (task == null) {
 			tasks.put(taskListElement.getHandleIdentifier(), taskListElement);
 			task = taskListElement;
+			addToIndex(tasksByRepository, task.getRepositoryUrl(), task);
+			addToTaskKeyIndex(task);
 			if (task instanceof LocalTask) {
 				try {
 					int taskId = Integer.parseInt(task.getTaskId());
@@ -351,13 +383,10 @@ public class TaskList implements ITaskList, ITransferList {
 	public Set<RepositoryQuery> getRepositoryQueries(String repositoryUrl) {
 		Assert.isNotNull(repositoryUrl);
 
-		Set<RepositoryQuery> repositoryQueries = new HashSet<RepositoryQuery>();
-		for (RepositoryQuery query : queries.values()) {
-			if (query.getRepositoryUrl().equals(repositoryUrl)) {
-				repositoryQueries.add(query);
-			}
-		}
-		return repositoryQueries;
+		Set<RepositoryQuery> repositoryQueries = queriesByRepository.get(repositoryUrl);
+		return (repositoryQueries != null)
+				? new HashSet<RepositoryQuery>(repositoryQueries)
+				: new HashSet<RepositoryQuery>();
 	}
 
 	public Set<AbstractTaskContainer> getRootElements() {
@@ -401,14 +430,13 @@ public class TaskList implements ITaskList, ITransferList {
 	}
 
 	public AbstractTask getTaskByKey(String repositoryUrl, String taskKey) {
-		for (AbstractTask task : tasks.values()) {
-			String currentTaskKey = task.getTaskKey();
-			if (currentTaskKey != null && currentTaskKey.equals(taskKey)
-					&& task.getRepositoryUrl().equals(repositoryUrl)) {
-				return task;
-			}
+		if (repositoryUrl == null || taskKey == null) {
+			return null;
 		}
-		return null;
+		Map<String, AbstractTask> repositoryTasksByKey = tasksByKey.get(repositoryUrl);
+		AbstractTask task = (repositoryTasksByKey != null) ? repositoryTasksByKey.get(taskKey) : null;
+		// the key may have changed since the task was indexed
+		return (task != null && taskKey.equals(task.getTaskKey())) ? task : null;
 	}
 
 	public Set<AbstractTaskCategory> getTaskCategories() {
@@ -427,10 +455,9 @@ public class TaskList implements ITaskList, ITransferList {
 	public Set<ITask> getTasks(String repositoryUrl) {
 		Set<ITask> repositoryTasks = new HashSet<ITask>();
 		if (repositoryUrl != null) {
-			for (ITask task : tasks.values()) {
-				if (task.getRepositoryUrl().equals(repositoryUrl)) {
-					repositoryTasks.add(task);
-				}
+			Set<AbstractTask> indexedTasks = tasksByRepository.get(repositoryUrl);
+			if (indexedTasks != null) {
+				repositoryTasks.addAll(indexedTasks);
 			}
 		}
 		return repositoryTasks;
@@ -491,6 +518,9 @@ public class TaskList implements ITaskList, ITransferList {
 		} else {
 			for (IRepositoryElement element : elements) {
 				deltas.add(new TaskContainerDelta(element, TaskContainerDelta.Kind.CONTENT));
+				if (element instanceof AbstractTask) {
+					updateTaskKeyIndex((AbstractTask) element);
+				}
 			}
 		}
 
@@ -499,6 +529,18 @@ public class TaskList implements ITaskList, ITransferList {
 
 	// TODO rename: this indicates a change of the synchronizing/status flag, not of the synchronization state
 	public void notifySynchronizationStateChanged(Set<? extends IRepositoryElement> elements) {
+		fireTransientDelta(elements);
+	}
+
+	/**
+	 * Notifies listeners that details of <code>elements</code> that were deferred while the task list was read have
+	 * been loaded. The deltas are transient since the elements have not changed.
+	 */
+	public void notifyElementsLoaded(Set<? extends IRepositoryElement> elements) {
+		fireTransientDelta(elements);
+	}
+
+	private void fireTransientDelta(Set<? extends IRepositoryElement> elements) {
 		HashSet<TaskContainerDelta> taskChangeDeltas = new HashSet<TaskContainerDelta>();
 		for (IRepositoryElement abstractTaskContainer : elements) {
 			TaskContainerDelta delta = new TaskContainerDelta(abstractTaskContainer, TaskContainerDelta.Kind.CONTENT);
@@ -524,25 +566,39 @@ public class TaskList implements ITaskList, ITransferList {
 
 		try {
 			lock();
-			for (AbstractTask task : tasks.values()) {
-				if (oldRepositoryUrl.equals(RepositoryTaskHandleUtil.getRepositoryUrl(task.getHandleIdentifier()))) {
+			Set<AbstractTask> repositoryTasks = tasksByRepository.remove(oldRepositoryUrl);
+			if (repositoryTasks != null) {
+				tasksByKey.remove(oldRepositoryUrl);
+				for (AbstractTask task : repositoryTasks) {
 					tasks.remove(task.getHandleIdentifier());
+					indexedTaskKeys.remove(task.getHandleIdentifier());
 					task.setRepositoryUrl(newRepositoryUrl);
 					tasks.put(task.getHandleIdentifier(), task);
+					addToIndex(tasksByRepository, newRepositoryUrl, task);
+					addToTaskKeyIndex(task);
 					String taskUrl = task.getUrl();
 					if (taskUrl != null && taskUrl.startsWith(oldRepositoryUrl)) {
 						task.setUrl(newRepositoryUrl + taskUrl.substring(oldRepositoryUrl.length()));
 					}
 				}
-				if (oldRepositoryUrl
-						.equals(task.getAttribute(ITasksCoreConstants.ATTRIBUTE_OUTGOING_NEW_REPOSITORY_URL))) {
-					task.setAttribute(ITasksCoreConstants.ATTRIBUTE_OUTGOING_NEW_REPOSITORY_URL, newRepositoryUrl);
+			}
+
+			// outgoing new tasks are local tasks that store the repository URL as an attribute
+			Set<AbstractTask> localTasks = tasksByRepository.get(LocalRepositoryConnector.REPOSITORY_URL);
+			if (localTasks != null) {
+				for (AbstractTask task : localTasks) {
+					if (oldRepositoryUrl
+							.equals(task.getAttribute(ITasksCoreConstants.ATTRIBUTE_OUTGOING_NEW_REPOSITORY_URL))) {
+						task.setAttribute(ITasksCoreConstants.ATTRIBUTE_OUTGOING_NEW_REPOSITORY_URL, newRepositoryUrl);
+					}
 				}
 			}
 
-			for (RepositoryQuery query : queries.values()) {
-				if (query.getRepositoryUrl().equals(oldRepositoryUrl)) {
+			Set<RepositoryQuery> repositoryQueries = queriesByRepository.remove(oldRepositoryUrl);
+			if (repositoryQueries != null) {
+				for (RepositoryQuery query : repositoryQueries) {
 					query.setRepositoryUrl(newRepositoryUrl);
+					addToIndex(queriesByRepository, newRepositoryUrl, query);
 					delta.add(new TaskContainerDelta(query, TaskContainerDelta.Kind.CONTENT));
 				}
 			}
@@ -622,6 +678,22 @@ public class TaskList implements ITaskList, ITransferList {
 
 	public void removeChangeListener(ITaskListChangeListener listener) {
 		changeListeners.remove(listener);
+		TaskListChangeDispatcher dispatcher = changeDispatcher;
+		if (dispatcher != null) {
+			dispatcher.removeListener(listener);
+		}
+	}
+
+	public TaskListChangeDispatcher getChangeDispatcher() {
+		return changeDispatcher;
+	}
+
+	/**
+	 * Sets the dispatcher that delivers changes to listeners. If <code>dispatcher</code> is <code>null</code>,
+	 * listeners are notified on the thread that modified the task list.
+	 */
+	public void setChangeDispatcher(TaskListChangeDispatcher dispatcher) {
+		this.changeDispatcher = dispatcher;
 	}
 
 	public void removeFromContainer(AbstractTaskContainer container, ITask task) {
@@ -699,6 +771,11 @@ public class TaskList implements ITaskList, ITransferList {
 		try {
 			lock();
 			tasks = new ConcurrentHashMap<String, AbstractTask>();
+			tasksByRepository = new ConcurrentHashMap<String, Set<AbstractTask>>();
+			queriesByRepository = new ConcurrentHashMap<String, Set<RepositoryQuery>>();
+			tasksByKey = new ConcurrentHashMap<String, Map<String, AbstractTask>>();
+			indexedTaskKeys = new ConcurrentHashMap<String, String>();
+			duplicateTaskKeys = false;
 
 			unmatchedMap = new ConcurrentHashMap<String, UnmatchedTaskContainer>();
 			unsubmittedTasksMap = new ConcurrentHashMap<String, UnsubmittedTaskContainer>();
@@ -714,6 +791,106 @@ public class TaskList implements ITaskList, ITransferList {
 		}
 	}
 
+	/**
+	 * Must be called while holding the task list lock.
+	 */
+	private static <T> void addToIndex(Map<String, Set<T>> index, String repositoryUrl, T element) {
+		if (repositoryUrl != null) {
+			Set<T> elements = index.get(repositoryUrl);
+			if (elements == null) {
+				elements = Collections.newSetFromMap(new ConcurrentHashMap<T, Boolean>());
+				index.put(repositoryUrl, elements);
+			}
+			elements.add(element);
+		}
+	}
+
+	/**
+	 * Must be called while holding the task list lock.
+	 */
+	private static <T> void removeFromIndex(Map<String, Set<T>> index, String repositoryUrl, T element) {
+		if (repositoryUrl != null) {
+			Set<T> elements = index.get(repositoryUrl);
+			if (elements != null && elements.remove(element) && elements.isEmpty()) {
+				index.remove(repositoryUrl);
+			}
+		}
+	}
+
+	/**
+	 * Must be called while holding the task list lock.
+	 */
+	private void addToTaskKeyIndex(AbstractTask task) {
+		String taskKey = task.getTaskKey();
+		if (taskKey != null && task.getRepositoryUrl() != null) {
+			Map<String, AbstractTask> repositoryTasksByKey = tasksByKey.get(task.getRepositoryUrl());
+			if (repositoryTasksByKey == null) {
+				repositoryTasksByKey = new ConcurrentHashMap<String, AbstractTask>();
+				tasksByKey.put(task.getRepositoryUrl(), repositoryTasksByKey);
+			}
+			AbstractTask previous = repositoryTasksByKey.put(taskKey, task);
+			if (previous != null && previous != task) {
+				duplicateTaskKeys = true;
+			}
+			indexedTaskKeys.put(task.getHandleIdentifier(), taskKey);
+		}
+	}
+
+	/**
+	 * Must be called while holding the task list lock.
+	 */
+	private void removeFromTaskKeyIndex(AbstractTask task) {
+		String taskKey = indexedTaskKeys.remove(task.getHandleIdentifier());
+		if (taskKey != null) {
+			Map<String, AbstractTask> repositoryTasksByKey = tasksByKey.get(task.getRepositoryUrl());
+			if (repositoryTasksByKey != null && repositoryTasksByKey.remove(taskKey, task)) {
+				// another task with the same key may have been shadowed by the removed task
+				if (duplicateTaskKeys) {
+					AbstractTask duplicate = findTaskByIndexedKey(task.getRepositoryUrl(), taskKey, task);
+					if (duplicate != null) {
+						repositoryTasksByKey.put(taskKey, duplicate);
+					}
+				}
+				if (repositoryTasksByKey.isEmpty()) {
+					tasksByKey.remove(task.getRepositoryUrl());
+				}
+			}
+		}
+	}
+
+	private AbstractTask findTaskByIndexedKey(String repositoryUrl, String taskKey, AbstractTask excluded) {
+		Set<AbstractTask> repositoryTasks = tasksByRepository.get(repositoryUrl);
+		if (repositoryTasks != null) {
+			for (AbstractTask task : repositoryTasks) {
+				if (task != excluded && taskKey.equals(indexedTaskKeys.get(task.getHandleIdentifier()))) {
+					return task;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Connectors change task keys outside of the task list. Updates the index if the key of <code>task</code> has
+	 * changed since it was indexed.
+	 */
+	private void updateTaskKeyIndex(AbstractTask task) {
+		if (tasks.get(task.getHandleIdentifier()) != task) {
+			return;
+		}
+		String taskKey = task.getTaskKey();
+		String indexedTaskKey = indexedTaskKeys.get(task.getHandleIdentifier());
+		if (taskKey != null ? !taskKey.equals(indexedTaskKey) : indexedTaskKey != null) {
+			try {
+				lock();
+				removeFromTaskKeyIndex(task);
+				addToTaskKeyIndex(task);
+			} finally {
+				unlock();
+			}
+		}
+	}
+
 	public void run(ITaskListRunnable runnable) throws CoreException {
 		run(runnable, null);
 	}
@@ -0,0 +1,333 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.mylyn.commons.core.StatusHandler;
+import org.eclipse.mylyn.internal.tasks.core.TaskContainerDelta.Kind;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Delivers task list changes to listeners on background threads so that threads modifying the task list do not wait
+ * for listeners. Deltas are queued per listener and delivered in batches. Batches for a listener are delivered one at a
+ * time in the order the changes were made, redundant {@link Kind#CONTENT} deltas for the same element are merged while
+ * a batch is pending.
+ *
+ * @see TaskList#setChangeDispatcher(TaskListChangeDispatcher)
+ */
+public class TaskListChangeDispatcher {
+
+	private static final int DEFAULT_THREADS = 2;
+
+	private class ListenerQueue implements Runnable {
+
+		private final ITaskListChangeListener listener;
+
+		/**
+		 * pending deltas, content deltas are keyed by their element and all other deltas by themselves
+		 */
+		private LinkedHashMap<Object, TaskContainerDelta> pending = new LinkedHashMap<Object, TaskContainerDelta>();
+
+		private long firstQueuedNanos;
+
+		private boolean scheduled;
+
+		private boolean removed;
+
+		public ListenerQueue(ITaskListChangeListener listener) {
+			this.listener = listener;
+		}
+
+		/**
+		 * Returns true, if the queue needs to be scheduled.
+		 */
+		synchronized boolean add(Set<TaskContainerDelta> deltas) {
+			if (removed) {
+				return false;
+			}
+			if (pending.isEmpty()) {
+				firstQueuedNanos = System.nanoTime();
+			}
+			int merged = 0;
+			for (TaskContainerDelta delta : deltas) {
+				if (delta.getKind() == Kind.CONTENT && delta.getElement() != null && delta.getParent() == null) {
+					TaskContainerDelta existing = pending.get(delta.getElement());
+					if (existing != null) {
+						merged++;
+						if (existing.isTransient() && !delta.isTransient()) {
+							// keeps the position of the existing delta
+							pending.put(delta.getElement(), delta);
+						}
+					} else {
+						pending.put(delta.getElement(), delta);
+					}
+				} else {
+					pending.put(delta, delta);
+				}
+			}
+			recordMerged(merged);
+			if (!scheduled && !pending.isEmpty()) {
+				scheduled = true;
+				return true;
+			}
+			return false;
+		}
+
+		synchronized void remove() {
+			removed = true;
+			pending.clear();
+		}
+
+		public void run() {
+			Set<TaskContainerDelta> batch;
+			long queuedNanos;
+			synchronized (this) {
+				if (pending.isEmpty()) {
+					scheduled = false;
+					queueIdle();
+					return;
+				}
+				batch = new HashSet<TaskContainerDelta>(pending.values());
+				queuedNanos = firstQueuedNanos;
+				pending = new LinkedHashMap<Object, TaskContainerDelta>();
+			}
+
+			recordBatch(batch.size(), System.nanoTime() - queuedNanos);
+			try {
+				listener.containersChanged(Collections.unmodifiableSet(batch));
+			} catch (Throwable t) {
+				StatusHandler.log(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN, "Notification failed for: " //$NON-NLS-1$
+						+ listener, t));
+			}
+
+			synchronized (this) {
+				if (pending.isEmpty()) {
+					scheduled = false;
+					queueIdle();
+					return;
+				}
+			}
+			// deliver the next batch after queues of other listeners had a turn
+			schedule(this);
+		}
+
+	}
+
+	private final Map<ITaskListChangeListener, ListenerQueue> queues = new ConcurrentHashMap<ITaskListChangeListener, ListenerQueue>();
+
+	private final ExecutorService executor;
+
+	private final Object idleLock = new Object();
+
+	private int scheduledQueues;
+
+	private final Object metricsLock = new Object();
+
+	private long batchCount;
+
+	private long deliveredDeltaCount;
+
+	private long mergedDeltaCount;
+
+	private int maximumBatchSize;
+
+	private long totalLatencyNanos;
+
+	private long maximumLatencyNanos;
+
+	public TaskListChangeDispatcher() {
+		this(Executors.newFixedThreadPool(DEFAULT_THREADS, new ThreadFactoryBuilder()
+				.setNameFormat("Mylyn Task List Change Dispatcher %d").setDaemon(true).build())); //$NON-NLS-1$
+	}
+
+	/**
+	 * @param executor
+	 *            the executor for delivering changes, shut down by {@link #dispose()}
+	 */
+	public TaskListChangeDispatcher(ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Queues <code>deltas</code> for delivery to each of <code>listeners</code>.
+	 */
+	public void dispatch(Collection<ITaskListChangeListener> listeners, Set<TaskContainerDelta> deltas) {
+		for (ITaskListChangeListener listener : listeners) {
+			ListenerQueue queue = queues.get(listener);
+			if (queue == null) {
+				ListenerQueue newQueue = new ListenerQueue(listener);
+				queue = queues.putIfAbsent(listener, newQueue);
+				if (queue == null) {
+					queue = newQueue;
+				}
+			}
+			if (queue.add(deltas)) {
+				synchronized (idleLock) {
+					scheduledQueues++;
+				}
+				schedule(queue);
+			}
+		}
+	}
+
+	/**
+	 * Discards changes that are pending for <code>listener</code>.
+	 */
+	public void removeListener(ITaskListChangeListener listener) {
+		ListenerQueue queue = queues.remove(listener);
+		if (queue != null) {
+			queue.remove();
+		}
+	}
+
+	/**
+	 * Waits until all pending changes have been delivered. Returns false, if changes were still pending after
+	 * <code>timeout</code>.
+	 */
+	public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		synchronized (idleLock) {
+			while (scheduledQueues > 0) {
+				long remaining = deadline - System.nanoTime();
+				if (remaining <= 0) {
+					return false;
+				}
+				TimeUnit.NANOSECONDS.timedWait(idleLock, remaining);
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Stops the executor. Changes that are dispatched afterwards are delivered on the calling thread.
+	 */
+	public void dispose() {
+		executor.shutdown();
+	}
+
+	private void schedule(ListenerQueue queue) {
+		try {
+			executor.execute(queue);
+		} catch (RejectedExecutionException e) {
+			// disposed
+			queue.run();
+		}
+	}
+
+	private void queueIdle() {
+		synchronized (idleLock) {
+			scheduledQueues--;
+			if (scheduledQueues == 0) {
+				idleLock.notifyAll();
+			}
+		}
+	}
+
+	private void recordBatch(int size, long latencyNanos) {
+		synchronized (metricsLock) {
+			batchCount++;
+			deliveredDeltaCount += size;
+			maximumBatchSize = Math.max(maximumBatchSize, size);
+			totalLatencyNanos += latencyNanos;
+			maximumLatencyNanos = Math.max(maximumLatencyNanos, latencyNanos);
+		}
+	}
+
+	private void recordMerged(int merged) {
+		if (merged > 0) {
+			synchronized (metricsLock) {
+				mergedDeltaCount += merged;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of batches that were delivered to listeners.
+	 */
+	public long getBatchCount() {
+		synchronized (metricsLock) {
+			return batchCount;
+		}
+	}
+
+	/**
+	 * Returns the number of deltas that were delivered to listeners.
+	 */
+	public long getDeliveredDeltaCount() {
+		synchronized (metricsLock) {
+			return deliveredDeltaCount;
+		}
+	}
+
+	/**
+	 * Returns the number of deltas that were merged with a pending delta for the same element.
+	 */
+	public long getMergedDeltaCount() {
+		synchronized (metricsLock) {
+			return mergedDeltaCount;
+		}
+	}
+
+	public int getMaximumBatchSize() {
+		synchronized (metricsLock) {
+			return maximumBatchSize;
+		}
+	}
+
+	public double getAverageBatchSize() {
+		synchronized (metricsLock) {
+			return (batchCount > 0) ? (double) deliveredDeltaCount / batchCount : 0;
+		}
+	}
+
+	/**
+	 * Returns the average time between queuing of the first delta of a batch and delivery of the batch.
+	 */
+	public long getAverageLatency(TimeUnit unit) {
+		synchronized (metricsLock) {
+			return (batchCount > 0) ? unit.convert(totalLatencyNanos / batchCount, TimeUnit.NANOSECONDS) : 0;
+		}
+	}
+
+	public long getMaximumLatency(TimeUnit unit) {
+		synchronized (metricsLock) {
+			return unit.convert(maximumLatencyNanos, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	@Override
+	public String toString() {
+		synchronized (metricsLock) {
+			return "TaskListChangeDispatcher [batches=" + batchCount + ", deltas=" + deliveredDeltaCount //$NON-NLS-1$ //$NON-NLS-2$
+					+ ", merged=" + mergedDeltaCount + ", maxBatchSize=" + maximumBatchSize + ", averageLatency=" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ getAverageLatency(TimeUnit.MICROSECONDS) + "us, maxLatency=" //$NON-NLS-1$
+					+ getMaximumLatency(TimeUnit.MICROSECONDS) + "us]"; //$NON-NLS-1$
+		}
+	}
+
+}
@@ -22,7 +22,7 @@ public class TaskTask extends AbstractTask {
 
 	public TaskTask(String connectorKind, String repositoryUrl, String taskId) {
 		super(repositoryUrl, taskId, ""); //$NON-NLS-1$
-		this.connectorKind = connectorKind;
+		this.connectorKind = (connectorKind != null) ? connectorKind.intern() : null;
 	}
 
 	@Override
@@ -89,6 +89,8 @@ public interface ITaskDataConstants {
 
 	static final String ELEMENT_OLD_DATA = "OldData"; //$NON-NLS-1$
 
+	static final String ELEMENT_OLD_DATA_DELTA = "OldDataDelta"; //$NON-NLS-1$
+
 	static final String ELEMENT_NEW_DATA = "NewData"; //$NON-NLS-1$
 
 	static final String ATTRIBUTE_VERSION = "version"; //$NON-NLS-1$
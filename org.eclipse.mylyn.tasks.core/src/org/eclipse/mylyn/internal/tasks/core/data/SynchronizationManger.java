@@ -174,7 +174,27 @@ public class SynchronizationManger {
 	}
 
 	public TaskDataDiff createDiff(TaskData newTaskData, TaskData oldTaskData, final IProgressMonitor monitor) {
-		final TaskDataDiff diff = new TaskDataDiff(model, newTaskData, oldTaskData);
+		return processUpdate(new TaskDataDiff(model, newTaskData, oldTaskData), monitor);
+	}
+
+	/**
+	 * Computes the incoming changes of <code>newTaskData</code> against the last read data of <code>state</code>. If
+	 * <code>newTaskData</code> is the repository data of <code>state</code> and the last read data is stored as a
+	 * delta the changes are computed from the delta without reconstructing the last read data.
+	 */
+	public TaskDataDiff createDiff(TaskData newTaskData, TaskDataState state, final IProgressMonitor monitor) {
+		TaskDataDiff diff;
+		if (state == null) {
+			diff = new TaskDataDiff(model, newTaskData, null);
+		} else if (state.getRepositoryData() == newTaskData && state.isLastReadDeltaOnly()) {
+			diff = new TaskDataDiff(model, state);
+		} else {
+			diff = new TaskDataDiff(model, newTaskData, state.getLastReadData());
+		}
+		return processUpdate(diff, monitor);
+	}
+
+	private TaskDataDiff processUpdate(final TaskDataDiff diff, final IProgressMonitor monitor) {
 		for (final SynchronizationParticipant participant : getDefaultParticipants()) {
 			SafeRunner.run(new ISafeRunnable() {
 				public void handleException(Throwable exception) {
@@ -186,7 +206,8 @@ public class SynchronizationManger {
 				}
 			});
 		}
-		for (final SynchronizationParticipant participant : getParticipants(newTaskData.getConnectorKind())) {
+		for (final SynchronizationParticipant participant : getParticipants(
+				diff.getNewTaskData().getConnectorKind())) {
 			SafeRunner.run(new ISafeRunnable() {
 				public void handleException(Throwable exception) {
 					// handled by framework
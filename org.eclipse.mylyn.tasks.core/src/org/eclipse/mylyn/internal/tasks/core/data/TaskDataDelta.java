@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core.data;
+
+import java.util.Map;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.mylyn.tasks.core.data.ITaskDataWorkingCopy;
+import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+
+/**
+ * Computes and applies attribute level deltas between two {@link TaskData} objects. A delta is a {@link TaskData} that
+ * contains a copy of each top-level attribute of the target that differs from the base. Attributes of the base that do
+ * not exist in the target are recorded as empty attributes marked with {@link #META_REMOVED}.
+ * <p>
+ * Deltas are used to persist the last read state of a task which usually only differs in a few attributes from the
+ * repository data.
+ */
+public class TaskDataDelta {
+
+	/**
+	 * Meta data key that marks an attribute of a delta as removed from the target.
+	 */
+	public static final String META_REMOVED = "org.eclipse.mylyn.tasks.core.delta.removed"; //$NON-NLS-1$
+
+	private TaskDataDelta() {
+	}
+
+	/**
+	 * Returns the delta that transforms <code>base</code> into <code>target</code>.
+	 */
+	public static TaskData create(TaskData base, TaskData target) {
+		Assert.isNotNull(base);
+		Assert.isNotNull(target);
+		TaskData delta = new TaskData(target.getAttributeMapper(), target.getConnectorKind(),
+				target.getRepositoryUrl(), target.getTaskId());
+		delta.setVersion(target.getVersion());
+		TaskAttribute baseRoot = base.getRoot();
+		for (TaskAttribute attribute : target.getRoot().getAttributes().values()) {
+			TaskAttribute baseAttribute = baseRoot.getAttribute(attribute.getId());
+			if (baseAttribute == null || !deepEquals(baseAttribute, attribute)) {
+				delta.getRoot().deepAddCopy(attribute);
+			}
+		}
+		TaskAttribute targetRoot = target.getRoot();
+		for (TaskAttribute baseAttribute : baseRoot.getAttributes().values()) {
+			if (targetRoot.getAttribute(baseAttribute.getId()) == null) {
+				delta.getRoot()
+						.createAttribute(baseAttribute.getId())
+						.getMetaData()
+						.putValue(META_REMOVED, Boolean.TRUE.toString());
+			}
+		}
+		return delta;
+	}
+
+	/**
+	 * Reconstructs the target of <code>delta</code> from <code>base</code>. If <code>base</code> is <code>null</code>
+	 * it is treated as empty.
+	 */
+	public static TaskData apply(TaskData base, TaskData delta) {
+		Assert.isNotNull(delta);
+		TaskData target = new TaskData(delta.getAttributeMapper(), delta.getConnectorKind(), delta.getRepositoryUrl(),
+				delta.getTaskId());
+		target.setVersion(delta.getVersion());
+		TaskAttribute deltaRoot = delta.getRoot();
+		if (base != null) {
+			for (TaskAttribute baseAttribute : base.getRoot().getAttributes().values()) {
+				TaskAttribute deltaAttribute = deltaRoot.getAttribute(baseAttribute.getId());
+				if (deltaAttribute == null) {
+					target.getRoot().deepAddCopy(baseAttribute);
+				} else if (!isRemoved(deltaAttribute)) {
+					target.getRoot().deepAddCopy(deltaAttribute);
+				}
+			}
+		}
+		for (TaskAttribute deltaAttribute : deltaRoot.getAttributes().values()) {
+			if (!isRemoved(deltaAttribute) && target.getRoot().getAttribute(deltaAttribute.getId()) == null) {
+				target.getRoot().deepAddCopy(deltaAttribute);
+			}
+		}
+		return target;
+	}
+
+	/**
+	 * Returns the last read data of <code>state</code> as a delta against its repository data or <code>null</code>, if
+	 * either is not available.
+	 */
+	public static TaskData getLastReadDelta(ITaskDataWorkingCopy state) {
+		if (state instanceof TaskDataState) {
+			return ((TaskDataState) state).getLastReadDelta();
+		}
+		if (state.getRepositoryData() != null && state.getLastReadData() != null) {
+			return create(state.getRepositoryData(), state.getLastReadData());
+		}
+		return null;
+	}
+
+	/**
+	 * Returns true, if <code>attribute</code> is part of a delta and marks an attribute that does not exist in the
+	 * target.
+	 */
+	public static boolean isRemoved(TaskAttribute attribute) {
+		return attribute.getMetaData().getValue(META_REMOVED) != null;
+	}
+
+	/**
+	 * Compares ids, values, options, meta data and children of <code>attribute</code> and <code>other</code>.
+	 */
+	public static boolean deepEquals(TaskAttribute attribute, TaskAttribute other) {
+		if (!attribute.getId().equals(other.getId()) || !attribute.getValues().equals(other.getValues())
+				|| !attribute.getOptions().equals(other.getOptions())
+				|| !attribute.getMetaData().getValues().equals(other.getMetaData().getValues())) {
+			return false;
+		}
+		Map<String, TaskAttribute> children = attribute.getAttributes();
+		Map<String, TaskAttribute> otherChildren = other.getAttributes();
+		if (children.size() != otherChildren.size()) {
+			return false;
+		}
+		for (TaskAttribute child : children.values()) {
+			TaskAttribute otherChild = otherChildren.get(child.getId());
+			if (otherChild == null || !deepEquals(child, otherChild)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -36,7 +36,9 @@ public class TaskDataDiff implements ITaskDataDiff {
 
 	private final TaskData newTaskData;
 
-	private final TaskData oldTaskData;
+	private TaskData oldTaskData;
+
+	private final TaskDataState state;
 
 	private final Set<ITaskComment> newComments = new LinkedHashSet<ITaskComment>();
 
@@ -55,9 +57,25 @@ public class TaskDataDiff implements ITaskDataDiff {
 		this.repository = newTaskData.getAttributeMapper().getTaskRepository();
 		this.newTaskData = newTaskData;
 		this.oldTaskData = oldTaskData;
+		this.state = null;
 		parse();
 	}
 
+	/**
+	 * Computes the changes between the repository data of <code>state</code> and the last read data which is stored
+	 * as a delta. The last read data is only reconstructed if {@link #getOldTaskData()} is invoked.
+	 */
+	public TaskDataDiff(RepositoryModel repositoryModel, TaskDataState state) {
+		Assert.isNotNull(repositoryModel);
+		Assert.isNotNull(state.getRepositoryData());
+		Assert.isNotNull(state.getLastReadDelta());
+		this.repositoryModel = repositoryModel;
+		this.newTaskData = state.getRepositoryData();
+		this.repository = newTaskData.getAttributeMapper().getTaskRepository();
+		this.state = state;
+		parseDelta(state.getLastReadDelta());
+	}
+
 	public boolean hasChanged() {
 		return !changedAttributes.isEmpty() || !newComments.isEmpty() || !newAttachments.isEmpty();
 	}
@@ -72,6 +90,9 @@ public class TaskDataDiff implements ITaskDataDiff {
 	}
 
 	public TaskData getOldTaskData() {
+		if (oldTaskData == null && state != null) {
+			oldTaskData = state.getLastReadData();
+		}
 		return oldTaskData;
 	}
 
@@ -123,6 +144,48 @@ public class TaskDataDiff implements ITaskDataDiff {
 		}
 	}
 
+	/**
+	 * Equivalent to {@link #parse()} but only visits attributes that are contained in <code>delta</code>. All other
+	 * attributes are unchanged.
+	 */
+	private void parseDelta(TaskData delta) {
+		TaskAttribute deltaRoot = delta.getRoot();
+		for (String attributeId : ATTRIBUTES_IDS) {
+			TaskAttribute newAttribute = newTaskData.getRoot().getMappedAttribute(attributeId);
+			TaskAttribute deltaAttribute = deltaRoot.getMappedAttribute(attributeId);
+			if (deltaAttribute == null) {
+				// unchanged
+				continue;
+			}
+			TaskAttribute oldAttribute = TaskDataDelta.isRemoved(deltaAttribute) ? null : deltaAttribute;
+			if (oldAttribute == null && newAttribute == null) {
+				continue;
+			}
+			addChangedAttribute(oldAttribute, newAttribute, true);
+		}
+
+		// other attributes that have changed on newTaskData
+		for (TaskAttribute newAttribute : newTaskData.getRoot().getAttributes().values()) {
+			TaskAttribute deltaAttribute = deltaRoot.getMappedAttribute(newAttribute.getPath());
+			if (deltaAttribute == null) {
+				// unchanged attributes only contribute attachments
+				if (TaskAttribute.TYPE_ATTACHMENT.equals(newAttribute.getMetaData().getType())) {
+					newAttachments.add(newAttribute);
+				}
+				continue;
+			}
+			TaskAttribute oldAttribute = TaskDataDelta.isRemoved(deltaAttribute) ? null : deltaAttribute;
+			addChangedAttribute(oldAttribute, newAttribute, false);
+		}
+		// other attributes that have been removed from newTaskData
+		for (TaskAttribute deltaAttribute : deltaRoot.getAttributes().values()) {
+			if (!TaskDataDelta.isRemoved(deltaAttribute)
+					&& newTaskData.getRoot().getMappedAttribute(deltaAttribute.getPath()) == null) {
+				addChangedAttribute(deltaAttribute, null, false);
+			}
+		}
+	}
+
 	private void addChangedAttribute(TaskAttribute oldAttribute, TaskAttribute newAttribute, boolean ignoreKind) {
 		TaskAttribute attribute;
 		if (newAttribute != null) {
@@ -155,6 +155,9 @@ public class TaskDataExternalizer {
 
 		final AbstractTaskDataHandler taskDataHandler = connector.getTaskDataHandler();
 		if (taskDataHandler != null) {
+			// reconstruct the last read data before the repository data is migrated, attributes added by a migration
+			// must not end up in the delta where they would override the repository data, the delta is computed again
+			// when the state is written
 			migrate(taskDataState.getLastReadData(), taskRepository, taskDataHandler);
 			migrate(taskDataState.getRepositoryData(), taskRepository, taskDataHandler);
 			migrate(taskDataState.getEditsData(), taskRepository, taskDataHandler);
@@ -190,7 +193,30 @@ public class TaskDataExternalizer {
 		return taskDataState;
 	}
 
+	public TaskDataState readBinaryState(InputStream in) throws IOException {
+		TaskDataStateBinaryReader reader = new TaskDataStateBinaryReader(taskRepositoryManager);
+		TaskDataState taskDataState = reader.read(in);
+		if (taskDataState != null) {
+			migrate(taskDataState);
+		}
+		return taskDataState;
+	}
+
+	public void writeBinaryState(OutputStream out, ITaskDataWorkingCopy state) throws IOException {
+		TaskDataStateBinaryWriter writer = new TaskDataStateBinaryWriter(out);
+		writer.write(state);
+	}
+
 	public void writeState(OutputStream out, ITaskDataWorkingCopy state) throws IOException {
+		writeState(out, state, true);
+	}
+
+	/**
+	 * @param lastReadDelta
+	 *            if true, the last read data is written as a delta against the repository data; if false, the last
+	 *            read data is written in full which is readable by releases that do not support deltas
+	 */
+	public void writeState(OutputStream out, ITaskDataWorkingCopy state, boolean lastReadDelta) throws IOException {
 		try {
 			SAXTransformerFactory transformerFactory = (SAXTransformerFactory) TransformerFactory.newInstance();
 			TransformerHandler handler = transformerFactory.newTransformerHandler();
@@ -199,6 +225,7 @@ public class TaskDataExternalizer {
 			serializer.setOutputProperty(OutputKeys.INDENT, "yes"); //$NON-NLS-1$
 			handler.setResult(new StreamResult(out));
 			TaskDataStateWriter writer = new TaskDataStateWriter(handler);
+			writer.setLastReadDelta(lastReadDelta);
 			writer.write(state);
 		} catch (TransformerException e) {
 			throw new IOException("Error writing task data" + e.getMessageAndLocation()); //$NON-NLS-1$
@@ -215,8 +215,7 @@ public class TaskDataManager implements ITaskDataManager {
 							File file = getMigratedFile(task, task.getConnectorKind());
 							state = taskDataStore.getTaskDataState(ensurePathExists(file));
 						}
-						TaskData lastReadData = (state != null) ? state.getLastReadData() : null;
-						TaskDataDiff diff = synchronizationManager.createDiff(taskData, lastReadData, monitor);
+						TaskDataDiff diff = synchronizationManager.createDiff(taskData, state, monitor);
 						suppressIncoming = Boolean.toString(!diff.hasChanged());
 
 						switch (task.getSynchronizationState()) {
@@ -333,6 +332,10 @@ public class TaskDataManager implements ITaskDataManager {
 		return fileManager.getFile10(task, kind);
 	}
 
+	public TaskDataStore getTaskDataStore() {
+		return taskDataStore;
+	}
+
 	public String getDataPath() {
 		return fileManager.getDataPath();
 	}
@@ -420,6 +423,7 @@ public class TaskDataManager implements ITaskDataManager {
 
 	public void setDataPath(String dataPath) {
 		fileManager.setDataPath(dataPath);
+		taskDataStore.getCache().invalidateAll();
 	}
 
 	/**
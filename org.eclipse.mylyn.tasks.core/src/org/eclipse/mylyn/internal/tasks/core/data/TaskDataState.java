@@ -42,6 +42,8 @@ public class TaskDataState implements ITaskDataWorkingCopy {
 
 	private TaskData lastReadTaskData;
 
+	private TaskData lastReadDelta;
+
 	private TaskData localTaskData;
 
 	private boolean saved;
@@ -91,9 +93,36 @@ public class TaskDataState implements ITaskDataWorkingCopy {
 	}
 
 	public TaskData getLastReadData() {
+		if (lastReadDelta != null) {
+			lastReadTaskData = TaskDataDelta.apply(repositoryTaskData, lastReadDelta);
+			lastReadDelta = null;
+		}
 		return lastReadTaskData;
 	}
 
+	/**
+	 * Returns the last read data encoded as a delta against the repository data without reconstructing the last read
+	 * data. Returns <code>null</code> if there is no last read data or no repository data.
+	 *
+	 * @see TaskDataDelta
+	 */
+	public TaskData getLastReadDelta() {
+		if (lastReadDelta != null) {
+			return lastReadDelta;
+		}
+		if (lastReadTaskData != null && repositoryTaskData != null) {
+			return TaskDataDelta.create(repositoryTaskData, lastReadTaskData);
+		}
+		return null;
+	}
+
+	/**
+	 * Returns true, if the last read data is only available as a delta and has not been reconstructed yet.
+	 */
+	public boolean isLastReadDeltaOnly() {
+		return lastReadDelta != null;
+	}
+
 	public TaskData getLocalData() {
 		return localTaskData;
 	}
@@ -183,6 +212,18 @@ public class TaskDataState implements ITaskDataWorkingCopy {
 	 */
 	public void setLastReadData(TaskData oldTaskData) {
 		this.lastReadTaskData = oldTaskData;
+		this.lastReadDelta = null;
+	}
+
+	/**
+	 * Sets the last read data as a delta against the repository data. The last read data is reconstructed on first
+	 * access.
+	 *
+	 * @see #getLastReadDelta()
+	 */
+	public void setLastReadDelta(TaskData lastReadDelta) {
+		this.lastReadTaskData = null;
+		this.lastReadDelta = lastReadDelta;
 	}
 
 	/**
@@ -200,6 +241,8 @@ public class TaskDataState implements ITaskDataWorkingCopy {
 	 * @see #getRepositoryData()
 	 */
 	public void setRepositoryData(TaskData newTaskData) {
+		// the delta is relative to the current repository data
+		getLastReadData();
 		this.repositoryTaskData = newTaskData;
 	}
 
@@ -210,10 +253,11 @@ public class TaskDataState implements ITaskDataWorkingCopy {
 	}
 
 	public void changeAttributeValues(Map<TaskAttribute, Collection<String>> newValues) {
+		TaskData lastReadData = getLastReadData();
 		changeAttributeValues(localTaskData, newValues);
 		changeAttributeValues(repositoryTaskData, newValues);
 		changeAttributeValues(editsTaskData, newValues);
-		changeAttributeValues(lastReadTaskData, newValues);
+		changeAttributeValues(lastReadData, newValues);
 	}
 
 	private void changeAttributeValues(TaskData taskData, Map<TaskAttribute, Collection<String>> newValues) {
@@ -248,10 +292,11 @@ public class TaskDataState implements ITaskDataWorkingCopy {
 	}
 
 	public void refactorAttribute(TaskAttribute attribute) throws CoreException {
+		TaskData lastReadData = getLastReadData();
 		refactorAttribute(localTaskData, attribute);
 		refactorAttribute(repositoryTaskData, attribute);
 		refactorAttribute(editsTaskData, attribute);
-		refactorAttribute(lastReadTaskData, attribute);
+		refactorAttribute(lastReadData, attribute);
 	}
 
 	private void refactorAttribute(TaskData taskData, TaskAttribute attribute) throws CoreException {
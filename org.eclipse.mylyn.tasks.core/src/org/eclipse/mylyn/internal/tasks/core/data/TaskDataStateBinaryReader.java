@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core.data;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.mylyn.tasks.core.AbstractRepositoryConnector;
+import org.eclipse.mylyn.tasks.core.IRepositoryManager;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.AbstractTaskDataHandler;
+import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
+import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+
+/**
+ * Reads task data states written by {@link TaskDataStateBinaryWriter}. Symbols are interned so that attribute ids and
+ * meta data keys are shared between all tasks that are loaded.
+ *
+ * @see TaskDataStateReader
+ */
+public class TaskDataStateBinaryReader {
+
+	/**
+	 * maximum length of a string in bytes, longer strings indicate a corrupt file
+	 */
+	static final int MAX_STRING_LENGTH = 64 * 1024 * 1024;
+
+	/**
+	 * strings are read in chunks so that a corrupt length fails when the end of the file is reached before a large
+	 * buffer is allocated
+	 */
+	private static final int CHUNK_SIZE = 64 * 1024;
+
+	private final IRepositoryManager repositoryManager;
+
+	private DataInputStream in;
+
+	private final List<String> symbols = new ArrayList<String>();
+
+	public TaskDataStateBinaryReader(IRepositoryManager repositoryManager) {
+		this.repositoryManager = repositoryManager;
+	}
+
+	public TaskDataState read(InputStream input) throws IOException {
+		in = new DataInputStream(input);
+		symbols.clear();
+		if (in.readInt() != TaskDataStateBinaryWriter.MAGIC) {
+			throw new IOException("Invalid task data file"); //$NON-NLS-1$
+		}
+		int version = in.readUnsignedByte();
+		if (version < 1 || version > TaskDataStateBinaryWriter.VERSION) {
+			throw new IOException("Unsupported task data version \"" + version + "\""); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		String connectorKind = readSymbol();
+		String repositoryUrl = readString();
+		String taskId = readString();
+		TaskDataState state = new TaskDataState(connectorKind, repositoryUrl, taskId);
+
+		int flags = in.readUnsignedByte();
+		if (flags != 0) {
+			TaskAttributeMapper attributeMapper = getAttributeMapper(connectorKind, repositoryUrl);
+			if ((flags & TaskDataStateBinaryWriter.FLAG_REPOSITORY_DATA) != 0) {
+				state.setRepositoryData(readTaskData(state, attributeMapper));
+			}
+			if ((flags & TaskDataStateBinaryWriter.FLAG_LAST_READ_DATA) != 0) {
+				state.setLastReadData(readTaskData(state, attributeMapper));
+			} else if ((flags & TaskDataStateBinaryWriter.FLAG_LAST_READ_DELTA) != 0) {
+				state.setLastReadDelta(readTaskData(state, attributeMapper));
+			}
+			if ((flags & TaskDataStateBinaryWriter.FLAG_EDITS_DATA) != 0) {
+				state.setEditsData(readTaskData(state, attributeMapper));
+			}
+		}
+		return state;
+	}
+
+	private TaskData readTaskData(TaskDataState state, TaskAttributeMapper attributeMapper) throws IOException {
+		TaskData taskData = new TaskData(attributeMapper, state.getConnectorKind(), state.getRepositoryUrl(),
+				state.getTaskId());
+		if (in.readBoolean()) {
+			taskData.setVersion(readString());
+		}
+		readAttributes(taskData.getRoot());
+		return taskData;
+	}
+
+	private void readAttributes(TaskAttribute parent) throws IOException {
+		int count = readVarInt();
+		for (int i = 0; i < count; i++) {
+			readTaskAttribute(parent);
+		}
+	}
+
+	private void readTaskAttribute(TaskAttribute parent) throws IOException {
+		TaskAttribute attribute = parent.createAttribute(readSymbol());
+
+		int valueCount = readVarInt();
+		for (int i = 0; i < valueCount; i++) {
+			attribute.addValue(readString());
+		}
+
+		int optionCount = readVarInt();
+		for (int i = 0; i < optionCount; i++) {
+			attribute.putOption(readSymbol(), readString());
+		}
+
+		int metaDataCount = readVarInt();
+		for (int i = 0; i < metaDataCount; i++) {
+			attribute.getMetaData().putValue(readSymbol(), readSymbol());
+		}
+
+		readAttributes(attribute);
+	}
+
+	private String readSymbol() throws IOException {
+		int index = readVarInt();
+		if (index == 0) {
+			String symbol = readString().intern();
+			symbols.add(symbol);
+			return symbol;
+		}
+		if (index > symbols.size()) {
+			throw new IOException("Invalid symbol reference \"" + index + "\""); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return symbols.get(index - 1);
+	}
+
+	private String readString() throws IOException {
+		int length = readVarInt();
+		if (length < 0 || length > MAX_STRING_LENGTH) {
+			throw new IOException("Invalid string length \"" + length + "\""); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		byte[] bytes = new byte[Math.min(length, CHUNK_SIZE)];
+		int offset = 0;
+		while (offset < length) {
+			if (offset == bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.min(length, bytes.length * 2));
+			}
+			int count = bytes.length - offset;
+			in.readFully(bytes, offset, count);
+			offset += count;
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private int readVarInt() throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed variable length integer"); //$NON-NLS-1$
+	}
+
+	private TaskAttributeMapper getAttributeMapper(String connectorKind, String repositoryUrl) throws IOException {
+		AbstractRepositoryConnector connector = repositoryManager.getRepositoryConnector(connectorKind);
+		if (connector == null) {
+			throw new IOException("No repository connector for kind \"" + connectorKind + "\" found"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		TaskRepository taskRepository = repositoryManager.getRepository(connectorKind, repositoryUrl);
+		if (taskRepository == null) {
+			throw new IOException("Repository \"" + repositoryUrl + "\" not found for kind \"" + connectorKind + "\""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+
+		AbstractTaskDataHandler taskDataHandler = connector.getTaskDataHandler();
+		if (taskDataHandler != null) {
+			return taskDataHandler.getAttributeMapper(taskRepository);
+		} else {
+			return new TaskAttributeMapper(taskRepository);
+		}
+	}
+
+}
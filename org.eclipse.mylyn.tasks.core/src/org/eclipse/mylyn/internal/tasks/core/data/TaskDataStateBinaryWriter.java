@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core.data;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.mylyn.tasks.core.data.ITaskDataWorkingCopy;
+import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+
+/**
+ * Writes a {@link ITaskDataWorkingCopy} in a compact binary encoding that is read by
+ * {@link TaskDataStateBinaryReader}.
+ * <p>
+ * Attribute ids, option keys and meta data are written to a symbol table on first occurrence and referenced by index
+ * afterwards. All lengths and counts are written as variable length integers.
+ *
+ * @see TaskDataStateWriter
+ */
+public class TaskDataStateBinaryWriter {
+
+	/**
+	 * Identifies a binary task data file: "MTDB".
+	 */
+	static final int MAGIC = 0x4D544442;
+
+	/**
+	 * Version 2 stores the last read data as a delta against the repository data.
+	 */
+	static final int VERSION = 2;
+
+	static final int FLAG_REPOSITORY_DATA = 1;
+
+	static final int FLAG_LAST_READ_DATA = 1 << 1;
+
+	static final int FLAG_EDITS_DATA = 1 << 2;
+
+	static final int FLAG_LAST_READ_DELTA = 1 << 3;
+
+	private final DataOutputStream out;
+
+	private final Map<String, Integer> symbols = new HashMap<String, Integer>();
+
+	public TaskDataStateBinaryWriter(OutputStream out) {
+		this.out = new DataOutputStream(out);
+	}
+
+	public void write(ITaskDataWorkingCopy state) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeByte(VERSION);
+		writeSymbol(state.getConnectorKind());
+		writeString(state.getRepositoryUrl());
+		writeString(state.getTaskId());
+
+		TaskData lastReadDelta = TaskDataDelta.getLastReadDelta(state);
+		int flags = 0;
+		if (state.getRepositoryData() != null) {
+			flags |= FLAG_REPOSITORY_DATA;
+		}
+		if (lastReadDelta != null) {
+			flags |= FLAG_LAST_READ_DELTA;
+		} else if (state.getLastReadData() != null) {
+			flags |= FLAG_LAST_READ_DATA;
+		}
+		if (state.getEditsData() != null) {
+			flags |= FLAG_EDITS_DATA;
+		}
+		out.writeByte(flags);
+		if (state.getRepositoryData() != null) {
+			writeTaskData(state.getRepositoryData());
+		}
+		if (lastReadDelta != null) {
+			writeTaskData(lastReadDelta);
+		} else if (state.getLastReadData() != null) {
+			writeTaskData(state.getLastReadData());
+		}
+		if (state.getEditsData() != null) {
+			writeTaskData(state.getEditsData());
+		}
+		out.flush();
+	}
+
+	private void writeTaskData(TaskData taskData) throws IOException {
+		String version = taskData.getVersion();
+		out.writeBoolean(version != null);
+		if (version != null) {
+			writeString(version);
+		}
+		writeAttributes(taskData.getRoot().getAttributes().values());
+	}
+
+	private void writeAttributes(Collection<TaskAttribute> attributes) throws IOException {
+		writeVarInt(attributes.size());
+		for (TaskAttribute attribute : attributes) {
+			writeTaskAttribute(attribute);
+		}
+	}
+
+	private void writeTaskAttribute(TaskAttribute attribute) throws IOException {
+		writeSymbol(attribute.getId());
+
+		List<String> values = attribute.getValues();
+		writeVarInt(values.size());
+		for (String value : values) {
+			writeString(value);
+		}
+
+		Map<String, String> options = attribute.getOptions();
+		writeVarInt(options.size());
+		for (Map.Entry<String, String> option : options.entrySet()) {
+			writeSymbol(option.getKey());
+			writeString(option.getValue());
+		}
+
+		Map<String, String> metaData = attribute.getMetaData().getValues();
+		writeVarInt(metaData.size());
+		for (Map.Entry<String, String> meta : metaData.entrySet()) {
+			writeSymbol(meta.getKey());
+			writeSymbol(meta.getValue());
+		}
+
+		writeAttributes(attribute.getAttributes().values());
+	}
+
+	private void writeSymbol(String symbol) throws IOException {
+		Integer index = symbols.get(symbol);
+		if (index != null) {
+			writeVarInt(index + 1);
+		} else {
+			writeVarInt(0);
+			writeString(symbol);
+			symbols.put(symbol, symbols.size());
+		}
+	}
+
+	private void writeString(String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private void writeVarInt(int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+}
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core.data;
+
+import java.io.File;
+import java.util.Map;
+
+import org.eclipse.mylyn.internal.tasks.core.ITasksCoreConstants;
+import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+
+import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
+
+/**
+ * A size bounded cache of parsed {@link TaskDataState} objects keyed by the file they were read from. Entries are
+ * evicted in least recently used order once the estimated memory footprint of all entries exceeds the configured
+ * budget.
+ * <p>
+ * Cached states are never handed out to clients. {@link #get(File)} returns a copy that callers are free to modify.
+ *
+ * @see ITasksCoreConstants#PROPERTY_TASK_DATA_CACHE_SIZE
+ */
+public class TaskDataStateCache {
+
+	public static final long DEFAULT_MAXIMUM_WEIGHT = 16 * 1024 * 1024;
+
+	/**
+	 * Estimated number of bytes retained by an attribute excluding its values.
+	 */
+	private static final int ATTRIBUTE_WEIGHT = 200;
+
+	private static final int STATE_WEIGHT = 100;
+
+	private final Cache<File, TaskDataState> cache;
+
+	private final long maximumWeight;
+
+	public TaskDataStateCache() {
+		this(getDefaultMaximumWeight());
+	}
+
+	public TaskDataStateCache(long maximumWeight) {
+		this.maximumWeight = Math.max(0, maximumWeight);
+		this.cache = CacheBuilder.newBuilder()
+				.maximumWeight(this.maximumWeight)
+				.weigher(new Weigher<File, TaskDataState>() {
+					public int weigh(File key, TaskDataState state) {
+						return weightOf(state);
+					}
+				})
+				.recordStats()
+				.build();
+	}
+
+	/**
+	 * Returns a copy of the cached state for <code>file</code> or <code>null</code> if the state is not cached.
+	 */
+	public TaskDataState get(File file) {
+		if (maximumWeight == 0) {
+			return null;
+		}
+		TaskDataState state = cache.getIfPresent(file.getAbsoluteFile());
+		return (state != null) ? copy(state) : null;
+	}
+
+	/**
+	 * Caches a copy of <code>state</code>.
+	 */
+	public void put(File file, TaskDataState state) {
+		if (maximumWeight == 0) {
+			return;
+		}
+		if (state != null) {
+			cache.put(file.getAbsoluteFile(), copy(state));
+		} else {
+			invalidate(file);
+		}
+	}
+
+	public void invalidate(File file) {
+		cache.invalidate(file.getAbsoluteFile());
+	}
+
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	public long getHitCount() {
+		return cache.stats().hitCount();
+	}
+
+	public long getMissCount() {
+		return cache.stats().missCount();
+	}
+
+	public long getEvictionCount() {
+		return cache.stats().evictionCount();
+	}
+
+	public long getMaximumWeight() {
+		return maximumWeight;
+	}
+
+	public long size() {
+		return cache.size();
+	}
+
+	@Override
+	public String toString() {
+		CacheStats stats = cache.stats();
+		return "TaskDataStateCache [size=" + cache.size() + ", hits=" + stats.hitCount() + ", misses=" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ stats.missCount() + ", evictions=" + stats.evictionCount() + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	static TaskDataState copy(TaskDataState state) {
+		TaskDataState copy = new TaskDataState(state.getConnectorKind(), state.getRepositoryUrl(), state.getTaskId());
+		copy.setRepositoryData(TaskDataState.createCopy(state.getRepositoryData()));
+		if (state.getRepositoryData() != null) {
+			// keep the last read data as a delta to reduce the footprint of cached states
+			copy.setLastReadDelta(TaskDataState.createCopy(state.getLastReadDelta()));
+		} else {
+			copy.setLastReadData(TaskDataState.createCopy(state.getLastReadData()));
+		}
+		copy.setEditsData(TaskDataState.createCopy(state.getEditsData()));
+		return copy;
+	}
+
+	static int weightOf(TaskDataState state) {
+		TaskData lastReadData = (state.getRepositoryData() != null)
+				? state.getLastReadDelta()
+				: state.getLastReadData();
+		long weight = STATE_WEIGHT + weightOf(state.getRepositoryData()) + weightOf(lastReadData)
+				+ weightOf(state.getEditsData());
+		return (int) Math.min(weight, Integer.MAX_VALUE);
+	}
+
+	private static long weightOf(TaskData data) {
+		return (data != null) ? weightOf(data.getRoot()) : 0;
+	}
+
+	private static long weightOf(TaskAttribute attribute) {
+		long weight = ATTRIBUTE_WEIGHT;
+		for (String value : attribute.getValues()) {
+			weight += 2 * Strings.nullToEmpty(value).length();
+		}
+		for (Map.Entry<String, String> option : attribute.getOptions().entrySet()) {
+			weight += 2 * (option.getKey().length() + Strings.nullToEmpty(option.getValue()).length());
+		}
+		for (TaskAttribute child : attribute.getAttributes().values()) {
+			weight += weightOf(child);
+		}
+		return weight;
+	}
+
+	private static long getDefaultMaximumWeight() {
+		try {
+			return Long.parseLong(System.getProperty(ITasksCoreConstants.PROPERTY_TASK_DATA_CACHE_SIZE,
+					DEFAULT_MAXIMUM_WEIGHT + "")); //$NON-NLS-1$
+		} catch (NumberFormatException e) {
+			return DEFAULT_MAXIMUM_WEIGHT;
+		}
+	}
+
+}
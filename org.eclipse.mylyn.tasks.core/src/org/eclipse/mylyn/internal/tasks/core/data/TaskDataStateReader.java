@@ -391,9 +391,10 @@ public class TaskDataStateReader extends DefaultHandler {
 				addElementHandler(new TaskDataHandler10(this, ITaskDataConstants.ELEMENT_NEW_DATA));
 				addElementHandler(new TaskDataHandler10(this, ITaskDataConstants.ELEMENT_OLD_DATA));
 				addElementHandler(new TaskDataHandler10(this, ITaskDataConstants.ELEMENT_EDITS_DATA));
-			} else if ("2.0".equals(version)) { //$NON-NLS-1$
+			} else if (isVersion20()) {
 				addElementHandler(new TaskDataHandler20(this, ITaskDataConstants.ELEMENT_NEW_DATA));
 				addElementHandler(new TaskDataHandler20(this, ITaskDataConstants.ELEMENT_OLD_DATA));
+				addElementHandler(new TaskDataHandler20(this, ITaskDataConstants.ELEMENT_OLD_DATA_DELTA));
 				addElementHandler(new TaskDataHandler20(this, ITaskDataConstants.ELEMENT_EDITS_DATA));
 			}
 		}
@@ -436,6 +437,8 @@ public class TaskDataStateReader extends DefaultHandler {
 				state.setRepositoryData(taskData);
 			} else if (ITaskDataConstants.ELEMENT_OLD_DATA.equals(elementHandler.getElementName())) {
 				state.setLastReadData(taskData);
+			} else if (ITaskDataConstants.ELEMENT_OLD_DATA_DELTA.equals(elementHandler.getElementName())) {
+				state.setLastReadDelta(taskData);
 			} else if (ITaskDataConstants.ELEMENT_EDITS_DATA.equals(elementHandler.getElementName())) {
 				state.setEditsData(taskData);
 			}
@@ -446,9 +449,16 @@ public class TaskDataStateReader extends DefaultHandler {
 			return state;
 		}
 
+		/**
+		 * Returns true, if the document uses the format of version 2.0, version 2.1 adds last read data deltas.
+		 */
+		private boolean isVersion20() {
+			return "2.0".equals(version) || TaskDataStateWriter.TASK_DATA_STATE_VERSION_DELTA.equals(version); //$NON-NLS-1$
+		}
+
 		@Override
 		protected void start(String uri, String localName, String name, Attributes attributes) throws SAXException {
-			if ("2.0".equals(version)) { //$NON-NLS-1$
+			if (isVersion20()) {
 				String connectorKind = getValue(attributes, ITaskDataConstants.ATTRIBUTE_CONNECTOR_KIND);
 				String repositoryUrl = getValue(attributes, ITaskDataConstants.ATTRIBUTE_REPOSITORY_URL);
 				String taskId = getValue(attributes, ITaskDataConstants.ATTRIBUTE_TASK_ID);
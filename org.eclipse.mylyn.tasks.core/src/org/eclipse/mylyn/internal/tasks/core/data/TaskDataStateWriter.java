@@ -31,26 +31,50 @@ public class TaskDataStateWriter {
 
 	private static final String TASK_DATA_STATE_VERSION = "2.0"; //$NON-NLS-1$
 
+	/**
+	 * the version of documents that store the last read data as a delta, releases that only support version 2.0 do not
+	 * read these documents
+	 */
+	static final String TASK_DATA_STATE_VERSION_DELTA = "2.1"; //$NON-NLS-1$
+
 	private static final String CDATA = "CDATA"; //$NON-NLS-1$
 
 	private final TransformerHandler handler;
 
+	private boolean lastReadDelta = true;
+
 	public TaskDataStateWriter(TransformerHandler handler) {
 		this.handler = handler;
 	}
 
+	/**
+	 * Specifies whether the last read data is written as a delta against the repository data. Enabled by default.
+	 * Documents that contain a delta are written with version 2.1 so that older releases do not mistake them for
+	 * version 2.0 documents without last read data. The conversion is one-way: documents are only written with version
+	 * 2.0 if this is disabled, e.g. when task data is exported.
+	 *
+	 * @see TaskDataDelta
+	 */
+	public void setLastReadDelta(boolean lastReadDelta) {
+		this.lastReadDelta = lastReadDelta;
+	}
+
 	public void write(ITaskDataWorkingCopy state) throws SAXException {
 		handler.startDocument();
+		TaskData delta = (lastReadDelta) ? TaskDataDelta.getLastReadDelta(state) : null;
 		AttributesImpl atts = new AttributesImpl();
 		atts.addAttribute("", "", ITaskDataConstants.ATTRIBUTE_CONNECTOR_KIND, CDATA, state.getConnectorKind()); //$NON-NLS-1$ //$NON-NLS-2$
 		atts.addAttribute("", "", ITaskDataConstants.ATTRIBUTE_REPOSITORY_URL, CDATA, state.getRepositoryUrl()); //$NON-NLS-1$ //$NON-NLS-2$
 		atts.addAttribute("", "", ITaskDataConstants.ATTRIBUTE_TASK_ID, CDATA, state.getTaskId()); //$NON-NLS-1$ //$NON-NLS-2$
-		atts.addAttribute("", "", ITaskDataConstants.ATTRIBUTE_VERSION, CDATA, TASK_DATA_STATE_VERSION); //$NON-NLS-1$ //$NON-NLS-2$
+		atts.addAttribute("", "", ITaskDataConstants.ATTRIBUTE_VERSION, CDATA, //$NON-NLS-1$ //$NON-NLS-2$
+				(delta != null) ? TASK_DATA_STATE_VERSION_DELTA : TASK_DATA_STATE_VERSION);
 		handler.startElement("", "", ITaskDataConstants.ELEMENT_TASK_STATE, atts); //$NON-NLS-1$ //$NON-NLS-2$
 		if (state.getRepositoryData() != null) {
 			writeTaskData(state.getRepositoryData(), ITaskDataConstants.ELEMENT_NEW_DATA);
 		}
-		if (state.getLastReadData() != null) {
+		if (delta != null) {
+			writeTaskData(delta, ITaskDataConstants.ELEMENT_OLD_DATA_DELTA);
+		} else if (state.getLastReadData() != null) {
 			writeTaskData(state.getLastReadData(), ITaskDataConstants.ELEMENT_OLD_DATA);
 		}
 		if (state.getEditsData() != null) {
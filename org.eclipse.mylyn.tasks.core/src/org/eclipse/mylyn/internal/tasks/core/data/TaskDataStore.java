@@ -19,8 +19,9 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -29,12 +30,15 @@ import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.mylyn.commons.core.StatusHandler;
 import org.eclipse.mylyn.internal.tasks.core.ITasksCoreConstants;
 import org.eclipse.mylyn.internal.tasks.core.data.TaskDataExternalizer.Xml11InputStream;
 import org.eclipse.mylyn.tasks.core.IRepositoryManager;
 import org.eclipse.mylyn.tasks.core.data.TaskData;
 import org.xml.sax.SAXException;
 
+import com.google.common.util.concurrent.Striped;
+
 /**
  * @author Steffen Pingel
  */
@@ -42,64 +46,147 @@ public class TaskDataStore {
 
 	private static final String FILE_NAME_INTERNAL = "data.xml"; //$NON-NLS-1$
 
+	private static final String FILE_NAME_INTERNAL_BINARY = "data.bin"; //$NON-NLS-1$
+
+	/**
+	 * Number of lock stripes. Operations on files that map to different stripes run in parallel, operations on the same
+	 * file are always serialized.
+	 */
+	private static final int LOCK_STRIPES = 64;
+
 	private final TaskDataExternalizer externalizer;
 
-	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Striped<ReadWriteLock> locks = Striped.readWriteLock(LOCK_STRIPES);
+
+	private final TaskDataStateCache cache;
+
+	private volatile boolean binaryFormat;
 
 	public TaskDataStore(IRepositoryManager taskRepositoryManager) {
 		this(new TaskDataExternalizer(taskRepositoryManager));
 	}
 
 	TaskDataStore(TaskDataExternalizer externalizer) {
+		this(externalizer, new TaskDataStateCache());
+	}
+
+	TaskDataStore(TaskDataExternalizer externalizer, TaskDataStateCache cache) {
 		this.externalizer = externalizer;
+		this.cache = cache;
+	}
+
+	/**
+	 * Returns the cache of parsed task data states. The cache is kept consistent with the files written through this
+	 * store.
+	 */
+	public TaskDataStateCache getCache() {
+		return cache;
+	}
+
+	/**
+	 * Returns true, if task data is written using the binary encoding.
+	 *
+	 * @see #setBinaryFormat(boolean)
+	 */
+	public boolean isBinaryFormat() {
+		return binaryFormat;
+	}
+
+	/**
+	 * Specifies the encoding used for writing task data. Files are always read in the format they were written in. If
+	 * the binary encoding is enabled files that are still stored as XML are converted when they are read.
+	 *
+	 * @param binaryFormat
+	 *            true, to use the compact binary encoding; false, to use XML
+	 */
+	public void setBinaryFormat(boolean binaryFormat) {
+		this.binaryFormat = binaryFormat;
 	}
 
 	public TaskDataState discardEdits(File file) throws CoreException {
-		TaskDataState state = readState(file);
-		if (state != null) {
-			state.setEditsData(null);
+		Lock writeLock = writeLock(file);
+		try {
+			TaskDataState state = readState(file);
+			if (state != null) {
+				state.setEditsData(null);
+			}
+			writeState(file, state);
+			return state;
+		} finally {
+			writeLock.unlock();
 		}
-		writeState(file, state);
-		return state;
 	}
 
 	public TaskDataState getTaskDataState(File file) throws CoreException {
-		return readState(file);
+		return readState(file, true);
+	}
+
+	/**
+	 * Writes the task data stored in <code>file</code> as a zipped XML document to <code>out</code> regardless of the
+	 * format that is used for storing the file. This is used when task data is exported.
+	 *
+	 * @return false, if <code>file</code> does not exist
+	 */
+	public boolean exportTaskData(File file, OutputStream out) throws CoreException {
+		Lock readLock = readLock(file);
+		try {
+			TaskDataState state = readState(file);
+			if (state == null) {
+				return false;
+			}
+			writeZip(out, state, false, true);
+			return true;
+		} catch (IOException e) {
+			throw new CoreException(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN,
+					"Error exporting task data", e)); //$NON-NLS-1$
+		} finally {
+			readLock.unlock();
+		}
 	}
 
 	public void putEdits(File file, TaskData data) throws CoreException {
 		Assert.isNotNull(file);
 		Assert.isNotNull(data);
-		TaskDataState state = readState(file);
-		if (state == null) {
-			state = new TaskDataState(data.getConnectorKind(), data.getRepositoryUrl(), data.getTaskId());
+		Lock writeLock = writeLock(file);
+		try {
+			TaskDataState state = readState(file);
+			if (state == null) {
+				state = new TaskDataState(data.getConnectorKind(), data.getRepositoryUrl(), data.getTaskId());
+			}
+			state.setEditsData(data);
+			writeState(file, state);
+		} finally {
+			writeLock.unlock();
 		}
-		state.setEditsData(data);
-		writeState(file, state);
 	}
 
 	public TaskDataState putTaskData(File file, TaskData data, boolean setLastRead, boolean user) throws CoreException {
 		Assert.isNotNull(file);
 		Assert.isNotNull(data);
-		TaskDataState state = null;
+		Lock writeLock = writeLock(file);
 		try {
-			state = readState(file);
-		} catch (CoreException e) {
-			if (!user) {
-				throw new CoreException(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN,
-						"Reading of existing task data failed. Forcing synchronization will override outgoing changes.", //$NON-NLS-1$
-						e));
+			TaskDataState state = null;
+			try {
+				state = readState(file);
+			} catch (CoreException e) {
+				if (!user) {
+					throw new CoreException(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN,
+							"Reading of existing task data failed. Forcing synchronization will override outgoing changes.", //$NON-NLS-1$
+							e));
+				}
 			}
+			if (state == null) {
+				state = new TaskDataState(data.getConnectorKind(), data.getRepositoryUrl(), data.getTaskId());
+			}
+			if (setLastRead) {
+				state.setLastReadData(state.getRepositoryData());
+			}
+			state.setRepositoryData(data);
+			writeState(file, state);
+			return state;
+		} finally {
+			writeLock.unlock();
 		}
-		if (state == null) {
-			state = new TaskDataState(data.getConnectorKind(), data.getRepositoryUrl(), data.getTaskId());
-		}
-		if (setLastRead) {
-			state.setLastReadData(state.getRepositoryData());
-		}
-		state.setRepositoryData(data);
-		writeState(file, state);
-		return state;
 	}
 
 	public TaskDataState setTaskData(File file, TaskData data) throws CoreException {
@@ -116,9 +203,18 @@ public class TaskDataStore {
 		return state;
 	}
 
-	private TaskDataState readStateInternal(File file, boolean xml11) throws IOException, SAXException {
+	/**
+	 * Reads the state stored in <code>file</code>. The first element of <code>readXml</code> is set to true, if the
+	 * file was decoded as XML.
+	 */
+	private TaskDataState readStateInternal(File file, boolean xml11, boolean[] readXml)
+			throws IOException, SAXException {
 		try (ZipInputStream in = new ZipInputStream(new BufferedInputStream(new FileInputStream(file)))) {
-			in.getNextEntry();
+			ZipEntry entry = in.getNextEntry();
+			if (entry != null && FILE_NAME_INTERNAL_BINARY.equals(entry.getName())) {
+				return externalizer.readBinaryState(in);
+			}
+			readXml[0] = true;
 			// bug 268456: When TaskData that contains C0 control characters is written to disk using XML 1.0 reading it back
 			// in fails with a SAXException. The XML 1.1 standard allows C0 entities but fails if C1 entities. If C0 control
 			// characters are detected while parsing file as XML 1.0 a second attempt is made using XML 1.1. If the file contains
@@ -131,23 +227,68 @@ public class TaskDataStore {
 		}
 	}
 
+	private boolean isStoredAsBinary(File file) throws IOException {
+		try (ZipInputStream in = new ZipInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			ZipEntry entry = in.getNextEntry();
+			return entry != null && FILE_NAME_INTERNAL_BINARY.equals(entry.getName());
+		}
+	}
+
 	private TaskDataState readState(File file) throws CoreException {
-		lock.readLock().lock();
+		return readState(file, false);
+	}
+
+	private TaskDataState readState(File file, boolean upgrade) throws CoreException {
+		boolean[] readXml = new boolean[1];
+		TaskDataState state = readStateLocked(file, readXml);
+		// states from the cache are returned without accessing the file, files are only converted after a read
+		if (state != null && readXml[0] && upgrade && binaryFormat) {
+			upgradeFormat(file, state);
+		}
+		return state;
+	}
+
+	/**
+	 * Rewrites <code>file</code> using the binary encoding if it is still stored as XML.
+	 */
+	private void upgradeFormat(File file, TaskDataState state) {
+		Lock writeLock = writeLock(file);
+		try {
+			// files written since state was read already use the current format
+			if (file.exists() && !isStoredAsBinary(file)) {
+				writeState(file, state);
+			}
+		} catch (IOException | CoreException e) {
+			StatusHandler.log(new Status(IStatus.WARNING, ITasksCoreConstants.ID_PLUGIN,
+					"Failed to convert task data to binary format: \"" + file + "\"", e)); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	private TaskDataState readStateLocked(File file, boolean[] readXml) throws CoreException {
+		Lock readLock = readLock(file);
 		try {
+			TaskDataState cachedState = cache.get(file);
+			if (cachedState != null) {
+				return cachedState;
+			}
 			if (file.exists()) {
 				try {
+					TaskDataState state;
 					try {
-						return readStateInternal(file, false);
+						state = readStateInternal(file, false, readXml);
 					} catch (SAXException e) {
 						// bug 268456: if reading fails, try again using a different XML version
 						if (e.getMessage() != null && (e.getMessage().contains("invalid XML character") //$NON-NLS-1$
 								|| e.getMessage().contains(" \"&#"))) { //$NON-NLS-1$
-							return readStateInternal(file, true);
+							state = readStateInternal(file, true, readXml);
 						} else {
 							throw e;
 						}
 					}
-
+					cache.put(file, state);
+					return state;
 				} catch (SAXException e) {
 					throw new IOException("Error parsing task data: " + e.getMessage(), e); //$NON-NLS-1$
 				}
@@ -157,40 +298,75 @@ public class TaskDataStore {
 			throw new CoreException(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN, "Error reading task data", //$NON-NLS-1$
 					e));
 		} finally {
-			lock.readLock().unlock();
+			readLock.unlock();
 		}
 	}
 
 	private void writeState(File file, TaskDataState state) throws CoreException {
-		lock.writeLock().lock();
+		Lock writeLock = writeLock(file);
 		try {
-			try (ZipOutputStream out = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
-				out.setMethod(ZipOutputStream.DEFLATED);
-
-				ZipEntry entry = new ZipEntry(FILE_NAME_INTERNAL);
-				out.putNextEntry(entry);
-
-				externalizer.writeState(out, state);
+			cache.invalidate(file);
+			try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+				writeZip(out, state, binaryFormat, false);
 			}
 		} catch (IOException e) {
 			throw new CoreException(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN, "Error writing task data", //$NON-NLS-1$
 					e));
 		} finally {
-			lock.writeLock().unlock();
+			writeLock.unlock();
 		}
 	}
 
+	private void writeZip(OutputStream target, TaskDataState state, boolean binary, boolean export)
+			throws IOException {
+		ZipOutputStream out = new ZipOutputStream(target);
+		out.setMethod(ZipOutputStream.DEFLATED);
+
+		ZipEntry entry = new ZipEntry(binary ? FILE_NAME_INTERNAL_BINARY : FILE_NAME_INTERNAL);
+		out.putNextEntry(entry);
+
+		if (binary) {
+			externalizer.writeBinaryState(out, state);
+		} else if (export) {
+			// exported data may be imported by releases that do not support deltas
+			externalizer.writeState(out, state, false);
+		} else {
+			externalizer.writeState(out, state);
+		}
+		out.finish();
+	}
+
 	public void putTaskData(File file, TaskDataState state) throws CoreException {
 		writeState(file, state);
 	}
 
 	public boolean deleteTaskData(File file) {
-		lock.writeLock().lock();
+		Lock writeLock = writeLock(file);
 		try {
+			cache.invalidate(file);
 			return file.delete();
 		} finally {
-			lock.writeLock().unlock();
+			writeLock.unlock();
 		}
 	}
 
+	/**
+	 * Acquires and returns the read lock guarding <code>file</code>.
+	 */
+	private Lock readLock(File file) {
+		Lock readLock = locks.get(file.getAbsoluteFile()).readLock();
+		readLock.lock();
+		return readLock;
+	}
+
+	/**
+	 * Acquires and returns the write lock guarding <code>file</code>. The lock is reentrant and may be held across a
+	 * read-modify-write cycle.
+	 */
+	private Lock writeLock(File file) {
+		Lock writeLock = locks.get(file.getAbsoluteFile()).writeLock();
+		writeLock.lock();
+		return writeLock;
+	}
+
 }
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core.externalization;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import org.eclipse.mylyn.internal.tasks.core.AbstractTask;
+
+import com.google.common.base.Strings;
+
+/**
+ * Holds the unparsed values of task details that are not needed to display a task while the task list is loaded. The
+ * values are applied to the task on first access.
+ *
+ * @see AbstractTask#setPendingDetails(Runnable)
+ */
+class DeferredTaskDetails implements Runnable {
+
+	private final AbstractTask task;
+
+	private String notes;
+
+	private String estimatedTime;
+
+	private String creationDate;
+
+	private String modificationDate;
+
+	private List<String> attributes;
+
+	public DeferredTaskDetails(AbstractTask task) {
+		this.task = task;
+	}
+
+	public void setNotes(String notes) {
+		this.notes = notes;
+	}
+
+	public void setEstimatedTime(String estimatedTime) {
+		this.estimatedTime = estimatedTime;
+	}
+
+	public void setCreationDate(String creationDate) {
+		this.creationDate = creationDate;
+	}
+
+	public void setModificationDate(String modificationDate) {
+		this.modificationDate = modificationDate;
+	}
+
+	public void addAttribute(String key, String value) {
+		if (attributes == null) {
+			attributes = new ArrayList<String>();
+		}
+		attributes.add(key);
+		attributes.add(value);
+	}
+
+	public void run() {
+		task.setNotes(Strings.nullToEmpty(notes));
+		int estimate = 0;
+		if (estimatedTime != null) {
+			try {
+				estimate = Integer.parseInt(estimatedTime);
+			} catch (NumberFormatException e) {
+				// ignore
+			}
+		}
+		task.setEstimatedTimeHours(estimate);
+		if (creationDate != null || modificationDate != null) {
+			SimpleDateFormat format = new SimpleDateFormat(TaskListExternalizationConstants.IN_DATE_FORMAT,
+					Locale.ENGLISH);
+			if (creationDate != null) {
+				task.setCreationDate(parseDate(format, creationDate));
+			}
+			if (modificationDate != null) {
+				task.setModificationDate(parseDate(format, modificationDate));
+			}
+		}
+		if (attributes != null) {
+			for (int i = 0; i < attributes.size(); i += 2) {
+				task.setAttribute(attributes.get(i), attributes.get(i + 1));
+			}
+		}
+	}
+
+	private Date parseDate(SimpleDateFormat format, String value) {
+		if (Strings.isNullOrEmpty(value)) {
+			return null;
+		}
+		try {
+			return format.parse(value);
+		} catch (ParseException e) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core.externalization;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.mylyn.internal.tasks.core.AbstractTask;
+import org.eclipse.mylyn.internal.tasks.core.TaskList;
+
+/**
+ * Loads the details of tasks that were deferred while the task list was read. Listeners are notified in batches as
+ * tasks finish loading.
+ *
+ * @see AbstractTask#loadPendingDetails()
+ */
+public class LoadTaskDetailsJob extends Job {
+
+	private static final int BATCH_SIZE = 500;
+
+	private final TaskList taskList;
+
+	public LoadTaskDetailsJob(TaskList taskList) {
+		super(Messages.LoadTaskDetailsJob_Loading_Task_Details);
+		this.taskList = taskList;
+		setSystem(true);
+		setPriority(Job.DECORATE);
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		List<AbstractTask> tasks = new ArrayList<AbstractTask>(taskList.getAllTasks());
+		monitor.beginTask(Messages.LoadTaskDetailsJob_Loading_Task_Details, tasks.size());
+		try {
+			Set<AbstractTask> loadedTasks = new HashSet<AbstractTask>();
+			for (AbstractTask task : tasks) {
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				if (task.hasPendingDetails()) {
+					task.loadPendingDetails();
+					loadedTasks.add(task);
+					if (loadedTasks.size() >= BATCH_SIZE) {
+						taskList.notifyElementsLoaded(loadedTasks);
+						loadedTasks = new HashSet<AbstractTask>();
+					}
+				}
+				monitor.worked(1);
+			}
+			if (!loadedTasks.isEmpty()) {
+				taskList.notifyElementsLoaded(loadedTasks);
+			}
+		} finally {
+			monitor.done();
+		}
+		return Status.OK_STATUS;
+	}
+
+}
@@ -33,6 +33,8 @@ public class Messages extends NLS {
 
 	public static String ExternalizationManager_Task_List_Save_Job;
 
+	public static String LoadTaskDetailsJob_Loading_Task_Details;
+
 	public static String TaskListExternalizationParticipant_Task_List;
 
 	public static String TaskActivationExternalizationParticipant_Task_Activation_History;
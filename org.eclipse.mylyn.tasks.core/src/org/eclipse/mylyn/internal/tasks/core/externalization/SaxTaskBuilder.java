@@ -46,9 +46,24 @@ public class SaxTaskBuilder extends SaxTaskListElementBuilder<AbstractTask> {
 
 	private final IRepositoryManager repositoryManager;
 
+	private final boolean deferDetails;
+
+	private DeferredTaskDetails deferredDetails;
+
 	public SaxTaskBuilder(RepositoryModel repositoryModel, IRepositoryManager repositoryManager) {
+		this(repositoryModel, repositoryManager, false);
+	}
+
+	/**
+	 * @param deferDetails
+	 *            if true, details that are not needed to display the task are applied when they are first accessed
+	 * @see DeferredTaskDetails
+	 */
+	public SaxTaskBuilder(RepositoryModel repositoryModel, IRepositoryManager repositoryManager,
+			boolean deferDetails) {
 		this.repositoryModel = repositoryModel;
 		this.repositoryManager = repositoryManager;
+		this.deferDetails = deferDetails;
 	}
 
 	@Override
@@ -86,6 +101,9 @@ public class SaxTaskBuilder extends SaxTaskListElementBuilder<AbstractTask> {
 				return;
 			}
 
+			if (deferDetails) {
+				deferredDetails = new DeferredTaskDetails(task);
+			}
 			readTaskInfo(task, elementAttributes);
 		} catch (Exception e) {
 			addError(new Status(IStatus.WARNING, ITasksCoreConstants.ID_PLUGIN,
@@ -124,19 +142,16 @@ public class SaxTaskBuilder extends SaxTaskListElementBuilder<AbstractTask> {
 		String url = elementAttributes.getValue(TaskListExternalizationConstants.KEY_ISSUEURL);
 		task.setUrl(Strings.nullToEmpty(url));
 
-		String notes = elementAttributes.getValue(TaskListExternalizationConstants.KEY_NOTES);
-		task.setNotes(Strings.nullToEmpty(notes));
-
-		String estimationString = elementAttributes.getValue(TaskListExternalizationConstants.KEY_TIME_ESTIMATED);
-		if (estimationString != null) {
-			try {
-				int estimate = Integer.parseInt(estimationString);
-				task.setEstimatedTimeHours(estimate);
-			} catch (Exception e) {
-				task.setEstimatedTimeHours(0);
-			}
+		if (deferredDetails != null) {
+			deferredDetails.setNotes(elementAttributes.getValue(TaskListExternalizationConstants.KEY_NOTES));
+			deferredDetails.setEstimatedTime(
+					elementAttributes.getValue(TaskListExternalizationConstants.KEY_TIME_ESTIMATED));
+			deferredDetails.setCreationDate(
+					elementAttributes.getValue(TaskListExternalizationConstants.KEY_DATE_CREATION));
+			deferredDetails.setModificationDate(
+					elementAttributes.getValue(TaskListExternalizationConstants.KEY_DATE_MODIFICATION));
 		} else {
-			task.setEstimatedTimeHours(0);
+			readTaskDetails(task, elementAttributes);
 		}
 
 		String completionDate = elementAttributes.getValue(TaskListExternalizationConstants.KEY_DATE_END);
@@ -144,16 +159,6 @@ public class SaxTaskBuilder extends SaxTaskListElementBuilder<AbstractTask> {
 			task.setCompletionDate(getDateFromString(completionDate));
 		}
 
-		String creationDate = elementAttributes.getValue(TaskListExternalizationConstants.KEY_DATE_CREATION);
-		if (creationDate != null) {
-			task.setCreationDate(getDateFromString(creationDate));
-		}
-
-		String modificationDate = elementAttributes.getValue(TaskListExternalizationConstants.KEY_DATE_MODIFICATION);
-		if (modificationDate != null) {
-			task.setModificationDate(getDateFromString(modificationDate));
-		}
-
 		String dueDate = elementAttributes.getValue(TaskListExternalizationConstants.KEY_DATE_DUE);
 		if (dueDate != null) {
 			task.setDueDate(getDateFromString(dueDate));
@@ -224,6 +229,33 @@ public class SaxTaskBuilder extends SaxTaskListElementBuilder<AbstractTask> {
 		task.setSynchronizing(false);
 	}
 
+	private void readTaskDetails(AbstractTask task, Attributes elementAttributes) {
+		String notes = elementAttributes.getValue(TaskListExternalizationConstants.KEY_NOTES);
+		task.setNotes(Strings.nullToEmpty(notes));
+
+		String estimationString = elementAttributes.getValue(TaskListExternalizationConstants.KEY_TIME_ESTIMATED);
+		if (estimationString != null) {
+			try {
+				int estimate = Integer.parseInt(estimationString);
+				task.setEstimatedTimeHours(estimate);
+			} catch (Exception e) {
+				task.setEstimatedTimeHours(0);
+			}
+		} else {
+			task.setEstimatedTimeHours(0);
+		}
+
+		String creationDate = elementAttributes.getValue(TaskListExternalizationConstants.KEY_DATE_CREATION);
+		if (creationDate != null) {
+			task.setCreationDate(getDateFromString(creationDate));
+		}
+
+		String modificationDate = elementAttributes.getValue(TaskListExternalizationConstants.KEY_DATE_MODIFICATION);
+		if (modificationDate != null) {
+			task.setModificationDate(getDateFromString(modificationDate));
+		}
+	}
+
 	private Date getDateFromString(String dateString) {
 		Date date = null;
 		if (Strings.isNullOrEmpty(dateString)) {
@@ -241,7 +273,11 @@ public class SaxTaskBuilder extends SaxTaskListElementBuilder<AbstractTask> {
 
 	@Override
 	protected void applyAttribute(String attributeKey, String attributeValue) {
-		getItem().setAttribute(attributeKey, attributeValue);
+		if (deferredDetails != null) {
+			deferredDetails.addAttribute(attributeKey, attributeValue);
+		} else {
+			getItem().setAttribute(attributeKey, attributeValue);
+		}
 	}
 
 	@Override
@@ -251,6 +287,9 @@ public class SaxTaskBuilder extends SaxTaskListElementBuilder<AbstractTask> {
 
 	@Override
 	public void addToTaskList(ITransferList taskList) {
+		if (deferredDetails != null) {
+			task.setPendingDetails(deferredDetails);
+		}
 		taskList.addTask(task);
 	}
 
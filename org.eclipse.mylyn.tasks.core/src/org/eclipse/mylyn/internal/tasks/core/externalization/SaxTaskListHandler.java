@@ -52,11 +52,24 @@ public class SaxTaskListHandler extends DefaultHandler {
 
 	private final SaxOrphanBuilder orphanBuilder;
 
+	private final boolean deferTaskDetails;
+
 	public SaxTaskListHandler(ITransferList taskList, RepositoryModel repositoryModel,
 			IRepositoryManager repositoryManager) throws CoreException {
+		this(taskList, repositoryModel, repositoryManager, false);
+	}
+
+	/**
+	 * @param deferTaskDetails
+	 *            if true, details of tasks are applied when they are first accessed
+	 * @see SaxTaskBuilder#SaxTaskBuilder(RepositoryModel, IRepositoryManager, boolean)
+	 */
+	public SaxTaskListHandler(ITransferList taskList, RepositoryModel repositoryModel,
+			IRepositoryManager repositoryManager, boolean deferTaskDetails) throws CoreException {
 		this.taskList = new LazyTransferList(taskList);
 		this.repositoryModel = repositoryModel;
 		this.repositoryManager = repositoryManager;
+		this.deferTaskDetails = deferTaskDetails;
 
 		this.subTasks = HashMultimap.create();
 		this.queryResults = HashMultimap.create();
@@ -71,7 +84,7 @@ public class SaxTaskListHandler extends DefaultHandler {
 		case TaskListExternalizationConstants.NODE_TASK:
 			checkState(currentBuilder == null, "Cannot begin reading a task while reading another task list element."); //$NON-NLS-1$
 
-			currentBuilder = new SaxTaskBuilder(repositoryModel, repositoryManager);
+			currentBuilder = new SaxTaskBuilder(repositoryModel, repositoryManager, deferTaskDetails);
 			currentBuilder.beginItem(attributes);
 
 			break;
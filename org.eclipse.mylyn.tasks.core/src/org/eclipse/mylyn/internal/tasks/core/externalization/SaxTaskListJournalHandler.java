@@ -0,0 +1,295 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core.externalization;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.mylyn.commons.core.StatusHandler;
+import org.eclipse.mylyn.internal.tasks.core.ITasksCoreConstants;
+import org.eclipse.mylyn.internal.tasks.core.XmlReaderUtil;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Applies the journal of a task list while the task list snapshot is parsed. Elements of the snapshot that were
+ * changed or removed according to the journal are skipped and the most recent journal state of each changed element is
+ * passed to the delegate before the end of the task list.
+ * <p>
+ * Journal transactions are only applied if they belong to the snapshot that is read. Reading stops at the first
+ * transaction that was not completely written, e.g. due to a crash, and marks the journal as incomplete.
+ *
+ * @see SaxTaskListWriter#writeTransactionToStream
+ */
+public class SaxTaskListJournalHandler extends DefaultHandler {
+
+	private static final byte[] JOURNAL_START = ("<" + TaskListExternalizationConstants.NODE_JOURNAL + ">") //$NON-NLS-1$ //$NON-NLS-2$
+			.getBytes(StandardCharsets.UTF_8);
+
+	private static final byte[] JOURNAL_END = ("</" + TaskListExternalizationConstants.NODE_JOURNAL + ">") //$NON-NLS-1$ //$NON-NLS-2$
+			.getBytes(StandardCharsets.UTF_8);
+
+	private static final Set<String> ELEMENT_NODES = new HashSet<String>(
+			Arrays.asList(TaskListExternalizationConstants.NODE_TASK, TaskListExternalizationConstants.NODE_QUERY,
+					TaskListExternalizationConstants.NODE_CATEGORY));
+
+	private final ContentHandler delegate;
+
+	private final File journalFile;
+
+	private final Map<String, RecordedElement> changedElements = new LinkedHashMap<String, RecordedElement>();
+
+	private final Set<String> removedHandles = new HashSet<String>();
+
+	private String snapshotId;
+
+	private int transactionCount;
+
+	private boolean journalComplete = true;
+
+	private int depth;
+
+	private int skipDepth = -1;
+
+	public SaxTaskListJournalHandler(ContentHandler delegate, File journalFile) {
+		this.delegate = delegate;
+		this.journalFile = journalFile;
+	}
+
+	@Override
+	public void startDocument() throws SAXException {
+		delegate.startDocument();
+	}
+
+	@Override
+	public void endDocument() throws SAXException {
+		delegate.endDocument();
+	}
+
+	@Override
+	public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+		if (skipDepth != -1) {
+			depth++;
+			return;
+		}
+		if (depth == 0 && TaskListExternalizationConstants.NODE_TASK_LIST.equals(localName)) {
+			snapshotId = attributes.getValue(TaskListExternalizationConstants.KEY_SNAPSHOT);
+			readJournal();
+		} else if (depth == 1 && ELEMENT_NODES.contains(localName)) {
+			String handle = attributes.getValue(TaskListExternalizationConstants.KEY_HANDLE);
+			if (changedElements.containsKey(handle) || removedHandles.contains(handle)) {
+				// superseded by the journal
+				skipDepth = depth;
+				depth++;
+				return;
+			}
+		}
+		depth++;
+		delegate.startElement(uri, localName, qName, attributes);
+	}
+
+	@Override
+	public void characters(char[] ch, int start, int length) throws SAXException {
+		if (skipDepth == -1) {
+			delegate.characters(ch, start, length);
+		}
+	}
+
+	@Override
+	public void endElement(String uri, String localName, String qName) throws SAXException {
+		depth--;
+		if (skipDepth != -1) {
+			if (depth == skipDepth) {
+				skipDepth = -1;
+			}
+			return;
+		}
+		if (depth == 0 && TaskListExternalizationConstants.NODE_TASK_LIST.equals(localName)) {
+			for (RecordedElement element : changedElements.values()) {
+				element.replay(delegate);
+			}
+		}
+		delegate.endElement(uri, localName, qName);
+	}
+
+	private void readJournal() {
+		if (journalFile == null || snapshotId == null || !journalFile.exists()) {
+			return;
+		}
+
+		try (InputStream in = new SequenceInputStream(Collections.enumeration(Arrays.asList(
+				new ByteArrayInputStream(JOURNAL_START),
+				new BufferedInputStream(new FileInputStream(journalFile)), new ByteArrayInputStream(JOURNAL_END))))) {
+			XMLReader reader = XmlReaderUtil.createXmlReader();
+			reader.setContentHandler(new JournalReader());
+			InputSource source = new InputSource(in);
+			source.setEncoding(StandardCharsets.UTF_8.name());
+			reader.parse(source);
+		} catch (SAXException | IOException e) {
+			journalComplete = false;
+			StatusHandler.log(new Status(IStatus.WARNING, ITasksCoreConstants.ID_PLUGIN,
+					"Ignoring incomplete entries of task list journal \"" + journalFile.getAbsolutePath() + "\"", e)); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * Returns the id of the snapshot that was read or <code>null</code>, if the snapshot was written without an id.
+	 */
+	public String getSnapshotId() {
+		return snapshotId;
+	}
+
+	/**
+	 * Returns the number of journal transactions that were applied.
+	 */
+	public int getTransactionCount() {
+		return transactionCount;
+	}
+
+	/**
+	 * Returns false, if the journal ended with a transaction that could not be read.
+	 */
+	public boolean isJournalComplete() {
+		return journalComplete;
+	}
+
+	private class JournalReader extends DefaultHandler {
+
+		private final Map<String, RecordedElement> transactionElements = new LinkedHashMap<String, RecordedElement>();
+
+		private final List<String> transactionRemovedHandles = new ArrayList<String>();
+
+		private final Deque<RecordedElement> stack = new ArrayDeque<RecordedElement>();
+
+		private boolean inTransaction;
+
+		@Override
+		public void startElement(String uri, String localName, String qName, Attributes attributes)
+				throws SAXException {
+			if (TaskListExternalizationConstants.NODE_TRANSACTION.equals(localName) && stack.isEmpty()) {
+				inTransaction = snapshotId.equals(attributes.getValue(TaskListExternalizationConstants.KEY_SNAPSHOT));
+				transactionElements.clear();
+				transactionRemovedHandles.clear();
+			} else if (inTransaction) {
+				if (stack.isEmpty() && TaskListExternalizationConstants.NODE_REMOVED.equals(localName)) {
+					transactionRemovedHandles.add(attributes.getValue(TaskListExternalizationConstants.KEY_HANDLE));
+					return;
+				}
+				RecordedElement element = new RecordedElement(localName, attributes);
+				if (stack.isEmpty()) {
+					transactionElements.put(attributes.getValue(TaskListExternalizationConstants.KEY_HANDLE), element);
+				} else {
+					stack.peek().addChild(element);
+				}
+				stack.push(element);
+			}
+		}
+
+		@Override
+		public void characters(char[] ch, int start, int length) throws SAXException {
+			if (!stack.isEmpty()) {
+				stack.peek().appendText(ch, start, length);
+			}
+		}
+
+		@Override
+		public void endElement(String uri, String localName, String qName) throws SAXException {
+			if (!stack.isEmpty()) {
+				stack.pop();
+			} else if (TaskListExternalizationConstants.NODE_TRANSACTION.equals(localName) && inTransaction) {
+				for (String handle : transactionRemovedHandles) {
+					changedElements.remove(handle);
+					removedHandles.add(handle);
+				}
+				for (Map.Entry<String, RecordedElement> entry : transactionElements.entrySet()) {
+					removedHandles.remove(entry.getKey());
+					changedElements.remove(entry.getKey());
+					changedElements.put(entry.getKey(), entry.getValue());
+				}
+				transactionCount++;
+				inTransaction = false;
+			}
+		}
+
+	}
+
+	private static class RecordedElement {
+
+		private final String name;
+
+		private final Attributes attributes;
+
+		private StringBuilder text;
+
+		private List<RecordedElement> children;
+
+		public RecordedElement(String name, Attributes attributes) {
+			this.name = name;
+			this.attributes = new AttributesImpl(attributes);
+		}
+
+		public void addChild(RecordedElement child) {
+			if (children == null) {
+				children = new ArrayList<RecordedElement>();
+			}
+			children.add(child);
+		}
+
+		public void appendText(char[] ch, int start, int length) {
+			if (text == null) {
+				text = new StringBuilder();
+			}
+			text.append(ch, start, length);
+		}
+
+		public void replay(ContentHandler handler) throws SAXException {
+			handler.startElement("", name, name, attributes); //$NON-NLS-1$
+			if (text != null) {
+				char[] chars = text.toString().toCharArray();
+				handler.characters(chars, 0, chars.length);
+			}
+			if (children != null) {
+				for (RecordedElement child : children) {
+					child.replay(handler);
+				}
+			}
+			handler.endElement("", name, name); //$NON-NLS-1$
+		}
+
+	}
+
+}
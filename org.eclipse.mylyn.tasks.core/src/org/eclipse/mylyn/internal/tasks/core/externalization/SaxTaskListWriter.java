@@ -17,6 +17,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Collection;
 
+import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
@@ -26,8 +27,11 @@ import javax.xml.transform.stream.StreamResult;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.mylyn.commons.core.StatusHandler;
+import org.eclipse.mylyn.internal.tasks.core.AbstractTask;
+import org.eclipse.mylyn.internal.tasks.core.AbstractTaskCategory;
 import org.eclipse.mylyn.internal.tasks.core.ITasksCoreConstants;
 import org.eclipse.mylyn.internal.tasks.core.ITransferList;
+import org.eclipse.mylyn.internal.tasks.core.RepositoryQuery;
 import org.eclipse.mylyn.internal.tasks.core.SaxRepositoriesWriter;
 import org.eclipse.mylyn.tasks.core.IRepositoryElement;
 import org.w3c.dom.Document;
@@ -59,13 +63,23 @@ public class SaxTaskListWriter {
 	}
 
 	public void writeTaskListToStream(ITransferList taskList, Document orphans) throws IOException {
+		writeTaskListToStream(taskList, orphans, null);
+	}
+
+	/**
+	 * Writes the complete task list. If <code>snapshotId</code> is not <code>null</code> it is stored with the task list
+	 * to associate subsequent journal transactions with it.
+	 */
+	public void writeTaskListToStream(ITransferList taskList, Document orphans, String snapshotId)
+			throws IOException {
 		if (outputStream == null) {
 			throw new IOException("OutputStream not set"); //$NON-NLS-1$
 		}
 
 		try {
 			Transformer transformer = TransformerFactory.newInstance().newTransformer();
-			transformer.transform(new SAXSource(new TaskListWriter(), new TaskListInputSource(taskList, orphans)),
+			transformer.transform(
+					new SAXSource(new TaskListWriter(), new TaskListInputSource(taskList, orphans, snapshotId)),
 					new StreamResult(outputStream));
 		} catch (TransformerException e) {
 			StatusHandler.log(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN, "Could not write task list", e)); //$NON-NLS-1$
@@ -74,14 +88,41 @@ public class SaxTaskListWriter {
 
 	}
 
+	/**
+	 * Writes a journal transaction that contains the current state of the given elements and the handles of removed
+	 * elements. Transactions are written without an XML declaration so that they can be appended to a journal file.
+	 */
+	public void writeTransactionToStream(String snapshotId, Collection<AbstractTask> tasks,
+			Collection<AbstractTaskCategory> categories, Collection<RepositoryQuery> queries,
+			Collection<String> removedHandles) throws IOException {
+		if (outputStream == null) {
+			throw new IOException("OutputStream not set"); //$NON-NLS-1$
+		}
+
+		try {
+			Transformer transformer = TransformerFactory.newInstance().newTransformer();
+			transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes"); //$NON-NLS-1$
+			transformer.transform(new SAXSource(new TaskListWriter(),
+					new TransactionInputSource(snapshotId, tasks, categories, queries, removedHandles)),
+					new StreamResult(outputStream));
+		} catch (TransformerException e) {
+			StatusHandler.log(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN,
+					"Could not write task list journal", e)); //$NON-NLS-1$
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+
 	private static class TaskListInputSource extends InputSource {
 		private final ITransferList taskList;
 
 		private final Document orphans;
 
-		public TaskListInputSource(ITransferList taskList, Document orphans) {
+		private final String snapshotId;
+
+		public TaskListInputSource(ITransferList taskList, Document orphans, String snapshotId) {
 			this.taskList = taskList;
 			this.orphans = orphans;
+			this.snapshotId = snapshotId;
 		}
 
 		public ITransferList getTaskList() {
@@ -92,6 +133,34 @@ public class SaxTaskListWriter {
 			return orphans;
 		}
 
+		public String getSnapshotId() {
+			return snapshotId;
+		}
+
+	}
+
+	private static class TransactionInputSource extends InputSource {
+
+		private final String snapshotId;
+
+		private final Collection<AbstractTask> tasks;
+
+		private final Collection<AbstractTaskCategory> categories;
+
+		private final Collection<RepositoryQuery> queries;
+
+		private final Collection<String> removedHandles;
+
+		public TransactionInputSource(String snapshotId, Collection<AbstractTask> tasks,
+				Collection<AbstractTaskCategory> categories, Collection<RepositoryQuery> queries,
+				Collection<String> removedHandles) {
+			this.snapshotId = snapshotId;
+			this.tasks = tasks;
+			this.categories = categories;
+			this.queries = queries;
+			this.removedHandles = removedHandles;
+		}
+
 	}
 
 	private static class TaskListWriter implements XMLReader {
@@ -145,19 +214,27 @@ public class SaxTaskListWriter {
 		}
 
 		public void parse(InputSource input) throws IOException, SAXException {
-			if (!(input instanceof TaskListInputSource)) {
+			if (input instanceof TaskListInputSource) {
+				TaskListInputSource taskListInputSource = (TaskListInputSource) input;
+
+				handler.getHandler().startDocument();
+				writeTaskList(taskListInputSource.getTaskList(), taskListInputSource.getOrphans(),
+						taskListInputSource.getSnapshotId());
+				handler.getHandler().endDocument();
+			} else if (input instanceof TransactionInputSource) {
+				handler.getHandler().startDocument();
+				writeTransaction((TransactionInputSource) input);
+				handler.getHandler().endDocument();
+			} else {
 				throw new SAXException("Can only parse writable input sources"); //$NON-NLS-1$
 			}
-			TaskListInputSource taskListInputSource = (TaskListInputSource) input;
-
-			handler.getHandler().startDocument();
-			writeTaskList(taskListInputSource.getTaskList(), taskListInputSource.getOrphans());
-			handler.getHandler().endDocument();
 		}
 
-		private void writeTaskList(ITransferList taskList, Document orphanDocument) throws IOException, SAXException {
+		private void writeTaskList(ITransferList taskList, Document orphanDocument, String snapshotId)
+				throws IOException, SAXException {
 			AttributesWrapper attributes = new AttributesWrapper();
 			attributes.addAttribute(ATTRIBUTE_VERSION, VALUE_VERSION);
+			attributes.addAttribute(TaskListExternalizationConstants.KEY_SNAPSHOT, snapshotId);
 			handler.startElement(TaskListExternalizationConstants.NODE_TASK_LIST, attributes);
 
 			writeTaskListElements(new SaxTaskWriter(handler), taskList.getAllTasks());
@@ -169,6 +246,24 @@ public class SaxTaskListWriter {
 			handler.endElement(TaskListExternalizationConstants.NODE_TASK_LIST);
 		}
 
+		private void writeTransaction(TransactionInputSource transaction) throws SAXException {
+			AttributesWrapper attributes = new AttributesWrapper();
+			attributes.addAttribute(TaskListExternalizationConstants.KEY_SNAPSHOT, transaction.snapshotId);
+			handler.startElement(TaskListExternalizationConstants.NODE_TRANSACTION, attributes);
+
+			writeTaskListElements(new SaxTaskWriter(handler), transaction.tasks);
+			writeTaskListElements(new SaxCategoryWriter(handler), transaction.categories);
+			writeTaskListElements(new SaxQueryWriter(handler), transaction.queries);
+			for (String handle : transaction.removedHandles) {
+				AttributesWrapper removedAttributes = new AttributesWrapper();
+				removedAttributes.addAttribute(TaskListExternalizationConstants.KEY_HANDLE, handle);
+				handler.startElement(TaskListExternalizationConstants.NODE_REMOVED, removedAttributes);
+				handler.endElement(TaskListExternalizationConstants.NODE_REMOVED);
+			}
+
+			handler.endElement(TaskListExternalizationConstants.NODE_TRANSACTION);
+		}
+
 		private <T extends IRepositoryElement> void writeTaskListElements(SaxTaskListElementWriter<T> writer,
 				Collection<T> elements) throws SAXException {
 			for (T element : elements) {
@@ -98,4 +98,12 @@ public class TaskListExternalizationConstants {
 	public static final String NODE_TASK_REFERENCE = "TaskReference"; //$NON-NLS-1$
 
 	public static final String NODE_ATTRIBUTE = "Attribute"; //$NON-NLS-1$
+
+	public static final String KEY_SNAPSHOT = "Snapshot"; //$NON-NLS-1$
+
+	public static final String NODE_JOURNAL = "Journal"; //$NON-NLS-1$
+
+	public static final String NODE_TRANSACTION = "Transaction"; //$NON-NLS-1$
+
+	public static final String NODE_REMOVED = "Removed"; //$NON-NLS-1$
 }
@@ -14,25 +14,45 @@
 package org.eclipse.mylyn.internal.tasks.core.externalization;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.mylyn.commons.core.StatusHandler;
+import org.eclipse.mylyn.commons.net.Policy;
+import org.eclipse.mylyn.internal.tasks.core.AbstractTask;
+import org.eclipse.mylyn.internal.tasks.core.AbstractTaskCategory;
+import org.eclipse.mylyn.internal.tasks.core.AutomaticRepositoryTaskContainer;
 import org.eclipse.mylyn.internal.tasks.core.ITaskListChangeListener;
 import org.eclipse.mylyn.internal.tasks.core.ITaskListRunnable;
 import org.eclipse.mylyn.internal.tasks.core.ITasksCoreConstants;
 import org.eclipse.mylyn.internal.tasks.core.LocalRepositoryConnector;
 import org.eclipse.mylyn.internal.tasks.core.RepositoryModel;
+import org.eclipse.mylyn.internal.tasks.core.RepositoryQuery;
 import org.eclipse.mylyn.internal.tasks.core.TaskContainerDelta;
 import org.eclipse.mylyn.internal.tasks.core.TaskList;
 import org.eclipse.mylyn.internal.tasks.core.TaskRepositoryManager;
 import org.eclipse.mylyn.internal.tasks.core.UnmatchedTaskContainer;
+import org.eclipse.mylyn.internal.tasks.core.UnsubmittedTaskContainer;
+import org.eclipse.mylyn.internal.tasks.core.externalization.IExternalizationContext.Kind;
+import org.eclipse.mylyn.tasks.core.IRepositoryElement;
 import org.eclipse.mylyn.tasks.core.ITask;
 import org.eclipse.mylyn.tasks.core.ITaskActivationListener;
 import org.eclipse.mylyn.tasks.core.TaskRepository;
 
 /**
+ * Saves the task list. Between full saves of the task list only the elements that changed are appended to a journal
+ * that is replayed when the task list is loaded. The journal is folded into a new snapshot of the task list when it
+ * grows too large, on shutdown and before the task list is exported.
+ *
  * @author Rob Elves
  */
 public class TaskListExternalizationParticipant extends AbstractExternalizationParticipant
@@ -40,6 +60,16 @@ public class TaskListExternalizationParticipant extends AbstractExternalizationP
 
 	private static final String DESCRIPTION = Messages.TaskListExternalizationParticipant_Task_List;
 
+	/**
+	 * The journal is compacted when it exceeds this size and the ratio below.
+	 */
+	private static final long MIN_JOURNAL_COMPACTION_SIZE = 512 * 1024;
+
+	/**
+	 * The journal is compacted when it exceeds this multiple of the size of the snapshot.
+	 */
+	private static final int JOURNAL_COMPACTION_RATIO = 4;
+
 	private final ExternalizationManager manager;
 
 	private final TaskListExternalizer taskListWriter;
@@ -48,6 +78,18 @@ public class TaskListExternalizationParticipant extends AbstractExternalizationP
 
 	private boolean dirty;
 
+	private final Set<String> changedHandles = new HashSet<String>();
+
+	private boolean snapshotRequired = true;
+
+	private final boolean journalEnabled = Boolean
+			.parseBoolean(System.getProperty(ITasksCoreConstants.PROPERTY_TASK_LIST_JOURNAL, Boolean.TRUE.toString()));
+
+	private final boolean deferTaskDetails = Boolean.parseBoolean(
+			System.getProperty(ITasksCoreConstants.PROPERTY_TASK_LIST_DEFER_DETAILS, Boolean.TRUE.toString()));
+
+	private final LoadTaskDetailsJob loadTaskDetailsJob;
+
 	private final TaskRepositoryManager taskRepositoryManager;
 
 	private final RepositoryModel repositoryModel;
@@ -60,6 +102,7 @@ public class TaskListExternalizationParticipant extends AbstractExternalizationP
 		this.taskList = taskList;
 		this.taskListWriter = taskListExternalizer;
 		this.taskRepositoryManager = repositoryManager;
+		this.loadTaskDetailsJob = new LoadTaskDetailsJob(taskList);
 	}
 
 	@Override
@@ -72,16 +115,132 @@ public class TaskListExternalizationParticipant extends AbstractExternalizationP
 		return dirty;
 	}
 
+	@Override
+	public synchronized boolean isDirty(boolean full) {
+		if (full && dirty) {
+			// fold the journal into the task list on shutdown
+			snapshotRequired = true;
+		}
+		return dirty;
+	}
+
+	@Override
+	public void execute(IExternalizationContext context, IProgressMonitor monitor) throws CoreException {
+		if (context.getKind() == Kind.SAVE && journalEnabled) {
+			File dataFile = getFile(context.getRootPath());
+			if (dataFile != null && dataFile.exists() && !isSnapshotRequired(dataFile)) {
+				saveJournal(getJournalFile(dataFile), Policy.monitorFor(monitor));
+				return;
+			}
+		}
+		super.execute(context, monitor);
+	}
+
+	private synchronized boolean isSnapshotRequired(File dataFile) {
+		if (snapshotRequired || taskListWriter.getSnapshotId() == null || !taskListWriter.isJournalComplete()) {
+			return true;
+		}
+		long journalSize = getJournalFile(dataFile).length();
+		return journalSize > MIN_JOURNAL_COMPACTION_SIZE && journalSize > dataFile.length() * JOURNAL_COMPACTION_RATIO;
+	}
+
+	/**
+	 * Writes a new snapshot of the task list that includes all changes recorded in the journal, e.g. before the task
+	 * list file is copied. Clients must hold the scheduling rule of the task list.
+	 *
+	 * @return true, if a journal existed and a snapshot was saved
+	 */
+	public boolean saveSnapshot(String rootPath, IProgressMonitor monitor) throws CoreException {
+		File dataFile = getFile(rootPath);
+		if (dataFile == null || !getJournalFile(dataFile).exists()) {
+			return false;
+		}
+		takeSnapshot(dataFile);
+		save(dataFile, Policy.monitorFor(monitor));
+		return true;
+	}
+
+	private void saveJournal(final File journalFile, IProgressMonitor monitor) throws CoreException {
+		ITaskListRunnable saveRunnable = new ITaskListRunnable() {
+			public void execute(IProgressMonitor monitor) throws CoreException {
+				Set<String> handles;
+				synchronized (TaskListExternalizationParticipant.this) {
+					dirty = false;
+					handles = new HashSet<String>(changedHandles);
+					changedHandles.clear();
+				}
+				if (handles.isEmpty()) {
+					return;
+				}
+
+				Map<String, RepositoryQuery> queryByHandle = new HashMap<String, RepositoryQuery>();
+				for (RepositoryQuery query : taskList.getQueries()) {
+					queryByHandle.put(query.getHandleIdentifier(), query);
+				}
+				List<AbstractTask> tasks = new ArrayList<AbstractTask>();
+				List<AbstractTaskCategory> categories = new ArrayList<AbstractTaskCategory>();
+				List<RepositoryQuery> queries = new ArrayList<RepositoryQuery>();
+				List<String> removedHandles = new ArrayList<String>();
+				for (String handle : handles) {
+					AbstractTask task = taskList.getTask(handle);
+					if (task != null) {
+						tasks.add(task);
+						continue;
+					}
+					RepositoryQuery query = queryByHandle.get(handle);
+					if (query != null) {
+						queries.add(query);
+						continue;
+					}
+					AbstractTaskCategory category = taskList.getContainerForHandle(handle);
+					if (category != null) {
+						categories.add(category);
+					} else {
+						removedHandles.add(handle);
+					}
+				}
+
+				try {
+					taskListWriter.appendJournal(journalFile, tasks, categories, queries, removedHandles);
+				} catch (CoreException e) {
+					synchronized (TaskListExternalizationParticipant.this) {
+						dirty = true;
+						snapshotRequired = true;
+						changedHandles.addAll(handles);
+					}
+					throw e;
+				}
+			}
+		};
+
+		taskList.run(saveRunnable, monitor);
+	}
+
+	private File getJournalFile(File dataFile) {
+		return new File(dataFile.getParentFile(), ITasksCoreConstants.DEFAULT_TASK_LIST_JOURNAL_FILE);
+	}
+
 	@Override
 	public void load(final File sourceFile, IProgressMonitor monitor) throws CoreException {
 		ITaskListRunnable loadRunnable = new ITaskListRunnable() {
 			public void execute(IProgressMonitor monitor) throws CoreException {
 				resetTaskList();
-				taskListWriter.readTaskList(taskList, sourceFile);
+				taskListWriter.readTaskList(taskList, sourceFile, getJournalFile(sourceFile), deferTaskDetails);
 			}
 		};
 
 		taskList.run(loadRunnable, monitor);
+
+		synchronized (this) {
+			// discard the changes that were reported while the task list was populated
+			changedHandles.clear();
+			// a task list that was restored from a backup or an old location is saved to a new snapshot
+			snapshotRequired = !getFileName().equals(sourceFile.getName());
+		}
+
+		if (deferTaskDetails) {
+			loadTaskDetailsJob.schedule();
+		}
 	}
 
 	@Override
@@ -107,6 +266,10 @@ public class TaskListExternalizationParticipant extends AbstractExternalizationP
 	 * public for tests
 	 */
 	public void resetTaskList() {
+		loadTaskDetailsJob.cancel();
+		synchronized (this) {
+			snapshotRequired = true;
+		}
 		repositoryModel.clear();
 		taskList.reset();
 		prepareOrphanContainers();
@@ -127,8 +290,22 @@ public class TaskListExternalizationParticipant extends AbstractExternalizationP
 			public void execute(IProgressMonitor monitor) throws CoreException {
 				synchronized (TaskListExternalizationParticipant.this) {
 					dirty = false;
+					changedHandles.clear();
+					snapshotRequired = false;
+				}
+				try {
+					taskListWriter.writeTaskList(taskList, targetFile);
+				} catch (CoreException e) {
+					synchronized (TaskListExternalizationParticipant.this) {
+						snapshotRequired = true;
+					}
+					throw e;
+				}
+				File journalFile = getJournalFile(targetFile);
+				if (journalFile.exists() && !journalFile.delete()) {
+					StatusHandler.log(new Status(IStatus.WARNING, ITasksCoreConstants.ID_PLUGIN,
+							"Failed to delete task list journal \"" + journalFile.getAbsolutePath() + "\"")); //$NON-NLS-1$ //$NON-NLS-2$
 				}
-				taskListWriter.writeTaskList(taskList, targetFile);
 			}
 		};
 
@@ -146,15 +323,54 @@ public class TaskListExternalizationParticipant extends AbstractExternalizationP
 	}
 
 	public void containersChanged(Set<TaskContainerDelta> containers) {
-		for (TaskContainerDelta taskContainerDelta : containers) {
-			if (!taskContainerDelta.isTransient()) {
-				synchronized (TaskListExternalizationParticipant.this) {
+		boolean requestSave = false;
+		synchronized (TaskListExternalizationParticipant.this) {
+			for (TaskContainerDelta taskContainerDelta : containers) {
+				if (!taskContainerDelta.isTransient()) {
+					recordChange(taskContainerDelta);
 					dirty = true;
+					requestSave = true;
 				}
-				manager.requestSave();
-				return;
 			}
 		}
+		if (requestSave) {
+			manager.requestSave();
+		}
+	}
+
+	private void recordChange(TaskContainerDelta delta) {
+		IRepositoryElement element = delta.getElement();
+		switch (delta.getKind()) {
+		case ROOT:
+			if (element == null) {
+				// all elements may have changed
+				snapshotRequired = true;
+			}
+			break;
+		case CONTENT:
+			if (element instanceof UnmatchedTaskContainer || element instanceof UnsubmittedTaskContainer) {
+				// the handles of tasks change when a repository url is refactored
+				snapshotRequired = true;
+			} else {
+				recordChange(element);
+			}
+			break;
+		case ADDED:
+		case REMOVED:
+			recordChange(delta.getParent());
+			// fall through
+		case DELETED:
+			recordChange(element);
+			break;
+		}
+	}
+
+	private void recordChange(Object element) {
+		// automatic containers are not persisted
+		if (element instanceof AbstractTask || element instanceof RepositoryQuery
+				|| (element instanceof AbstractTaskCategory && !(element instanceof AutomaticRepositoryTaskContainer))) {
+			changedHandles.add(((IRepositoryElement) element).getHandleIdentifier());
+		}
 	}
 
 	public void preTaskActivated(ITask task) {
@@ -170,6 +386,7 @@ public class TaskListExternalizationParticipant extends AbstractExternalizationP
 	public void taskActivated(ITask task) {
 		synchronized (TaskListExternalizationParticipant.this) {
 			dirty = true;
+			changedHandles.add(task.getHandleIdentifier());
 		}
 		manager.requestSave();
 		return;
@@ -178,6 +395,7 @@ public class TaskListExternalizationParticipant extends AbstractExternalizationP
 	public void taskDeactivated(ITask task) {
 		synchronized (TaskListExternalizationParticipant.this) {
 			dirty = true;
+			changedHandles.add(task.getHandleIdentifier());
 		}
 		manager.requestSave();
 		return;
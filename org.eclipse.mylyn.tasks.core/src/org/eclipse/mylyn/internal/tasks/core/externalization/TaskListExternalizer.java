@@ -21,6 +21,8 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -28,9 +30,12 @@ import java.util.zip.ZipOutputStream;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.mylyn.internal.tasks.core.AbstractTask;
+import org.eclipse.mylyn.internal.tasks.core.AbstractTaskCategory;
 import org.eclipse.mylyn.internal.tasks.core.ITasksCoreConstants;
 import org.eclipse.mylyn.internal.tasks.core.ITransferList;
 import org.eclipse.mylyn.internal.tasks.core.RepositoryModel;
+import org.eclipse.mylyn.internal.tasks.core.RepositoryQuery;
 import org.eclipse.mylyn.internal.tasks.core.XmlReaderUtil;
 import org.eclipse.mylyn.tasks.core.IRepositoryManager;
 import org.w3c.dom.Document;
@@ -52,12 +57,19 @@ public class TaskListExternalizer {
 
 	private Document orphanDocument;
 
+	private String snapshotId;
+
+	private boolean journalComplete;
+
+	private int journalTransactionCount;
+
 	public TaskListExternalizer(RepositoryModel repositoryModel, IRepositoryManager repositoryManager) {
 		this.repositoryModel = repositoryModel;
 		this.repositoryManager = repositoryManager;
 	}
 
 	public void writeTaskList(ITransferList taskList, File outFile) throws CoreException {
+		String newSnapshotId = Long.toString(System.currentTimeMillis());
 		try (FileOutputStream outStream = new FileOutputStream(outFile)) {
 			try (ZipOutputStream zipOutStream = new ZipOutputStream(outStream)) {
 				ZipEntry zipEntry = new ZipEntry(ITasksCoreConstants.OLD_TASK_LIST_FILE);
@@ -66,7 +78,7 @@ public class TaskListExternalizer {
 
 				SaxTaskListWriter writer = new SaxTaskListWriter();
 				writer.setOutputStream(zipOutStream);
-				writer.writeTaskListToStream(taskList, orphanDocument);
+				writer.writeTaskListToStream(taskList, orphanDocument, newSnapshotId);
 
 				zipOutStream.flush();
 				zipOutStream.closeEntry();
@@ -76,9 +88,54 @@ public class TaskListExternalizer {
 			throw new CoreException(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN, "Saving Task List failed", //$NON-NLS-1$
 					e));
 		}
+		this.snapshotId = newSnapshotId;
+		this.journalComplete = true;
+		this.journalTransactionCount = 0;
+	}
+
+	/**
+	 * Appends a transaction with the current state of the given elements to <code>journalFile</code>. The journal
+	 * belongs to the snapshot that was last read or written by this externalizer.
+	 *
+	 * @see #readTaskList(ITransferList, File, File, boolean)
+	 */
+	public void appendJournal(File journalFile, Collection<AbstractTask> tasks,
+			Collection<AbstractTaskCategory> categories, Collection<RepositoryQuery> queries,
+			Collection<String> removedHandles) throws CoreException {
+		if (snapshotId == null) {
+			throw new CoreException(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN,
+					"Task list journal requires a snapshot")); //$NON-NLS-1$
+		}
+		try (OutputStream out = new FileOutputStream(journalFile, true)) {
+			SaxTaskListWriter writer = new SaxTaskListWriter();
+			writer.setOutputStream(out);
+			writer.writeTransactionToStream(snapshotId, tasks, categories, queries, removedHandles);
+			out.flush();
+		} catch (IOException e) {
+			// the transaction may have been partially written
+			journalComplete = false;
+			throw new CoreException(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN,
+					"Saving Task List journal failed", e)); //$NON-NLS-1$
+		}
+		journalTransactionCount++;
 	}
 
 	public void readTaskList(ITransferList taskList, File inFile) throws CoreException {
+		readTaskList(taskList, inFile, null, false);
+	}
+
+	/**
+	 * Reads the task list from <code>inFile</code> and applies the transactions from <code>journalFile</code> that
+	 * belong to it.
+	 *
+	 * @param journalFile
+	 *            the journal, may be <code>null</code>
+	 * @param deferTaskDetails
+	 *            if true, details such as notes and attributes of tasks are only applied when they are first accessed
+	 * @see AbstractTask#loadPendingDetails()
+	 */
+	public void readTaskList(ITransferList taskList, File inFile, File journalFile, boolean deferTaskDetails)
+			throws CoreException {
 		if (!inFile.exists()) {
 			throw new CoreException(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN,
 					"Task list file not found \"" + inFile.getAbsolutePath() + "\"")); //$NON-NLS-1$ //$NON-NLS-2$
@@ -90,15 +147,43 @@ public class TaskListExternalizer {
 
 		try (InputStream taskListFile = openTaskList(inFile)) {
 			XMLReader reader = XmlReaderUtil.createXmlReader();
-			SaxTaskListHandler handler = new SaxTaskListHandler(taskList, repositoryModel, repositoryManager);
-			reader.setContentHandler(handler);
+			SaxTaskListHandler handler = new SaxTaskListHandler(taskList, repositoryModel, repositoryManager,
+					deferTaskDetails);
+			SaxTaskListJournalHandler journalHandler = new SaxTaskListJournalHandler(handler, journalFile);
+			reader.setContentHandler(journalHandler);
 			reader.parse(new InputSource(taskListFile));
 			this.orphanDocument = handler.getOrphans();
+			this.snapshotId = journalHandler.getSnapshotId();
+			this.journalComplete = journalHandler.isJournalComplete();
+			this.journalTransactionCount = journalHandler.getTransactionCount();
 		} catch (SAXException | IOException e) {
 			throw new CoreException(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN, e.getMessage(), e));
 		}
 	}
 
+	/**
+	 * Returns the id of the snapshot that was last read or written or <code>null</code>, if the task list was read from
+	 * a file that was written without an id.
+	 */
+	public String getSnapshotId() {
+		return snapshotId;
+	}
+
+	/**
+	 * Returns false, if the journal could not be completely read or written. Subsequent changes need to be saved to a
+	 * new snapshot in that case.
+	 */
+	public boolean isJournalComplete() {
+		return journalComplete;
+	}
+
+	/**
+	 * Returns the number of journal transactions since the last snapshot.
+	 */
+	public int getJournalTransactionCount() {
+		return journalTransactionCount;
+	}
+
 	/**
 	 * Opens the specified XML file
 	 *
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core.sync;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+
+/**
+ * Limits the number of requests that are sent concurrently to a repository. Permits are shared by all synchronization
+ * jobs for a repository so that jobs that run at the same time do not multiply the load on the repository.
+ */
+class RepositoryRequestLimiter {
+
+	private static class Permits {
+
+		private final int maxPermits;
+
+		private final Semaphore semaphore;
+
+		Permits(int maxPermits) {
+			this.maxPermits = maxPermits;
+			this.semaphore = new Semaphore(maxPermits, true);
+		}
+
+	}
+
+	private final Map<String, Permits> permitsByRepository = new HashMap<String, Permits>();
+
+	/**
+	 * Returns the permits for <code>repository</code>. A permit needs to be acquired before each request and released
+	 * when the request has completed. If <code>maxPermits</code> differs from the value that was previously used for
+	 * the repository new permits are returned, requests that hold permits of the previous limit continue to run.
+	 */
+	public synchronized Semaphore getPermits(TaskRepository repository, int maxPermits) {
+		String key = repository.getConnectorKind() + ":" + repository.getRepositoryUrl(); //$NON-NLS-1$
+		Permits permits = permitsByRepository.get(key);
+		if (permits == null || permits.maxPermits != maxPermits) {
+			permits = new Permits(maxPermits);
+			permitsByRepository.put(key, permits);
+		}
+		return permits.semaphore;
+	}
+
+}
@@ -66,7 +66,7 @@ public class SynchronizationSession implements ISynchronizationSession {
 		return data;
 	}
 
-	public Set<ITask> getStaleTasks() {
+	public synchronized Set<ITask> getStaleTasks() {
 		if (staleTasks == null) {
 			return Collections.emptySet();
 		} else {
@@ -98,9 +98,9 @@ public class SynchronizationSession implements ISynchronizationSession {
 		return user;
 	}
 
-	public void markStale(ITask task) {
+	public synchronized void markStale(ITask task) {
 		if (staleTasks == null) {
-			staleTasks = new HashSet<ITask>();
+			staleTasks = Collections.synchronizedSet(new HashSet<ITask>());
 		}
 		staleTasks.add(task);
 	}
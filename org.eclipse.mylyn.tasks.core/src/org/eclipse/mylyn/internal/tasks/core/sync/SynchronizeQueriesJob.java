@@ -19,11 +19,17 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -36,6 +42,7 @@ import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.mylyn.commons.core.StatusHandler;
 import org.eclipse.mylyn.commons.net.Policy;
 import org.eclipse.mylyn.internal.tasks.core.AbstractTask;
+import org.eclipse.mylyn.internal.tasks.core.ITaskListRunnable;
 import org.eclipse.mylyn.internal.tasks.core.ITasksCoreConstants;
 import org.eclipse.mylyn.internal.tasks.core.ITasksCoreConstants.ObjectSchedulingRule;
 import org.eclipse.mylyn.internal.tasks.core.RepositoryQuery;
@@ -53,6 +60,8 @@ import org.eclipse.mylyn.tasks.core.sync.ISynchronizationSession;
 import org.eclipse.mylyn.tasks.core.sync.SynchronizationJob;
 import org.eclipse.osgi.util.NLS;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 /**
  * @author Mik Kersten
  * @author Rob Elves
@@ -76,43 +85,126 @@ public class SynchronizeQueriesJob extends SynchronizationJob {
 
 		@Override
 		public void accept(TaskData taskData) {
-			ITask task = taskList.getTask(taskData.getRepositoryUrl(), taskData.getTaskId());
-			if (task == null) {
-				task = tasksModel.createTask(repository, taskData.getTaskId());
-				((AbstractTask) task).setSynchronizationState(SynchronizationState.INCOMING_NEW);
-				if (taskData.isPartial() && connector.canSynchronizeTask(repository, task)) {
-					session.markStale(task);
-				}
-			} else {
-				removedQueryResults.remove(task);
-			}
+			ITask task = addTask(taskData);
+			putTaskData(task, taskData, session);
+		}
+
+		/**
+		 * Adds the task for <code>taskData</code> to the query without storing the task data.
+		 */
+		public ITask addTask(TaskData taskData) {
+			ITask task = getOrCreateTask(taskData, session);
+			removedQueryResults.remove(task);
 			taskList.addTask(task, repositoryQuery);
-			try {
-				session.putTaskData(task, taskData);
-			} catch (CoreException e) {
-				StatusHandler.log(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN, "Failed to save task", e)); //$NON-NLS-1$
-			}
+			return task;
 		}
 
 		public Set<ITask> getRemovedChildren() {
 			return removedQueryResults;
 		}
 
+		public RepositoryQuery getRepositoryQuery() {
+			return repositoryQuery;
+		}
+
 		@Override
 		public void failed(String taskId, IStatus status) {
-			ITask task = taskList.getTask(repositoryQuery.getRepositoryUrl(), taskId);
-			if (task != null && status != null) {
-				statuses.add(status);
-				((AbstractTask) task).setStatus(status);
-				if (!isUser()) {
-					((AbstractTask) task).setSynchronizing(false);
+			updateTaskStatus(repositoryQuery, taskId, status);
+		}
+
+	}
+
+	/**
+	 * Passes the results of a query that is performed on a worker thread to the job thread as they are received. The
+	 * number of pending results is bounded to avoid holding the complete result sets of queries in memory.
+	 */
+	private class QueryResultCollector extends TaskDataCollector {
+
+		private final TaskCollector collector;
+
+		private final BlockingQueue<Runnable> results;
+
+		public QueryResultCollector(TaskCollector collector, BlockingQueue<Runnable> results) {
+			this.collector = collector;
+			this.results = results;
+		}
+
+		@Override
+		public void accept(TaskData taskData) {
+			post(new QueryTaskData(collector, taskData));
+		}
+
+		@Override
+		public void failed(final String taskId, final IStatus status) {
+			post(new Runnable() {
+				public void run() {
+					collector.failed(taskId, status);
 				}
-				taskList.notifyElementChanged(task);
+			});
+		}
+
+		public void completed(IStatus status) {
+			post(new QueryCompletion(collector, status));
+		}
+
+		private void post(Runnable result) {
+			try {
+				results.put(result);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
 			}
 		}
 
 	}
 
+	/**
+	 * A result of a query. Results that are received together are added to the task list in a single operation.
+	 */
+	private static class QueryTaskData implements Runnable {
+
+		private final TaskCollector collector;
+
+		private final TaskData taskData;
+
+		public QueryTaskData(TaskCollector collector, TaskData taskData) {
+			this.collector = collector;
+			this.taskData = taskData;
+		}
+
+		public void run() {
+			collector.accept(taskData);
+		}
+
+	}
+
+	private class QueryCompletion implements Runnable {
+
+		private final TaskCollector collector;
+
+		private final IStatus status;
+
+		public QueryCompletion(TaskCollector collector, IStatus status) {
+			this.collector = collector;
+			this.status = status;
+		}
+
+		public void run() {
+			queryCompleted(collector, status);
+		}
+
+	}
+
+	private static final long POLL_INTERVAL = 100;
+
+	/**
+	 * maximum number of results that worker threads pass to the job thread before they wait for results to be
+	 * processed
+	 */
+	private static final int MAX_PENDING_RESULTS = 100;
+
+	private static final RepositoryRequestLimiter requestLimiter = new RepositoryRequestLimiter();
+
 	private final AbstractRepositoryConnector connector;
 
 	private final Set<RepositoryQuery> queries;
@@ -136,7 +228,7 @@ public class SynchronizeQueriesJob extends SynchronizationJob {
 		this.connector = connector;
 		this.repository = repository;
 		this.queries = queries;
-		this.statuses = new ArrayList<IStatus>();
+		this.statuses = Collections.synchronizedList(new ArrayList<IStatus>());
 	}
 
 	@Override
@@ -161,7 +253,7 @@ public class SynchronizeQueriesJob extends SynchronizationJob {
 				try {
 					Job.getJobManager().beginRule(rule, monitor);
 
-					final Map<String, TaskRelation[]> relationsByTaskId = new HashMap<String, TaskRelation[]>();
+					final Map<String, TaskRelation[]> relationsByTaskId = new ConcurrentHashMap<String, TaskRelation[]>();
 					SynchronizationSession session = new SynchronizationSession(taskDataManager) {
 						@Override
 						public void putTaskData(ITask task, TaskData taskData) throws CoreException {
@@ -255,7 +347,13 @@ public class SynchronizeQueriesJob extends SynchronizationJob {
 		return Status.OK_STATUS;
 	}
 
-	private void synchronizeQueries(IProgressMonitor monitor, SynchronizationSession session) {
+	private void synchronizeQueries(IProgressMonitor monitor, SynchronizationSession session)
+			throws InterruptedException, CoreException {
+		int maxConcurrentQueries = Math.min(getMaxConcurrentQueries(repository), queries.size());
+		if (maxConcurrentQueries > 1) {
+			synchronizeQueriesConcurrently(monitor, session, maxConcurrentQueries);
+			return;
+		}
 		for (RepositoryQuery repositoryQuery : queries) {
 			Policy.checkCanceled(monitor);
 			monitor.subTask(MessageFormat.format(Messages.SynchronizeQueriesJob_Synchronizing_query_X,
@@ -264,6 +362,162 @@ public class SynchronizeQueriesJob extends SynchronizationJob {
 		}
 	}
 
+	/**
+	 * Performs up to <code>maxConcurrentQueries</code> queries in parallel. The limit applies to all jobs that
+	 * synchronize the repository at the same time. Worker threads only invoke the connector, results are merged into
+	 * the task list on the calling thread as they are received.
+	 */
+	private void synchronizeQueriesConcurrently(IProgressMonitor monitor, final SynchronizationSession session,
+			int maxConcurrentQueries) throws InterruptedException, CoreException {
+		final Semaphore permits = requestLimiter.getPermits(repository, getMaxConcurrentQueries(repository));
+		final BlockingQueue<Runnable> results = new ArrayBlockingQueue<Runnable>(MAX_PENDING_RESULTS);
+		ExecutorService executor = Executors.newFixedThreadPool(maxConcurrentQueries,
+				new ThreadFactoryBuilder().setNameFormat("Mylyn Query Synchronization %d").setDaemon(true).build()); //$NON-NLS-1$
+		try {
+			final IProgressMonitor workerMonitor = new WorkerProgressMonitor(
+					isUser() ? monitor : Policy.backgroundMonitorFor(monitor));
+			for (final RepositoryQuery repositoryQuery : queries) {
+				Policy.checkCanceled(monitor);
+				final QueryResultCollector collector = new QueryResultCollector(
+						new TaskCollector(repositoryQuery, session), results);
+				executor.execute(new Runnable() {
+					public void run() {
+						IStatus status;
+						try {
+							permits.acquire();
+							try {
+								status = connector.performQuery(repository, repositoryQuery, collector, session,
+										workerMonitor);
+							} finally {
+								permits.release();
+							}
+						} catch (InterruptedException e) {
+							// the job has completed
+							return;
+						} catch (OperationCanceledException e) {
+							status = Status.CANCEL_STATUS;
+						} catch (RuntimeException e) {
+							status = new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN,
+									"Synchronization of query \"" + repositoryQuery.getSummary() + "\" failed", e); //$NON-NLS-1$ //$NON-NLS-2$
+						}
+						try {
+							collector.completed(status);
+						} catch (OperationCanceledException e) {
+							// the job has completed
+						}
+					}
+				});
+			}
+
+			int completed = 0;
+			while (completed < queries.size()) {
+				Policy.checkCanceled(monitor);
+				Runnable result = results.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+				if (result != null) {
+					List<Runnable> received = new ArrayList<Runnable>(MAX_PENDING_RESULTS);
+					received.add(result);
+					results.drainTo(received);
+					int completedQueries = processResults(received, session, monitor);
+					completed += completedQueries;
+					monitor.worked(completedQueries * 20);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Adds the tasks of <code>received</code> to their queries in a single task list operation and stores their task
+	 * data outside of the task list lock before failures and completed queries are processed.
+	 *
+	 * @return the number of completed queries
+	 */
+	private int processResults(List<Runnable> received, final SynchronizationSession session,
+			IProgressMonitor monitor) throws CoreException {
+		final List<QueryTaskData> taskDataList = new ArrayList<QueryTaskData>(received.size());
+		for (Runnable result : received) {
+			if (result instanceof QueryTaskData) {
+				taskDataList.add((QueryTaskData) result);
+			}
+		}
+		if (!taskDataList.isEmpty()) {
+			final List<ITask> tasks = new ArrayList<ITask>(taskDataList.size());
+			taskList.run(new ITaskListRunnable() {
+				public void execute(IProgressMonitor monitor) throws CoreException {
+					for (QueryTaskData result : taskDataList) {
+						tasks.add(result.collector.addTask(result.taskData));
+					}
+				}
+			}, monitor);
+
+			// task data is written outside of the task list lock
+			for (int i = 0; i < tasks.size(); i++) {
+				putTaskData(tasks.get(i), taskDataList.get(i).taskData, session);
+			}
+		}
+
+		int completed = 0;
+		for (Runnable result : received) {
+			if (!(result instanceof QueryTaskData)) {
+				result.run();
+				if (result instanceof QueryCompletion) {
+					completed++;
+				}
+			}
+		}
+		return completed;
+	}
+
+	/**
+	 * Returns the maximum number of concurrent queries for <code>repository</code>.
+	 *
+	 * @see ITasksCoreConstants#PROPERTY_SYNCHRONIZATION_MAX_CONCURRENT_QUERIES
+	 */
+	public static int getMaxConcurrentQueries(TaskRepository repository) {
+		String value = repository.getProperty(ITasksCoreConstants.PROPERTY_SYNCHRONIZATION_MAX_CONCURRENT_QUERIES);
+		if (value != null) {
+			try {
+				return Math.max(1, Integer.parseInt(value.trim()));
+			} catch (NumberFormatException e) {
+				// use default
+			}
+		}
+		return ITasksCoreConstants.DEFAULT_SYNCHRONIZATION_MAX_CONCURRENT_QUERIES;
+	}
+
+	private ITask getOrCreateTask(TaskData taskData, SynchronizationSession session) {
+		ITask task = taskList.getTask(taskData.getRepositoryUrl(), taskData.getTaskId());
+		if (task == null) {
+			task = tasksModel.createTask(repository, taskData.getTaskId());
+			((AbstractTask) task).setSynchronizationState(SynchronizationState.INCOMING_NEW);
+			if (taskData.isPartial() && connector.canSynchronizeTask(repository, task)) {
+				session.markStale(task);
+			}
+		}
+		return task;
+	}
+
+	private void putTaskData(ITask task, TaskData taskData, SynchronizationSession session) {
+		try {
+			session.putTaskData(task, taskData);
+		} catch (CoreException e) {
+			StatusHandler.log(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN, "Failed to save task", e)); //$NON-NLS-1$
+		}
+	}
+
+	private void updateTaskStatus(RepositoryQuery repositoryQuery, String taskId, IStatus status) {
+		ITask task = taskList.getTask(repositoryQuery.getRepositoryUrl(), taskId);
+		if (task != null && status != null) {
+			statuses.add(status);
+			((AbstractTask) task).setStatus(status);
+			if (!isUser()) {
+				((AbstractTask) task).setSynchronizing(false);
+			}
+			taskList.notifyElementChanged(task);
+		}
+	}
+
 	private boolean postSynchronization(SynchronizationSession event, IProgressMonitor monitor) {
 		try {
 			Policy.checkCanceled(monitor);
@@ -304,12 +558,21 @@ public class SynchronizeQueriesJob extends SynchronizationJob {
 			monitor = Policy.backgroundMonitorFor(monitor);
 		}
 		IStatus result = connector.performQuery(repository, repositoryQuery, collector, event, monitor);
-		if (result == null || result.isOK()) {
+		queryCompleted(collector, result);
+	}
+
+	private void queryCompleted(TaskCollector collector, IStatus result) {
+		if (isOk(result)) {
 			Set<ITask> removedChildren = collector.getRemovedChildren();
 			if (!removedChildren.isEmpty()) {
-				taskList.removeFromContainer(repositoryQuery, removedChildren);
+				taskList.removeFromContainer(collector.getRepositoryQuery(), removedChildren);
 			}
+		}
+		queryCompleted(collector.getRepositoryQuery(), result);
+	}
 
+	private void queryCompleted(RepositoryQuery repositoryQuery, IStatus result) {
+		if (isOk(result)) {
 			repositoryQuery.setLastSynchronizedStamp(new SimpleDateFormat("MMM d, H:mm:ss").format(new Date())); //$NON-NLS-1$
 		} else if (result.getSeverity() == IStatus.CANCEL) {
 			throw new OperationCanceledException();
@@ -319,6 +582,10 @@ public class SynchronizeQueriesJob extends SynchronizationJob {
 		}
 	}
 
+	private static boolean isOk(IStatus result) {
+		return result == null || result.isOK();
+	}
+
 	private void updateQueryStatus(final IStatus status) {
 		for (RepositoryQuery repositoryQuery : queries) {
 			repositoryQuery.setStatus(status);
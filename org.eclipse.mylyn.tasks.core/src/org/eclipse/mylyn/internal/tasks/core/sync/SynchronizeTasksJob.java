@@ -22,6 +22,16 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -51,6 +61,8 @@ import org.eclipse.mylyn.tasks.core.data.TaskRelation;
 import org.eclipse.mylyn.tasks.core.sync.SynchronizationJob;
 import org.eclipse.osgi.util.NLS;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 /**
  * @author Mik Kersten
  * @author Rob Elves
@@ -58,6 +70,15 @@ import org.eclipse.osgi.util.NLS;
  */
 public class SynchronizeTasksJob extends SynchronizationJob {
 
+	/**
+	 * Upper bound for the number of concurrent requests per repository.
+	 */
+	private static final int MAX_CONCURRENT_REQUESTS = 16;
+
+	private static final long POLL_INTERVAL = 100;
+
+	private static final RepositoryRequestLimiter requestLimiter = new RepositoryRequestLimiter();
+
 	private final AbstractRepositoryConnector connector;
 
 	private final TaskDataManager taskDataManager;
@@ -95,7 +116,7 @@ public class SynchronizeTasksJob extends SynchronizationJob {
 		this.connector = connector;
 		this.repositoryManager = repositoryManager;
 		this.allTasks = tasks;
-		this.statuses = new ArrayList<IStatus>();
+		this.statuses = Collections.synchronizedList(new ArrayList<IStatus>());
 		setRule(new MutexSchedulingRule());
 	}
 
@@ -148,7 +169,7 @@ public class SynchronizeTasksJob extends SynchronizationJob {
 	}
 
 	private void run(Set<ITask> tasks, IProgressMonitor monitor) {
-		relationsByTaskId = new HashMap<String, TaskRelation[]>();
+		relationsByTaskId = new ConcurrentHashMap<String, TaskRelation[]>();
 		updateRelations = true;
 		runInternal(tasks, monitor);
 		synchronizedTaskRelations(monitor, relationsByTaskId);
@@ -196,29 +217,39 @@ public class SynchronizeTasksJob extends SynchronizationJob {
 		if (!isUser()) {
 			monitor = Policy.backgroundMonitorFor(monitor);
 		}
+		int maxConcurrentRequests = getMaxConcurrentRequests(taskRepository);
+		TaskDataUpdater updater = new TaskDataUpdater(taskRepository, monitor, maxConcurrentRequests > 1);
 		try {
 			monitor.beginTask(Messages.SynchronizeTasksJob_Processing, tasks.size() * 100);
-			if (canGetMultiTaskData(taskRepository)) {
-				try {
-					for (ITask task : tasks) {
-						resetStatus(task);
-					}
-					synchronizeTasks(new SubProgressMonitor(monitor, tasks.size() * 100), taskRepository, tasks);
-				} catch (CoreException e) {
-					for (ITask task : tasks) {
-						updateStatus(taskRepository, task, e.getStatus());
-					}
-				}
-			} else {
-				for (ITask task : tasks) {
-					Policy.checkCanceled(monitor);
-					resetStatus(task);
+			try {
+				if (canGetMultiTaskData(taskRepository)) {
 					try {
-						synchronizeTask(new SubProgressMonitor(monitor, 100), task);
+						for (ITask task : tasks) {
+							resetStatus(task);
+						}
+						synchronizeTasks(new SubProgressMonitor(monitor, tasks.size() * 100), taskRepository, tasks,
+								updater);
 					} catch (CoreException e) {
-						updateStatus(taskRepository, task, e.getStatus());
+						for (ITask task : tasks) {
+							updateStatus(taskRepository, task, e.getStatus());
+						}
+					}
+				} else if (maxConcurrentRequests > 1) {
+					synchronizeTasksConcurrently(monitor, tasks, maxConcurrentRequests, updater);
+				} else {
+					for (ITask task : tasks) {
+						Policy.checkCanceled(monitor);
+						resetStatus(task);
+						try {
+							synchronizeTask(new SubProgressMonitor(monitor, 100), task);
+						} catch (CoreException e) {
+							updateStatus(taskRepository, task, e.getStatus());
+						}
 					}
 				}
+			} finally {
+				// task data that has been received is persisted even if the synchronization is canceled
+				updater.await();
 			}
 		} catch (OperationCanceledException e) {
 			throw e;
@@ -229,11 +260,103 @@ public class SynchronizeTasksJob extends SynchronizationJob {
 		}
 	}
 
+	/**
+	 * Retrieves tasks individually using up to <code>maxConcurrentRequests</code> threads. The limit applies to all
+	 * jobs that synchronize the repository at the same time. Progress is reported and cancellation is checked on the
+	 * calling thread while requests are in flight.
+	 */
+	private void synchronizeTasksConcurrently(IProgressMonitor monitor, Set<ITask> tasks, int maxConcurrentRequests,
+			TaskDataUpdater updater) throws InterruptedException {
+		final Semaphore permits = requestLimiter.getPermits(taskRepository, maxConcurrentRequests);
+		int threads = Math.max(1, Math.min(maxConcurrentRequests, tasks.size()));
+		ExecutorService executor = Executors.newFixedThreadPool(threads,
+				new ThreadFactoryBuilder().setNameFormat("Mylyn Task Retrieval %d").setDaemon(true).build()); //$NON-NLS-1$
+		try {
+			CompletionService<TaskData> completionService = new ExecutorCompletionService<TaskData>(executor);
+			Map<Future<TaskData>, ITask> taskByFuture = new HashMap<Future<TaskData>, ITask>();
+			final IProgressMonitor workerMonitor = new WorkerProgressMonitor(monitor);
+			for (final ITask task : tasks) {
+				Policy.checkCanceled(monitor);
+				resetStatus(task);
+				Future<TaskData> future = completionService.submit(new Callable<TaskData>() {
+					public TaskData call() throws Exception {
+						permits.acquire();
+						try {
+							return getTaskData(task, workerMonitor);
+						} finally {
+							permits.release();
+						}
+					}
+				});
+				taskByFuture.put(future, task);
+			}
+
+			for (int i = 0; i < tasks.size(); i++) {
+				Future<TaskData> future = poll(completionService, monitor);
+				ITask task = taskByFuture.get(future);
+				monitor.subTask(MessageFormat.format(Messages.SynchronizeTasksJob_Receiving_task_X, task.getSummary()));
+				try {
+					updater.update(task, future.get());
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof OperationCanceledException) {
+						throw (OperationCanceledException) cause;
+					} else if (cause instanceof CoreException) {
+						updateStatus(taskRepository, task, ((CoreException) cause).getStatus());
+					} else {
+						updateStatus(taskRepository, task, new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN,
+								"Synchronization of task \"" + task + "\" failed", cause)); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+				}
+				monitor.worked(100);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private Future<TaskData> poll(CompletionService<TaskData> completionService, IProgressMonitor monitor)
+			throws InterruptedException {
+		while (true) {
+			Policy.checkCanceled(monitor);
+			Future<TaskData> future = completionService.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+			if (future != null) {
+				return future;
+			}
+		}
+	}
+
+	/**
+	 * Returns the maximum number of concurrent requests for <code>repository</code>.
+	 *
+	 * @see ITasksCoreConstants#PROPERTY_SYNCHRONIZATION_MAX_CONCURRENT_REQUESTS
+	 */
+	public static int getMaxConcurrentRequests(TaskRepository repository) {
+		String value = repository.getProperty(ITasksCoreConstants.PROPERTY_SYNCHRONIZATION_MAX_CONCURRENT_REQUESTS);
+		if (value != null) {
+			try {
+				return Math.max(1, Math.min(Integer.parseInt(value.trim()), MAX_CONCURRENT_REQUESTS));
+			} catch (NumberFormatException e) {
+				// use default
+			}
+		}
+		return ITasksCoreConstants.DEFAULT_SYNCHRONIZATION_MAX_CONCURRENT_REQUESTS;
+	}
+
 	private boolean canGetMultiTaskData(TaskRepository taskRepository) {
 		AbstractTaskDataHandler taskDataHandler = connector.getTaskDataHandler();
 		return taskDataHandler != null && taskDataHandler.canGetMultiTaskData(taskRepository);
 	}
 
+	private TaskData getTaskData(ITask task, IProgressMonitor monitor) throws CoreException {
+		TaskData taskData = connector.getTaskData(taskRepository, task.getTaskId(), monitor);
+		if (taskData != null) {
+			return taskData;
+		}
+		throw new CoreException(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN,
+				"Connector failed to return task data for task \"" + task + "\"")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
 	private void synchronizeTask(IProgressMonitor monitor, ITask task) throws CoreException {
 		monitor.subTask(MessageFormat.format(Messages.SynchronizeTasksJob_Receiving_task_X, task.getSummary()));
 		resetStatus(task);
@@ -272,8 +395,8 @@ public class SynchronizeTasksJob extends SynchronizationJob {
 		}
 	}
 
-	private void synchronizeTasks(final IProgressMonitor monitor, final TaskRepository repository, Set<ITask> tasks)
-			throws CoreException {
+	private void synchronizeTasks(final IProgressMonitor monitor, final TaskRepository repository, Set<ITask> tasks,
+			final TaskDataUpdater updater) throws CoreException {
 		monitor.subTask(MessageFormat.format(Messages.SynchronizeTasksJob_Receiving_X_tasks_from_X, tasks.size(),
 				repository.getRepositoryLabel()));
 
@@ -287,7 +410,7 @@ public class SynchronizeTasksJob extends SynchronizationJob {
 			public void accept(TaskData taskData) {
 				ITask task = idToTask.remove(taskData.getTaskId());
 				if (task != null) {
-					updateFromTaskData(repository, task, taskData, monitor);
+					updater.update(task, taskData);
 				}
 			}
 
@@ -328,6 +451,79 @@ public class SynchronizeTasksJob extends SynchronizationJob {
 		return task;
 	}
 
+	/**
+	 * Persists received task data. If tasks are retrieved concurrently updates run on a separate thread so that
+	 * retrieval of further tasks is not blocked by disk access, otherwise they run on the calling thread. Updates are
+	 * applied in the order they are submitted.
+	 */
+	private class TaskDataUpdater {
+
+		private final ExecutorService executor;
+
+		private final List<Future<?>> updates = Collections.synchronizedList(new ArrayList<Future<?>>());
+
+		private final TaskRepository repository;
+
+		private final IProgressMonitor monitor;
+
+		public TaskDataUpdater(TaskRepository repository, IProgressMonitor monitor, boolean concurrent) {
+			this.repository = repository;
+			if (concurrent) {
+				this.executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat(
+						"Mylyn Task Data Update %d").setDaemon(true).build()); //$NON-NLS-1$
+				this.monitor = new WorkerProgressMonitor(monitor);
+			} else {
+				this.executor = null;
+				this.monitor = monitor;
+			}
+		}
+
+		public void update(final ITask task, final TaskData taskData) {
+			if (executor == null) {
+				updateFromTaskData(repository, task, taskData, monitor);
+				return;
+			}
+			updates.add(executor.submit(new Runnable() {
+				public void run() {
+					updateFromTaskData(repository, task, taskData, monitor);
+				}
+			}));
+		}
+
+		/**
+		 * Waits for all submitted updates to complete.
+		 */
+		public void await() {
+			if (executor == null) {
+				return;
+			}
+			executor.shutdown();
+			List<Future<?>> pending;
+			synchronized (updates) {
+				pending = new ArrayList<Future<?>>(updates);
+			}
+			boolean interrupted = false;
+			for (Future<?> update : pending) {
+				while (true) {
+					try {
+						update.get();
+						break;
+					} catch (InterruptedException e) {
+						interrupted = true;
+					} catch (ExecutionException e) {
+						StatusHandler.log(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN,
+								"Unexpected error during synchronization", e.getCause())); //$NON-NLS-1$
+						break;
+					}
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+	}
+
 	private void updateStatus(TaskRepository repository, ITask task, IStatus status) {
 		statuses.add(status);
 		((AbstractTask) task).setStatus(status);
@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.index.core;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.MultiReader;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ReferenceManager;
+
+/**
+ * Provides near-real-time searchers across the index writers of all shards of the index. Each searcher reads a
+ * {@link MultiReader} over one reader per shard, refreshing the searcher only reopens the readers of shards that have
+ * changed. Shards are added or removed through {@link #setWriter(String, IndexWriter)} and
+ * {@link #removeWriter(String)} and become visible with the next refresh.
+ */
+class ShardedSearcherManager extends ReferenceManager<IndexSearcher> {
+
+	private static class ShardReader {
+
+		final IndexWriter writer;
+
+		final DirectoryReader reader;
+
+		public ShardReader(IndexWriter writer, DirectoryReader reader) {
+			this.writer = writer;
+			this.reader = reader;
+		}
+
+	}
+
+	private final ExecutorService executor;
+
+	/**
+	 * the writers of all shards by shard key, must be synchronized before accessing or modifying
+	 */
+	private final Map<String, IndexWriter> writers = new TreeMap<String, IndexWriter>();
+
+	/**
+	 * the readers of {@link #current} by shard key, only accessed while refreshing or after closing. Holds one
+	 * reference on each reader.
+	 */
+	private Map<String, ShardReader> readers = new TreeMap<String, ShardReader>();
+
+	/**
+	 * @param executor
+	 *            the executor used to search segments in parallel, or null to search on the calling thread
+	 */
+	public ShardedSearcherManager(ExecutorService executor) throws IOException {
+		this.executor = executor;
+		this.current = createSearcher(new ArrayList<IndexReader>());
+	}
+
+	public void setWriter(String shardKey, IndexWriter writer) {
+		synchronized (writers) {
+			writers.put(shardKey, writer);
+		}
+	}
+
+	public void removeWriter(String shardKey) {
+		synchronized (writers) {
+			writers.remove(shardKey);
+		}
+	}
+
+	@Override
+	protected IndexSearcher refreshIfNeeded(IndexSearcher referenceToRefresh) throws IOException {
+		Map<String, IndexWriter> writers;
+		synchronized (this.writers) {
+			writers = new TreeMap<String, IndexWriter>(this.writers);
+		}
+
+		Map<String, ShardReader> newReaders = new TreeMap<String, ShardReader>();
+		List<DirectoryReader> openedReaders = new ArrayList<DirectoryReader>();
+		boolean success = false;
+		try {
+			boolean changed = !readers.keySet().equals(writers.keySet());
+			for (Entry<String, IndexWriter> entry : writers.entrySet()) {
+				IndexWriter writer = entry.getValue();
+				ShardReader shardReader = readers.get(entry.getKey());
+				DirectoryReader reader;
+				if (shardReader == null || shardReader.writer != writer) {
+					reader = DirectoryReader.open(writer);
+				} else {
+					reader = DirectoryReader.openIfChanged(shardReader.reader, writer);
+				}
+				if (reader != null) {
+					openedReaders.add(reader);
+					newReaders.put(entry.getKey(), new ShardReader(writer, reader));
+					changed = true;
+				} else {
+					newReaders.put(entry.getKey(), shardReader);
+				}
+			}
+			if (!changed) {
+				success = true;
+				return null;
+			}
+
+			List<IndexReader> subReaders = new ArrayList<IndexReader>(newReaders.size());
+			for (ShardReader shardReader : newReaders.values()) {
+				subReaders.add(shardReader.reader);
+			}
+			IndexSearcher searcher = createSearcher(subReaders);
+
+			// release readers that are no longer used by the new searcher, the previous searcher holds its own references
+			for (Entry<String, ShardReader> entry : readers.entrySet()) {
+				if (newReaders.get(entry.getKey()) != entry.getValue()) {
+					entry.getValue().reader.decRef();
+				}
+			}
+			readers = newReaders;
+			success = true;
+			return searcher;
+		} finally {
+			if (!success) {
+				for (DirectoryReader reader : openedReaders) {
+					reader.decRef();
+				}
+			}
+		}
+	}
+
+	private IndexSearcher createSearcher(List<IndexReader> subReaders) throws IOException {
+		MultiReader reader = new MultiReader(subReaders.toArray(new IndexReader[subReaders.size()]), false);
+		return new IndexSearcher(reader, executor);
+	}
+
+	@Override
+	protected boolean tryIncRef(IndexSearcher reference) {
+		return reference.getIndexReader().tryIncRef();
+	}
+
+	@Override
+	protected void decRef(IndexSearcher reference) throws IOException {
+		reference.getIndexReader().decRef();
+	}
+
+	@Override
+	protected int getRefCount(IndexSearcher reference) {
+		return reference.getIndexReader().getRefCount();
+	}
+
+	@Override
+	protected void afterClose() throws IOException {
+		for (ShardReader shardReader : readers.values()) {
+			shardReader.reader.decRef();
+		}
+		readers.clear();
+	}
+
+}
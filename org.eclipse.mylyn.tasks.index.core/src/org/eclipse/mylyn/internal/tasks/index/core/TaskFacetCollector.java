@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.index.core;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.search.SimpleCollector;
+
+/**
+ * Counts the values of sorted set doc values fields for all collected documents. Values are counted by ordinal for
+ * each segment and only resolved to strings once per segment, which keeps the cost of collecting a document to a few
+ * array increments.
+ */
+class TaskFacetCollector extends SimpleCollector {
+
+	private final String[] fieldNames;
+
+	private final List<Map<String, Integer>> counts;
+
+	private SortedSetDocValues[] values;
+
+	private int[][] ordinalCounts;
+
+	public TaskFacetCollector(String[] fieldNames) {
+		this.fieldNames = fieldNames;
+		this.counts = new ArrayList<Map<String, Integer>>(fieldNames.length);
+		for (int i = 0; i < fieldNames.length; i++) {
+			counts.add(new HashMap<String, Integer>());
+		}
+	}
+
+	@Override
+	protected void doSetNextReader(LeafReaderContext context) throws IOException {
+		flush();
+		values = new SortedSetDocValues[fieldNames.length];
+		ordinalCounts = new int[fieldNames.length][];
+		for (int i = 0; i < fieldNames.length; i++) {
+			values[i] = DocValues.getSortedSet(context.reader(), fieldNames[i]);
+			ordinalCounts[i] = new int[(int) values[i].getValueCount()];
+		}
+	}
+
+	@Override
+	public void collect(int doc) throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			SortedSetDocValues docValues = values[i];
+			docValues.setDocument(doc);
+			for (long ord = docValues.nextOrd(); ord != SortedSetDocValues.NO_MORE_ORDS; ord = docValues.nextOrd()) {
+				ordinalCounts[i][(int) ord]++;
+			}
+		}
+	}
+
+	@Override
+	public boolean needsScores() {
+		return false;
+	}
+
+	/**
+	 * Returns the counts for the field at <code>index</code> ordered by descending count and ascending value.
+	 */
+	public Map<String, Integer> getCounts(int index) {
+		flush();
+		List<Entry<String, Integer>> entries = new ArrayList<Entry<String, Integer>>(counts.get(index).entrySet());
+		Collections.sort(entries, new Comparator<Entry<String, Integer>>() {
+			public int compare(Entry<String, Integer> o1, Entry<String, Integer> o2) {
+				int result = o2.getValue().compareTo(o1.getValue());
+				return (result != 0) ? result : o1.getKey().compareTo(o2.getKey());
+			}
+		});
+		Map<String, Integer> result = new LinkedHashMap<String, Integer>();
+		for (Entry<String, Integer> entry : entries) {
+			result.put(entry.getKey(), entry.getValue());
+		}
+		return result;
+	}
+
+	private void flush() {
+		if (values == null) {
+			return;
+		}
+		for (int i = 0; i < values.length; i++) {
+			Map<String, Integer> fieldCounts = counts.get(i);
+			int[] segmentCounts = ordinalCounts[i];
+			for (int ord = 0; ord < segmentCounts.length; ord++) {
+				if (segmentCounts[ord] > 0) {
+					String value = values[i].lookupOrd(ord).utf8ToString();
+					Integer count = fieldCounts.get(value);
+					fieldCounts.put(value, (count != null) ? count + segmentCounts[ord] : segmentCounts[ord]);
+				}
+			}
+		}
+		values = null;
+		ordinalCounts = null;
+	}
+
+}
@@ -17,19 +17,32 @@ package org.eclipse.mylyn.internal.tasks.index.core;
 import static org.eclipse.mylyn.tasks.core.data.TaskAttribute.META_INDEXED_AS_CONTENT;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -39,16 +52,20 @@ import org.apache.lucene.document.DateTools;
 import org.apache.lucene.document.DateTools.Resolution;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.SortedSetDocValuesField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
 import org.apache.lucene.index.CorruptIndexException;
 import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexFileNames;
 import org.apache.lucene.index.IndexFormatTooOldException;
-import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.IndexWriterConfig.OpenMode;
 import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.SegmentInfos;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
@@ -56,15 +73,19 @@ import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanClause.Occur;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.Directory;
-import org.apache.lucene.store.FSDirectory;
 import org.apache.lucene.store.LockObtainFailedException;
 import org.apache.lucene.store.NIOFSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.FixedBitSet;
 import org.apache.lucene.util.InfoStream;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -100,6 +121,8 @@ import org.eclipse.mylyn.tasks.core.data.ITaskDataManager;
 import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
 import org.eclipse.mylyn.tasks.core.data.TaskData;
 
+import com.google.common.hash.Hashing;
+
 /**
  * An index on a task list, provides a way to {@link #find(String, TaskCollector, int) search for tasks}, and a way to
  * {@link #matches(ITask, String) match tasks}. Tasks are matched against a search query.
@@ -119,6 +142,10 @@ import org.eclipse.mylyn.tasks.core.data.TaskData;
  * intensive long-running operation. With about 20,000 tasks in my task list and an SSD, reindexing takes about 90
  * seconds.
  * </p>
+ * <p>
+ * Changes are written through a long-lived index writer. They become visible to searches through near-real-time
+ * readers while a batch of tasks is indexed and are committed to disk periodically and when the index is closed.
+ * </p>
  *
  * @author David Green
  * @author Steffen Pingel
@@ -141,6 +168,18 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 
 	private static final String TASK_ATTRIBUTE_NOTES = INDEX_TASK_ATTRIBUTE_PREFIX + "notes"; //$NON-NLS-1$
 
+	private static final String FACET_FIELD_PREFIX = "facet:"; //$NON-NLS-1$
+
+	private static final String SORT_FIELD_PREFIX = "sort:"; //$NON-NLS-1$
+
+	private static final String COMMIT_DATA_INDEX_FORMAT = "mylyn.index.format"; //$NON-NLS-1$
+
+	/**
+	 * the format of documents in the index, must be incremented when the index needs to be rebuilt after changes to
+	 * {@link #createDocument(ITask, TaskData)}
+	 */
+	private static final String INDEX_FORMAT = "4"; //$NON-NLS-1$
+
 	public static final org.eclipse.mylyn.tasks.core.data.AbstractTaskSchema.Field FIELD_IDENTIFIER = new AbstractTaskSchema.Field(
 			TASK_ATTRIBUTE_IDENTIFIER, Messages.TaskListIndex_field_identifier, TaskAttribute.TYPE_SHORT_TEXT,
 			"identifier"); //$NON-NLS-1$
@@ -168,6 +207,24 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 	public static final org.eclipse.mylyn.tasks.core.data.AbstractTaskSchema.Field FIELD_NOTES = new AbstractTaskSchema.Field(
 			TASK_ATTRIBUTE_NOTES, Messages.TaskListIndex_field_notes, TaskAttribute.TYPE_LONG_TEXT, "notes"); //$NON-NLS-1$
 
+	/**
+	 * the fields that values are counted for by {@link #computeFacetCounts(String, Collection)}
+	 */
+	public static final List<AbstractTaskSchema.Field> FACET_FIELDS = Collections
+			.unmodifiableList(Arrays.asList(DefaultTaskSchema.getInstance().PRODUCT,
+					DefaultTaskSchema.getInstance().COMPONENT, DefaultTaskSchema.getInstance().PRIORITY,
+					DefaultTaskSchema.getInstance().STATUS, DefaultTaskSchema.getInstance().USER_ASSIGNED,
+					DefaultTaskSchema.getInstance().USER_REPORTER));
+
+	/**
+	 * the fields that results of {@link #find(String, AbstractTaskSchema.Field, boolean, ResultCursor, int, TaskCollector)}
+	 * can be sorted by
+	 */
+	public static final List<AbstractTaskSchema.Field> SORT_FIELDS = Collections
+			.unmodifiableList(Arrays.asList(DefaultTaskSchema.getInstance().DATE_MODIFICATION,
+					DefaultTaskSchema.getInstance().DATE_CREATION, DefaultTaskSchema.getInstance().PRIORITY,
+					FIELD_TASK_KEY));
+
 	private class MaintainIndexJob extends Job {
 
 		public MaintainIndexJob() {
@@ -195,6 +252,108 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 
 	}
 
+	private class CommitIndexJob extends Job {
+
+		public CommitIndexJob() {
+			super(Messages.TaskListIndex_indexerJob);
+			setUser(false);
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		public IStatus run(IProgressMonitor m) {
+			try {
+				commitIndex();
+			} catch (IOException e) {
+				StatusHandler.log(new Status(IStatus.ERROR, TasksIndexCore.ID_PLUGIN,
+						"Failed to commit task list index", e)); //$NON-NLS-1$
+			}
+			return Status.OK_STATUS;
+		}
+
+	}
+
+	/**
+	 * A part of the index that is stored in a separate directory.
+	 */
+	private static class IndexShard {
+
+		final Directory directory;
+
+		final IndexWriter writer;
+
+		public IndexShard(Directory directory, IndexWriter writer) {
+			this.directory = directory;
+			this.writer = writer;
+		}
+
+	}
+
+	private static class IndexThreadFactory implements ThreadFactory {
+
+		private final String name;
+
+		private final AtomicInteger threadNumber = new AtomicInteger();
+
+		public IndexThreadFactory(String name) {
+			this.name = name;
+		}
+
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, name + " " + threadNumber.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+	/**
+	 * A task that is waiting to be indexed.
+	 */
+	private static class QueuedTask {
+
+		final ITask task;
+
+		/**
+		 * the time the task was first queued
+		 */
+		final long queuedTime;
+
+		/**
+		 * the document to index, or null if the document should be created from the task data store
+		 */
+		Document document;
+
+		public QueuedTask(ITask task, long queuedTime, Document document) {
+			this.task = task;
+			this.queuedTime = queuedTime;
+			this.document = document;
+		}
+
+	}
+
+	/**
+	 * Identifies the last result of a page returned by
+	 * {@link TaskListIndex#find(String, AbstractTaskSchema.Field, boolean, ResultCursor, int, TaskCollector)}. A cursor
+	 * is only valid for the sort order of the query that returned it.
+	 */
+	public static final class ResultCursor {
+
+		private final ScoreDoc lastResult;
+
+		private final AbstractTaskSchema.Field sortField;
+
+		private final boolean descending;
+
+		private ResultCursor(ScoreDoc lastResult, AbstractTaskSchema.Field sortField, boolean descending) {
+			this.lastResult = lastResult;
+			this.sortField = sortField;
+			this.descending = descending;
+		}
+
+	}
+
 	public abstract static class TaskCollector {
 
 		public abstract void collect(ITask task);
@@ -245,35 +404,102 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		STARTUP, REINDEX
 	}
 
+	/**
+	 * the location of the index on the filesystem, the tasks of each repository are stored in a separate shard in a
+	 * sub-folder. Null, if the index is stored in a single {@link #directory}.
+	 */
+	private File indexLocation;
+
+	/**
+	 * the directory of the index if the index is not sharded by repository, null otherwise
+	 */
 	private Directory directory;
 
+	/**
+	 * the delay in milliseconds after which changes to the index are committed to disk
+	 */
+	private static final long COMMIT_DELAY = 30 * 1000L;
+
+	/**
+	 * the maximum time in milliseconds that changes remain invisible to searches while a batch of tasks is indexed
+	 */
+	private static final long MAX_REFRESH_LATENCY = 1000L;
+
+	/**
+	 * the maximum number of threads that read task data while the index is rebuilt
+	 */
+	private static final int MAX_REBUILD_THREADS = 8;
+
+	/**
+	 * the maximum number of threads that search segments of the index in parallel
+	 */
+	private static final int MAX_SEARCH_THREADS = 4;
+
+	private static final long POLL_INTERVAL = 100L;
+
 	private MaintainIndexJob maintainIndexJob;
 
+	private CommitIndexJob commitIndexJob;
+
 	/**
-	 * must be synchronized before accessing or modifying
+	 * the handle identifiers of tasks that need to be reindexed in the order they were first queued. Must be
+	 * synchronized before accessing or modifying.
 	 */
-	private final Map<ITask, TaskData> reindexQueue = new HashMap<ITask, TaskData>();
+	private final Map<String, QueuedTask> reindexQueue = new LinkedHashMap<String, QueuedTask>();
 
 	/**
-	 * do not access directly, instead use {@link #getIndexReader()}. 'this' must be synchronized before accessing or
-	 * modifying
+	 * the time the oldest task of the batch that is currently indexed was queued, or 0. {@link #reindexQueue} must be
+	 * synchronized before accessing or modifying.
+	 */
+	private long indexingQueuedTime;
+
+	private int reindexQueueCapacity = 10000;
+
+	/**
+	 * the open shards of the index by shard key, do not access directly, instead use
+	 * {@link #openShard(String, boolean)}. 'this' must be synchronized before accessing or modifying
+	 */
+	private final Map<String, IndexShard> shards = new HashMap<String, IndexShard>();
+
+	/**
+	 * the keys of shards that need to be rebuilt. 'this' must be synchronized before accessing or modifying
+	 */
+	private final Set<String> staleShards = new HashSet<String>();
+
+	/**
+	 * the keys of shards that need to be deleted. 'this' must be synchronized before accessing or modifying
+	 */
+	private final Set<String> obsoleteShards = new HashSet<String>();
+
+	/**
+	 * provides near-real-time searchers across all {@link #shards}, do not access directly, instead use
+	 * {@link #getSearcherManager()}. 'this' must be synchronized before accessing or modifying
+	 */
+	private ShardedSearcherManager searcherManager;
+
+	/**
+	 * the time of the last refresh of {@link #searcherManager}, only accessed by the thread that maintains the index
 	 */
-	private IndexReader indexReader;
+	private long lastRefreshTime;
+
+	private ExecutorService searchExecutor;
 
 	/**
-	 * indicate the need to rebuild the whole index
+	 * incremented each time a rebuild of the whole index is requested
 	 */
-	private volatile boolean rebuildIndex = false;
+	private final AtomicLong rebuildGeneration = new AtomicLong();
 
 	/**
-	 * 'this' must be synchronized before accessing or modifying
+	 * the value of {@link #rebuildGeneration} when the last completed rebuild of the whole index started, only modified
+	 * by the thread that maintains the index
 	 */
-	private String lastPatternString;
+	private volatile long rebuiltGeneration;
 
 	/**
-	 * 'this' must be synchronized before accessing or modifying
+	 * the results of recent calls to {@link #matches(ITask, String)}. 'this' must be synchronized before accessing or
+	 * modifying
 	 */
-	private Set<String> lastResults;
+	private TaskMatchCache matchCache;
 
 	private AbstractTaskSchema.Field defaultField = FIELD_SUMMARY;
 
@@ -290,8 +516,9 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 	private int maxMatchSearchHits = 1500;
 
 	/**
-	 * must hold this lock as a read lock when accessing the index, and must hold this lock as a write lock when closing
-	 * or reassigning {@link #indexReader}.
+	 * must hold this lock as a read lock when acquiring a searcher or committing the index, and must hold this lock as a
+	 * write lock when closing {@link #shards} or {@link #searcherManager}. Acquired searchers remain valid after the
+	 * lock is released until they are released.
 	 */
 	private final ReadWriteLock indexReaderLock = new ReentrantReadWriteLock(true);
 
@@ -360,7 +587,7 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 	 * @param repositoryManager
 	 *            the repository manager that corresponds to the task list
 	 * @param startupDelay
-	 *            the delay in miliseconds before the index initialization maintenance process should begin
+	 *            the delay in milliseconds before the index initialization maintenance process should begin
 	 * @see #TaskListIndex(TaskList, TaskDataManager, File)
 	 */
 	public TaskListIndex(TaskList taskList, TaskDataManager dataManager, IRepositoryManager repositoryManager,
@@ -384,7 +611,7 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 	 * @param repositoryManager
 	 *            the repository manager that corresponds to the task list
 	 * @param directory
-	 *            the directory in which the index should be stored
+	 *            the directory in which the index should be stored, the index is not sharded by repository
 	 * @see #TaskListIndex(TaskList, TaskDataManager, File)
 	 */
 	public TaskListIndex(TaskList taskList, TaskDataManager dataManager, IRepositoryManager repositoryManager,
@@ -405,13 +632,56 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 	 * the delay before reindexing occurs after a task has changed or after {@link #reindex()} is called.
 	 *
 	 * @param reindexDelay
-	 *            The delay in miliseconds. Specify 0 to indicate no delay.
+	 *            The delay in milliseconds. Specify 0 to indicate no delay.
 	 */
 	public void setReindexDelay(long reindexDelay) {
 		Assert.isTrue(reindexDelay >= 0);
 		this.reindexDelay = reindexDelay;
 	}
 
+	/**
+	 * the maximum number of tasks that wait to be reindexed
+	 */
+	public int getReindexQueueCapacity() {
+		return reindexQueueCapacity;
+	}
+
+	/**
+	 * the maximum number of tasks that wait to be reindexed. If further tasks need to be reindexed while the queue is
+	 * full, the queue is discarded and the index is rebuilt completely. Threads that cause tasks to be reindexed are
+	 * never blocked.
+	 *
+	 * @param reindexQueueCapacity
+	 *            the capacity, must be greater than 0
+	 */
+	public void setReindexQueueCapacity(int reindexQueueCapacity) {
+		Assert.isTrue(reindexQueueCapacity > 0);
+		this.reindexQueueCapacity = reindexQueueCapacity;
+	}
+
+	/**
+	 * the number of tasks that are waiting to be reindexed
+	 */
+	public int getReindexQueueSize() {
+		synchronized (reindexQueue) {
+			return reindexQueue.size();
+		}
+	}
+
+	/**
+	 * the time in milliseconds since the oldest change that has not been indexed yet was queued, or 0 if the index is
+	 * up to date with all queued changes
+	 */
+	public long getIndexingLag() {
+		synchronized (reindexQueue) {
+			long queuedTime = indexingQueuedTime;
+			if (queuedTime == 0 && !reindexQueue.isEmpty()) {
+				queuedTime = reindexQueue.values().iterator().next().queuedTime;
+			}
+			return (queuedTime != 0) ? System.currentTimeMillis() - queuedTime : 0;
+		}
+	}
+
 	public void setLocation(File indexLocation) {
 		try {
 			waitUntilIdle();
@@ -419,7 +689,7 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 			// ignore
 		}
 		setLocationInternal(indexLocation);
-		rebuildIndex = true;
+		requestRebuild();
 		scheduleIndexMaintenance(MaintainIndexType.STARTUP);
 	}
 
@@ -436,14 +706,7 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		writeLock.lock();
 		try {
 			synchronized (this) {
-				if (indexReader != null) {
-					try {
-						indexReader.close();
-					} catch (IOException e) {
-						// ignore
-					}
-					indexReader = null;
-				}
+				closeIndex();
 
 				if (indexLocation.exists() && indexLocation.isDirectory()) {
 					if (directory != null) {
@@ -453,13 +716,9 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 							StatusHandler.log(new Status(IStatus.ERROR, TasksIndexCore.ID_PLUGIN,
 									"Cannot close index: " + e.getMessage(), e)); //$NON-NLS-1$
 						}
+						directory = null;
 					}
-					try {
-						directory = new NIOFSDirectory(indexLocation.toPath());
-					} catch (IOException e) {
-						StatusHandler.log(new Status(IStatus.ERROR, TasksIndexCore.ID_PLUGIN,
-								"Cannot create task list index", e)); //$NON-NLS-1$
-					}
+					this.indexLocation = indexLocation;
 				}
 
 			}
@@ -487,7 +746,7 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		Assert.isTrue(indexedFields.contains(defaultField));
 		this.defaultField = defaultField;
 		synchronized (this) {
-			lastResults = null;
+			matchCache = null;
 		}
 	}
 
@@ -500,31 +759,41 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 
 	/**
 	 * the maximum number of search hits that should be provided when using {@link #matches(ITask, String)}
+	 *
+	 * @deprecated {@link #matches(ITask, String)} considers all hits, this setting has no effect
 	 */
+	@Deprecated
 	public int getMaxMatchSearchHits() {
 		return maxMatchSearchHits;
 	}
 
 	/**
 	 * the maximum number of search hits that should be provided when using {@link #matches(ITask, String)}
+	 *
+	 * @deprecated {@link #matches(ITask, String)} considers all hits, this setting has no effect
 	 */
+	@Deprecated
 	public void setMaxMatchSearchHits(int maxMatchSearchHits) {
 		this.maxMatchSearchHits = maxMatchSearchHits;
 	}
 
 	private void initialize() {
-		if (!rebuildIndex) {
-			IndexReader indexReader = null;
+		searchExecutor = Executors.newFixedThreadPool(
+				Math.min(Runtime.getRuntime().availableProcessors(), MAX_SEARCH_THREADS),
+				new IndexThreadFactory("Mylyn Task List Search")); //$NON-NLS-1$
+		if (!isRebuildRequested()) {
+			ShardedSearcherManager searcherManager = null;
 			try {
-				indexReader = getIndexReader();
+				searcherManager = getSearcherManager();
 			} catch (Exception e) {
 				// ignore, this can happen if the index is corrupt
 			}
-			if (indexReader == null) {
-				rebuildIndex = true;
+			if (searcherManager == null || !hasShards() || hasLegacyIndex()) {
+				requestRebuild();
 			}
 		}
 		maintainIndexJob = new MaintainIndexJob();
+		commitIndexJob = new CommitIndexJob();
 		dataManager.addListener(this);
 		taskList.addChangeListener(this);
 		repositoryManager.addListener(this);
@@ -532,6 +801,93 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		scheduleIndexMaintenance(MaintainIndexType.STARTUP);
 	}
 
+	/**
+	 * Returns true, if the last commit of the index in <code>directory</code> was written with the current
+	 * {@link #INDEX_FORMAT}.
+	 */
+	private boolean hasCurrentFormat(Directory directory) {
+		try {
+			Map<String, String> commitData = SegmentInfos.readLatestCommit(directory).getUserData();
+			return INDEX_FORMAT.equals(commitData.get(COMMIT_DATA_INDEX_FORMAT));
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private synchronized boolean hasShards() {
+		return !shards.isEmpty() || !staleShards.isEmpty();
+	}
+
+	/**
+	 * Returns true, if the location of the index contains an index that was written before the index was sharded by
+	 * repository.
+	 */
+	private boolean hasLegacyIndex() {
+		if (indexLocation != null) {
+			String[] names = indexLocation.list();
+			if (names != null) {
+				for (String name : names) {
+					if (name.startsWith(IndexFileNames.SEGMENTS)) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	private void deleteLegacyIndex() {
+		if (indexLocation != null) {
+			File[] files = indexLocation.listFiles();
+			if (files != null) {
+				for (File file : files) {
+					if (file.isFile()) {
+						file.delete();
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the key of the shard that stores the tasks of the given repository. The key is used as the name of the
+	 * folder of the shard.
+	 */
+	private String getShardKey(String connectorKind, String repositoryUrl) {
+		if (indexLocation == null) {
+			return ""; //$NON-NLS-1$
+		}
+		// shards are deleted and rebuilt per repository, distinct URLs must not map to the same key
+		return connectorKind.replaceAll("[^\\w.-]", "_") + "-" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ Hashing.sha256().hashString(repositoryUrl, StandardCharsets.UTF_8);
+	}
+
+	private String getShardKey(ITask task) {
+		return getShardKey(task.getConnectorKind(), task.getRepositoryUrl());
+	}
+
+	/**
+	 * Returns the keys of all shards that exist on disk.
+	 */
+	private List<String> listShards() throws IOException {
+		List<String> shardKeys = new ArrayList<String>();
+		if (indexLocation == null) {
+			if (directory != null && DirectoryReader.indexExists(directory)) {
+				shardKeys.add(""); //$NON-NLS-1$
+			}
+		} else {
+			File[] files = indexLocation.listFiles();
+			if (files != null) {
+				for (File file : files) {
+					if (file.isDirectory()) {
+						shardKeys.add(file.getName());
+					}
+				}
+			}
+		}
+		return shardKeys;
+	}
+
 	private void scheduleIndexMaintenance(MaintainIndexType type) {
 		long delay = 0L;
 		switch (type) {
@@ -568,8 +924,9 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 	 * Indicates if the given task matches the given pattern string. Uses the backing index to detect a match by looking
 	 * for tasks that match the given pattern string. The results of the search are cached such that future calls to
 	 * this method using the same pattern string do not require use of the backing index, making this method very
-	 * efficient for multiple calls with the same pattern string. Cached results for a given pattern string are
-	 * discarded if this method is called with a different pattern string.
+	 * efficient for multiple calls with the same pattern string. Results are cached as a set of matching documents for
+	 * the most recently used pattern strings and are discarded when the index changes. All matching tasks are
+	 * considered, regardless of the number of hits.
 	 *
 	 * @param task
 	 *            the task to match
@@ -580,61 +937,82 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		if (patternString.equals(COMMAND_RESET_INDEX)) {
 			reindex();
 		}
+		ShardedSearcherManager searcherManager;
+		IndexSearcher indexSearcher;
 		Lock readLock = indexReaderLock.readLock();
 		readLock.lock();
 		try {
+			searcherManager = getSearcherManager();
+			if (searcherManager == null) {
+				return false;
+			}
+			indexSearcher = searcherManager.acquire();
+		} catch (IOException e) {
+			StatusHandler.log(new Status(IStatus.ERROR, TasksIndexCore.ID_PLUGIN,
+					"Unexpected failure within task list index", e)); //$NON-NLS-1$
+			return false;
+		} finally {
+			readLock.unlock();
+		}
 
-			IndexReader indexReader = getIndexReader();
-			if (indexReader != null) {
-				Set<String> hits;
-
-				final boolean needIndexHit;
-				synchronized (this) {
-					needIndexHit = lastResults == null
-							|| (lastPatternString == null || !lastPatternString.equals(patternString));
-				}
-				if (needIndexHit) {
-					this.lastPatternString = patternString;
-
-					hits = new HashSet<String>();
-
-					IndexSearcher indexSearcher = new IndexSearcher(indexReader);
-					try {
-						Query query = computeQuery(patternString);
-						TopDocs results = indexSearcher.search(query, maxMatchSearchHits);
-						for (ScoreDoc scoreDoc : results.scoreDocs) {
-							Document document = indexReader.document(scoreDoc.doc);
-							hits.add(document.get(FIELD_IDENTIFIER.getIndexKey()));
-						}
-					} catch (IOException e) {
-						StatusHandler.log(new Status(IStatus.ERROR, TasksIndexCore.ID_PLUGIN,
-								"Unexpected failure within task list index", e)); //$NON-NLS-1$
-					}
-
-				} else {
-					hits = lastResults;
-				}
+		try {
+			TaskMatchCache matchCache;
+			synchronized (this) {
+				matchCache = this.matchCache;
+			}
+			if (matchCache == null || matchCache.getSearcher() != indexSearcher) {
+				matchCache = TaskMatchCache.create(indexSearcher, FIELD_IDENTIFIER.getIndexKey());
 				synchronized (this) {
-					if (this.indexReader == indexReader) {
-						this.lastPatternString = patternString;
-						this.lastResults = hits;
-					}
+					this.matchCache = matchCache;
 				}
-				String taskIdentifier = task.getHandleIdentifier();
-				return hits != null && hits.contains(taskIdentifier);
 			}
 
+			FixedBitSet hits = matchCache.getMatches(patternString);
+			if (hits == null) {
+				hits = matchCache.computeMatches(patternString, computeQuery(patternString));
+			}
+			return matchCache.matches(hits, task.getHandleIdentifier());
+		} catch (IOException e) {
+			StatusHandler.log(new Status(IStatus.ERROR, TasksIndexCore.ID_PLUGIN,
+					"Unexpected failure within task list index", e)); //$NON-NLS-1$
+			return false;
 		} finally {
-			readLock.unlock();
+			releaseSearcher(searcherManager, indexSearcher);
 		}
-		return false;
+	}
+
+	/**
+	 * Rebuilds the part of the index that contains the tasks of the given repository. Other repositories remain
+	 * searchable without interruption. If the index is not sharded by repository the whole index is rebuilt.
+	 *
+	 * @param repository
+	 *            the repository
+	 */
+	public void reindex(TaskRepository repository) {
+		Assert.isNotNull(repository);
+		synchronized (this) {
+			staleShards.add(getShardKey(repository.getConnectorKind(), repository.getRepositoryUrl()));
+		}
+		scheduleIndexMaintenance(MaintainIndexType.REINDEX);
 	}
 
 	public void reindex() {
-		rebuildIndex = true;
+		requestRebuild();
 		scheduleIndexMaintenance(MaintainIndexType.REINDEX);
 	}
 
+	/**
+	 * Requests a rebuild of the whole index. Requests that are made while a rebuild is running cause another rebuild
+	 * since the running rebuild may have read the task list before the request was made.
+	 */
+	private void requestRebuild() {
+		rebuildGeneration.incrementAndGet();
+	}
+
+	private boolean isRebuildRequested() {
+		return rebuildGeneration.get() != rebuiltGeneration;
+	}
+
 	/**
 	 * call to wait until index maintenance has completed
 	 *
@@ -666,61 +1044,227 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		Assert.isNotNull(collector);
 		Assert.isTrue(resultsLimit > 0);
 
+		ShardedSearcherManager searcherManager;
+		IndexSearcher indexSearcher;
 		Lock readLock = indexReaderLock.readLock();
 		readLock.lock();
 		try {
-			IndexReader indexReader = getIndexReader();
-			if (indexReader != null) {
-				IndexSearcher indexSearcher = new IndexSearcher(indexReader);
-				try {
-					Query query = computeQuery(patternString);
-					TopDocs results = indexSearcher.search(query, resultsLimit);
-					for (ScoreDoc scoreDoc : results.scoreDocs) {
-						Document document = indexReader.document(scoreDoc.doc);
-						String taskIdentifier = document.get(FIELD_IDENTIFIER.getIndexKey());
-						AbstractTask task = taskList.getTask(taskIdentifier);
-						if (task != null) {
-							collector.collect(task);
-						}
-					}
-				} catch (IOException e) {
-					StatusHandler.log(new Status(IStatus.ERROR, TasksIndexCore.ID_PLUGIN,
-							"Unexpected failure within task list index", e)); //$NON-NLS-1$
-				}
+			searcherManager = getSearcherManager();
+			if (searcherManager == null) {
+				return;
 			}
+			indexSearcher = searcherManager.acquire();
+		} catch (IOException e) {
+			StatusHandler.log(new Status(IStatus.ERROR, TasksIndexCore.ID_PLUGIN,
+					"Unexpected failure within task list index", e)); //$NON-NLS-1$
+			return;
 		} finally {
 			readLock.unlock();
 		}
-	}
-
-	private Query computeQuery(String patternString) {
-		String upperPatternString = patternString.toUpperCase();
-
-		boolean hasBooleanSpecifiers = upperPatternString.contains(" OR ") || upperPatternString.contains(" AND ") //$NON-NLS-1$ //$NON-NLS-2$
-				|| upperPatternString.contains(" NOT "); //$NON-NLS-1$
 
-		if (!hasBooleanSpecifiers && defaultField.equals(FIELD_SUMMARY) && !containsSpecialCharacters(patternString)) {
-			return new PrefixQuery(new Term(defaultField.getIndexKey(), patternString));
-		}
-		QueryParser qp = new QueryParser(defaultField.getIndexKey(), TaskAnalyzer.instance());
-		Query q;
 		try {
-			q = qp.parse(patternString);
-		} catch (ParseException e) {
-			return new PrefixQuery(new Term(defaultField.getIndexKey(), patternString));
+			Query query = computeQuery(patternString);
+			TopDocs results = indexSearcher.search(query, resultsLimit);
+			for (ScoreDoc scoreDoc : results.scoreDocs) {
+				Document document = indexSearcher.doc(scoreDoc.doc);
+				String taskIdentifier = document.get(FIELD_IDENTIFIER.getIndexKey());
+				AbstractTask task = taskList.getTask(taskIdentifier);
+				if (task != null) {
+					collector.collect(task);
+				}
+			}
+		} catch (IOException e) {
+			StatusHandler.log(new Status(IStatus.ERROR, TasksIndexCore.ID_PLUGIN,
+					"Unexpected failure within task list index", e)); //$NON-NLS-1$
+		} finally {
+			releaseSearcher(searcherManager, indexSearcher);
 		}
+	}
 
-		// relax term clauses to be prefix clauses so that we get results close
-		// to what we're expecting
-		// from previous task list search
-		if (q instanceof BooleanQuery) {
-			//Since queries and clauses are now immutable we need to rewrite q
-			BooleanQuery.Builder qb = new BooleanQuery.Builder();
-
-			BooleanQuery query = (BooleanQuery) q;
-			for (BooleanClause clause : query.clauses()) {
-				if (clause.getQuery() instanceof TermQuery) {
-					TermQuery termQuery = (TermQuery) clause.getQuery();
+	/**
+	 * finds a page of tasks that match the given pattern string in the given sort order
+	 *
+	 * @param patternString
+	 *            the pattern string, used to match tasks
+	 * @param sortField
+	 *            the field to sort results by, must be one of {@link #SORT_FIELDS}, or null to sort results by relevance
+	 * @param descending
+	 *            true, to sort results in descending order
+	 * @param after
+	 *            the cursor returned for the previous page, or null to find the first page
+	 * @param pageSize
+	 *            the maximum number of results in the page
+	 * @param collector
+	 *            the collector that receives tasks
+	 * @return a cursor to find the next page, or null if there are no further results
+	 */
+	public ResultCursor find(String patternString, AbstractTaskSchema.Field sortField, boolean descending,
+			ResultCursor after, int pageSize, TaskCollector collector) {
+		Assert.isNotNull(patternString);
+		Assert.isNotNull(collector);
+		Assert.isTrue(pageSize > 0);
+		Assert.isTrue(sortField == null || SORT_FIELDS.contains(sortField));
+		Assert.isTrue(after == null || (after.sortField == sortField && after.descending == descending));
+
+		ShardedSearcherManager searcherManager;
+		IndexSearcher indexSearcher;
+		Lock readLock = indexReaderLock.readLock();
+		readLock.lock();
+		try {
+			searcherManager = getSearcherManager();
+			if (searcherManager == null) {
+				return null;
+			}
+			indexSearcher = searcherManager.acquire();
+		} catch (IOException e) {
+			StatusHandler.log(new Status(IStatus.ERROR, TasksIndexCore.ID_PLUGIN,
+					"Unexpected failure within task list index", e)); //$NON-NLS-1$
+			return null;
+		} finally {
+			readLock.unlock();
+		}
+
+		try {
+			Query query = computeQuery(patternString);
+			ScoreDoc lastResult = (after != null) ? after.lastResult : null;
+			TopDocs results;
+			if (sortField == null) {
+				results = indexSearcher.searchAfter(lastResult, query, pageSize);
+			} else {
+				results = indexSearcher.searchAfter(lastResult, query, pageSize, computeSort(sortField, descending));
+			}
+			Set<String> fieldsToLoad = Collections.singleton(FIELD_IDENTIFIER.getIndexKey());
+			for (ScoreDoc scoreDoc : results.scoreDocs) {
+				Document document = indexSearcher.doc(scoreDoc.doc, fieldsToLoad);
+				AbstractTask task = taskList.getTask(document.get(FIELD_IDENTIFIER.getIndexKey()));
+				if (task != null) {
+					collector.collect(task);
+				}
+			}
+			if (results.scoreDocs.length < pageSize) {
+				return null;
+			}
+			return new ResultCursor(results.scoreDocs[results.scoreDocs.length - 1], sortField, descending);
+		} catch (IOException e) {
+			StatusHandler.log(new Status(IStatus.ERROR, TasksIndexCore.ID_PLUGIN,
+					"Unexpected failure within task list index", e)); //$NON-NLS-1$
+			return null;
+		} finally {
+			releaseSearcher(searcherManager, indexSearcher);
+		}
+	}
+
+	private Sort computeSort(AbstractTaskSchema.Field sortField, boolean descending) {
+		String name = SORT_FIELD_PREFIX + sortField.getIndexKey();
+		if (TaskAttribute.TYPE_DATE.equals(sortField.getType())) {
+			return new Sort(new SortField(name, SortField.Type.LONG, descending));
+		}
+		SortField field = new SortField(name, SortField.Type.STRING, descending);
+		field.setMissingValue(SortField.STRING_LAST);
+		return new Sort(field);
+	}
+
+	/**
+	 * Counts the values of a facet field for tasks that match the given pattern string.
+	 *
+	 * @param patternString
+	 *            the pattern string, used to match tasks, or an empty string to count values of all tasks
+	 * @param facetField
+	 *            the field to count values of, must be one of {@link #FACET_FIELDS}
+	 * @return the number of matching tasks for each value of the field ordered by descending count
+	 * @see #computeFacetCounts(String, Collection)
+	 */
+	public Map<String, Integer> computeFacetCounts(String patternString, AbstractTaskSchema.Field facetField) {
+		return computeFacetCounts(patternString, Collections.singleton(facetField)).get(facetField);
+	}
+
+	/**
+	 * Counts the values of facet fields for tasks that match the given pattern string. Counts are computed from doc
+	 * values in a single pass over the matching documents without loading task data.
+	 *
+	 * @param patternString
+	 *            the pattern string, used to match tasks, or an empty string to count values of all tasks
+	 * @param facetFields
+	 *            the fields to count values of, each must be one of {@link #FACET_FIELDS}
+	 * @return the number of matching tasks for each value of each field ordered by descending count, tasks that have
+	 *         multiple values for a field are counted once for each value
+	 */
+	public Map<AbstractTaskSchema.Field, Map<String, Integer>> computeFacetCounts(String patternString,
+			Collection<AbstractTaskSchema.Field> facetFields) {
+		Assert.isNotNull(patternString);
+		Assert.isNotNull(facetFields);
+		Assert.isTrue(FACET_FIELDS.containsAll(facetFields));
+
+		List<AbstractTaskSchema.Field> fields = new ArrayList<AbstractTaskSchema.Field>(facetFields);
+		String[] fieldNames = new String[fields.size()];
+		Map<AbstractTaskSchema.Field, Map<String, Integer>> result = new LinkedHashMap<AbstractTaskSchema.Field, Map<String, Integer>>();
+		for (int i = 0; i < fieldNames.length; i++) {
+			fieldNames[i] = FACET_FIELD_PREFIX + fields.get(i).getIndexKey();
+			result.put(fields.get(i), Collections.<String, Integer> emptyMap());
+		}
+
+		ShardedSearcherManager searcherManager;
+		IndexSearcher indexSearcher;
+		Lock readLock = indexReaderLock.readLock();
+		readLock.lock();
+		try {
+			searcherManager = getSearcherManager();
+			if (searcherManager == null) {
+				return result;
+			}
+			indexSearcher = searcherManager.acquire();
+		} catch (IOException e) {
+			StatusHandler.log(new Status(IStatus.ERROR, TasksIndexCore.ID_PLUGIN,
+					"Unexpected failure within task list index", e)); //$NON-NLS-1$
+			return result;
+		} finally {
+			readLock.unlock();
+		}
+
+		try {
+			Query query = (patternString.length() == 0) ? new MatchAllDocsQuery() : computeQuery(patternString);
+			TaskFacetCollector collector = new TaskFacetCollector(fieldNames);
+			indexSearcher.search(query, collector);
+			for (int i = 0; i < fieldNames.length; i++) {
+				result.put(fields.get(i), collector.getCounts(i));
+			}
+		} catch (IOException e) {
+			StatusHandler.log(new Status(IStatus.ERROR, TasksIndexCore.ID_PLUGIN,
+					"Unexpected failure within task list index", e)); //$NON-NLS-1$
+		} finally {
+			releaseSearcher(searcherManager, indexSearcher);
+		}
+		return result;
+	}
+
+	private Query computeQuery(String patternString) {
+		String upperPatternString = patternString.toUpperCase();
+
+		boolean hasBooleanSpecifiers = upperPatternString.contains(" OR ") || upperPatternString.contains(" AND ") //$NON-NLS-1$ //$NON-NLS-2$
+				|| upperPatternString.contains(" NOT "); //$NON-NLS-1$
+
+		if (!hasBooleanSpecifiers && defaultField.equals(FIELD_SUMMARY) && !containsSpecialCharacters(patternString)) {
+			return new PrefixQuery(new Term(defaultField.getIndexKey(), patternString));
+		}
+		QueryParser qp = new QueryParser(defaultField.getIndexKey(), TaskAnalyzer.instance());
+		Query q;
+		try {
+			q = qp.parse(patternString);
+		} catch (ParseException e) {
+			return new PrefixQuery(new Term(defaultField.getIndexKey(), patternString));
+		}
+
+		// relax term clauses to be prefix clauses so that we get results close
+		// to what we're expecting
+		// from previous task list search
+		if (q instanceof BooleanQuery) {
+			//Since queries and clauses are now immutable we need to rewrite q
+			BooleanQuery.Builder qb = new BooleanQuery.Builder();
+
+			BooleanQuery query = (BooleanQuery) q;
+			for (BooleanClause clause : query.clauses()) {
+				if (clause.getQuery() instanceof TermQuery) {
+					TermQuery termQuery = (TermQuery) clause.getQuery();
 					clause = new BooleanClause(new PrefixQuery(termQuery.getTerm()),
 							computeOccur(clause, hasBooleanSpecifiers));
 				} else if (!hasBooleanSpecifiers) {
@@ -758,19 +1302,19 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		} catch (InterruptedException e) {
 			// ignore
 		}
+		commitIndexJob.cancel();
+		try {
+			commitIndexJob.join();
+		} catch (InterruptedException e) {
+			// ignore
+		}
+		searchExecutor.shutdown();
 
 		Lock writeLock = indexReaderLock.writeLock();
 		writeLock.lock();
 		try {
 			synchronized (this) {
-				if (indexReader != null) {
-					try {
-						indexReader.close();
-					} catch (IOException e) {
-						// ignore
-					}
-					indexReader = null;
-				}
+				closeIndex();
 			}
 			if (directory != null) {
 				try {
@@ -785,23 +1329,242 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		}
 	}
 
-	private IndexReader getIndexReader() {
+	/**
+	 * Opens a searcher manager across all shards and a writer for each shard that exists on disk if the index is not
+	 * open yet. Shards that cannot be opened or were written in a different format are scheduled to be rebuilt. Shards
+	 * are kept open until the index is {@link #close() closed} or moved to a {@link #setLocation(File) different
+	 * location}.
+	 *
+	 * @return the searcher manager
+	 */
+	private synchronized ShardedSearcherManager openIndex() throws IOException {
+		if (searcherManager == null) {
+			searcherManager = new ShardedSearcherManager(searchExecutor);
+			matchCache = null;
+			lastRefreshTime = System.currentTimeMillis();
+			for (String shardKey : listShards()) {
+				try {
+					openShard(shardKey, false);
+				} catch (IOException e) {
+					// this can happen if the shard is corrupt
+					staleShards.add(shardKey);
+				}
+			}
+			searcherManager.maybeRefreshBlocking();
+		}
+		return searcherManager;
+	}
+
+	/**
+	 * Returns the writer of a shard, opening the shard if it is not open yet. Shards that do not exist are created.
+	 *
+	 * @param shardKey
+	 *            the key of the shard
+	 * @param recreate
+	 *            true, if the shard should be recreated in case it cannot be opened
+	 * @return the index writer of the shard
+	 */
+	private synchronized IndexWriter openShard(String shardKey, boolean recreate)
+			throws CorruptIndexException, LockObtainFailedException, IOException {
+		openIndex();
+		IndexShard shard = shards.get(shardKey);
+		if (shard == null) {
+			Directory shardDirectory = (indexLocation != null)
+					? new NIOFSDirectory(new File(indexLocation, shardKey).toPath())
+					: directory;
+			IndexWriter writer;
+			try {
+				if (DirectoryReader.indexExists(shardDirectory)) {
+					try {
+						writer = createIndexWriter(shardDirectory, false);
+						if (!hasCurrentFormat(shardDirectory)) {
+							staleShards.add(shardKey);
+						}
+					} catch (CorruptIndexException | IndexFormatTooOldException e) {
+						if (!recreate) {
+							throw e;
+						}
+						cleanDirectory(shardDirectory);
+						writer = createIndexWriter(shardDirectory, true);
+					}
+				} else {
+					writer = createIndexWriter(shardDirectory, true);
+				}
+			} catch (IOException e) {
+				if (shardDirectory != directory) {
+					shardDirectory.close();
+				}
+				throw e;
+			}
+			shard = new IndexShard(shardDirectory, writer);
+			shards.put(shardKey, shard);
+			searcherManager.setWriter(shardKey, writer);
+		}
+		return shard.writer;
+	}
+
+	/**
+	 * Removes a shard from searches and deletes it.
+	 */
+	private void deleteShard(String shardKey) throws IOException {
+		Lock writeLock = indexReaderLock.writeLock();
+		writeLock.lock();
+		try {
+			synchronized (this) {
+				staleShards.remove(shardKey);
+			}
+			closeShard(shardKey);
+			if (indexLocation != null) {
+				File folder = new File(indexLocation, shardKey);
+				cleanDirectory(folder);
+				folder.delete();
+			} else if (directory != null) {
+				cleanDirectory(directory);
+			}
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Discards uncommitted changes of a shard and reopens it in its last committed state.
+	 */
+	private void rollbackShard(String shardKey) throws IOException {
+		Lock writeLock = indexReaderLock.writeLock();
+		writeLock.lock();
+		try {
+			closeShard(shardKey);
+			openShard(shardKey, false);
+			refreshSearcher(true);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Removes a shard from searches and closes its writer discarding uncommitted changes. The write lock of
+	 * {@link #indexReaderLock} must be held.
+	 */
+	private void closeShard(String shardKey) throws IOException {
+		IndexShard shard;
+		synchronized (this) {
+			shard = shards.remove(shardKey);
+			if (searcherManager != null) {
+				searcherManager.removeWriter(shardKey);
+			}
+		}
+		refreshSearcher(true);
+		if (shard != null) {
+			try {
+				shard.writer.rollback();
+			} finally {
+				if (shard.directory != directory) {
+					shard.directory.close();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Closes the searcher manager and the shards, committing pending changes. The write lock of
+	 * {@link #indexReaderLock} must be held and 'this' must be synchronized.
+	 */
+	private void closeIndex() {
+		if (searcherManager != null) {
+			try {
+				searcherManager.close();
+			} catch (IOException e) {
+				// ignore
+			}
+			searcherManager = null;
+		}
+		for (IndexShard shard : shards.values()) {
+			try {
+				shard.writer.close();
+			} catch (IOException e) {
+				StatusHandler.log(new Status(IStatus.ERROR, TasksIndexCore.ID_PLUGIN,
+						"Cannot close index: " + e.getMessage(), e)); //$NON-NLS-1$
+			}
+			if (shard.directory != directory) {
+				try {
+					shard.directory.close();
+				} catch (IOException e) {
+					// ignore
+				}
+			}
+		}
+		shards.clear();
+		staleShards.clear();
+		obsoleteShards.clear();
+		matchCache = null;
+	}
+
+	private void releaseSearcher(ShardedSearcherManager searcherManager, IndexSearcher indexSearcher) {
+		try {
+			searcherManager.release(indexSearcher);
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	/**
+	 * Makes changes of the index writer visible to searches.
+	 *
+	 * @param force
+	 *            if false, the searcher is only refreshed if changes have been invisible for longer than
+	 *            {@link #MAX_REFRESH_LATENCY}
+	 */
+	private void refreshSearcher(boolean force) throws IOException {
+		long now = System.currentTimeMillis();
+		if (!force && now - lastRefreshTime < MAX_REFRESH_LATENCY) {
+			return;
+		}
+		Lock readLock = indexReaderLock.readLock();
+		readLock.lock();
 		try {
+			ShardedSearcherManager searcherManager;
 			synchronized (this) {
-				if (indexReader == null) {
-					indexReader = DirectoryReader.open(directory);
-					lastResults = null;
+				searcherManager = this.searcherManager;
+			}
+			if (searcherManager != null) {
+				searcherManager.maybeRefreshBlocking();
+			}
+		} finally {
+			readLock.unlock();
+		}
+		lastRefreshTime = now;
+	}
+
+	private void scheduleCommit() {
+		// a sleeping job would be delayed further
+		if (commitIndexJob.getState() != Job.SLEEPING) {
+			commitIndexJob.schedule(COMMIT_DELAY);
+		}
+	}
+
+	private void commitIndex() throws IOException {
+		Lock readLock = indexReaderLock.readLock();
+		readLock.lock();
+		try {
+			List<IndexWriter> writers = new ArrayList<IndexWriter>();
+			synchronized (this) {
+				for (IndexShard shard : shards.values()) {
+					writers.add(shard.writer);
 				}
-				return indexReader;
 			}
-		} catch (CorruptIndexException e) {
-			rebuildIndex = true;
-			if (maintainIndexJob != null) {
-				scheduleIndexMaintenance(MaintainIndexType.REINDEX);
+			for (IndexWriter writer : writers) {
+				if (writer.hasUncommittedChanges()) {
+					writer.commit();
+				}
 			}
-		} catch (FileNotFoundException e) {
-			rebuildIndex = true;
-			// expected if the index doesn't exist
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	private ShardedSearcherManager getSearcherManager() {
+		try {
+			return openIndex();
 		} catch (IOException e) {
 			// ignore
 		}
@@ -850,12 +1613,46 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		if (!taskIsIndexable(task, taskData)) {
 			return;
 		}
-		synchronized (reindexQueue) {
-			reindexQueue.put(task, taskData);
+		Document document = null;
+		if (taskData != null && taskData.isPartial()) {
+			// partial task data is not persisted, create the document while it is available
+			document = createDocument(task, taskData);
 		}
+		enqueue(task, document);
 		scheduleIndexMaintenance(MaintainIndexType.REINDEX);
 	}
 
+	/**
+	 * Adds a task to {@link #reindexQueue}. If the queue is full it is discarded and the index is rebuilt completely
+	 * instead, the calling thread never waits for the index to catch up.
+	 */
+	private void enqueue(ITask task, Document document) {
+		String handleIdentifier = task.getHandleIdentifier();
+		synchronized (reindexQueue) {
+			QueuedTask queuedTask = reindexQueue.get(handleIdentifier);
+			if (queuedTask != null) {
+				queuedTask.document = document;
+				return;
+			}
+
+			if (reindexQueue.size() >= reindexQueueCapacity) {
+				// the rebuild reads the task list which already contains the changes of the discarded tasks
+				clearReindexQueue();
+				requestRebuild();
+				return;
+			}
+
+			reindexQueue.put(handleIdentifier, new QueuedTask(task, System.currentTimeMillis(), document));
+		}
+	}
+
+	/**
+	 * Removes all entries from {@link #reindexQueue}, which must be synchronized.
+	 */
+	private void clearReindexQueue() {
+		reindexQueue.clear();
+	}
+
 	private void addIndexedAttributes(Document document, ITask task, TaskAttribute root) {
 		addIndexedAttribute(document, FIELD_TASK_KEY, task.getTaskKey());
 		addIndexedAttribute(document, FIELD_REPOSITORY_URL, task.getRepositoryUrl());
@@ -918,6 +1715,10 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 				addIndexedAttribute(document, field, root.getMappedAttribute(field.getKey()));
 			}
 		}
+
+		for (AbstractTaskSchema.Field field : FACET_FIELDS) {
+			addFacetValues(document, field, root.getMappedAttribute(field.getKey()));
+		}
 	}
 
 	/**
@@ -955,6 +1756,7 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		addIndexedAttribute(document, FIELD_CONTENT, ((AbstractTask) task).getNotes());
 		addIndexedAttribute(document, FIELD_NOTES, ((AbstractTask) task).getNotes());
 		addIndexedDateAttributes(document, task);
+		addFacetValue(document, DefaultTaskSchema.getInstance().PRIORITY, task.getPriority());
 	}
 
 	private void addIndexedDateAttributes(Document document, ITask task) {
@@ -964,6 +1766,28 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		addIndexedAttribute(document, DefaultTaskSchema.getInstance().DATE_MODIFICATION, task.getModificationDate());
 	}
 
+	/**
+	 * adds single valued doc values for each of the {@link #SORT_FIELDS}
+	 */
+	private void addSortValues(Document document, ITask task) {
+		addSortValue(document, DefaultTaskSchema.getInstance().DATE_MODIFICATION, task.getModificationDate());
+		addSortValue(document, DefaultTaskSchema.getInstance().DATE_CREATION, task.getCreationDate());
+		addSortValue(document, DefaultTaskSchema.getInstance().PRIORITY, task.getPriority());
+		addSortValue(document, FIELD_TASK_KEY, task.getTaskKey());
+	}
+
+	private void addSortValue(Document document, AbstractTaskSchema.Field sortField, Date date) {
+		if (date != null) {
+			document.add(new NumericDocValuesField(SORT_FIELD_PREFIX + sortField.getIndexKey(), date.getTime()));
+		}
+	}
+
+	private void addSortValue(Document document, AbstractTaskSchema.Field sortField, String value) {
+		if (value != null) {
+			document.add(new SortedDocValuesField(SORT_FIELD_PREFIX + sortField.getIndexKey(), new BytesRef(value)));
+		}
+	}
+
 	private void addIndexedAttribute(Document document, AbstractTaskSchema.Field indexField, TaskAttribute attribute) {
 		if (attribute == null) {
 			return;
@@ -1018,6 +1842,31 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		}
 	}
 
+	private void addFacetValues(Document document, AbstractTaskSchema.Field facetField, TaskAttribute attribute) {
+		if (attribute == null) {
+			return;
+		}
+		if (isPersonField(facetField)) {
+			IRepositoryPerson person = attribute.getTaskData().getAttributeMapper().getRepositoryPerson(attribute);
+			if (person != null) {
+				addFacetValue(document, facetField, person.getPersonId());
+			}
+		} else {
+			Set<String> values = new HashSet<String>(
+					attribute.getTaskData().getAttributeMapper().getValueLabels(attribute));
+			for (String value : values) {
+				addFacetValue(document, facetField, value);
+			}
+		}
+	}
+
+	private void addFacetValue(Document document, AbstractTaskSchema.Field facetField, String value) {
+		if (value != null && value.length() != 0) {
+			document.add(new SortedSetDocValuesField(FACET_FIELD_PREFIX + facetField.getIndexKey(),
+					new BytesRef(value)));
+		}
+	}
+
 	private void addIndexedAttribute(Document document, AbstractTaskSchema.Field indexField, Date date) {
 		if (date == null) {
 			return;
@@ -1088,21 +1937,33 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		SubMonitor monitor = SubMonitor.convert(m, 2 * WORK_PER_SEGMENT);
 		try {
 			try {
-				if (!rebuildIndex) {
-					try {
-						IndexReader reader = DirectoryReader.open(directory);
-						reader.close();
-					} catch (CorruptIndexException e) {
-						rebuildIndex = true;
-					}
+				if (!isRebuildRequested()) {
+					openIndex();
+				}
+
+				Set<String> obsoleteShards;
+				Set<String> staleShards;
+				synchronized (this) {
+					obsoleteShards = new HashSet<String>(this.obsoleteShards);
+					this.obsoleteShards.clear();
+					staleShards = new HashSet<String>(this.staleShards);
+					this.staleShards.clear();
+				}
+				for (String shardKey : obsoleteShards) {
+					deleteShard(shardKey);
 				}
 
-				if (rebuildIndex) {
+				if (isRebuildRequested()) {
 					synchronized (reindexQueue) {
-						reindexQueue.clear();
+						clearReindexQueue();
 					}
 
-					IStatus status = rebuildIndexCompletely(monitor.newChild(WORK_PER_SEGMENT));
+					IStatus status = rebuildIndex(null, monitor.newChild(WORK_PER_SEGMENT));
+					if (!status.isOK()) {
+						StatusHandler.log(status);
+					}
+				} else if (!staleShards.isEmpty()) {
+					IStatus status = rebuildIndex(staleShards, monitor.newChild(WORK_PER_SEGMENT));
 					if (!status.isOK()) {
 						StatusHandler.log(status);
 					}
@@ -1112,9 +1973,6 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 
 				// index any tasks that have been changed
 				indexQueuedTasks(monitor.newChild(WORK_PER_SEGMENT));
-
-				// prevent new searches from reading the now-stale index
-				closeIndexReader();
 			} catch (IOException e) {
 				throw new CoreException(new Status(IStatus.ERROR, TasksIndexCore.ID_PLUGIN,
 						"Unexpected exception: " + e.getMessage(), e)); //$NON-NLS-1$
@@ -1124,21 +1982,6 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		}
 	}
 
-	private void closeIndexReader() throws IOException {
-		Lock writeLock = indexReaderLock.writeLock();
-		writeLock.lock();
-		try {
-			synchronized (this) {
-				if (indexReader != null) {
-					indexReader.close();
-					indexReader = null;
-				}
-			}
-		} finally {
-			writeLock.unlock();
-		}
-	}
-
 	private void indexQueuedTasks(SubMonitor monitor)
 			throws CorruptIndexException, LockObtainFailedException, IOException, CoreException {
 
@@ -1151,9 +1994,9 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		}
 
 		try {
-			IndexWriter writer = null;
+			boolean changed = false;
 			try {
-				Map<ITask, TaskData> workingQueue = new HashMap<ITask, TaskData>();
+				Map<String, QueuedTask> workingQueue = new LinkedHashMap<String, QueuedTask>();
 
 				// reindex tasks that are in the reindexQueue, making multiple passes so that we catch anything
 				// added/changed while we were reindexing
@@ -1162,42 +2005,78 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 
 					synchronized (reindexQueue) {
 						if (reindexQueue.isEmpty()) {
+							indexingQueuedTime = 0;
 							break;
 						}
 						// move items from the reindexQueue to the temporary working queue
+						indexingQueuedTime = reindexQueue.values().iterator().next().queuedTime;
 						workingQueue.putAll(reindexQueue);
-						reindexQueue.keySet().removeAll(workingQueue.keySet());
-					}
-
-					if (writer == null) {
-						try {
-							writer = createIndexWriter(false);
-						} catch (CorruptIndexException e) {
-							rebuildIndex = true;
-							synchronized (reindexQueue) {
-								reindexQueue.clear();
-							}
-							rebuildIndexCompletely(monitor);
-							return;
-						}
+						reindexQueue.clear();
 					}
 
 					monitor.setWorkRemaining(workingQueue.size());
 
-					for (Entry<ITask, TaskData> entry : workingQueue.entrySet()) {
-						ITask task = entry.getKey();
-						TaskData taskData = entry.getValue();
+					for (Entry<String, QueuedTask> entry : workingQueue.entrySet()) {
+						String handleIdentifier = entry.getKey();
+						QueuedTask queuedTask = entry.getValue();
+						Document document = queuedTask.document;
+						if (document == null) {
+							try {
+								// the task data is read from the store to avoid holding it in memory while queued
+								document = createDocument(queuedTask.task, dataManager.getTaskData(queuedTask.task));
+							} catch (CoreException e) {
+								// an individual task data error should not prevent the index from updating
+								StatusHandler.log(e.getStatus());
+								monitor.worked(1);
+								continue;
+							}
+						}
 
-						writer.deleteDocuments(new Term(FIELD_IDENTIFIER.getIndexKey(), task.getHandleIdentifier()));
+						String shardKey = getShardKey(queuedTask.task);
+						IndexWriter writer;
+						try {
+							writer = openShard(shardKey, false);
+						} catch (CorruptIndexException | IndexFormatTooOldException e) {
+							// the task is indexed when the shard is rebuilt
+							synchronized (this) {
+								staleShards.add(shardKey);
+							}
+							monitor.worked(1);
+							continue;
+						}
 
-						add(writer, task, taskData);
+						// update atomically so that searches never miss the task while the batch is in progress
+						Term term = new Term(FIELD_IDENTIFIER.getIndexKey(), handleIdentifier);
+						if (document != null) {
+							writer.updateDocument(term, document);
+						} else {
+							writer.deleteDocuments(term);
+						}
+						changed = true;
 
 						monitor.worked(1);
+						refreshSearcher(false);
 					}
 				}
 			} finally {
-				if (writer != null) {
-					writer.close();
+				synchronized (reindexQueue) {
+					indexingQueuedTime = 0;
+				}
+				if (changed) {
+					refreshSearcher(true);
+					scheduleCommit();
+				}
+			}
+
+			Set<String> staleShards;
+			synchronized (this) {
+				staleShards = new HashSet<String>(this.staleShards);
+				this.staleShards.clear();
+			}
+			if (!staleShards.isEmpty()) {
+				IStatus status = rebuildIndex(staleShards, monitor);
+				if (!status.isOK()) {
+					StatusHandler.log(status);
 				}
 			}
 		} finally {
@@ -1221,54 +2100,196 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 
 	}
 
-	private IStatus rebuildIndexCompletely(SubMonitor monitor)
+	/**
+	 * Rebuilds shards of the index from the task list. Shards that no longer contain any tasks are deleted.
+	 *
+	 * @param shardKeys
+	 *            the keys of the shards to rebuild, or null to rebuild the whole index
+	 */
+	private IStatus rebuildIndex(Set<String> shardKeys, SubMonitor monitor)
 			throws CorruptIndexException, LockObtainFailedException, IOException, CoreException {
 
 		MultiStatus multiStatus = new MultiStatus(TasksIndexCore.ID_PLUGIN, 0, null, null);
 
+		// rebuilds that are requested from here on need to read the task list again
+		long generation = rebuildGeneration.get();
+
 		// get indexable tasks from the task list
 		final TaskListState taskListState = new TaskListState();
 		taskList.run(taskListState, monitor.newChild(0));
 
-		monitor.beginTask(Messages.TaskListIndex_task_rebuilding_index, taskListState.indexableTasks.size());
+		List<ITask> tasks = new ArrayList<ITask>();
+		Set<String> rebuiltShards = new HashSet<String>();
+		for (ITask task : taskListState.indexableTasks) {
+			String shardKey = getShardKey(task);
+			if (shardKeys == null || shardKeys.contains(shardKey)) {
+				tasks.add(task);
+				rebuiltShards.add(shardKey);
+			}
+		}
+
+		Set<String> obsoleteShards = new HashSet<String>();
+		if (shardKeys == null) {
+			openIndex();
+			synchronized (this) {
+				obsoleteShards.addAll(shards.keySet());
+				obsoleteShards.addAll(staleShards);
+			}
+			obsoleteShards.addAll(listShards());
+		} else {
+			obsoleteShards.addAll(shardKeys);
+		}
+		obsoleteShards.removeAll(rebuiltShards);
+		if (indexLocation == null && (shardKeys == null || obsoleteShards.remove(""))) { //$NON-NLS-1$
+			// the index is not sharded, keep the empty index
+			obsoleteShards.remove(""); //$NON-NLS-1$
+			rebuiltShards.add(""); //$NON-NLS-1$
+		}
+
+		monitor.beginTask(Messages.TaskListIndex_task_rebuilding_index, tasks.size());
+		boolean completed = false;
 		try {
-			IndexWriter writer;
-			try {
-				writer = createIndexWriter(true);
-			} catch (CorruptIndexException | IndexFormatTooOldException e) {
-				if (directory instanceof FSDirectory) {
-					cleanDirectory(((FSDirectory) directory).getDirectory().toFile());
-					writer = createIndexWriter(true);
-				} else {
-					throw e;
-				}
+			for (String shardKey : obsoleteShards) {
+				deleteShard(shardKey);
+			}
+			if (shardKeys == null) {
+				deleteLegacyIndex();
 			}
+
+			// changes that precede the rebuild are kept if the rebuild does not complete
+			commitIndex();
+
+			Map<String, IndexWriter> writers = new HashMap<String, IndexWriter>();
 			try {
+				for (String shardKey : rebuiltShards) {
+					IndexWriter writer = openShard(shardKey, true);
+					// searches continue to see the previous state of the shard until the searcher is refreshed
+					writer.deleteAll();
+					writer.setCommitData(Collections.<String, String> emptyMap());
+					writers.put(shardKey, writer);
+				}
 
-				for (ITask task : taskListState.indexableTasks) {
-					if (taskIsIndexable(task, null)) {
-						try {
-							TaskData taskData = dataManager.getTaskData(task);
-							add(writer, task, taskData);
-						} catch (CoreException e) {
-							// an individual task data error should not prevent the index from updating
-							multiStatus.add(e.getStatus());
-						}
+				if (addDocuments(writers, tasks, multiStatus, monitor)) {
+					for (IndexWriter writer : writers.values()) {
+						writer.setCommitData(Collections.singletonMap(COMMIT_DATA_INDEX_FORMAT, INDEX_FORMAT));
 					}
-					monitor.worked(1);
-				}
-				synchronized (this) {
-					rebuildIndex = false;
+					if (shardKeys == null) {
+						rebuiltGeneration = generation;
+					}
+					completed = true;
 				}
 			} finally {
-				writer.close();
+				if (completed) {
+					commitIndex();
+					refreshSearcher(true);
+				} else {
+					// keep the last committed state of the shards rather than publishing a partial index
+					for (String shardKey : writers.keySet()) {
+						rollbackShard(shardKey);
+					}
+				}
 			}
 		} finally {
+			if (!completed && shardKeys != null) {
+				synchronized (this) {
+					staleShards.addAll(shardKeys);
+				}
+			}
 			monitor.done();
 		}
 		return multiStatus;
 	}
 
+	/**
+	 * Loads the task data and adds a document for each of the given tasks to the writer of its shard. Task data is read
+	 * and documents are created by up to {@link #MAX_REBUILD_THREADS} threads that share <code>writers</code>, progress
+	 * is reported and cancellation is checked on the calling thread.
+	 *
+	 * @return true, if documents were added for all tasks, false if the operation was canceled
+	 */
+	private boolean addDocuments(final Map<String, IndexWriter> writers, final List<ITask> tasks,
+			final MultiStatus multiStatus, IProgressMonitor monitor) throws IOException {
+		final AtomicInteger nextTask = new AtomicInteger();
+		final AtomicInteger completedTasks = new AtomicInteger();
+		final AtomicBoolean canceled = new AtomicBoolean();
+		int threads = Math.min(Math.min(Runtime.getRuntime().availableProcessors(), MAX_REBUILD_THREADS), tasks.size());
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads),
+				new IndexThreadFactory("Mylyn Task List Index")); //$NON-NLS-1$
+		try {
+			List<Future<?>> workers = new ArrayList<Future<?>>(threads);
+			for (int i = 0; i < threads; i++) {
+				workers.add(executor.submit(new Callable<Object>() {
+					public Object call() throws IOException {
+						int index;
+						while (!canceled.get() && (index = nextTask.getAndIncrement()) < tasks.size()) {
+							ITask task = tasks.get(index);
+							if (taskIsIndexable(task, null)) {
+								try {
+									TaskData taskData = dataManager.getTaskData(task);
+									Document document = createDocument(task, taskData);
+									if (document != null) {
+										writers.get(getShardKey(task)).addDocument(document);
+									}
+								} catch (CoreException e) {
+									// an individual task data error should not prevent the index from updating
+									synchronized (multiStatus) {
+										multiStatus.add(e.getStatus());
+									}
+								}
+							}
+							completedTasks.incrementAndGet();
+						}
+						return null;
+					}
+				}));
+			}
+
+			int reportedTasks = 0;
+			for (Future<?> worker : workers) {
+				while (!isDone(worker, canceled)) {
+					int completed = completedTasks.get();
+					monitor.worked(completed - reportedTasks);
+					reportedTasks = completed;
+					if (monitor.isCanceled()) {
+						canceled.set(true);
+					}
+				}
+			}
+			monitor.worked(completedTasks.get() - reportedTasks);
+			return !canceled.get();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Waits up to {@link #POLL_INTERVAL} for <code>worker</code> to complete. Rethrows failures of the worker and
+	 * cancels the remaining workers in that case.
+	 */
+	private boolean isDone(Future<?> worker, AtomicBoolean canceled) throws IOException {
+		try {
+			worker.get(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+			return true;
+		} catch (TimeoutException e) {
+			return false;
+		} catch (InterruptedException e) {
+			canceled.set(true);
+			Thread.currentThread().interrupt();
+			return true;
+		} catch (ExecutionException e) {
+			canceled.set(true);
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+
 	private void cleanDirectory(File file) throws IOException {
 		if (file.exists()) {
 			File[] children = file.listFiles();
@@ -1283,26 +2304,37 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		}
 	}
 
-	protected IndexWriter createIndexWriter(boolean create)
+	private void cleanDirectory(Directory directory) throws IOException {
+		for (String name : directory.listAll()) {
+			if (!name.equals(IndexWriter.WRITE_LOCK_NAME)) {
+				directory.deleteFile(name);
+			}
+		}
+	}
+
+	protected IndexWriter createIndexWriter(Directory directory, boolean create)
 			throws CorruptIndexException, LockObtainFailedException, IOException {
 		IndexWriterConfig writerConfig = new IndexWriterConfig(TaskAnalyzer.instance());
 		writerConfig.setInfoStream(InfoStream.NO_OUTPUT);
 		writerConfig.setOpenMode(create ? OpenMode.CREATE : OpenMode.APPEND);
-		return new IndexWriter(directory, writerConfig);
+		IndexWriter writer = new IndexWriter(directory, writerConfig);
+		if (create) {
+			// a new index only contains documents of the current format
+			writer.setCommitData(Collections.singletonMap(COMMIT_DATA_INDEX_FORMAT, INDEX_FORMAT));
+		}
+		return writer;
 	}
 
 	/**
-	 * @param writer
 	 * @param task
 	 *            the task
 	 * @param taskData
 	 *            may be null for local tasks
-	 * @throws CorruptIndexException
-	 * @throws IOException
+	 * @return the document for the task, or null if the task should not be indexed
 	 */
-	private void add(IndexWriter writer, ITask task, TaskData taskData) throws CorruptIndexException, IOException {
+	private Document createDocument(ITask task, TaskData taskData) {
 		if (!taskIsIndexable(task, taskData)) {
-			return;
+			return null;
 		}
 
 		Document document = new Document();
@@ -1312,12 +2344,13 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 			if ("local".equals(((AbstractTask) task).getConnectorKind())) { //$NON-NLS-1$
 				addIndexedAttributes(document, task);
 			} else {
-				return;
+				return null;
 			}
 		} else {
 			addIndexedAttributes(document, task, taskData.getRoot());
 		}
-		writer.addDocument(document);
+		addSortValues(document, task);
+		return document;
 	}
 
 	public void repositoryAdded(TaskRepository repository) {
@@ -1325,7 +2358,13 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 	}
 
 	public void repositoryRemoved(TaskRepository repository) {
-		// ignore
+		if (indexLocation == null) {
+			return;
+		}
+		synchronized (this) {
+			obsoleteShards.add(getShardKey(repository.getConnectorKind(), repository.getRepositoryUrl()));
+		}
+		scheduleIndexMaintenance(MaintainIndexType.REINDEX);
 	}
 
 	public void repositorySettingsChanged(TaskRepository repository) {
@@ -1333,6 +2372,14 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 	}
 
 	public void repositoryUrlChanged(TaskRepository repository, String oldUrl) {
-		reindex();
+		if (indexLocation == null) {
+			reindex();
+			return;
+		}
+		synchronized (this) {
+			obsoleteShards.add(getShardKey(repository.getConnectorKind(), oldUrl));
+			staleShards.add(getShardKey(repository.getConnectorKind(), repository.getRepositoryUrl()));
+		}
+		scheduleIndexMaintenance(MaintainIndexType.REINDEX);
 	}
 }
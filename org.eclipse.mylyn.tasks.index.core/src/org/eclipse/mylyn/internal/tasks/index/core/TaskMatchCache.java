@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.index.core;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.MultiFields;
+import org.apache.lucene.index.PostingsEnum;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SimpleCollector;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefBuilder;
+import org.apache.lucene.util.BytesRefHash;
+import org.apache.lucene.util.FixedBitSet;
+
+/**
+ * Caches the documents that match recently used pattern strings as bit sets for a single searcher. Tasks are mapped to
+ * documents through the terms of the identifier field, which avoids loading stored fields for matching documents.
+ */
+class TaskMatchCache {
+
+	private static final int MAX_CACHED_PATTERNS = 10;
+
+	private final IndexSearcher searcher;
+
+	/**
+	 * maps the handle identifier of a task to an ordinal in {@link #docIds}, must be synchronized on 'this' since
+	 * lookups are not thread-safe
+	 */
+	private final BytesRefHash handles;
+
+	private final int[] docIds;
+
+	private final BytesRefBuilder handle = new BytesRefBuilder();
+
+	private final Map<String, FixedBitSet> matchesByPattern = new LinkedHashMap<String, FixedBitSet>(16, 0.75f,
+			true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, FixedBitSet> eldest) {
+			return size() > MAX_CACHED_PATTERNS;
+		}
+	};
+
+	private TaskMatchCache(IndexSearcher searcher, BytesRefHash handles, int[] docIds) {
+		this.searcher = searcher;
+		this.handles = handles;
+		this.docIds = docIds;
+	}
+
+	/**
+	 * Creates a cache for <code>searcher</code> by reading the identifiers of all live documents from the terms of
+	 * <code>identifierField</code>. The searcher must remain acquired while this method runs.
+	 */
+	public static TaskMatchCache create(IndexSearcher searcher, String identifierField) throws IOException {
+		IndexReader reader = searcher.getIndexReader();
+		BytesRefHash handles = new BytesRefHash();
+		int[] docIds = new int[Math.max(1, reader.numDocs())];
+		Terms terms = MultiFields.getTerms(reader, identifierField);
+		if (terms != null) {
+			Bits liveDocs = MultiFields.getLiveDocs(reader);
+			TermsEnum termsEnum = terms.iterator();
+			PostingsEnum postings = null;
+			for (BytesRef term = termsEnum.next(); term != null; term = termsEnum.next()) {
+				postings = termsEnum.postings(postings, PostingsEnum.NONE);
+				for (int doc = postings.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = postings.nextDoc()) {
+					if (liveDocs == null || liveDocs.get(doc)) {
+						int ord = handles.add(term);
+						if (ord < 0) {
+							ord = -ord - 1;
+						}
+						docIds = ArrayUtil.grow(docIds, ord + 1);
+						docIds[ord] = doc;
+					}
+				}
+			}
+		}
+		return new TaskMatchCache(searcher, handles, docIds);
+	}
+
+	/**
+	 * the searcher that documents in this cache refer to
+	 */
+	public IndexSearcher getSearcher() {
+		return searcher;
+	}
+
+	/**
+	 * Returns the cached documents that match <code>patternString</code>, or null if the pattern string was not
+	 * matched recently.
+	 */
+	public synchronized FixedBitSet getMatches(String patternString) {
+		return matchesByPattern.get(patternString);
+	}
+
+	/**
+	 * Runs <code>query</code> and caches the matching documents for <code>patternString</code>. The searcher must be
+	 * acquired while this method runs.
+	 */
+	public FixedBitSet computeMatches(String patternString, Query query) throws IOException {
+		final FixedBitSet matches = new FixedBitSet(Math.max(1, searcher.getIndexReader().maxDoc()));
+		searcher.search(query, new SimpleCollector() {
+
+			private int docBase;
+
+			@Override
+			protected void doSetNextReader(LeafReaderContext context) throws IOException {
+				docBase = context.docBase;
+			}
+
+			@Override
+			public void collect(int doc) throws IOException {
+				matches.set(docBase + doc);
+			}
+
+			@Override
+			public boolean needsScores() {
+				return false;
+			}
+		});
+
+		synchronized (this) {
+			matchesByPattern.put(patternString, matches);
+		}
+		return matches;
+	}
+
+	/**
+	 * Returns true, if the document of the task with the given handle identifier is set in <code>matches</code>.
+	 */
+	public synchronized boolean matches(FixedBitSet matches, String handleIdentifier) {
+		handle.copyChars(handleIdentifier);
+		int ord = handles.find(handle.get());
+		return ord >= 0 && matches.get(docIds[ord]);
+	}
+
+}
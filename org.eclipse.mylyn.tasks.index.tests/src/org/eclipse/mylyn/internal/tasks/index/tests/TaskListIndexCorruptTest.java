@@ -13,6 +13,8 @@
 
 package org.eclipse.mylyn.internal.tasks.index.tests;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.BufferedOutputStream;
@@ -20,6 +22,9 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Random;
 
 import org.eclipse.mylyn.tasks.core.ITask;
@@ -39,15 +44,26 @@ public class TaskListIndexCorruptTest extends AbstractTaskListIndexTest {
 	}
 
 	private void corruptIndex() throws IOException {
-		File[] files = tempDir.listFiles();
-		if (files == null || files.length == 0) {
+		if (corruptFiles(tempDir) == 0) {
 			throw new IllegalStateException("index has no files");
 		}
-		for (File file : files) {
-			if (file.isFile()) {
-				corruptFile(file);
+	}
+
+	private int corruptFiles(File folder) throws IOException {
+		int count = 0;
+		File[] files = folder.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				if (file.isDirectory()) {
+					// each repository is indexed in a separate shard
+					count += corruptFiles(file);
+				} else {
+					corruptFile(file);
+					count++;
+				}
 			}
 		}
+		return count;
 	}
 
 	private void corruptFile(File file) throws IOException {
@@ -62,6 +78,34 @@ public class TaskListIndexCorruptTest extends AbstractTaskListIndexTest {
 		}
 	}
 
+	@Test
+	public void testCorruptShard() throws Exception {
+		setupIndex();
+		ITask localTask = context.createLocalTask();
+		ITask repositoryTask = context.createRepositoryTask();
+		index.waitUntilIdle();
+		disposeIndex();
+
+		File localShard = null;
+		for (File file : tempDir.listFiles()) {
+			if (file.getName().startsWith("local")) {
+				localShard = file;
+			} else {
+				corruptFiles(file);
+			}
+		}
+		assertNotNull(localShard);
+		List<String> localShardFiles = Arrays.asList(localShard.list());
+
+		setupIndex();
+		index.waitUntilIdle();
+
+		assertTrue(index.matches(localTask, localTask.getSummary()));
+		assertTrue(index.matches(repositoryTask, repositoryTask.getSummary()));
+		// only the corrupt shard is rebuilt
+		assertEquals(new HashSet<String>(localShardFiles), new HashSet<String>(Arrays.asList(localShard.list())));
+	}
+
 	@Test
 	public void testCorrupt() throws Exception {
 		setupCorruptIndex();
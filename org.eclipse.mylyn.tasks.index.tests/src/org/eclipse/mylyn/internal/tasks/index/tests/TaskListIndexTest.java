@@ -18,36 +18,50 @@ import static org.eclipse.mylyn.commons.sdk.util.CommonTestUtil.deleteFolderRecu
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.mylyn.commons.core.DelegatingProgressMonitor;
 import org.eclipse.mylyn.internal.tasks.core.AbstractTask;
 import org.eclipse.mylyn.internal.tasks.core.LocalTask;
 import org.eclipse.mylyn.internal.tasks.index.core.TaskListIndex;
+import org.eclipse.mylyn.internal.tasks.index.core.TaskListIndex.ResultCursor;
 import org.eclipse.mylyn.internal.tasks.index.core.TaskListIndex.TaskCollector;
+import org.eclipse.mylyn.tasks.core.IRepositoryManager;
 import org.eclipse.mylyn.tasks.core.ITask;
+import org.eclipse.mylyn.tasks.core.ITask.PriorityLevel;
+import org.eclipse.mylyn.tasks.core.data.AbstractTaskSchema;
 import org.eclipse.mylyn.tasks.core.data.DefaultTaskSchema;
 import org.eclipse.mylyn.tasks.core.data.TaskAttachmentMapper;
 import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
 import org.eclipse.mylyn.tasks.core.data.TaskData;
 import org.eclipse.mylyn.tasks.core.data.TaskMapper;
+import org.eclipse.mylyn.tasks.tests.connector.MockTask;
 import org.junit.Test;
 
 /**
@@ -61,6 +75,18 @@ public class TaskListIndexTest extends AbstractTaskListIndexTest {
 	private static final org.eclipse.mylyn.tasks.core.data.AbstractTaskSchema.Field FIELD_DATE_CREATION = DefaultTaskSchema
 			.getInstance().DATE_CREATION;
 
+	private static final org.eclipse.mylyn.tasks.core.data.AbstractTaskSchema.Field FIELD_DATE_MODIFICATION = DefaultTaskSchema
+			.getInstance().DATE_MODIFICATION;
+
+	private static final org.eclipse.mylyn.tasks.core.data.AbstractTaskSchema.Field FIELD_PRIORITY = DefaultTaskSchema
+			.getInstance().PRIORITY;
+
+	private static final org.eclipse.mylyn.tasks.core.data.AbstractTaskSchema.Field FIELD_USER_ASSIGNED = DefaultTaskSchema
+			.getInstance().USER_ASSIGNED;
+
+	private static final org.eclipse.mylyn.tasks.core.data.AbstractTaskSchema.Field FIELD_USER_REPORTER = DefaultTaskSchema
+			.getInstance().USER_REPORTER;
+
 	private static class TestTaskCollector extends TaskCollector {
 
 		private final List<ITask> tasks = new ArrayList<ITask>();
@@ -548,6 +574,385 @@ public class TaskListIndexTest extends AbstractTaskListIndexTest {
 		}
 	}
 
+	/**
+	 * Verify that changes are indexed and become visible while a search is in progress.
+	 */
+	@Test
+	public void testReindexWhileFinding() throws Exception {
+		setupIndex();
+		index.setDefaultField(FIELD_SUMMARY);
+
+		final LocalTask task = (LocalTask) context.createLocalTask();
+
+		index.waitUntilIdle();
+
+		final CountDownLatch searching = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+		try {
+			Future<?> find = executorService.submit(new Callable<Object>() {
+				public Object call() throws Exception {
+					index.find(task.getSummary(), new TaskCollector() {
+						@Override
+						public void collect(ITask task) {
+							searching.countDown();
+							try {
+								release.await(10, TimeUnit.SECONDS);
+							} catch (InterruptedException e) {
+								e.printStackTrace();
+							}
+						}
+					}, 100);
+					return null;
+				}
+			});
+			assertTrue(searching.await(10, TimeUnit.SECONDS));
+
+			Future<?> update = executorService.submit(new Callable<Object>() {
+				public Object call() throws Exception {
+					task.setSummary("changed");
+					context.getTaskList().notifyElementChanged(task);
+					return null;
+				}
+			});
+			update.get(10, TimeUnit.SECONDS);
+			assertTrue(index.matches(task, "changed"));
+
+			release.countDown();
+			find.get(10, TimeUnit.SECONDS);
+		} finally {
+			release.countDown();
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testReindexAllTasks() throws Exception {
+		setupIndex();
+		index.setDefaultField(FIELD_SUMMARY);
+
+		Set<ITask> tasks = new HashSet<ITask>();
+		for (int i = 0; i < 200; i++) {
+			tasks.add(context.createRepositoryTask());
+			tasks.add(context.createLocalTask());
+		}
+		index.waitUntilIdle();
+
+		index.reindex();
+		index.waitUntilIdle();
+
+		TestTaskCollector collector = new TestTaskCollector();
+		index.find("summary", collector, Integer.MAX_VALUE);
+		assertEquals(tasks, new HashSet<ITask>(collector.getTasks()));
+	}
+
+	@Test
+	public void testFailedRebuildKeepsCommittedIndex() throws Exception {
+		final AtomicBoolean failRebuild = new AtomicBoolean();
+		index = new TaskListIndex(context.getTaskList(), context.getDataManager(),
+				(IRepositoryManager) context.getRepositoryManager(), tempDir, 0L) {
+			@Override
+			protected boolean taskIsIndexable(ITask task, TaskData taskData) {
+				if (failRebuild.get() && Thread.currentThread().getName().startsWith("Mylyn Task List Index")) {
+					throw new IllegalStateException();
+				}
+				return super.taskIsIndexable(task, taskData);
+			}
+		};
+		index.setDefaultField(FIELD_SUMMARY);
+		index.setReindexDelay(0L);
+
+		Set<ITask> tasks = new HashSet<ITask>();
+		tasks.add(context.createRepositoryTask());
+		tasks.add(context.createLocalTask());
+		index.waitUntilIdle();
+
+		failRebuild.set(true);
+		try {
+			index.reindex();
+			fail("expected IllegalStateException");
+		} catch (IllegalStateException e) {
+			// the rebuild failed
+		}
+		index.waitUntilIdle();
+
+		TestTaskCollector collector = new TestTaskCollector();
+		index.find("summary", collector, Integer.MAX_VALUE);
+		assertEquals(tasks, new HashSet<ITask>(collector.getTasks()));
+	}
+
+	@Test
+	public void testRebuildRequestedDuringRebuild() throws Exception {
+		final AtomicBoolean requestRebuild = new AtomicBoolean();
+		final AtomicInteger rebuiltTasks = new AtomicInteger();
+		index = new TaskListIndex(context.getTaskList(), context.getDataManager(),
+				(IRepositoryManager) context.getRepositoryManager(), tempDir, 0L) {
+			@Override
+			protected boolean taskIsIndexable(ITask task, TaskData taskData) {
+				if (Thread.currentThread().getName().startsWith("Mylyn Task List Index")) {
+					rebuiltTasks.incrementAndGet();
+					if (requestRebuild.compareAndSet(true, false)) {
+						// the running rebuild may have missed changes that caused the request
+						setReindexDelay(60 * 1000L);
+						reindex();
+					}
+				}
+				return super.taskIsIndexable(task, taskData);
+			}
+		};
+		index.setDefaultField(FIELD_SUMMARY);
+		index.setReindexDelay(0L);
+		context.createLocalTask();
+		index.waitUntilIdle();
+
+		requestRebuild.set(true);
+		index.reindex();
+		assertFalse(requestRebuild.get());
+		int count = rebuiltTasks.get();
+
+		index.setReindexDelay(0L);
+		context.createLocalTask();
+		assertTrue(rebuiltTasks.get() > count);
+	}
+
+	@Test
+	public void testReindexQueueMetrics() throws Exception {
+		setupIndex();
+		index.setDefaultField(FIELD_SUMMARY);
+		index.waitUntilIdle();
+		assertEquals(0, index.getReindexQueueSize());
+		assertEquals(0, index.getIndexingLag());
+
+		index.setReindexDelay(60 * 1000L);
+		ITask task1 = context.createLocalTask();
+		ITask task2 = context.createLocalTask();
+		task1.setSummary("changed summary");
+		context.getTaskList().notifyElementsChanged(Collections.singleton(task1));
+		assertEquals(2, index.getReindexQueueSize());
+		Thread.sleep(10);
+		assertTrue(index.getIndexingLag() >= 10);
+
+		index.setReindexDelay(0L);
+		ITask task3 = context.createLocalTask();
+		assertEquals(0, index.getReindexQueueSize());
+		assertEquals(0, index.getIndexingLag());
+
+		TestTaskCollector collector = new TestTaskCollector();
+		index.find("summary", collector, Integer.MAX_VALUE);
+		assertEquals(new HashSet<ITask>(Arrays.asList(task1, task2, task3)),
+				new HashSet<ITask>(collector.getTasks()));
+	}
+
+	@Test
+	public void testReindexQueueCapacity() throws Exception {
+		setupIndex();
+		index.setDefaultField(FIELD_SUMMARY);
+		index.waitUntilIdle();
+
+		index.setReindexDelay(60 * 1000L);
+		index.setReindexQueueCapacity(10);
+		Set<ITask> tasks = new HashSet<ITask>();
+		for (int i = 0; i < 50; i++) {
+			tasks.add(context.createLocalTask());
+			assertTrue(index.getReindexQueueSize() <= 10);
+		}
+
+		index.setReindexDelay(0L);
+		tasks.add(context.createLocalTask());
+		assertEquals(0, index.getReindexQueueSize());
+
+		TestTaskCollector collector = new TestTaskCollector();
+		index.find("summary", collector, Integer.MAX_VALUE);
+		assertEquals(tasks, new HashSet<ITask>(collector.getTasks()));
+	}
+
+	@Test
+	public void testMatchesWhileTyping() throws Exception {
+		int taskCount = 1000;
+		List<ITask> tasks = new ArrayList<ITask>(taskCount);
+		for (int i = 0; i < taskCount; i++) {
+			tasks.add(context.createLocalTask());
+		}
+
+		setupIndex();
+		index.waitUntilIdle();
+		index.setDefaultField(FIELD_SUMMARY);
+
+		// simulate typing into the filter of the task list
+		String[] patterns = { "s", "su", "sum", "summ", "summa", "summar", "summary" };
+		for (String pattern : patterns) {
+			int matches = 0;
+			for (ITask task : tasks) {
+				if (index.matches(task, pattern)) {
+					matches++;
+				}
+			}
+			assertEquals(pattern, taskCount, matches);
+		}
+		for (ITask task : tasks) {
+			assertFalse(index.matches(task, "summaryx"));
+		}
+	}
+
+	@Test
+	public void testComputeFacetCounts() throws Exception {
+		setupIndex();
+
+		ITask task1 = context.createRepositoryTask();
+		context.createRepositoryTask();
+		ITask task3 = context.createRepositoryTask();
+		setAttributeValue(task3, TaskAttribute.USER_ASSIGNED, "other@example.com");
+
+		index.waitUntilIdle();
+
+		Map<AbstractTaskSchema.Field, Map<String, Integer>> counts = index.computeFacetCounts("",
+				Arrays.asList(FIELD_USER_ASSIGNED, FIELD_USER_REPORTER));
+		assertEquals(Arrays.asList("assignee@example.com", "other@example.com"),
+				new ArrayList<String>(counts.get(FIELD_USER_ASSIGNED).keySet()));
+		assertEquals(Integer.valueOf(2), counts.get(FIELD_USER_ASSIGNED).get("assignee@example.com"));
+		assertEquals(Integer.valueOf(1), counts.get(FIELD_USER_ASSIGNED).get("other@example.com"));
+		assertEquals(Collections.singletonMap("reporter@example.com", 3), counts.get(FIELD_USER_REPORTER));
+
+		assertEquals(Collections.singletonMap("other@example.com", 1),
+				index.computeFacetCounts(identifierQuery(task3), FIELD_USER_ASSIGNED));
+		assertEquals(Collections.singletonMap("assignee@example.com", 1),
+				index.computeFacetCounts(identifierQuery(task1), FIELD_USER_ASSIGNED));
+		assertEquals(Collections.emptyMap(), index.computeFacetCounts("" + System.currentTimeMillis(),
+				FIELD_USER_ASSIGNED));
+	}
+
+	@Test
+	public void testComputeFacetCountsLocalTasks() throws Exception {
+		setupIndex();
+
+		context.createLocalTask();
+		ITask task = context.createLocalTask();
+		task.setPriority(PriorityLevel.P1.toString());
+		context.getTaskList().notifyElementsChanged(Collections.singleton(task));
+
+		index.waitUntilIdle();
+
+		Map<String, Integer> counts = index.computeFacetCounts("", FIELD_PRIORITY);
+		assertEquals(2, counts.size());
+		assertEquals(Integer.valueOf(1), counts.get(PriorityLevel.P1.toString()));
+		assertEquals(Integer.valueOf(1), counts.get(PriorityLevel.getDefault().toString()));
+	}
+
+	@Test
+	public void testComputeFacetCountsManyTasks() throws Exception {
+		int taskCount = 1000;
+		PriorityLevel[] priorities = PriorityLevel.values();
+		for (int i = 0; i < taskCount; i++) {
+			ITask task = context.createLocalTask();
+			task.setPriority(priorities[i % priorities.length].toString());
+		}
+
+		setupIndex();
+		index.waitUntilIdle();
+
+		Map<String, Integer> counts = index.computeFacetCounts("", FIELD_PRIORITY);
+		assertEquals(priorities.length, counts.size());
+		for (PriorityLevel priority : priorities) {
+			assertEquals(Integer.valueOf(taskCount / priorities.length), counts.get(priority.toString()));
+		}
+	}
+
+	@Test
+	public void testFindSortedPages() throws Exception {
+		setupIndex();
+		index.setDefaultField(FIELD_SUMMARY);
+
+		List<ITask> tasks = new ArrayList<ITask>();
+		for (int i = 0; i < 25; i++) {
+			ITask task = context.createLocalTask();
+			task.setModificationDate(new Date(1000L * ((i * 7) % 25)));
+			tasks.add(task);
+		}
+		context.getTaskList().notifyElementsChanged(new HashSet<ITask>(tasks));
+		index.waitUntilIdle();
+
+		List<ITask> expected = new ArrayList<ITask>(tasks);
+		Collections.sort(expected, new Comparator<ITask>() {
+			public int compare(ITask o1, ITask o2) {
+				return o2.getModificationDate().compareTo(o1.getModificationDate());
+			}
+		});
+
+		List<ITask> results = new ArrayList<ITask>();
+		List<Integer> pageSizes = new ArrayList<Integer>();
+		ResultCursor cursor = null;
+		do {
+			TestTaskCollector collector = new TestTaskCollector();
+			cursor = index.find("summary", FIELD_DATE_MODIFICATION, true, cursor, 10, collector);
+			results.addAll(collector.getTasks());
+			pageSizes.add(collector.getTasks().size());
+		} while (cursor != null);
+
+		assertEquals(Arrays.asList(10, 10, 5), pageSizes);
+		assertEquals(expected, results);
+	}
+
+	@Test
+	public void testFindSortedByPriority() throws Exception {
+		setupIndex();
+		index.setDefaultField(FIELD_SUMMARY);
+
+		ITask task1 = context.createLocalTask();
+		task1.setPriority(PriorityLevel.P4.toString());
+		ITask task2 = context.createLocalTask();
+		task2.setPriority(PriorityLevel.P1.toString());
+		ITask task3 = context.createLocalTask();
+		task3.setPriority(PriorityLevel.P2.toString());
+		context.getTaskList().notifyElementsChanged(new HashSet<ITask>(Arrays.asList(task1, task2, task3)));
+		index.waitUntilIdle();
+
+		TestTaskCollector collector = new TestTaskCollector();
+		assertNull(index.find("summary", FIELD_PRIORITY, false, null, 10, collector));
+		assertEquals(Arrays.asList(task2, task3, task1), collector.getTasks());
+
+		collector = new TestTaskCollector();
+		assertNull(index.find("summary", FIELD_PRIORITY, true, null, 10, collector));
+		assertEquals(Arrays.asList(task1, task3, task2), collector.getTasks());
+	}
+
+	@Test
+	public void testFindPagesByRelevance() throws Exception {
+		setupIndex();
+		index.setDefaultField(FIELD_SUMMARY);
+
+		Set<ITask> tasks = new HashSet<ITask>();
+		for (int i = 0; i < 12; i++) {
+			tasks.add(context.createLocalTask());
+		}
+		index.waitUntilIdle();
+
+		TestTaskCollector collector = new TestTaskCollector();
+		ResultCursor cursor = index.find("summary", null, false, null, 5, collector);
+		assertNotNull(cursor);
+		cursor = index.find("summary", null, false, cursor, 5, collector);
+		assertNotNull(cursor);
+		assertNull(index.find("summary", null, false, cursor, 5, collector));
+		assertEquals(12, collector.getTasks().size());
+		assertEquals(tasks, new HashSet<ITask>(collector.getTasks()));
+	}
+
+	@Test
+	public void testMatchesAfterReopen() throws InterruptedException {
+		setupIndex();
+		index.setDefaultField(FIELD_SUMMARY);
+
+		ITask task = context.createLocalTask();
+
+		index.waitUntilIdle();
+		disposeIndex();
+
+		setupIndex();
+		index.setDefaultField(FIELD_SUMMARY);
+		index.waitUntilIdle();
+
+		assertTrue(index.matches(task, task.getSummary()));
+	}
+
 	@Test
 	public void testRepositoryUrlChanged() throws InterruptedException, CoreException {
 		setupIndex();
@@ -569,6 +974,57 @@ public class TaskListIndexTest extends AbstractTaskListIndexTest {
 				+ index.escapeFieldValue(repositoryTask.getHandleIdentifier())));
 	}
 
+	@Test
+	public void testRepositoryRemoved() throws Exception {
+		setupIndex();
+		index.setDefaultField(FIELD_SUMMARY);
+
+		ITask repositoryTask = context.createRepositoryTask();
+		ITask localTask = context.createLocalTask();
+		index.waitUntilIdle();
+		assertEquals(2, tempDir.listFiles().length);
+
+		context.getRepositoryManager().removeRepository(context.getMockRepository());
+		index.waitUntilIdle();
+
+		assertEquals(1, tempDir.listFiles().length);
+		assertFalse(index.matches(repositoryTask, "summary"));
+		assertTrue(index.matches(localTask, "summary"));
+	}
+
+	@Test
+	public void testRepositoriesWithSameHashCodeUseSeparateShards() throws Exception {
+		String url1 = context.getMockRepository().getRepositoryUrl() + "/Aa";
+		String url2 = context.getMockRepository().getRepositoryUrl() + "/BB";
+		assertEquals(url1.hashCode(), url2.hashCode());
+
+		setupIndex();
+		context.getTaskList().addTask(new MockTask(url1, "1"));
+		context.getTaskList().addTask(new MockTask(url2, "2"));
+		index.reindex();
+		index.waitUntilIdle();
+
+		assertEquals(2, tempDir.listFiles().length);
+	}
+
+	@Test
+	public void testReindexRepository() throws Exception {
+		setupIndex();
+		index.setDefaultField(FIELD_SUMMARY);
+
+		ITask repositoryTask = context.createRepositoryTask();
+		ITask localTask = context.createLocalTask();
+		index.waitUntilIdle();
+
+		index.reindex(context.getMockRepository());
+		index.waitUntilIdle();
+
+		TestTaskCollector collector = new TestTaskCollector();
+		index.find("summary", collector, Integer.MAX_VALUE);
+		assertEquals(new HashSet<ITask>(Arrays.asList(repositoryTask, localTask)),
+				new HashSet<ITask>(collector.getTasks()));
+	}
+
 	@Test
 	public void testSetLocation() throws InterruptedException, IOException {
 		setupIndex();
@@ -668,6 +1124,17 @@ public class TaskListIndexTest extends AbstractTaskListIndexTest {
 		assertFalse(index.matches(task3, query));
 	}
 
+	private void setAttributeValue(ITask task, String attributeId, String value) throws CoreException {
+		TaskData taskData = context.getDataManager().getTaskData(task);
+		taskData.getRoot().getMappedAttribute(attributeId).setValue(value);
+		context.getDataManager().putSubmittedTaskData(task, taskData, new DelegatingProgressMonitor());
+	}
+
+	private String identifierQuery(ITask task) {
+		return TaskListIndex.FIELD_IDENTIFIER.getIndexKey() + ":"
+				+ index.escapeFieldValue(task.getHandleIdentifier());
+	}
+
 	private void setSummary(ITask task, String summary) throws CoreException {
 		task.setSummary(summary);
 		TaskData taskData = context.getDataManager().getTaskData(task);
@@ -41,6 +41,8 @@ import org.eclipse.mylyn.tasks.tests.ui.MultipleTaskHyperlinkDetectorTest;
 import org.eclipse.mylyn.tasks.tests.ui.ScheduledTaskContainerTest;
 import org.eclipse.mylyn.tasks.tests.ui.TaskAttachmentPropertyTesterTest;
 import org.eclipse.mylyn.tasks.tests.ui.TaskHyperlinkDetectorTest;
+import org.eclipse.mylyn.tasks.tests.ui.TaskListFilterCacheTest;
+import org.eclipse.mylyn.tasks.tests.ui.TaskListRefreshJobTest;
 import org.eclipse.mylyn.tasks.tests.ui.TaskListSynchronizationSchedulerTest;
 import org.eclipse.mylyn.tasks.tests.ui.TaskListViewTest;
 import org.eclipse.mylyn.tasks.tests.ui.TaskRelationHyperlinkDetectorTest;
@@ -166,6 +168,8 @@ public class AllTasksTests {
 		suite.addTestSuite(SynchronizeTasksJobTest.class);
 		suite.addTestSuite(TaskAttributeTest.class);
 		suite.addTestSuite(ScheduledTaskContainerTest.class);
+		suite.addTestSuite(TaskListFilterCacheTest.class);
+		suite.addTestSuite(TaskListRefreshJobTest.class);
 		suite.addTestSuite(RepositoryConnectorContributorTest.class);
 		suite.addTestSuite(TaskInitializationDataTest.class);
 		suite.addTestSuite(TaskDataDiffTest.class);
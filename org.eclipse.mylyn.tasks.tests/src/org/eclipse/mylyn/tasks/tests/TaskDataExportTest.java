@@ -16,6 +16,7 @@ package org.eclipse.mylyn.tasks.tests;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -27,13 +28,20 @@ import junit.framework.TestCase;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.mylyn.commons.sdk.util.CommonTestUtil;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataState;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataStore;
 import org.eclipse.mylyn.internal.tasks.ui.TasksUiPlugin;
 import org.eclipse.mylyn.internal.tasks.ui.util.TaskDataExportOperation;
 import org.eclipse.mylyn.internal.tasks.ui.util.TaskDataSnapshotOperation;
 import org.eclipse.mylyn.internal.tasks.ui.wizards.TaskDataExportWizard;
 import org.eclipse.mylyn.internal.tasks.ui.wizards.TaskDataExportWizardPage;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
 import org.eclipse.swt.widgets.Shell;
 
+import com.google.common.io.ByteStreams;
+
 /**
  * Test case for the Task Export Wizard
  * 
@@ -191,4 +199,55 @@ public class TaskDataExportTest extends TestCase {
 		assertEquals(Arrays.asList("repositories.xml.zip", "tasks.xml.zip"), entries);
 	}
 
+	public void testExportWritesCompleteLastReadData() throws Exception {
+		TaskRepository repository = TaskTestUtil.createMockRepository();
+		TasksUiPlugin.getRepositoryManager().addRepository(repository);
+		TaskDataStore taskDataStore = TasksUiPlugin.getTaskDataManager().getTaskDataStore();
+		boolean binaryFormat = taskDataStore.isBinaryFormat();
+		taskDataStore.setBinaryFormat(false);
+		try {
+			TaskDataState state = new TaskDataState(repository.getConnectorKind(), repository.getRepositoryUrl(), "1");
+			TaskData repositoryData = TaskTestUtil.createTaskData(repository, "1");
+			repositoryData.getRoot().createMappedAttribute(TaskAttribute.SUMMARY).setValue("new summary");
+			state.setRepositoryData(repositoryData);
+			TaskData lastReadData = TaskTestUtil.createTaskData(repository, "1");
+			lastReadData.getRoot().createMappedAttribute(TaskAttribute.SUMMARY).setValue("old summary");
+			state.setLastReadData(lastReadData);
+			File file = new File(mylynFolder, "tasks/mock/1.zip");
+			assertTrue(file.getParentFile().mkdirs());
+			taskDataStore.putTaskData(file, state);
+			assertTrue(readTaskData(new FileInputStream(file)).contains("<OldDataDelta"));
+
+			TaskDataExportOperation operation = new TaskDataExportOperation(destinationDir.getPath(), "export.zip");
+			operation.run(new NullProgressMonitor());
+
+			ZipInputStream in = new ZipInputStream(new FileInputStream(operation.getDestinationFile()));
+			try {
+				ZipEntry entry = in.getNextEntry();
+				while (entry != null && !entry.getName().equals("tasks/mock/1.zip")) {
+					entry = in.getNextEntry();
+				}
+				assertNotNull(entry);
+				String xml = readTaskData(in);
+				assertTrue(xml.contains("<OldData "));
+				assertFalse(xml.contains("<OldDataDelta"));
+			} finally {
+				in.close();
+			}
+		} finally {
+			taskDataStore.setBinaryFormat(binaryFormat);
+			TaskTestUtil.resetTaskListAndRepositories();
+		}
+	}
+
+	private String readTaskData(InputStream zip) throws IOException {
+		ZipInputStream in = new ZipInputStream(zip);
+		try {
+			assertNotNull(in.getNextEntry());
+			return new String(ByteStreams.toByteArray(in), "UTF-8");
+		} finally {
+			in.close();
+		}
+	}
+
 }
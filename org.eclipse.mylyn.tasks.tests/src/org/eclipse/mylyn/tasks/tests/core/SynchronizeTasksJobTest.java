@@ -636,6 +636,162 @@ public class SynchronizeTasksJobTest extends TestCase {
 		log.removeLogListener(listener);
 	}
 
+	public void testGetSingleTaskDataConcurrently() throws Exception {
+		final AtomicInteger active = new AtomicInteger();
+		final AtomicInteger maxActive = new AtomicInteger();
+		final Set<String> requestThreads = Collections.synchronizedSet(new HashSet<String>());
+		AbstractRepositoryConnector connector = new MockRepositoryConnectorWithTaskDataHandler() {
+			@Override
+			public TaskData getTaskData(TaskRepository taskRepository, String taskId, IProgressMonitor monitor)
+					throws CoreException {
+				int count = active.incrementAndGet();
+				synchronized (maxActive) {
+					maxActive.set(Math.max(maxActive.get(), count));
+				}
+				requestThreads.add(Thread.currentThread().getName());
+				try {
+					Thread.sleep(50);
+				} catch (InterruptedException e) {
+					throw new OperationCanceledException();
+				} finally {
+					active.decrementAndGet();
+				}
+				return createTaskData(taskId);
+			}
+		};
+		final Set<String> updateThreads = Collections.synchronizedSet(new HashSet<String>());
+		final AtomicInteger taskDataPut = new AtomicInteger();
+		TaskDataManager customTaskDataManager = new TaskDataManager(taskDataStore, TasksUi.getRepositoryManager(),
+				taskList, (TaskActivityManager) TasksUi.getTaskActivityManager(),
+				new SynchronizationManger((RepositoryModel) TasksUi.getRepositoryModel())) {
+			@Override
+			public void putUpdatedTaskData(ITask itask, TaskData taskData, boolean user, Object token,
+					IProgressMonitor monitor) throws CoreException {
+				updateThreads.add(Thread.currentThread().getName());
+				taskDataPut.incrementAndGet();
+			}
+		};
+		Set<ITask> tasks = new HashSet<ITask>();
+		for (int i = 0; i < 9; i++) {
+			tasks.add(new MockTask(String.valueOf(i)));
+		}
+		repository.setProperty(ITasksCoreConstants.PROPERTY_SYNCHRONIZATION_MAX_CONCURRENT_REQUESTS, "3");
+		SynchronizeTasksJob job = createSyncJobWithManager(connector, tasks, customTaskDataManager);
+		AssertionProgressMonitor monitor = new AssertionProgressMonitor();
+		job.run(monitor);
+
+		assertEquals(9, taskDataPut.get());
+		assertTrue("expected concurrent requests, got " + maxActive.get(), maxActive.get() > 1);
+		assertTrue("expected at most 3 concurrent requests, got " + maxActive.get(), maxActive.get() <= 3);
+		assertEquals(1, updateThreads.size());
+		assertTrue(Collections.disjoint(requestThreads, updateThreads));
+		assertEquals("beginTask|subTask|subTask|subTask|subTask|subTask|subTask|subTask|subTask|subTask|done",
+				monitor.getProgressLog());
+	}
+
+	public void testGetSingleTaskDataSeriallyByDefault() throws Exception {
+		final Set<String> requestThreads = Collections.synchronizedSet(new HashSet<String>());
+		AbstractRepositoryConnector connector = new MockRepositoryConnectorWithTaskDataHandler() {
+			@Override
+			public TaskData getTaskData(TaskRepository taskRepository, String taskId, IProgressMonitor monitor)
+					throws CoreException {
+				requestThreads.add(Thread.currentThread().getName());
+				return createTaskData(taskId);
+			}
+		};
+		final Set<String> updateThreads = Collections.synchronizedSet(new HashSet<String>());
+		final AtomicInteger taskDataPut = new AtomicInteger();
+		TaskDataManager customTaskDataManager = new TaskDataManager(taskDataStore, TasksUi.getRepositoryManager(),
+				taskList, (TaskActivityManager) TasksUi.getTaskActivityManager(),
+				new SynchronizationManger((RepositoryModel) TasksUi.getRepositoryModel())) {
+			@Override
+			public void putUpdatedTaskData(ITask itask, TaskData taskData, boolean user, Object token,
+					IProgressMonitor monitor) throws CoreException {
+				updateThreads.add(Thread.currentThread().getName());
+				taskDataPut.incrementAndGet();
+			}
+		};
+		Set<ITask> tasks = new HashSet<ITask>();
+		for (int i = 0; i < 3; i++) {
+			tasks.add(new MockTask(String.valueOf(i)));
+		}
+		SynchronizeTasksJob job = createSyncJobWithManager(connector, tasks, customTaskDataManager);
+		job.run(new NullProgressMonitor());
+
+		assertEquals(3, taskDataPut.get());
+		assertEquals(Collections.singleton(Thread.currentThread().getName()), requestThreads);
+		assertEquals(Collections.singleton(Thread.currentThread().getName()), updateThreads);
+	}
+
+	public void testMaxConcurrentRequests() throws Exception {
+		assertEquals(ITasksCoreConstants.DEFAULT_SYNCHRONIZATION_MAX_CONCURRENT_REQUESTS,
+				SynchronizeTasksJob.getMaxConcurrentRequests(repository));
+		repository.setProperty(ITasksCoreConstants.PROPERTY_SYNCHRONIZATION_MAX_CONCURRENT_REQUESTS, "invalid");
+		assertEquals(ITasksCoreConstants.DEFAULT_SYNCHRONIZATION_MAX_CONCURRENT_REQUESTS,
+				SynchronizeTasksJob.getMaxConcurrentRequests(repository));
+		repository.setProperty(ITasksCoreConstants.PROPERTY_SYNCHRONIZATION_MAX_CONCURRENT_REQUESTS, "0");
+		assertEquals(1, SynchronizeTasksJob.getMaxConcurrentRequests(repository));
+		repository.setProperty(ITasksCoreConstants.PROPERTY_SYNCHRONIZATION_MAX_CONCURRENT_REQUESTS, "2");
+		assertEquals(2, SynchronizeTasksJob.getMaxConcurrentRequests(repository));
+	}
+
+	public void testConcurrentRequestsLimitedPerRepository() throws Exception {
+		final AtomicInteger active = new AtomicInteger();
+		final AtomicInteger maxActive = new AtomicInteger();
+		AbstractRepositoryConnector connector = new MockRepositoryConnectorWithTaskDataHandler() {
+			@Override
+			public TaskData getTaskData(TaskRepository taskRepository, String taskId, IProgressMonitor monitor)
+					throws CoreException {
+				int count = active.incrementAndGet();
+				synchronized (maxActive) {
+					maxActive.set(Math.max(maxActive.get(), count));
+				}
+				try {
+					Thread.sleep(50);
+				} catch (InterruptedException e) {
+					throw new OperationCanceledException();
+				} finally {
+					active.decrementAndGet();
+				}
+				return createTaskData(taskId);
+			}
+		};
+		final AtomicInteger taskDataPut = new AtomicInteger();
+		TaskDataManager customTaskDataManager = new TaskDataManager(taskDataStore, TasksUi.getRepositoryManager(),
+				taskList, (TaskActivityManager) TasksUi.getTaskActivityManager(),
+				new SynchronizationManger((RepositoryModel) TasksUi.getRepositoryModel())) {
+			@Override
+			public void putUpdatedTaskData(ITask itask, TaskData taskData, boolean user, Object token,
+					IProgressMonitor monitor) throws CoreException {
+				taskDataPut.incrementAndGet();
+			}
+		};
+		repository.setProperty(ITasksCoreConstants.PROPERTY_SYNCHRONIZATION_MAX_CONCURRENT_REQUESTS, "2");
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < 2; i++) {
+			Set<ITask> tasks = new HashSet<ITask>();
+			for (int j = 0; j < 4; j++) {
+				tasks.add(new MockTask(i + "." + j));
+			}
+			final SynchronizeTasksJob job = createSyncJobWithManager(connector, tasks, customTaskDataManager);
+			threads.add(new Thread() {
+				@Override
+				public void run() {
+					job.run(new NullProgressMonitor());
+				}
+			});
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(8, taskDataPut.get());
+		assertTrue("expected at most 2 concurrent requests, got " + maxActive.get(), maxActive.get() <= 2);
+	}
+
 	public void testTasksForSeveralRepositories() throws Exception {
 		final List<String> requestedTaskIds = new ArrayList<String>();
 		AbstractRepositoryConnector connector = new MockRepositoryConnectorWithTaskDataHandler() {
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.tasks.tests.ui;
+
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.internal.tasks.core.LocalTask;
+import org.eclipse.mylyn.internal.tasks.core.TaskCategory;
+import org.eclipse.mylyn.internal.tasks.core.TaskContainerDelta;
+import org.eclipse.mylyn.internal.tasks.core.TaskContainerDelta.Kind;
+import org.eclipse.mylyn.internal.tasks.core.TaskList;
+import org.eclipse.mylyn.internal.tasks.ui.views.TaskListFilterCache;
+
+public class TaskListFilterCacheTest extends TestCase {
+
+	private static final List<Object> FILTERS = Collections.<Object> singletonList("filter");
+
+	private TaskListFilterCache cache;
+
+	private TaskList taskList;
+
+	private TaskCategory category;
+
+	private LocalTask parent;
+
+	private LocalTask child;
+
+	@Override
+	protected void setUp() throws Exception {
+		cache = new TaskListFilterCache();
+		cache.validate(1, false, FILTERS);
+		taskList = new TaskList();
+		category = new TaskCategory("category");
+		taskList.addCategory(category);
+		parent = new LocalTask("1", "parent");
+		taskList.addTask(parent, category);
+		child = new LocalTask("2", "child");
+		taskList.addTask(child, parent);
+	}
+
+	public void testPutAndGet() {
+		assertNull(cache.get(parent, child));
+		put(parent, child, true);
+		put(null, category, false);
+		put(category, child, false);
+
+		assertEquals(Boolean.TRUE, cache.get(parent, child));
+		assertEquals(Boolean.FALSE, cache.get(category, child));
+		assertEquals(Boolean.FALSE, cache.get(null, category));
+		assertNull(cache.get(null, child));
+
+		put(parent, child, false);
+		assertEquals(Boolean.FALSE, cache.get(parent, child));
+		assertEquals(Boolean.FALSE, cache.get(category, child));
+	}
+
+	public void testInvalidateAncestors() {
+		putAll();
+		cache.invalidate(Collections.singleton(new TaskContainerDelta(child, Kind.CONTENT)));
+		assertNull(cache.get(parent, child));
+		assertNull(cache.get(category, parent));
+		assertNull(cache.get(null, category));
+	}
+
+	public void testInvalidateKeepsDescendants() {
+		putAll();
+		cache.invalidate(Collections.singleton(new TaskContainerDelta(parent, Kind.CONTENT)));
+		assertEquals(Boolean.TRUE, cache.get(parent, child));
+		assertNull(cache.get(category, parent));
+		assertNull(cache.get(null, category));
+	}
+
+	public void testInvalidateRemovedParent() {
+		putAll();
+		taskList.removeFromContainer(parent, child);
+		cache.invalidate(Collections.singleton(new TaskContainerDelta(child, parent, Kind.REMOVED)));
+		assertNull(cache.get(parent, child));
+		assertNull(cache.get(category, parent));
+		assertNull(cache.get(null, category));
+	}
+
+	public void testInvalidateRoot() {
+		putAll();
+		cache.invalidate(Collections.singleton(new TaskContainerDelta(null, Kind.ROOT)));
+		assertEquals(0, cache.size());
+	}
+
+	public void testValidate() {
+		putAll();
+		cache.validate(1, false, FILTERS);
+		assertEquals(3, cache.size());
+
+		cache.validate(1, true, FILTERS);
+		assertEquals(0, cache.size());
+
+		putAll();
+		cache.validate(2, true, FILTERS);
+		assertEquals(0, cache.size());
+
+		putAll();
+		cache.validate(2, true, Collections.<Object> singletonList("other"));
+		assertEquals(0, cache.size());
+	}
+
+	public void testPutAfterConcurrentInvalidation() {
+		long modificationCount = cache.getModificationCount();
+		cache.invalidate(category);
+		cache.put(parent, child, true, modificationCount);
+		assertNull(cache.get(parent, child));
+	}
+
+	private void putAll() {
+		put(parent, child, true);
+		put(category, parent, false);
+		put(null, category, false);
+	}
+
+	private void put(Object parent, Object element, boolean filtered) {
+		cache.put(parent, element, filtered, cache.getModificationCount());
+	}
+
+}
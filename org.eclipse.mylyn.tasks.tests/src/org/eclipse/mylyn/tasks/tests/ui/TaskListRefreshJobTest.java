@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.tasks.tests.ui;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.internal.tasks.core.AbstractTask;
+import org.eclipse.mylyn.internal.tasks.core.TaskCategory;
+import org.eclipse.mylyn.internal.tasks.core.TaskList;
+import org.eclipse.mylyn.internal.tasks.core.TaskTask;
+import org.eclipse.mylyn.internal.tasks.ui.CategorizedPresentation;
+import org.eclipse.mylyn.internal.tasks.ui.TasksUiPlugin;
+import org.eclipse.mylyn.internal.tasks.ui.views.AbstractTaskListPresentation;
+import org.eclipse.mylyn.internal.tasks.ui.views.TaskListRefreshJob;
+import org.eclipse.mylyn.internal.tasks.ui.views.TaskListView;
+import org.eclipse.mylyn.tasks.tests.TaskTestUtil;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.PlatformUI;
+
+/**
+ * Feeds task list changes through the change listener of a {@link TaskListRefreshJob} for the task list view.
+ */
+public class TaskListRefreshJobTest extends TestCase {
+
+	private static final long TIMEOUT = 10 * 1000;
+
+	private TaskList taskList;
+
+	private TaskListView view;
+
+	private TaskCategory category;
+
+	private TaskListRefreshJob job;
+
+	@Override
+	protected void setUp() throws Exception {
+		TaskTestUtil.resetTaskListAndRepositories();
+		TaskTestUtil.createMockRepository();
+		taskList = TasksUiPlugin.getTaskList();
+		category = new TaskCategory(taskList.getUniqueHandleIdentifier());
+		taskList.addCategory(category);
+
+		view = TaskTestUtil.openTasksViewInActivePerspective();
+		for (AbstractTaskListPresentation presentation : TaskListView.getPresentations()) {
+			if (presentation.getId().equals(CategorizedPresentation.ID)) {
+				view.applyPresentation(presentation);
+				break;
+			}
+		}
+		view.setFocusedMode(false);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (job != null) {
+			job.dispose();
+			job.cancel();
+		}
+		TaskTestUtil.resetTaskListAndRepositories();
+	}
+
+	public void testRefreshAllAboveThreshold() throws Exception {
+		Set<AbstractTask> tasks = new HashSet<AbstractTask>();
+		for (int i = 0; i < 250; i++) {
+			TaskTask task = TaskTestUtil.createMockTask(Integer.toString(i));
+			taskList.addTask(task, category);
+			tasks.add(task);
+		}
+		view.refresh();
+		job = new TaskListRefreshJob(view, view.getViewer(), "Test Refresh");
+
+		taskList.notifyElementsChanged(tasks);
+		waitForRefresh();
+
+		assertEquals(1, job.getStructuralRefreshCount());
+		assertEquals(1, job.getRefreshCallCount());
+		assertEquals(0, job.getSkippedElementCount());
+	}
+
+	public void testSkipUnrealizedElements() throws Exception {
+		TaskTask parent = TaskTestUtil.createMockTask("parent");
+		taskList.addTask(parent, category);
+		TaskTask child = TaskTestUtil.createMockTask("child");
+		taskList.addTask(child, parent);
+		view.refresh();
+		// the category has not been expanded
+		assertNotNull(view.getViewer().testFindItem(category));
+		assertNull(view.getViewer().testFindItem(parent));
+		assertNull(view.getViewer().testFindItem(child));
+		job = new TaskListRefreshJob(view, view.getViewer(), "Test Refresh");
+
+		taskList.notifyElementsChanged(Collections.singleton(child));
+		waitForRefresh();
+
+		// neither the child nor the label of its parent are refreshed
+		assertEquals(0, job.getStructuralRefreshCount());
+		assertEquals(0, job.getRefreshCallCount());
+		assertEquals(2, job.getSkippedElementCount());
+	}
+
+	public void testRefreshParentLabel() throws Exception {
+		TaskTask task = TaskTestUtil.createMockTask("task");
+		taskList.addTask(task, category);
+		view.refresh();
+		assertNull(view.getViewer().testFindItem(task));
+		job = new TaskListRefreshJob(view, view.getViewer(), "Test Refresh");
+
+		taskList.notifyElementsChanged(Collections.singleton(task));
+		waitForRefresh();
+
+		// the category label is updated
+		assertEquals(0, job.getStructuralRefreshCount());
+		assertEquals(1, job.getRefreshCallCount());
+		assertEquals(1, job.getSkippedElementCount());
+	}
+
+	private void waitForRefresh() throws InterruptedException {
+		Display display = PlatformUI.getWorkbench().getDisplay();
+		long timeout = System.currentTimeMillis() + TIMEOUT;
+		while (job.getRefreshCallCount() == 0 && job.getSkippedElementCount() == 0) {
+			assertTrue("Timed out waiting for refresh", System.currentTimeMillis() < timeout);
+			if (!display.readAndDispatch()) {
+				Thread.sleep(10);
+			}
+		}
+	}
+
+}
@@ -14,6 +14,7 @@
 package org.eclipse.mylyn.internal.tasks.ui;
 
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.mylyn.internal.tasks.core.ITasksCoreConstants;
 import org.eclipse.mylyn.internal.tasks.ui.util.TasksUiInternal;
@@ -29,6 +30,25 @@ import org.eclipse.mylyn.tasks.core.ITaskContainer;
 // XXX duplicate implementation in hasDescendantIncoming/hasIncompleteDescendant: consider replacing this by a visitor
 public abstract class AbstractTaskListFilter {
 
+	private static final AtomicInteger configurationVersion = new AtomicInteger();
+
+	/**
+	 * Returns a version that changes whenever the configuration of a filter changes. Clients that cache results of
+	 * filters need to discard them when the version changes.
+	 *
+	 * @see #configurationChanged()
+	 */
+	public static int getConfigurationVersion() {
+		return configurationVersion.get();
+	}
+
+	/**
+	 * Invoked when a setting that affects the result of a filter has changed.
+	 */
+	public static void configurationChanged() {
+		configurationVersion.incrementAndGet();
+	}
+
 	/**
 	 * Given an element in the task list to filter against, determines whether or not it should be filtered away or if
 	 * it should be kept within view.
@@ -128,6 +128,12 @@ public interface ITasksUiPreferenceConstants {
 
 	public static final String LAST_SERVICE_MESSAGE_CHECKTIME = "org.eclipse.mylyn.tasks.ui.servicemessage.checktime"; //$NON-NLS-1$
 
+	/**
+	 * If true, task data is stored in a compact binary encoding instead of XML. Existing files are converted when they
+	 * are read.
+	 */
+	public static final String TASK_DATA_BINARY_FORMAT = "org.eclipse.mylyn.tasks.ui.task.data.binary"; //$NON-NLS-1$
+
 	public static final String WELCOME_MESSAGE = "org.eclipse.mylyn.tasks.ui.welcome.message"; //$NON-NLS-1$
 
 }
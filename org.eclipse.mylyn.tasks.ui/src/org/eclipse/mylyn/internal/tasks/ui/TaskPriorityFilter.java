@@ -34,6 +34,7 @@ public class TaskPriorityFilter extends AbstractTaskListFilter {
 
 	public void displayPrioritiesAbove(String level) {
 		priorityLevel = level;
+		configurationChanged();
 	}
 
 	@Override
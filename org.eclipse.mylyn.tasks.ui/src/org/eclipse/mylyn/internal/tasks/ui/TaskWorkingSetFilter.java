@@ -128,6 +128,7 @@ public class TaskWorkingSetFilter extends AbstractTaskListFilter {
 		IAdaptable[] newElements = currentWorkingSet.getElements();
 		if (!Arrays.equals(this.elements, newElements)) {
 			this.elements = newElements;
+			configurationChanged();
 			return true;
 		}
 		return false;
@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.net.proxy.IProxyChangeEvent;
@@ -78,6 +79,7 @@ import org.eclipse.mylyn.internal.tasks.core.RepositoryTemplateManager;
 import org.eclipse.mylyn.internal.tasks.core.TaskActivityManager;
 import org.eclipse.mylyn.internal.tasks.core.TaskActivityUtil;
 import org.eclipse.mylyn.internal.tasks.core.TaskList;
+import org.eclipse.mylyn.internal.tasks.core.TaskListChangeDispatcher;
 import org.eclipse.mylyn.internal.tasks.core.TaskRepositoryDelta;
 import org.eclipse.mylyn.internal.tasks.core.TaskRepositoryDelta.Type;
 import org.eclipse.mylyn.internal.tasks.core.TaskRepositoryManager;
@@ -297,6 +299,14 @@ public class TasksUiPlugin extends AbstractUIPlugin {
 				}
 			}
 
+			if (event.getProperty().equals(ITasksUiPreferenceConstants.TASK_DATA_BINARY_FORMAT)) {
+				if (taskDataManager != null) {
+					boolean binaryFormat = getPreferenceStore()
+							.getBoolean(ITasksUiPreferenceConstants.TASK_DATA_BINARY_FORMAT);
+					taskDataManager.getTaskDataStore().setBinaryFormat(binaryFormat);
+				}
+			}
+
 			if (synchronizationManager != null) {
 				synchronizationManager.processPreferenceChange(event);
 			}
@@ -513,6 +523,9 @@ public class TasksUiPlugin extends AbstractUIPlugin {
 			externalizationManager.addParticipant(repositoryParticipant);
 
 			taskList = new TaskList();
+			if (Boolean.parseBoolean(System.getProperty(ITasksCoreConstants.PROPERTY_TASK_LIST_ASYNC_CHANGE_EVENTS))) {
+				taskList.setChangeDispatcher(new TaskListChangeDispatcher());
+			}
 			repositoryModel = new RepositoryModel(taskList, repositoryManager);
 			taskListExternalizer = new TaskListExternalizer(repositoryModel, repositoryManager);
 
@@ -560,6 +573,8 @@ public class TasksUiPlugin extends AbstractUIPlugin {
 
 			// instantiate taskDataManager
 			TaskDataStore taskDataStore = new TaskDataStore(repositoryManager);
+			taskDataStore.setBinaryFormat(
+					getPreferenceStore().getBoolean(ITasksUiPreferenceConstants.TASK_DATA_BINARY_FORMAT));
 			synchronizationManger = new SynchronizationManger(repositoryModel);
 			taskDataManager = new TaskDataManager(taskDataStore, repositoryManager, taskList, taskActivityManager,
 					synchronizationManger);
@@ -582,6 +597,7 @@ public class TasksUiPlugin extends AbstractUIPlugin {
 
 				public void saving(ISaveContext context) throws CoreException {
 					if (context.getKind() == ISaveContext.FULL_SAVE) {
+						flushTaskListChanges();
 						externalizationManager.stop();
 					}
 				}
@@ -806,6 +822,9 @@ public class TasksUiPlugin extends AbstractUIPlugin {
 				identityServiceTracker.close();
 				identityServiceTracker = null;
 			}
+			if (taskList != null && taskList.getChangeDispatcher() != null) {
+				taskList.getChangeDispatcher().dispose();
+			}
 
 			// wait until stop() to set these to reduce chance of crash after setting them but before creds are persisted
 			getPluginPreferences().setValue(PREF_MIGRATED_TASK_REPOSITORIES_FROM_SECURE_STORE, Boolean.toString(true));
@@ -838,6 +857,24 @@ public class TasksUiPlugin extends AbstractUIPlugin {
 		}
 	}
 
+	/**
+	 * Ensures that pending task list changes have reached the externalization participant before the task list is
+	 * saved.
+	 */
+	private void flushTaskListChanges() {
+		TaskListChangeDispatcher dispatcher = taskList.getChangeDispatcher();
+		if (dispatcher != null) {
+			try {
+				if (!dispatcher.flush(5, TimeUnit.SECONDS)) {
+					StatusHandler.log(new Status(IStatus.WARNING, TasksUiPlugin.ID_PLUGIN,
+							"Timed out waiting for delivery of task list changes: " + dispatcher)); //$NON-NLS-1$
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
 	public String getDefaultDataDirectory() {
 		return ResourcesPlugin.getWorkspace().getRoot().getLocation().toString() + '/' + DIRECTORY_METADATA + '/'
 				+ NAME_DATA_DIR;
@@ -998,6 +1035,7 @@ public class TasksUiPlugin extends AbstractUIPlugin {
 
 		store.setDefault(ITasksUiPreferenceConstants.AUTO_EXPAND_TASK_LIST, true);
 		store.setDefault(ITasksUiPreferenceConstants.TASK_LIST_TOOL_TIPS_ENABLED, true);
+		store.setDefault(ITasksUiPreferenceConstants.TASK_DATA_BINARY_FORMAT, false);
 
 		store.setDefault(ITasksUiPreferenceConstants.SERVICE_MESSAGE_URL, "http://eclipse.org/mylyn/updates.xml"); //$NON-NLS-1$
 	}
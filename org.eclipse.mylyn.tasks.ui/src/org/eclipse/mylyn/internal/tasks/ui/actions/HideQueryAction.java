@@ -23,6 +23,7 @@ import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.mylyn.commons.core.StatusHandler;
 import org.eclipse.mylyn.internal.tasks.core.ITaskListRunnable;
 import org.eclipse.mylyn.internal.tasks.core.ITasksCoreConstants;
+import org.eclipse.mylyn.internal.tasks.ui.AbstractTaskListFilter;
 import org.eclipse.mylyn.internal.tasks.ui.TasksUiPlugin;
 import org.eclipse.mylyn.tasks.core.IRepositoryElement;
 import org.eclipse.mylyn.tasks.core.IRepositoryQuery;
@@ -68,6 +69,8 @@ public class HideQueryAction extends BaseSelectionListenerAction {
 							query.setAttribute(ITasksCoreConstants.ATTRIBUTE_HIDDEN, Boolean.toString(isChecked()));
 						}
 					});
+					// tasks of the query are filtered depending on the visibility of the query
+					AbstractTaskListFilter.configurationChanged();
 					TasksUiPlugin.getTaskList()
 							.notifyElementsChanged(Collections.singleton((IRepositoryElement) query));
 				} catch (CoreException e) {
@@ -13,22 +13,30 @@
 
 package org.eclipse.mylyn.internal.tasks.ui.util;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SubProgressMonitor;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.mylyn.commons.net.Policy;
-import org.eclipse.mylyn.internal.commons.core.ZipFileUtil;
 import org.eclipse.mylyn.internal.tasks.core.ITasksCoreConstants;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataStore;
+import org.eclipse.mylyn.internal.tasks.core.externalization.TaskListExternalizationParticipant;
 import org.eclipse.mylyn.internal.tasks.ui.TasksUiPlugin;
 
 /**
@@ -63,14 +71,25 @@ public class TaskDataExportOperation implements IRunnableWithProgress {
 
 		if (filesToExport.size() > 0 && Platform.isRunning()) {
 			try {
-				monitor.beginTask(EXPORT_JOB_LABEL, filesToExport.size() + 1);
+				monitor.beginTask(EXPORT_JOB_LABEL, filesToExport.size() + 2);
 
 				Job.getJobManager()
 						.beginRule(ITasksCoreConstants.ROOT_SCHEDULING_RULE, new SubProgressMonitor(monitor, 1));
 
-				ZipFileUtil.createZipFile(getDestinationFile(), new ArrayList<File>(filesToExport),
+				// fold the task list journal into the task list file to export a complete task list
+				TaskListExternalizationParticipant participant = TasksUiPlugin.getTaskListExternalizationParticipant();
+				if (participant != null && participant.saveSnapshot(TasksUiPlugin.getDefault().getDataDirectory(),
+						new SubProgressMonitor(monitor, 1))) {
+					filesToExport.clear();
+					selectFiles(filesToExport);
+				}
+
+				// task data is always exported as XML with complete last read data to remain readable by other
+				// installations regardless of the format used for storing it
+				TaskDataStore taskDataStore = TasksUiPlugin.getTaskDataManager().getTaskDataStore();
+				createXmlZipFile(taskDataStore, getDestinationFile(), new ArrayList<File>(filesToExport),
 						TasksUiPlugin.getDefault().getDataDirectory(), monitor);
-			} catch (IOException e) {
+			} catch (IOException | CoreException e) {
 				throw new InvocationTargetException(e);
 			} finally {
 				Job.getJobManager().endRule(ITasksCoreConstants.ROOT_SCHEDULING_RULE);
@@ -79,6 +98,36 @@ public class TaskDataExportOperation implements IRunnableWithProgress {
 		}
 	}
 
+	private void createXmlZipFile(TaskDataStore taskDataStore, File zipFile, List<File> files, String rootPath,
+			IProgressMonitor monitor) throws IOException, CoreException {
+		File root = new File(rootPath);
+		try (ZipOutputStream out = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(zipFile)))) {
+			for (File file : files) {
+				addToZip(taskDataStore, out, root, file);
+				monitor.worked(1);
+			}
+		}
+	}
+
+	private void addToZip(TaskDataStore taskDataStore, ZipOutputStream out, File root, File file)
+			throws IOException, CoreException {
+		String name = root.toURI().relativize(file.toURI()).getPath();
+		if (file.isDirectory()) {
+			for (File child : file.listFiles()) {
+				addToZip(taskDataStore, out, root, child);
+			}
+			return;
+		}
+
+		out.putNextEntry(new ZipEntry(name));
+		if (name.startsWith(ITasksCoreConstants.PREFIX_TASKS + "/") && name.endsWith(".zip")) { //$NON-NLS-1$ //$NON-NLS-2$
+			taskDataStore.exportTaskData(file, out);
+		} else {
+			Files.copy(file.toPath(), out);
+		}
+		out.closeEntry();
+	}
+
 	public File getDestinationFile() {
 		return new File(destinationDirectory + File.separator + destinationFilename);
 	}
@@ -92,10 +92,12 @@ public class PresentationFilter extends AbstractTaskListFilter {
 
 	public void setFilterHiddenQueries(boolean enabled) {
 		this.filterHiddenQueries = enabled;
+		configurationChanged();
 	}
 
 	public void setFilterNonMatching(boolean filterSubtasks) {
 		this.filterNonMatching = filterSubtasks;
+		configurationChanged();
 	}
 
 	public void updateSettings() {
@@ -26,15 +26,22 @@ import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.mylyn.internal.tasks.core.AbstractTask;
 import org.eclipse.mylyn.internal.tasks.core.AbstractTaskCategory;
 import org.eclipse.mylyn.internal.tasks.core.AbstractTaskContainer;
+import org.eclipse.mylyn.internal.tasks.core.ITaskListChangeListener;
 import org.eclipse.mylyn.internal.tasks.core.RepositoryQuery;
+import org.eclipse.mylyn.internal.tasks.core.ScheduledTaskContainer;
 import org.eclipse.mylyn.internal.tasks.core.TaskCategory;
+import org.eclipse.mylyn.internal.tasks.core.TaskContainerDelta;
 import org.eclipse.mylyn.internal.tasks.core.UnmatchedTaskContainer;
 import org.eclipse.mylyn.internal.tasks.ui.AbstractTaskListFilter;
 import org.eclipse.mylyn.internal.tasks.ui.TasksUiPlugin;
 import org.eclipse.mylyn.tasks.core.IRepositoryElement;
 import org.eclipse.mylyn.tasks.core.IRepositoryQuery;
 import org.eclipse.mylyn.tasks.core.ITask;
+import org.eclipse.mylyn.tasks.core.ITaskActivationListener;
+import org.eclipse.mylyn.tasks.core.ITaskActivityListener;
 import org.eclipse.mylyn.tasks.core.ITaskContainer;
+import org.eclipse.mylyn.tasks.core.TaskActivationAdapter;
+import org.eclipse.mylyn.tasks.core.TaskActivityAdapter;
 
 /**
  * Provides custom content for the task list, e.g. guaranteed visibility of some elements, ability to suppress
@@ -47,8 +54,38 @@ public class TaskListContentProvider extends AbstractTaskListContentProvider {
 
 	protected static Object[] EMPTY_ARRRY = new Object[0];
 
+	private final TaskListFilterCache filterCache = new TaskListFilterCache();
+
+	private final ITaskListChangeListener taskListChangeListener = new ITaskListChangeListener() {
+		public void containersChanged(Set<TaskContainerDelta> deltas) {
+			filterCache.invalidate(deltas);
+		}
+	};
+
+	private final ITaskActivationListener taskActivationListener = new TaskActivationAdapter() {
+		@Override
+		public void taskActivated(ITask task) {
+			filterCache.invalidate(task);
+		}
+
+		@Override
+		public void taskDeactivated(ITask task) {
+			filterCache.invalidate(task);
+		}
+	};
+
+	private final ITaskActivityListener taskActivityListener = new TaskActivityAdapter() {
+		@Override
+		public void activityReset() {
+			filterCache.clear();
+		}
+	};
+
 	public TaskListContentProvider(AbstractTaskListView taskListView) {
 		super(taskListView);
+		TasksUiPlugin.getTaskList().addChangeListener(taskListChangeListener);
+		TasksUiPlugin.getTaskActivityManager().addActivationListener(taskActivationListener);
+		TasksUiPlugin.getTaskActivityManager().addActivityListener(taskActivityListener);
 	}
 
 	public void inputChanged(Viewer v, Object oldInput, Object newInput) {
@@ -56,6 +93,21 @@ public class TaskListContentProvider extends AbstractTaskListContentProvider {
 	}
 
 	public void dispose() {
+		TasksUiPlugin.getTaskList().removeChangeListener(taskListChangeListener);
+		TasksUiPlugin.getTaskActivityManager().removeActivationListener(taskActivationListener);
+		TasksUiPlugin.getTaskActivityManager().removeActivityListener(taskActivityListener);
+		filterCache.clear();
+	}
+
+	/**
+	 * Discards cached filter results for <code>elements</code> and their ancestors. Filter results are invalidated
+	 * automatically when the task list changes. This method needs to be invoked when state that affects filtering
+	 * changes without a notification by the task list.
+	 */
+	public void invalidateFilterResults(Collection<?> elements) {
+		for (Object element : elements) {
+			filterCache.invalidate(element);
+		}
 	}
 
 	public Object[] getElements(Object parent) {
@@ -194,8 +246,38 @@ public class TaskListContentProvider extends AbstractTaskListContentProvider {
 		return result;
 	}
 
+	/**
+	 * Returns true, if <code>object</code> is filtered. Results are cached until <code>object</code> or one of its
+	 * descendants changes or the configuration of filters changes.
+	 */
 	protected boolean filter(Object parent, Object object) {
 		boolean notSearching = containsNoFilterText(this.taskListView.getFilteredTree().getFilterString());
+		if (!isCacheable(parent, object)) {
+			return applyFilters(parent, object, notSearching);
+		}
+
+		filterCache.validate(AbstractTaskListFilter.getConfigurationVersion(), !notSearching,
+				this.taskListView.getFilters());
+		Boolean filtered = filterCache.get(parent, object);
+		if (filtered != null) {
+			return filtered;
+		}
+		long modificationCount = filterCache.getModificationCount();
+		boolean result = applyFilters(parent, object, notSearching);
+		filterCache.put(parent, object, result, modificationCount);
+		return result;
+	}
+
+	/**
+	 * Elements of the scheduled presentation are created for each refresh and filtered by date and are therefore not
+	 * cached.
+	 */
+	private boolean isCacheable(Object parent, Object object) {
+		return object instanceof IRepositoryElement && !(object instanceof ScheduledTaskContainer)
+				&& !(parent instanceof ScheduledTaskContainer);
+	}
+
+	private boolean applyFilters(Object parent, Object object, boolean notSearching) {
 		for (AbstractTaskListFilter filter : this.taskListView.getFilters()) {
 			if (notSearching || filter.applyToFilteredText()) {
 				if (!filter.select(parent, object)) {
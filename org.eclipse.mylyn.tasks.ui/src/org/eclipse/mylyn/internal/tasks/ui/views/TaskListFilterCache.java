@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.ui.views;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.mylyn.internal.tasks.core.AbstractTask;
+import org.eclipse.mylyn.internal.tasks.core.AbstractTaskContainer;
+import org.eclipse.mylyn.internal.tasks.core.TaskContainerDelta;
+
+/**
+ * Caches the results of task list filters for elements of the task list. A result is stored per element and parent
+ * since filters may select an element differently depending on its parent. Results are valid for a filter
+ * configuration and are invalidated by task list changes: a changed element invalidates its own results and the results
+ * of its ancestors since containers are selected based on their descendants.
+ * <p>
+ * Results are computed in the UI thread while changes may be reported by any thread. A result is only kept if no
+ * element was invalidated while it was computed.
+ *
+ * @see TaskListContentProvider
+ */
+public class TaskListFilterCache {
+
+	/**
+	 * time in milliseconds after which all results are discarded since filters depend on the current date
+	 */
+	static final long MAX_AGE = 60 * 1000;
+
+	private static final Object NO_PARENT = new Object();
+
+	private static final class Result {
+
+		private final Object parent;
+
+		private final boolean filtered;
+
+		private final Result next;
+
+		Result(Object parent, boolean filtered, Result next) {
+			this.parent = parent;
+			this.filtered = filtered;
+			this.next = next;
+		}
+
+	}
+
+	/**
+	 * results by element, elements typically have few parents which are kept in a linked list
+	 */
+	private final ConcurrentHashMap<Object, Result> results = new ConcurrentHashMap<Object, Result>();
+
+	/**
+	 * incremented before results are discarded
+	 */
+	private final AtomicLong modificationCount = new AtomicLong();
+
+	private int configurationVersion;
+
+	private boolean searching;
+
+	private Set<Object> filters = new HashSet<Object>();
+
+	private long creationTime = System.currentTimeMillis();
+
+	/**
+	 * Discards all results, if the filter configuration differs from the configuration the cached results were computed
+	 * for or if the results have expired.
+	 *
+	 * @param configurationVersion
+	 *            the version of the filter configuration, see
+	 *            {@link org.eclipse.mylyn.internal.tasks.ui.AbstractTaskListFilter#getConfigurationVersion()}
+	 * @param searching
+	 *            true, if filter text is present
+	 * @param filters
+	 *            the active filters
+	 */
+	public synchronized void validate(int configurationVersion, boolean searching, Collection<?> filters) {
+		if (this.configurationVersion != configurationVersion || this.searching != searching
+				|| this.filters.size() != filters.size() || !this.filters.containsAll(filters)
+				|| System.currentTimeMillis() - creationTime > MAX_AGE) {
+			clear();
+			this.configurationVersion = configurationVersion;
+			this.searching = searching;
+			this.filters = new HashSet<Object>(filters);
+			this.creationTime = System.currentTimeMillis();
+		}
+	}
+
+	/**
+	 * Returns true, if <code>element</code> is filtered under <code>parent</code>, false, if the element is selected
+	 * and <code>null</code>, if no result is cached.
+	 */
+	public Boolean get(Object parent, Object element) {
+		Object key = (parent != null) ? parent : NO_PARENT;
+		for (Result result = results.get(element); result != null; result = result.next) {
+			if (result.parent == key) {
+				return result.filtered;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns a value that needs to be passed to {@link #put(Object, Object, boolean, long)} and is obtained before the
+	 * result is computed.
+	 */
+	public long getModificationCount() {
+		return modificationCount.get();
+	}
+
+	/**
+	 * Caches the result for <code>element</code> under <code>parent</code> unless results were invalidated since
+	 * <code>expectedModificationCount</code> was obtained.
+	 */
+	public void put(Object parent, Object element, boolean filtered, long expectedModificationCount) {
+		if (modificationCount.get() != expectedModificationCount) {
+			return;
+		}
+		Object key = (parent != null) ? parent : NO_PARENT;
+		while (true) {
+			Result existing = results.get(element);
+			Result result = new Result(key, filtered, remove(existing, key));
+			if (existing == null) {
+				if (results.putIfAbsent(element, result) == null) {
+					break;
+				}
+			} else if (results.replace(element, existing, result)) {
+				break;
+			}
+		}
+		if (modificationCount.get() != expectedModificationCount) {
+			// invalidated concurrently, the result may be stale
+			results.remove(element);
+		}
+	}
+
+	/**
+	 * Discards results of elements affected by <code>deltas</code>.
+	 */
+	public void invalidate(Set<TaskContainerDelta> deltas) {
+		Set<Object> visited = new HashSet<Object>();
+		for (TaskContainerDelta delta : deltas) {
+			switch (delta.getKind()) {
+			case ROOT:
+				clear();
+				return;
+			case ADDED:
+			case REMOVED:
+			case DELETED:
+				invalidate(delta.getElement(), visited);
+				// the element is no longer a child of a removed parent
+				invalidate(delta.getParent(), visited);
+				break;
+			case CONTENT:
+				invalidate(delta.getElement(), visited);
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Discards results of <code>element</code> and its ancestors.
+	 */
+	public void invalidate(Object element) {
+		invalidate(element, new HashSet<Object>());
+	}
+
+	public void clear() {
+		modificationCount.incrementAndGet();
+		results.clear();
+	}
+
+	/**
+	 * Returns the number of elements that have cached results.
+	 */
+	public int size() {
+		return results.size();
+	}
+
+	private void invalidate(Object element, Set<Object> visited) {
+		if (element == null || !visited.add(element)) {
+			return;
+		}
+		modificationCount.incrementAndGet();
+		results.remove(element);
+		if (element instanceof AbstractTask) {
+			for (AbstractTaskContainer parent : ((AbstractTask) element).getParentContainers()) {
+				invalidate(parent, visited);
+			}
+		}
+	}
+
+	private static Result remove(Result result, Object key) {
+		if (result == null) {
+			return null;
+		}
+		if (result.parent == key) {
+			return result.next;
+		}
+		Result next = remove(result.next, key);
+		return (next == result.next) ? result : new Result(result.parent, result.filtered, next);
+	}
+
+}
@@ -14,10 +14,13 @@
 package org.eclipse.mylyn.internal.tasks.ui.views;
 
 import java.util.Arrays;
+import java.util.Date;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.TreePath;
@@ -42,76 +45,179 @@ import org.eclipse.swt.SWTException;
 import org.eclipse.swt.widgets.TreeItem;
 import org.eclipse.ui.PlatformUI;
 
+/**
+ * Refreshes the task list viewer in response to task list changes. Changes are coalesced until the UI thread processes
+ * them and refreshes are further delayed by {@link DelayedRefreshJob}. Only elements that are realized in the tree are
+ * refreshed and large bursts of changes result in a single refresh of the whole viewer.
+ */
 public final class TaskListRefreshJob extends DelayedRefreshJob {
+
+	/**
+	 * number of changed elements above which the whole viewer is refreshed instead of refreshing each element
+	 */
+	static final int REFRESH_ALL_THRESHOLD = 200;
+
+	private static final long STATISTICS_INTERVAL = 1000;
+
+	private static final boolean TRACE_ENABLED = Boolean
+			.valueOf(Platform.getDebugOption("org.eclipse.mylyn.tasks.ui/debug/refresh")); //$NON-NLS-1$
+
 	private final AbstractTaskListView taskListView;
 
+	private final Object pendingLock = new Object();
+
+	/**
+	 * elements changed since pending changes were last passed to the refresh job, guarded by pendingLock
+	 */
+	private Set<Object> pendingElements = new LinkedHashSet<Object>();
+
+	private boolean pendingRefreshAll;
+
+	private boolean pendingChangesScheduled;
+
+	private final Runnable processPendingChangesRunnable = new Runnable() {
+		public void run() {
+			processPendingChanges();
+		}
+	};
+
 	private final ITaskListChangeListener TASKLIST_CHANGE_LISTENER = new TaskListChangeAdapter() {
 
 		@Override
-		public void containersChanged(final Set<TaskContainerDelta> deltas) {
-			PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
-				public void run() {
+		public void containersChanged(Set<TaskContainerDelta> deltas) {
+			boolean schedule;
+			synchronized (pendingLock) {
+				if (!pendingRefreshAll) {
 					for (TaskContainerDelta taskContainerDelta : deltas) {
-						if (taskListView.isScheduledPresentation()) {
-							// TODO: implement refresh policy for scheduled presentation
-							refresh();
-						} else {
-							switch (taskContainerDelta.getKind()) {
-							case ROOT:
-								refresh();
-								break;
-							case ADDED:
-							case REMOVED:
-								if (isFilteredContainer(taskContainerDelta)) {
-									// container may have changed visibility, refresh root
-									refresh();
-								} else {
-									if (taskContainerDelta.getElement() != null) {
-										refreshElement(taskContainerDelta.getElement());
-									}
-									if (taskContainerDelta.getParent() != null) {
-										refreshElement(taskContainerDelta.getParent());
-									} else {
-										// element was added/removed from the root
-										refresh();
-									}
-								}
-								break;
-							case CONTENT:
-								refreshElement(taskContainerDelta.getElement());
-							}
-
+						if (!addPendingChange(taskContainerDelta)) {
+							pendingRefreshAll = true;
+							break;
 						}
 					}
+					if (pendingElements.size() > REFRESH_ALL_THRESHOLD) {
+						pendingRefreshAll = true;
+					}
+					if (pendingRefreshAll) {
+						pendingElements.clear();
+					}
 				}
+				// changes that arrive until the UI thread processes pending changes are coalesced
+				schedule = !pendingChangesScheduled;
+				pendingChangesScheduled = true;
+			}
+			if (schedule) {
+				PlatformUI.getWorkbench().getDisplay().asyncExec(processPendingChangesRunnable);
+			}
+		}
 
-				private boolean isFilteredContainer(TaskContainerDelta taskContainerDelta) {
-					ITaskContainer parent = taskContainerDelta.getParent();
-					return parent instanceof UnsubmittedTaskContainer || parent instanceof UnmatchedTaskContainer
-							|| parent instanceof UncategorizedTaskContainer;
+		/**
+		 * Returns false, if the viewer needs to be refreshed entirely.
+		 */
+		private boolean addPendingChange(TaskContainerDelta taskContainerDelta) {
+			switch (taskContainerDelta.getKind()) {
+			case ROOT:
+				return false;
+			case ADDED:
+			case REMOVED:
+				if (isFilteredContainer(taskContainerDelta)) {
+					// container may have changed visibility, refresh root
+					return false;
+				}
+				if (taskContainerDelta.getParent() == null) {
+					// element was added/removed from the root
+					return false;
+				}
+				if (taskContainerDelta.getElement() != null) {
+					pendingElements.add(taskContainerDelta.getElement());
+				}
+				pendingElements.add(taskContainerDelta.getParent());
+				return true;
+			case CONTENT:
+				if (taskContainerDelta.getElement() != null) {
+					pendingElements.add(taskContainerDelta.getElement());
 				}
-			});
+				return true;
+			default:
+				return true;
+			}
+		}
+
+		private boolean isFilteredContainer(TaskContainerDelta taskContainerDelta) {
+			ITaskContainer parent = taskContainerDelta.getParent();
+			return parent instanceof UnsubmittedTaskContainer || parent instanceof UnmatchedTaskContainer
+					|| parent instanceof UncategorizedTaskContainer;
 		}
 	};
 
+	private final Object statisticsLock = new Object();
+
+	private long refreshCallCount;
+
+	private long structuralRefreshCount;
+
+	private long skippedElementCount;
+
+	private long intervalStart;
+
+	private int intervalRefreshCallCount;
+
+	private int refreshCallsPerSecond;
+
+	private int maximumRefreshCallsPerSecond;
+
 	public TaskListRefreshJob(AbstractTaskListView taskListView, TreeViewer treeViewer, String name) {
 		super(treeViewer, name);
 		this.taskListView = taskListView;
 		TasksUiInternal.getTaskList().addChangeListener(TASKLIST_CHANGE_LISTENER);
 	}
 
+	private void processPendingChanges() {
+		Object[] elements;
+		synchronized (pendingLock) {
+			pendingChangesScheduled = false;
+			elements = (pendingRefreshAll) ? null : pendingElements.toArray();
+			pendingRefreshAll = false;
+			pendingElements = new LinkedHashSet<Object>();
+		}
+		if (elements == null) {
+			refresh();
+		} else if (elements.length > 0) {
+			if (taskListView.isScheduledPresentation()) {
+				// TODO: implement refresh policy for scheduled presentation
+				refresh();
+			} else {
+				for (Object element : elements) {
+					refreshElement(element);
+				}
+			}
+		}
+	}
+
 	@Override
 	protected void doRefresh(Object[] items) {
 		TreePath selection = preserveSelection();
 
-		if (items == null) {
+		Set<Object> elements = (items != null) ? new LinkedHashSet<Object>(Arrays.asList(items)) : null;
+		if (elements != null && viewer.getContentProvider() instanceof TaskListContentProvider) {
+			// changes may be reported to the refresh job before the content provider is notified
+			((TaskListContentProvider) viewer.getContentProvider()).invalidateFilterResults(elements);
+		}
+		if (elements == null || elements.size() > REFRESH_ALL_THRESHOLD) {
 			viewer.refresh(true);
-		} else if (items.length > 0) {
+			recordRefresh(1, 0, true);
+			if (elements != null) {
+				for (Object item : elements) {
+					updateExpansionState(item);
+				}
+			}
+		} else if (elements.size() > 0) {
+			int refreshCalls = 0;
+			int skipped = 0;
 			try {
 				if (taskListView.isFocusedMode()) {
-					Set<Object> children = new HashSet<Object>(Arrays.asList(items));
+					Set<Object> children = new LinkedHashSet<Object>(elements);
 					Set<AbstractTaskContainer> parents = new HashSet<AbstractTaskContainer>();
-					for (Object item : items) {
+					for (Object item : elements) {
 						if (item instanceof AbstractTask) {
 							parents.addAll(((AbstractTask) item).getParentContainers());
 						}
@@ -119,43 +225,154 @@ public final class TaskListRefreshJob extends DelayedRefreshJob {
 					// 1. refresh parents
 					children.removeAll(parents);
 					for (AbstractTaskContainer parent : parents) {
-						viewer.refresh(parent, false);
-						// only refresh label of parent
-						viewer.update(parent, null);
+						if (isRealized(parent)) {
+							viewer.refresh(parent, false);
+							// only refresh label of parent
+							viewer.update(parent, null);
+							refreshCalls++;
+						} else {
+							skipped++;
+						}
 					}
-					// 2. refresh children
+					// 2. refresh children, items that are not realized get current labels when they are created
 					for (Object item : children) {
-						viewer.refresh(item, true);
+						if (isRealized(item)) {
+							viewer.refresh(item, true);
+							refreshCalls++;
+						} else {
+							skipped++;
+						}
 					}
-					// 3. update states of all changed items
-					for (Object item : items) {
+					// 3. update states of all changed items, expanding may realize items
+					for (Object item : elements) {
 						updateExpansionState(item);
 					}
 				} else {
 					Set<AbstractTaskContainer> parents = new HashSet<AbstractTaskContainer>();
-					for (Object item : items) {
+					for (Object item : elements) {
 						if (item instanceof AbstractTask) {
 							parents.addAll(((AbstractTask) item).getParentContainers());
 						}
-						viewer.refresh(item, true);
-						updateExpansionState(item);
+						if (isRealized(item)) {
+							viewer.refresh(item, true);
+							updateExpansionState(item);
+							refreshCalls++;
+						} else {
+							skipped++;
+						}
 					}
 					// refresh labels of parents for task activation or incoming indicators
 					for (AbstractTaskContainer parent : parents) {
-						// only refresh label
-						viewer.update(parent, null);
+						if (isRealized(parent)) {
+							// only refresh label
+							viewer.update(parent, null);
+							refreshCalls++;
+						} else {
+							skipped++;
+						}
 					}
 				}
 			} catch (SWTException e) {
 				StatusHandler.log(new Status(IStatus.ERROR, TasksUiPlugin.ID_PLUGIN, "Failed to refresh viewer: " //$NON-NLS-1$
 						+ viewer, e));
 			}
+			recordRefresh(refreshCalls, skipped, false);
 		}
 
 		taskListView.updateToolTip(false);
 		restoreSelection(selection);
 	}
 
+	/**
+	 * Returns true, if <code>element</code> is represented by an item in the tree. Elements of collapsed subtrees that
+	 * have not been expanded yet and elements that are filtered are not realized.
+	 */
+	private boolean isRealized(Object element) {
+		return viewer.testFindItem(element) != null;
+	}
+
+	private void recordRefresh(int refreshCalls, int skipped, boolean structural) {
+		long now = System.currentTimeMillis();
+		String trace = null;
+		synchronized (statisticsLock) {
+			if (now - intervalStart >= STATISTICS_INTERVAL) {
+				if (intervalRefreshCallCount > 0) {
+					refreshCallsPerSecond = intervalRefreshCallCount;
+					maximumRefreshCallsPerSecond = Math.max(maximumRefreshCallsPerSecond, intervalRefreshCallCount);
+					if (TRACE_ENABLED) {
+						trace = toString();
+					}
+				}
+				intervalStart = now;
+				intervalRefreshCallCount = 0;
+			}
+			intervalRefreshCallCount += refreshCalls;
+			refreshCallCount += refreshCalls;
+			skippedElementCount += skipped;
+			if (structural) {
+				structuralRefreshCount++;
+			}
+		}
+		if (trace != null) {
+			trace(trace);
+		}
+	}
+
+	private void trace(String message) {
+		System.err.println("[" + new Date() + "] " + message); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Returns the number of refresh and label update calls on the viewer.
+	 */
+	public long getRefreshCallCount() {
+		synchronized (statisticsLock) {
+			return refreshCallCount;
+		}
+	}
+
+	/**
+	 * Returns the number of refreshes of the whole viewer.
+	 */
+	public long getStructuralRefreshCount() {
+		synchronized (statisticsLock) {
+			return structuralRefreshCount;
+		}
+	}
+
+	/**
+	 * Returns the number of changed elements that were not refreshed since they were not realized in the tree.
+	 */
+	public long getSkippedElementCount() {
+		synchronized (statisticsLock) {
+			return skippedElementCount;
+		}
+	}
+
+	/**
+	 * Returns the number of refresh calls in the most recently completed one second interval with refreshes.
+	 */
+	public int getRefreshCallsPerSecond() {
+		synchronized (statisticsLock) {
+			return refreshCallsPerSecond;
+		}
+	}
+
+	public int getMaximumRefreshCallsPerSecond() {
+		synchronized (statisticsLock) {
+			return maximumRefreshCallsPerSecond;
+		}
+	}
+
+	@Override
+	public String toString() {
+		synchronized (statisticsLock) {
+			return "TaskListRefreshJob [refreshCalls=" + refreshCallCount + ", structuralRefreshes=" //$NON-NLS-1$ //$NON-NLS-2$
+					+ structuralRefreshCount + ", skippedElements=" + skippedElementCount + ", refreshCallsPerSecond=" //$NON-NLS-1$ //$NON-NLS-2$
+					+ refreshCallsPerSecond + ", maxRefreshCallsPerSecond=" + maximumRefreshCallsPerSecond + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
 	private TreePath preserveSelection() {
 		if (viewer instanceof TreeViewer) {
 			TreeViewer treeViewer = (TreeViewer) viewer;
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Tasktop Technologies and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.trac.core.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.commons.net.WebLocation;
+import org.eclipse.mylyn.internal.tasks.core.ConditionalRequestCache;
+import org.eclipse.mylyn.internal.tasks.core.ConditionalRequestCache.CachedResponse;
+import org.eclipse.mylyn.internal.trac.core.client.ITracClient.Version;
+import org.eclipse.mylyn.internal.trac.core.model.TracComponent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Updates attributes from a local stand-in for a Trac server that responds with <code>304 Not Modified</code> if the
+ * request carries the current entity tag.
+ */
+public class TracWebClientConditionalRequestTest {
+
+	private static final String ETAG = "\"1\"";
+
+	private static final String QUERY_PAGE = "<html><head><script type=\"text/javascript\">"
+			+ "var properties={\"component\":{\"options\":[\"GUI\",\"Core\"]}};</script></head><body></body></html>";
+
+	private class StandInServer implements Runnable {
+
+		private final ServerSocket serverSocket;
+
+		/**
+		 * the value of the If-None-Match header of each request, or null
+		 */
+		private final List<String> validators = Collections.synchronizedList(new ArrayList<String>());
+
+		public StandInServer() throws IOException {
+			serverSocket = new ServerSocket(0);
+		}
+
+		public String getUrl() {
+			return "http://localhost:" + serverSocket.getLocalPort();
+		}
+
+		public void run() {
+			while (!serverSocket.isClosed()) {
+				try (Socket socket = serverSocket.accept()) {
+					BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), "UTF-8"));
+					in.readLine();
+					String validator = null;
+					for (String line = in.readLine(); line != null && line.length() > 0; line = in.readLine()) {
+						if (line.toLowerCase().startsWith("if-none-match:")) {
+							validator = line.substring("if-none-match:".length()).trim();
+						}
+					}
+					validators.add(validator);
+
+					OutputStream out = socket.getOutputStream();
+					if (ETAG.equals(validator)) {
+						out.write(("HTTP/1.1 304 Not Modified\r\nETag: " + ETAG + "\r\nConnection: close\r\n\r\n")
+								.getBytes("UTF-8"));
+					} else {
+						byte[] content = QUERY_PAGE.getBytes("UTF-8");
+						out.write(("HTTP/1.1 200 OK\r\nContent-Type: text/html; charset=UTF-8\r\nETag: " + ETAG
+								+ "\r\nContent-Length: " + content.length + "\r\nConnection: close\r\n\r\n")
+										.getBytes("UTF-8"));
+						out.write(content);
+					}
+					out.flush();
+				} catch (IOException e) {
+					// closed
+				}
+			}
+		}
+
+		public void stop() throws IOException {
+			serverSocket.close();
+		}
+
+	}
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private StandInServer server;
+
+	private ConditionalRequestCache cache;
+
+	private TracWebClient client;
+
+	private String key;
+
+	@Before
+	public void setUp() throws Exception {
+		server = new StandInServer();
+		Thread thread = new Thread(server, "Trac Stand-In Server");
+		thread.setDaemon(true);
+		thread.start();
+
+		cache = new ConditionalRequestCache(new File(folder.getRoot(), "cache"));
+		client = new TracWebClient(new WebLocation(server.getUrl()), Version.TRAC_0_9);
+		client.setConditionalRequestCache(cache);
+		key = ConditionalRequestCache.createKey(server.getUrl() + ITracClient.CUSTOM_QUERY_URL, null);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		server.stop();
+	}
+
+	@Test
+	public void testQueryPageIsCached() throws Exception {
+		client.updateAttributes(new NullProgressMonitor());
+
+		assertComponents();
+		assertEquals(Arrays.asList((String) null), server.validators);
+		CachedResponse cachedResponse = cache.get(key);
+		assertNotNull(cachedResponse);
+		assertEquals(ETAG, cachedResponse.getETag());
+		assertEquals(QUERY_PAGE, new String(cachedResponse.getContent(), "UTF-8"));
+	}
+
+	@Test
+	public void testNotModifiedQueryPageIsReadFromCache() throws Exception {
+		client.updateAttributes(new NullProgressMonitor());
+		client.setData(new TracClientData());
+		client.updateAttributes(new NullProgressMonitor());
+
+		assertComponents();
+		assertEquals(Arrays.asList(null, ETAG), server.validators);
+	}
+
+	@Test
+	public void testUnusableCachedQueryPageIsRefetched() throws Exception {
+		cache.put(key, ETAG, null, "UTF-8", "<html><body>Login</body></html>".getBytes("UTF-8"));
+
+		client.updateAttributes(new NullProgressMonitor());
+
+		assertComponents();
+		assertEquals(Arrays.asList(ETAG, null), server.validators);
+		assertEquals(QUERY_PAGE, new String(cache.get(key).getContent(), "UTF-8"));
+	}
+
+	private void assertComponents() {
+		TracComponent[] components = client.getComponents();
+		assertNotNull(components);
+		assertEquals(2, components.length);
+		assertEquals("GUI", components[0].getName());
+		assertEquals("Core", components[1].getName());
+	}
+
+}
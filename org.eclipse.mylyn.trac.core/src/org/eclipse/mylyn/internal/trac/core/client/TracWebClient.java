@@ -14,6 +14,8 @@
 package org.eclipse.mylyn.internal.trac.core.client;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -32,6 +34,7 @@ import java.util.StringTokenizer;
 import javax.swing.text.html.HTML.Tag;
 
 import org.apache.commons.httpclient.Credentials;
+import org.apache.commons.httpclient.Header;
 import org.apache.commons.httpclient.HostConfiguration;
 import org.apache.commons.httpclient.HttpClient;
 import org.apache.commons.httpclient.HttpStatus;
@@ -50,6 +53,8 @@ import org.eclipse.mylyn.commons.net.Policy;
 import org.eclipse.mylyn.commons.net.SslCertificateException;
 import org.eclipse.mylyn.commons.net.UnsupportedRequestException;
 import org.eclipse.mylyn.commons.net.WebUtil;
+import org.eclipse.mylyn.internal.tasks.core.ConditionalRequestCache;
+import org.eclipse.mylyn.internal.tasks.core.ConditionalRequestCache.CachedResponse;
 import org.eclipse.mylyn.internal.trac.core.model.TracComment;
 import org.eclipse.mylyn.internal.trac.core.model.TracComponent;
 import org.eclipse.mylyn.internal.trac.core.model.TracMilestone;
@@ -214,10 +219,13 @@ public class TracWebClient extends AbstractTracClient {
 
 		private final String url;
 
+		private final CachedResponse cachedResponse;
+
 		private HostConfiguration hostConfiguration;
 
-		public Request(String url) {
+		public Request(String url, CachedResponse cachedResponse) {
 			this.url = url;
+			this.cachedResponse = cachedResponse;
 		}
 
 		public GetMethod execute(IProgressMonitor monitor) throws TracLoginException, IOException, TracHttpException {
@@ -238,6 +246,15 @@ public class TracWebClient extends AbstractTracClient {
 				}
 
 				GetMethod method = new GetMethod(WebUtil.getRequestPath(url));
+				if (cachedResponse != null) {
+					if (cachedResponse.getETag() != null) {
+						method.setRequestHeader(ConditionalRequestCache.HEADER_IF_NONE_MATCH, cachedResponse.getETag());
+					}
+					if (cachedResponse.getLastModified() != null) {
+						method.setRequestHeader(ConditionalRequestCache.HEADER_IF_MODIFIED_SINCE,
+								cachedResponse.getLastModified());
+					}
+				}
 				int code;
 				try {
 					code = WebUtil.execute(httpClient, hostConfiguration, method, monitor);
@@ -249,7 +266,8 @@ public class TracWebClient extends AbstractTracClient {
 					throw e;
 				}
 
-				if (code == HttpURLConnection.HTTP_OK) {
+				if (code == HttpURLConnection.HTTP_OK
+						|| (code == HttpURLConnection.HTTP_NOT_MODIFIED && cachedResponse != null)) {
 					return method;
 				} else {
 					WebUtil.releaseConnection(method, monitor);
@@ -344,15 +362,39 @@ public class TracWebClient extends AbstractTracClient {
 
 	private boolean authenticated;
 
+	private ConditionalRequestCache conditionalRequestCache;
+
 	public TracWebClient(AbstractWebLocation location, Version version) {
 		super(location, version);
 		this.httpClient = createHttpClient();
+		this.conditionalRequestCache = ConditionalRequestCache.getDefault();
+	}
+
+	public ConditionalRequestCache getConditionalRequestCache() {
+		return conditionalRequestCache;
 	}
 
-	private synchronized GetMethod connect(String requestUrl, IProgressMonitor monitor) throws TracException {
+	/**
+	 * Sets the cache for the custom query page that is used to update attributes, or <code>null</code> to always
+	 * retrieve the full page.
+	 */
+	public void setConditionalRequestCache(ConditionalRequestCache conditionalRequestCache) {
+		this.conditionalRequestCache = conditionalRequestCache;
+	}
+
+	private GetMethod connect(String requestUrl, IProgressMonitor monitor) throws TracException {
+		return connect(requestUrl, null, monitor);
+	}
+
+	/**
+	 * Sends a GET request for <code>requestUrl</code>. If <code>cachedResponse</code> is not <code>null</code> the
+	 * request is conditional and the returned method may have a status of <code>304 Not Modified</code>.
+	 */
+	private synchronized GetMethod connect(String requestUrl, CachedResponse cachedResponse, IProgressMonitor monitor)
+			throws TracException {
 		monitor = Policy.monitorFor(monitor);
 		try {
-			Request request = new Request(requestUrl);
+			Request request = new Request(requestUrl, cachedResponse);
 			return request.execute(monitor);
 		} catch (TracException e) {
 			throw e;
@@ -535,33 +577,33 @@ public class TracWebClient extends AbstractTracClient {
 	public void updateAttributes(IProgressMonitor monitor) throws TracException {
 		monitor.beginTask(Messages.TracWebClient_Updating_attributes, IProgressMonitor.UNKNOWN);
 
-		GetMethod method = connect(repositoryUrl + ITracClient.CUSTOM_QUERY_URL, monitor);
+		String url = repositoryUrl + ITracClient.CUSTOM_QUERY_URL;
+		String cacheKey = ConditionalRequestCache.createKey(url, getUserName());
+		CachedResponse cachedResponse = (conditionalRequestCache != null) ? conditionalRequestCache.get(cacheKey) : null;
+		GetMethod method = connect(url, cachedResponse, monitor);
 		try {
+			if (method.getStatusCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+				if (parseCachedAttributes(cachedResponse, monitor)) {
+					return;
+				}
+				// the cached page is not usable, retrieve the full page
+				conditionalRequestCache.remove(cacheKey);
+				WebUtil.releaseConnection(method, monitor);
+				method = connect(url, null, monitor);
+			}
+
 			InputStream in = WebUtil.getResponseBodyAsStream(method, monitor);
 			try {
-				BufferedReader reader = new BufferedReader(new InputStreamReader(in, method.getResponseCharSet()));
-				HtmlStreamTokenizer tokenizer = new HtmlStreamTokenizer(reader, null);
-				for (Token token = tokenizer.nextToken(); token.getType() != Token.EOF; token = tokenizer.nextToken()) {
-					if (monitor.isCanceled()) {
-						throw new OperationCanceledException();
-					}
-
-					if (token.getType() == Token.TAG) {
-						HtmlTag tag = (HtmlTag) token.getValue();
-						if (tag.getTagType() == Tag.SCRIPT) {
-							String text = getText(tokenizer).trim();
-							int i = text.indexOf("var properties="); //$NON-NLS-1$
-							if (i != -1) {
-								if (!parseAttributesJSon(text.substring(i))) {
-									// fall back
-									parseAttributesTokenizer(text.substring(i));
-								}
-							}
-						}
-					}
+				if (conditionalRequestCache != null) {
+					byte[] content = readFully(in);
+					parseAttributes(new ByteArrayInputStream(content), method.getResponseCharSet(), monitor);
+					conditionalRequestCache.put(cacheKey,
+							getResponseHeaderValue(method, ConditionalRequestCache.HEADER_ETAG),
+							getResponseHeaderValue(method, ConditionalRequestCache.HEADER_LAST_MODIFIED),
+							method.getResponseCharSet(), content);
+				} else {
+					parseAttributes(in, method.getResponseCharSet(), monitor);
 				}
-
-				addResolutionAndStatus();
 			} finally {
 				in.close();
 			}
@@ -574,6 +616,72 @@ public class TracWebClient extends AbstractTracClient {
 		}
 	}
 
+	/**
+	 * Returns true, if attributes were parsed from <code>cachedResponse</code>.
+	 */
+	private boolean parseCachedAttributes(CachedResponse cachedResponse, IProgressMonitor monitor) {
+		try {
+			return parseAttributes(cachedResponse.getContentAsStream(), cachedResponse.getCharset(), monitor);
+		} catch (IOException e) {
+			return false;
+		} catch (ParseException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Returns true, if the page contained the ticket properties.
+	 */
+	private boolean parseAttributes(InputStream in, String charset, IProgressMonitor monitor)
+			throws IOException, ParseException {
+		boolean found = false;
+		BufferedReader reader = new BufferedReader(new InputStreamReader(in, charset));
+		HtmlStreamTokenizer tokenizer = new HtmlStreamTokenizer(reader, null);
+		for (Token token = tokenizer.nextToken(); token.getType() != Token.EOF; token = tokenizer.nextToken()) {
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+
+			if (token.getType() == Token.TAG) {
+				HtmlTag tag = (HtmlTag) token.getValue();
+				if (tag.getTagType() == Tag.SCRIPT) {
+					String text = getText(tokenizer).trim();
+					int i = text.indexOf("var properties="); //$NON-NLS-1$
+					if (i != -1) {
+						found = true;
+						if (!parseAttributesJSon(text.substring(i))) {
+							// fall back
+							parseAttributesTokenizer(text.substring(i));
+						}
+					}
+				}
+			}
+		}
+
+		addResolutionAndStatus();
+		return found;
+	}
+
+	private static byte[] readFully(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		int count;
+		while ((count = in.read(buffer)) != -1) {
+			out.write(buffer, 0, count);
+		}
+		return out.toByteArray();
+	}
+
+	private static String getResponseHeaderValue(GetMethod method, String name) {
+		Header header = method.getResponseHeader(name);
+		return (header != null) ? header.getValue() : null;
+	}
+
+	private String getUserName() {
+		AuthenticationCredentials credentials = location.getCredentials(AuthenticationType.REPOSITORY);
+		return (credentials != null) ? credentials.getUserName() : null;
+	}
+
 	enum AttributeState {
 		INIT, IN_LIST, IN_ATTRIBUTE_KEY, IN_ATTRIBUTE_VALUE, IN_ATTRIBUTE_VALUE_LIST
 	};